@@ -56,6 +56,7 @@ import org.apache.camel.support.ExpressionAdapter;
 import org.apache.camel.support.MessageHelper;
 import org.apache.camel.support.ObjectHelper;
 import org.apache.camel.support.PluginHelper;
+import org.apache.camel.support.TypeConverterCallSite;
 import org.apache.camel.support.service.ServiceHelper;
 import org.apache.camel.util.StringHelper;
 import org.apache.camel.util.StringQuoteHelper;
@@ -558,9 +559,15 @@ public class MethodInfo {
      */
     private final class ParameterExpression implements Expression {
         private final Expression[] expressions;
+        // remembers the type converter used for binding each parameter
+        private final TypeConverterCallSite[] callSites;
 
         ParameterExpression(Expression[] expressions) {
             this.expressions = expressions;
+            this.callSites = new TypeConverterCallSite[parameters.size()];
+            for (int i = 0; i < callSites.length; i++) {
+                callSites[i] = new TypeConverterCallSite();
+            }
         }
 
         @Override
@@ -806,7 +813,7 @@ public class MethodInfo {
                             answer = result;
                         } else {
                             // we got a value now try to convert it to the expected type
-                            answer = exchange.getContext().getTypeConverter().mandatoryConvertTo(parameterType, result);
+                            answer = callSites[index].mandatoryConvertTo(exchange.getContext(), parameterType, null, result);
                         }
                         if (LOG.isTraceEnabled()) {
                             LOG.trace("Parameter #{} evaluated as: {} type: {}", index, answer,
@@ -55,12 +55,16 @@ public class FileEndpointConfigurer extends PropertyConfigurerSupport implements
         case "chmod": target.setChmod(property(camelContext, java.lang.String.class, value)); return true;
         case "chmoddirectory":
         case "chmodDirectory": target.setChmodDirectory(property(camelContext, java.lang.String.class, value)); return true;
+        case "concurrentconsumers":
+        case "concurrentConsumers": target.setConcurrentConsumers(property(camelContext, int.class, value)); return true;
         case "copyanddeleteonrenamefail":
         case "copyAndDeleteOnRenameFail": target.setCopyAndDeleteOnRenameFail(property(camelContext, boolean.class, value)); return true;
         case "delay": target.setDelay(property(camelContext, long.class, value)); return true;
         case "delete": target.setDelete(property(camelContext, boolean.class, value)); return true;
         case "directorymustexist":
         case "directoryMustExist": target.setDirectoryMustExist(property(camelContext, boolean.class, value)); return true;
+        case "directorystream":
+        case "directoryStream": target.setDirectoryStream(property(camelContext, boolean.class, value)); return true;
         case "donefilename":
         case "doneFileName": target.setDoneFileName(property(camelContext, java.lang.String.class, value)); return true;
         case "eagerdeletetargetfile":
@@ -90,6 +94,7 @@ public class FileEndpointConfigurer extends PropertyConfigurerSupport implements
         case "flatten": target.setFlatten(property(camelContext, boolean.class, value)); return true;
         case "forcewrites":
         case "forceWrites": target.setForceWrites(property(camelContext, boolean.class, value)); return true;
+        case "fsync": target.setFsync(property(camelContext, boolean.class, value)); return true;
         case "greedy": target.setGreedy(property(camelContext, boolean.class, value)); return true;
         case "idempotent": target.setIdempotent(property(camelContext, java.lang.Boolean.class, value)); return true;
         case "idempotenteager":
@@ -243,12 +248,16 @@ public class FileEndpointConfigurer extends PropertyConfigurerSupport implements
         case "chmod": return java.lang.String.class;
         case "chmoddirectory":
         case "chmodDirectory": return java.lang.String.class;
+        case "concurrentconsumers":
+        case "concurrentConsumers": return int.class;
         case "copyanddeleteonrenamefail":
         case "copyAndDeleteOnRenameFail": return boolean.class;
         case "delay": return long.class;
         case "delete": return boolean.class;
         case "directorymustexist":
         case "directoryMustExist": return boolean.class;
+        case "directorystream":
+        case "directoryStream": return boolean.class;
         case "donefilename":
         case "doneFileName": return java.lang.String.class;
         case "eagerdeletetargetfile":
@@ -278,6 +287,7 @@ public class FileEndpointConfigurer extends PropertyConfigurerSupport implements
         case "flatten": return boolean.class;
         case "forcewrites":
         case "forceWrites": return boolean.class;
+        case "fsync": return boolean.class;
         case "greedy": return boolean.class;
         case "idempotent": return java.lang.Boolean.class;
         case "idempotenteager":
@@ -432,12 +442,16 @@ public class FileEndpointConfigurer extends PropertyConfigurerSupport implements
         case "chmod": return target.getChmod();
         case "chmoddirectory":
         case "chmodDirectory": return target.getChmodDirectory();
+        case "concurrentconsumers":
+        case "concurrentConsumers": return target.getConcurrentConsumers();
         case "copyanddeleteonrenamefail":
         case "copyAndDeleteOnRenameFail": return target.isCopyAndDeleteOnRenameFail();
         case "delay": return target.getDelay();
         case "delete": return target.isDelete();
         case "directorymustexist":
         case "directoryMustExist": return target.isDirectoryMustExist();
+        case "directorystream":
+        case "directoryStream": return target.isDirectoryStream();
         case "donefilename":
         case "doneFileName": return target.getDoneFileName();
         case "eagerdeletetargetfile":
@@ -467,6 +481,7 @@ public class FileEndpointConfigurer extends PropertyConfigurerSupport implements
         case "flatten": return target.isFlatten();
         case "forcewrites":
         case "forceWrites": return target.isForceWrites();
+        case "fsync": return target.isFsync();
         case "greedy": return target.isGreedy();
         case "idempotent": return target.getIdempotent();
         case "idempotenteager":
@@ -23,7 +23,7 @@ public class FileEndpointUriFactory extends org.apache.camel.support.component.E
     private static final Set<String> SECRET_PROPERTY_NAMES;
     private static final Set<String> MULTI_VALUE_PREFIXES;
     static {
-        Set<String> props = new HashSet<>(100);
+        Set<String> props = new HashSet<>(103);
         props.add("allowNullBody");
         props.add("antExclude");
         props.add("antFilterCaseSensitive");
@@ -41,10 +41,12 @@ public class FileEndpointUriFactory extends org.apache.camel.support.component.E
         props.add("checksumFileAlgorithm");
         props.add("chmod");
         props.add("chmodDirectory");
+        props.add("concurrentConsumers");
         props.add("copyAndDeleteOnRenameFail");
         props.add("delay");
         props.add("delete");
         props.add("directoryMustExist");
+        props.add("directoryStream");
         props.add("directoryName");
         props.add("doneFileName");
         props.add("eagerDeleteTargetFile");
@@ -62,6 +64,7 @@ public class FileEndpointUriFactory extends org.apache.camel.support.component.E
         props.add("filterFile");
         props.add("flatten");
         props.add("forceWrites");
+        props.add("fsync");
         props.add("greedy");
         props.add("idempotent");
         props.add("idempotentEager");
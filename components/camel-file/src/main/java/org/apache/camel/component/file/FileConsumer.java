@@ -19,8 +19,11 @@ package org.apache.camel.component.file;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -33,6 +36,7 @@ import java.util.function.Supplier;
 import org.apache.camel.Exchange;
 import org.apache.camel.Message;
 import org.apache.camel.Processor;
+import org.apache.camel.api.management.ManagedResource;
 import org.apache.camel.component.file.consumer.DirectoryEntriesResumeAdapter;
 import org.apache.camel.component.file.consumer.FileOffsetResumeAdapter;
 import org.apache.camel.resume.ResumeAdapter;
@@ -48,6 +52,7 @@ import org.slf4j.LoggerFactory;
 /**
  * File consumer.
  */
+@ManagedResource(description = "Managed FileConsumer")
 public class FileConsumer extends GenericFileConsumer<File> implements ResumeAware<ResumeStrategy> {
 
     private static final Logger LOG = LoggerFactory.getLogger(FileConsumer.class);
@@ -81,6 +86,9 @@ public class FileConsumer extends GenericFileConsumer<File> implements ResumeAwa
         if (LOG.isTraceEnabled()) {
             LOG.trace("Polling directory: {}, absolute path: {}", directory.getPath(), directory.getAbsolutePath());
         }
+        if (getEndpoint().isDirectoryStream() && !getEndpoint().isPreSort()) {
+            return pollDirectoryStream(dynamic, directory, fileList, depth);
+        }
         final File[] files = listFiles(directory);
         if (files == null || files.length == 0) {
             return true;
@@ -97,6 +105,39 @@ public class FileConsumer extends GenericFileConsumer<File> implements ResumeAwa
         return true;
     }
 
+    private boolean pollDirectoryStream(Exchange dynamic, File directory, List<GenericFile<File>> fileList, int depth) {
+        if (!getEndpoint().isIncludeHiddenDirs() && directory.isHidden()) {
+            return true;
+        }
+
+        // stream the entries, so we only list the directory as far as needed and do not hold all its entries in memory
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory.toPath())) {
+            for (Path entry : entries) {
+                // check if we can continue polling in files
+                if (!canPollMoreFiles(fileList)) {
+                    return false;
+                }
+
+                // read the attributes at once, instead of a file system call per attribute
+                BasicFileAttributes attributes;
+                try {
+                    attributes = Files.readAttributes(entry, BasicFileAttributes.class);
+                } catch (IOException e) {
+                    // the file may have been deleted since the directory was listed
+                    LOG.trace("Cannot read attributes of file: {} due {}. Will skip this file.", entry, e.getMessage());
+                    continue;
+                }
+
+                if (processPolledFile(dynamic, fileList, depth, entry.toFile(), attributes, null)) {
+                    return false;
+                }
+            }
+        } catch (IOException | DirectoryIteratorException e) {
+            LOG.debug("Cannot list directory: {} due {}", directory, e.getMessage());
+        }
+        return true;
+    }
+
     private boolean processPolledFiles(Exchange dynamic, List<GenericFile<File>> fileList, int depth, File[] files) {
         for (File file : files) {
             // check if we can continue polling in files
@@ -104,39 +145,48 @@ public class FileConsumer extends GenericFileConsumer<File> implements ResumeAwa
                 return true;
             }
 
-            // trace log as Windows/Unix can have different views what the file is
-            if (LOG.isTraceEnabled()) {
-                LOG.trace("Found file: {} [isAbsolute: {}, isDirectory: {}, isFile: {}, isHidden: {}]", file, file.isAbsolute(),
-                        file.isDirectory(), file.isFile(),
-                        file.isHidden());
+            if (processPolledFile(dynamic, fileList, depth, file, null, files)) {
+                return true;
             }
+        }
+        return false;
+    }
 
-            // creates a generic file
-            Supplier<GenericFile<File>> gf = Suppliers.memorize(
-                    () -> asGenericFile(endpointPath, file, getEndpoint().getCharset(), getEndpoint().isProbeContentType()));
-
-            if (resumeStrategy != null) {
-                final ResumeAdapter adapter = setupResumeStrategy(gf.get());
-                if (adapter instanceof DirectoryEntriesResumeAdapter directoryEntriesResumeAdapter) {
-                    LOG.trace("Running the resume process for file {}", file);
-                    if (directoryEntriesResumeAdapter.resume(file)) {
-                        LOG.trace("Skipping file {} because it has been marked previously consumed", file);
-                        continue;
-                    }
-                }
-            }
+    private boolean processPolledFile(
+            Exchange dynamic, List<GenericFile<File>> fileList, int depth, File file, BasicFileAttributes attributes,
+            File[] files) {
+        // trace log as Windows/Unix can have different views what the file is
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("Found file: {} [isAbsolute: {}, isDirectory: {}, isFile: {}, isHidden: {}]", file, file.isAbsolute(),
+                    file.isDirectory(), file.isFile(),
+                    file.isHidden());
+        }
 
-            if (processEntry(dynamic, fileList, depth, file, gf, files)) {
-                return true;
+        // creates a generic file
+        Supplier<GenericFile<File>> gf = Suppliers.memorize(
+                () -> asGenericFile(endpointPath, file, attributes, getEndpoint().getCharset(),
+                        getEndpoint().isProbeContentType()));
+
+        if (resumeStrategy != null) {
+            final ResumeAdapter adapter = setupResumeStrategy(gf.get());
+            if (adapter instanceof DirectoryEntriesResumeAdapter directoryEntriesResumeAdapter) {
+                LOG.trace("Running the resume process for file {}", file);
+                if (directoryEntriesResumeAdapter.resume(file)) {
+                    LOG.trace("Skipping file {} because it has been marked previously consumed", file);
+                    return false;
+                }
             }
         }
-        return false;
+
+        boolean directory = attributes != null ? attributes.isDirectory() : file.isDirectory();
+        return processEntry(dynamic, fileList, depth, file, directory, gf, files);
     }
 
     private boolean processEntry(
             Exchange dynamic,
-            List<GenericFile<File>> fileList, int depth, File file, Supplier<GenericFile<File>> gf, File[] files) {
-        if (file.isDirectory()) {
+            List<GenericFile<File>> fileList, int depth, File file, boolean directory, Supplier<GenericFile<File>> gf,
+            File[] files) {
+        if (directory) {
             return processDirectoryEntry(dynamic, fileList, depth, file, gf, files);
         } else {
             processFileEntry(dynamic, fileList, depth, file, gf, files);
@@ -265,6 +315,15 @@ public class FileConsumer extends GenericFileConsumer<File> implements ResumeAwa
 
     @Override
     protected boolean isMatched(Supplier<GenericFile<File>> file, String doneFileName, File[] files) {
+        if (files == null) {
+            // the directory is streamed, so check the done file directly
+            if (new File(doneFileName).exists()) {
+                return true;
+            }
+            LOG.trace("Done file: {} does not exist", doneFileName);
+            return false;
+        }
+
         String onlyName = FileUtil.stripPath(doneFileName);
         // the done file name must be among the files
         for (File f : files) {
@@ -285,6 +344,20 @@ public class FileConsumer extends GenericFileConsumer<File> implements ResumeAwa
      * @return                  wrapped as a GenericFile
      */
     public static GenericFile<File> asGenericFile(String endpointPath, File file, String charset, boolean probeContentType) {
+        return asGenericFile(endpointPath, file, null, charset, probeContentType);
+    }
+
+    /**
+     * Creates a new GenericFile<File> based on the given file and its attributes.
+     *
+     * @param  endpointPath     the starting directory the endpoint was configured with
+     * @param  file             the source file
+     * @param  attributes       the attributes of the file, if already read, otherwise <tt>null</tt>
+     * @param  probeContentType whether to probe the content type of the file or not
+     * @return                  wrapped as a GenericFile
+     */
+    public static GenericFile<File> asGenericFile(
+            String endpointPath, File file, BasicFileAttributes attributes, String charset, boolean probeContentType) {
         GenericFile<File> answer = new GenericFile<>(probeContentType);
         // use file specific binding
         answer.setBinding(new FileBinding());
@@ -293,7 +366,7 @@ public class FileConsumer extends GenericFileConsumer<File> implements ResumeAwa
         answer.setEndpointPath(endpointPath);
         answer.setFile(file);
         answer.setFileNameOnly(file.getName());
-        answer.setDirectory(file.isDirectory());
+        answer.setDirectory(attributes != null ? attributes.isDirectory() : file.isDirectory());
         // must use FileUtil.isAbsolute to have consistent check for whether the
         // file is
         // absolute or not. As windows do not consider \ paths as absolute where
@@ -307,8 +380,13 @@ public class FileConsumer extends GenericFileConsumer<File> implements ResumeAwa
         answer.setAbsoluteFilePath(file.getAbsolutePath());
 
         // file length and last modified are loaded lazily
-        answer.setFileLengthSupplier(file::length);
-        answer.setLastModifiedSupplier(file::lastModified);
+        if (attributes != null) {
+            answer.setFileLengthSupplier(attributes::size);
+            answer.setLastModifiedSupplier(() -> attributes.lastModifiedTime().toMillis());
+        } else {
+            answer.setFileLengthSupplier(file::length);
+            answer.setLastModifiedSupplier(file::lastModified);
+        }
 
         // compute the file path as relative to the starting directory
         File path;
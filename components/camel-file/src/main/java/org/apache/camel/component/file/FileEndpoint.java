@@ -61,6 +61,8 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
     @UriPath(name = "directoryName")
     @Metadata(required = true)
     private File file;
+    @UriParam(label = "consumer", defaultValue = "1")
+    private int concurrentConsumers = 1;
     @UriParam(label = "advanced")
     protected boolean autoCreateStepwise;
     @UriParam(label = "advanced", defaultValue = "true")
@@ -78,12 +80,16 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
     @UriParam(label = "consumer,advanced")
     private boolean directoryMustExist;
     @UriParam(label = "consumer,advanced")
+    private boolean directoryStream;
+    @UriParam(label = "consumer,advanced")
     private boolean probeContentType;
     @UriParam(label = "consumer,advanced")
     private String extendedAttributes;
     @UriParam(label = "producer,advanced", defaultValue = "true")
     private boolean forceWrites = true;
     @UriParam(label = "producer,advanced")
+    private boolean fsync;
+    @UriParam(label = "producer,advanced")
     private String chmod;
     @UriParam(label = "producer,advanced")
     private String chmodDirectory;
@@ -125,6 +131,7 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
         // set max messages per poll
         result.setMaxMessagesPerPoll(getMaxMessagesPerPoll());
         result.setEagerLimitMaxMessagesPerPoll(isEagerMaxMessagesPerPoll());
+        result.setConcurrentConsumers(getConcurrentConsumers());
 
         configureConsumer(result);
         return result;
@@ -182,7 +189,7 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
         if (this.getMoveExistingFileStrategy() == null) {
             this.setMoveExistingFileStrategy(createDefaultMoveExistingFileStrategy());
         }
-        return new GenericFileProducer<>(this, operations);
+        return new FileProducer(this, operations);
     }
 
     @Override
@@ -358,6 +365,35 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
         this.directoryMustExist = directoryMustExist;
     }
 
+    public int getConcurrentConsumers() {
+        return concurrentConsumers;
+    }
+
+    /**
+     * Number of threads to process the polled files of each poll in parallel. The polling thread processes files as
+     * well, and the next poll starts when all the files of the previous poll have been processed. The files are then
+     * not processed in the order they were polled or sorted. Read locks, in-progress tracking and the commit (move or
+     * delete) or rollback of each file are done per file, the same as when processing one file at a time.
+     */
+    public void setConcurrentConsumers(int concurrentConsumers) {
+        this.concurrentConsumers = concurrentConsumers;
+    }
+
+    public boolean isDirectoryStream() {
+        return directoryStream;
+    }
+
+    /**
+     * Whether to list the directories by streaming their entries (NIO DirectoryStream), instead of loading all the
+     * entries of a directory into memory at once. The attributes of each entry are read only once, and the listing
+     * stops as soon as maxMessagesPerPoll files have been found (when eagerMaxMessagesPerPoll is enabled). This reduces
+     * the time and memory needed to poll directories with a very large number of files. This option is not in use when
+     * preSort is enabled, as sorting requires all the entries of the directory.
+     */
+    public void setDirectoryStream(boolean directoryStream) {
+        this.directoryStream = directoryStream;
+    }
+
     public boolean isForceWrites() {
         return forceWrites;
     }
@@ -370,6 +406,21 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
         this.forceWrites = forceWrites;
     }
 
+    public boolean isFsync() {
+        return fsync;
+    }
+
+    /**
+     * Whether to sync the written file to disk (fsync) before the exchange continues routing. The sync is done
+     * asynchronously on a background thread, so the route thread is not blocked waiting for the disk. Syncs requested
+     * while another sync is in progress are grouped together, and a file written several times is only synced once.
+     * The directory of the file is also synced, so a new or renamed file is not lost (except on Windows, where
+     * directories cannot be synced).
+     */
+    public void setFsync(boolean fsync) {
+        this.fsync = fsync;
+    }
+
     public boolean isProbeContentType() {
         return probeContentType;
     }
@@ -17,6 +17,7 @@
 package org.apache.camel.component.file;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -41,6 +42,8 @@ import java.util.concurrent.locks.ReentrantLock;
 import org.apache.camel.Exchange;
 import org.apache.camel.InvalidPayloadException;
 import org.apache.camel.WrappedFile;
+import org.apache.camel.converter.stream.FileInputStreamCache;
+import org.apache.camel.converter.stream.OffHeapInputStreamCache;
 import org.apache.camel.util.FileUtil;
 import org.apache.camel.util.IOHelper;
 import org.apache.camel.util.ObjectHelper;
@@ -332,7 +335,13 @@ public class FileOperations implements GenericFileOperations<File> {
     }
 
     private void handleStreamAsFileSource(Exchange exchange, File file) throws InvalidPayloadException, IOException {
-        InputStream in = exchange.getIn().getMandatoryBody(InputStream.class);
+        InputStream in;
+        if (extractBodyFromExchange(exchange) instanceof File source && source.exists()) {
+            // open the file unbuffered (such as when appending) so its channel can be used to transfer the content
+            in = new FileInputStream(source);
+        } else {
+            in = exchange.getIn().getMandatoryBody(InputStream.class);
+        }
         writeFileByStream(in, file);
     }
 
@@ -480,7 +489,7 @@ public class FileOperations implements GenericFileOperations<File> {
         if (channel != null) {
             try (FileChannel out = new FileOutputStream(target).getChannel()) {
                 LOG.trace("writeFileByFile using FileChannel: {} -> {}", source, target);
-                channel.transferTo(0, channel.size(), out);
+                IOHelper.transfer(channel, 0, channel.size(), out);
             }
         } else {
             // use regular file copy
@@ -491,22 +500,37 @@ public class FileOperations implements GenericFileOperations<File> {
 
     private void writeFileByStream(InputStream in, File target) throws IOException {
         try (SeekableByteChannel out = prepareOutputFileChannel(target)) {
-            LOG.debug("Using InputStream to write file: {}", target);
-            int size = endpoint.getBufferSize();
-            byte[] buffer = new byte[size];
-            ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
-            int bytesRead;
-            while ((bytesRead = in.read(buffer)) != -1) {
-                if (bytesRead < size) {
-                    ((Buffer) byteBuffer).limit(bytesRead);
+            if (in instanceof OffHeapInputStreamCache cache) {
+                // write directly from the off-heap buffers without copying onto the heap
+                LOG.debug("Using off-heap stream cache to write file: {}", target);
+                cache.writeTo(out);
+            } else if (in instanceof FileInputStreamCache cache) {
+                // transfer directly from the spooled file without copying onto the heap
+                LOG.debug("Using spooled stream cache to write file: {}", target);
+                cache.writeTo(out);
+            } else if (in.getClass() == FileInputStream.class) {
+                // transfer directly from the file channel (zero copy) starting from the current position
+                LOG.debug("Using FileChannel to write file: {}", target);
+                FileChannel channel = ((FileInputStream) in).getChannel();
+                IOHelper.transfer(channel, channel.position(), channel.size() - channel.position(), out);
+            } else {
+                LOG.debug("Using InputStream to write file: {}", target);
+                int size = endpoint.getBufferSize();
+                byte[] buffer = new byte[size];
+                ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+                int bytesRead;
+                while ((bytesRead = in.read(buffer)) != -1) {
+                    if (bytesRead < size) {
+                        ((Buffer) byteBuffer).limit(bytesRead);
+                    }
+                    out.write(byteBuffer);
+                    ((Buffer) byteBuffer).clear();
                 }
-                out.write(byteBuffer);
-                ((Buffer) byteBuffer).clear();
             }
 
             boolean append = endpoint.getFileExist() == GenericFileExist.Append;
             if (append && endpoint.getAppendChars() != null) {
-                byteBuffer = ByteBuffer.wrap(endpoint.getAppendChars().getBytes());
+                ByteBuffer byteBuffer = ByteBuffer.wrap(endpoint.getAppendChars().getBytes());
                 out.write(byteBuffer);
                 Buffer buf = byteBuffer;
                 buf.clear();
@@ -0,0 +1,236 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.Exchange;
+import org.apache.camel.util.FileUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * File producer, which can sync the written files to disk asynchronously (see the fsync option).
+ * <p/>
+ * The syncs are done in rounds on a background thread, one round at a time. All the syncs requested while a round is in
+ * progress are grouped in the next round (group commit), so a file which has been written several times is only synced
+ * once, and the route threads do not wait for the disk. The exchanges continue routing from the thread which synced
+ * their file.
+ * <p/>
+ * The directories of the files are also synced (once per directory in each round), so the directory entries of new or
+ * renamed files are durable as well. This is not done on Windows, where directories cannot be opened for syncing.
+ */
+public class FileProducer extends GenericFileProducer<File> {
+    private static final Logger LOG = LoggerFactory.getLogger(FileProducer.class);
+
+    private final Lock lock = new ReentrantLock();
+    private Map<Path, List<PendingSync>> pendingSyncs = new LinkedHashMap<>();
+    // whether a round is scheduled or in progress, which then also runs the rounds for the syncs requested meanwhile
+    private boolean syncScheduled;
+    private ExecutorService syncExecutorService;
+    private volatile long syncRoundCount;
+
+    protected FileProducer(FileEndpoint endpoint, GenericFileOperations<File> operations) {
+        super(endpoint, operations);
+    }
+
+    @Override
+    public FileEndpoint getEndpoint() {
+        return (FileEndpoint) super.getEndpoint();
+    }
+
+    /**
+     * Number of rounds in which the written files have been synced
+     */
+    public long getSyncRoundCount() {
+        return syncRoundCount;
+    }
+
+    @Override
+    public boolean process(Exchange exchange, AsyncCallback callback) {
+        ExecutorService executorService = syncExecutorService;
+        if (executorService == null) {
+            return super.process(exchange, callback);
+        }
+
+        // the header may have been set by an earlier producer, so only sync when this producer has written a file
+        Object previous = exchange.getIn().removeHeader(FileConstants.FILE_NAME_PRODUCED);
+        try {
+            doProcess(exchange);
+        } catch (Exception e) {
+            exchange.setException(e);
+        }
+
+        String produced = exchange.getIn().getHeader(FileConstants.FILE_NAME_PRODUCED, String.class);
+        if (produced == null && previous != null) {
+            exchange.getIn().setHeader(FileConstants.FILE_NAME_PRODUCED, previous);
+        }
+        if (exchange.getException() != null || produced == null) {
+            callback.done(true);
+            return true;
+        }
+
+        // continue routing when the file has been synced
+        boolean schedule;
+        lock.lock();
+        try {
+            pendingSyncs.computeIfAbsent(Paths.get(produced), p -> new ArrayList<>(1))
+                    .add(new PendingSync(exchange, callback));
+            schedule = !syncScheduled;
+            syncScheduled = true;
+        } finally {
+            lock.unlock();
+        }
+        if (schedule) {
+            try {
+                executorService.execute(this::syncPendingFiles);
+            } catch (RejectedExecutionException e) {
+                LOG.debug("Cannot sync files asynchronously, as the thread pool is shutting down. Will sync them now.");
+                syncPendingFiles();
+            }
+        }
+        return false;
+    }
+
+    private void syncPendingFiles() {
+        try {
+            for (;;) {
+                Map<Path, List<PendingSync>> syncs;
+                lock.lock();
+                try {
+                    if (pendingSyncs.isEmpty()) {
+                        // the next sync requested schedules a new round
+                        syncScheduled = false;
+                        return;
+                    }
+                    // syncs requested from now on are grouped in the next round, which is run when this round is done
+                    syncs = pendingSyncs;
+                    pendingSyncs = new LinkedHashMap<>();
+                } finally {
+                    lock.unlock();
+                }
+                syncFiles(syncs);
+            }
+        } catch (RuntimeException e) {
+            lock.lock();
+            try {
+                syncScheduled = false;
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+    }
+
+    private void syncFiles(Map<Path, List<PendingSync>> syncs) {
+        syncRoundCount++;
+        LOG.trace("Syncing {} files", syncs.size());
+        Map<Path, IOException> failures = new LinkedHashMap<>();
+        for (Path file : syncs.keySet()) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            } catch (IOException e) {
+                failures.put(file, e);
+            }
+        }
+        if (!FileUtil.isWindows()) {
+            // sync the directory entries (such as new or renamed files) once per directory
+            Map<Path, IOException> directories = new LinkedHashMap<>();
+            for (Path file : syncs.keySet()) {
+                Path dir = file.toAbsolutePath().getParent();
+                if (dir == null || failures.containsKey(file)) {
+                    continue;
+                }
+                if (!directories.containsKey(dir)) {
+                    directories.put(dir, syncDirectory(dir));
+                }
+                IOException cause = directories.get(dir);
+                if (cause != null) {
+                    failures.put(file, cause);
+                }
+            }
+        }
+
+        for (Map.Entry<Path, List<PendingSync>> entry : syncs.entrySet()) {
+            Path file = entry.getKey();
+            IOException cause = failures.get(file);
+            for (PendingSync sync : entry.getValue()) {
+                if (cause != null) {
+                    sync.exchange().setException(new GenericFileOperationFailedException("Cannot sync file: " + file, cause));
+                }
+                sync.callback().done(false);
+            }
+        }
+    }
+
+    private static IOException syncDirectory(Path dir) {
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+            return null;
+        } catch (IOException e) {
+            return e;
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+        if (getEndpoint().isFsync()) {
+            // the rounds are run one at a time
+            syncExecutorService = getEndpoint().getCamelContext().getExecutorServiceManager()
+                    .newSingleThreadExecutor(this, "FileSync[" + getEndpoint().getConfiguration().getDirectory() + "]");
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (syncExecutorService != null) {
+            getEndpoint().getCamelContext().getExecutorServiceManager().shutdownGraceful(syncExecutorService);
+            syncExecutorService = null;
+            // complete any syncs which were requested while shutting down
+            boolean schedule;
+            lock.lock();
+            try {
+                schedule = !syncScheduled;
+                syncScheduled = true;
+            } finally {
+                lock.unlock();
+            }
+            if (schedule) {
+                syncPendingFiles();
+            }
+        }
+        super.doStop();
+    }
+
+    private record PendingSync(Exchange exchange, AsyncCallback callback) {
+    }
+}
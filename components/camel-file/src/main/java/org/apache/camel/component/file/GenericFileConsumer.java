@@ -23,6 +23,12 @@ import java.util.Deque;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 import java.util.regex.Pattern;
 
@@ -33,6 +39,7 @@ import org.apache.camel.Message;
 import org.apache.camel.Processor;
 import org.apache.camel.RuntimeCamelException;
 import org.apache.camel.ShutdownRunningTask;
+import org.apache.camel.api.management.ManagedAttribute;
 import org.apache.camel.support.EmptyAsyncCallback;
 import org.apache.camel.support.ScheduledBatchPollingConsumer;
 import org.apache.camel.support.service.ServiceHelper;
@@ -63,6 +70,11 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
     private final String[] includeExt;
     private final String[] excludeExt;
     private boolean retrieveFile = true;
+    private int concurrentConsumers = 1;
+    private ExecutorService executorService;
+    private volatile long lastPollDuration;
+    private volatile long maxPollDuration;
+    private volatile long totalPollDuration;
 
     protected GenericFileConsumer(GenericFileEndpoint<T> endpoint, Processor processor, GenericFileOperations<T> operations,
                                   GenericFileProcessStrategy<T> processStrategy) {
@@ -103,6 +115,39 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
         this.eagerLimitMaxMessagesPerPoll = eagerLimitMaxMessagesPerPoll;
     }
 
+    @ManagedAttribute(description = "Number of threads processing the polled files of a batch in parallel")
+    public int getConcurrentConsumers() {
+        return concurrentConsumers;
+    }
+
+    /**
+     * Number of threads processing the polled files of a batch in parallel. The polling thread processes files as well,
+     * so a thread pool with one thread less is used. The next poll starts when all the files of the batch have been
+     * processed. The last file of the batch (with the {@link Exchange#BATCH_COMPLETE} property set to true) is
+     * processed after all the other files of the batch have been processed.
+     * <p/>
+     * The operations and process strategy must support being used by multiple threads, which is why this is not in use
+     * by default.
+     */
+    public void setConcurrentConsumers(int concurrentConsumers) {
+        this.concurrentConsumers = concurrentConsumers;
+    }
+
+    @ManagedAttribute(description = "Time taken in millis by the last poll, including processing the polled files")
+    public long getLastPollDuration() {
+        return lastPollDuration;
+    }
+
+    @ManagedAttribute(description = "Maximum time taken in millis by a poll, including processing the polled files")
+    public long getMaxPollDuration() {
+        return maxPollDuration;
+    }
+
+    @ManagedAttribute(description = "Total time taken in millis by the polls, including processing the polled files")
+    public long getTotalPollDuration() {
+        return totalPollDuration;
+    }
+
     /**
      * Creates the exchange from the polled file
      */
@@ -142,6 +187,8 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
 
         // time how long it takes to poll
         StopWatch stop = new StopWatch();
+        // and how long it takes to poll and process the files
+        StopWatch watch = new StopWatch();
         boolean limitHit;
         try {
             limitHit = !pollDirectory(dynamic, name, files, 0);
@@ -213,6 +260,11 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
 
         postPollCheck(polledMessages);
 
+        long taken = watch.taken();
+        lastPollDuration = taken;
+        maxPollDuration = Math.max(maxPollDuration, taken);
+        totalPollDuration += taken;
+
         return polledMessages;
     }
 
@@ -228,6 +280,10 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
             total = maxMessagesPerPoll;
         }
 
+        if (executorService != null && customProcessor == null) {
+            return processBatchInParallel(exchanges, total, answer);
+        }
+
         Queue<Object> notStarted = new ArrayDeque<>();
 
         for (int index = 0; index < total && isBatchAllowed(); index++) {
@@ -268,6 +324,57 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
         return answer;
     }
 
+    private int processBatchInParallel(Queue<Object> exchanges, int total, int answer) {
+        Deque<Exchange> batch = new ConcurrentLinkedDeque<>();
+        for (int index = 0; index < total; index++) {
+            Exchange exchange = (Exchange) exchanges.poll();
+            // add current index and total as properties
+            exchange.setProperty(ExchangePropertyKey.BATCH_INDEX, index);
+            exchange.setProperty(ExchangePropertyKey.BATCH_SIZE, total);
+            exchange.setProperty(ExchangePropertyKey.BATCH_COMPLETE, index == total - 1);
+            batch.add(exchange);
+        }
+        pendingExchanges = total;
+
+        // the last exchange (marked as batch complete) is processed when all the other exchanges of the batch
+        // have been processed, so it is also the last to complete
+        Exchange last = batch.pollLast();
+
+        // the polling thread processes the batch together with the threads from the pool, so the batch is
+        // processed also if the pool rejects the tasks (such as when shutting down)
+        ParallelBatch parallel = new ParallelBatch(batch);
+        for (int i = 1; i < concurrentConsumers && i < total - 1; i++) {
+            try {
+                executorService.execute(parallel);
+            } catch (RejectedExecutionException e) {
+                LOG.debug("Thread pool rejected processing files in parallel due: {}", e.getMessage());
+                break;
+            }
+        }
+        parallel.run();
+        parallel.awaitDone();
+
+        if (last != null) {
+            if (isBatchAllowed()) {
+                pendingExchanges = 0;
+                if (!processExchange(last)) {
+                    // this exchange was not started processing so remember to release it afterward
+                    parallel.notStarted.add(last);
+                }
+            } else {
+                batch.add(last);
+            }
+        }
+
+        // drain any in progress files as we are done with this batch
+        answer -= parallel.notStarted.size();
+        removeExcessiveInProgressFiles(parallel.notStarted, 0);
+        removeExcessiveInProgressFiles(batch, 0);
+        removeExcessiveInProgressFiles(CastUtils.cast((Deque<?>) exchanges, Exchange.class), 0);
+
+        return answer;
+    }
+
     /**
      * Drain any in progress files as we are done with this batch
      *
@@ -892,6 +999,11 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
     @Override
     protected void doStart() throws Exception {
         ServiceHelper.startService(processStrategy);
+        if (concurrentConsumers > 1 && executorService == null) {
+            // the polling thread is also processing files, so use one thread less
+            executorService = getEndpoint().getCamelContext().getExecutorServiceManager().newFixedThreadPool(this,
+                    "FileConsumer[" + endpoint.getConfiguration().getDirectory() + "]", concurrentConsumers - 1);
+        }
         super.doStart();
     }
 
@@ -899,9 +1011,71 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
     protected void doStop() throws Exception {
         prepareOnStartup = false;
         super.doStop();
+        if (executorService != null) {
+            getEndpoint().getCamelContext().getExecutorServiceManager().shutdownGraceful(executorService);
+            executorService = null;
+        }
         ServiceHelper.stopService(processStrategy);
     }
 
+    /**
+     * Processes the exchanges of a batch, by the polling thread and the threads from the pool, which all take the next
+     * exchange from the batch until the batch is empty.
+     */
+    private final class ParallelBatch implements Runnable {
+
+        private final Deque<Exchange> batch;
+        private final Deque<Exchange> notStarted = new ConcurrentLinkedDeque<>();
+        private final Lock lock = new ReentrantLock();
+        private final Condition done = lock.newCondition();
+        private int active;
+
+        private ParallelBatch(Deque<Exchange> batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public void run() {
+            lock.lock();
+            try {
+                active++;
+            } finally {
+                lock.unlock();
+            }
+            try {
+                Exchange exchange;
+                while (isBatchAllowed() && (exchange = batch.poll()) != null) {
+                    // update pending number of exchanges (including the last exchange of the batch)
+                    pendingExchanges = batch.size() + 1;
+                    if (!processExchange(exchange)) {
+                        // this exchange was not started processing so remember to release it afterward
+                        notStarted.add(exchange);
+                    }
+                }
+            } finally {
+                lock.lock();
+                try {
+                    if (--active == 0) {
+                        done.signalAll();
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        private void awaitDone() {
+            lock.lock();
+            try {
+                while (active > 0) {
+                    done.awaitUninterruptibly();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
     @Override
     public void onInit() throws Exception {
         // noop as we do a manual on-demand poll with GenericFilePollingConsumer
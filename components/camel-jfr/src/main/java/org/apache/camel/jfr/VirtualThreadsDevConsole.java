@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.jfr;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+
+import org.apache.camel.spi.ThreadPoolProfile;
+import org.apache.camel.spi.annotations.DevConsole;
+import org.apache.camel.support.console.AbstractDevConsole;
+import org.apache.camel.util.TimeUtils;
+import org.apache.camel.util.concurrent.ThreadType;
+import org.apache.camel.util.json.JsonArray;
+import org.apache.camel.util.json.JsonObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Dev console that captures when virtual threads are pinned to their carrier thread (for example when blocking inside
+ * a synchronized block), using the {@code jdk.VirtualThreadPinned} Java Flight Recorder event (requires JDK 21 or
+ * newer).
+ */
+@DevConsole(name = "virtual-threads", displayName = "Virtual Threads",
+            description = "Virtual threads pinned to their carrier thread (captured with Java Flight Recorder)")
+public class VirtualThreadsDevConsole extends AbstractDevConsole {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadsDevConsole.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private long threshold = 20;
+    private int maxSites = 100;
+
+    private RecordingStream stream;
+    private final LongAdder pinnedCounter = new LongAdder();
+    private final LongAdder pinnedDuration = new LongAdder();
+    private final AtomicLong maxPinnedDuration = new AtomicLong();
+    private final Map<String, LongAdder> sites = new ConcurrentHashMap<>();
+
+    public VirtualThreadsDevConsole() {
+        super("jvm", "virtual-threads", "Virtual Threads",
+              "Virtual threads pinned to their carrier thread (captured with Java Flight Recorder)");
+    }
+
+    public long getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Minimum duration in millis a virtual thread must be pinned before it is captured. The default is 20 millis.
+     */
+    public void setThreshold(long threshold) {
+        this.threshold = threshold;
+    }
+
+    public int getMaxSites() {
+        return maxSites;
+    }
+
+    /**
+     * Maximum number of distinct code locations (where virtual threads were pinned) to keep track of.
+     */
+    public void setMaxSites(int maxSites) {
+        this.maxSites = maxSites;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+        try {
+            stream = new RecordingStream();
+            stream.enable(PINNED_EVENT).withStackTrace().withThreshold(Duration.ofMillis(threshold));
+            stream.onEvent(PINNED_EVENT, this::onPinned);
+            stream.startAsync();
+        } catch (Exception e) {
+            // JFR may not be available on this JVM
+            LOG.debug("Cannot start Java Flight Recorder stream for {} due to: {}", PINNED_EVENT, e.getMessage(), e);
+            stream = null;
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        long nanos = event.getDuration().toNanos();
+        pinnedCounter.increment();
+        pinnedDuration.add(nanos);
+        maxPinnedDuration.accumulateAndGet(nanos, Math::max);
+
+        String site = pinnedSite(event.getStackTrace());
+        LongAdder counter = sites.get(site);
+        if (counter == null && sites.size() < maxSites) {
+            counter = sites.computeIfAbsent(site, k -> new LongAdder());
+        }
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    /**
+     * The first frame outside the JDK is the code that caused the virtual thread to be pinned
+     */
+    private static String pinnedSite(RecordedStackTrace st) {
+        if (st == null) {
+            return "unknown";
+        }
+        String first = null;
+        for (RecordedFrame frame : st.getFrames()) {
+            if (!frame.isJavaFrame()) {
+                continue;
+            }
+            String type = frame.getMethod().getType().getName();
+            String site = type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+            if (first == null) {
+                first = site;
+            }
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return site;
+            }
+        }
+        return first != null ? first : "unknown";
+    }
+
+    private List<Map.Entry<String, LongAdder>> sortedSites() {
+        List<Map.Entry<String, LongAdder>> answer = new ArrayList<>(sites.entrySet());
+        answer.sort((o1, o2) -> Long.compare(o2.getValue().sum(), o1.getValue().sum()));
+        return answer;
+    }
+
+    private boolean isDefaultProfileVirtual() {
+        ThreadPoolProfile dp = getCamelContext().getExecutorServiceManager().getDefaultThreadPoolProfile();
+        return dp != null && Boolean.TRUE.equals(dp.getVirtualThreads());
+    }
+
+    @Override
+    protected String doCallText(Map<String, Object> options) {
+        StringBuilder sb = new StringBuilder();
+
+        sb.append(String.format("Virtual Threads Enabled (global): %s\n", ThreadType.current() == ThreadType.VIRTUAL));
+        sb.append(String.format("Virtual Threads Enabled (default thread pool profile): %s\n", isDefaultProfileVirtual()));
+        sb.append(String.format("Recording: %s\n", stream != null));
+        sb.append(String.format("Threshold: %s\n", TimeUtils.printDuration(threshold, true)));
+        long total = pinnedCounter.sum();
+        sb.append(String.format("Pinned: %s\n", total));
+        if (total > 0) {
+            long nanos = pinnedDuration.sum();
+            sb.append(String.format("Mean Pinned Time: %s\n", TimeUtils.printDuration(nanos / total / 1000000, true)));
+            sb.append(String.format("Max Pinned Time: %s\n",
+                    TimeUtils.printDuration(maxPinnedDuration.get() / 1000000, true)));
+            sb.append("\nPinned Locations:\n");
+            for (Map.Entry<String, LongAdder> e : sortedSites()) {
+                sb.append(String.format("    %s (%s)\n", e.getKey(), e.getValue().sum()));
+            }
+        }
+
+        return sb.toString();
+    }
+
+    @Override
+    protected JsonObject doCallJson(Map<String, Object> options) {
+        JsonObject root = new JsonObject();
+
+        root.put("virtualThreadsEnabled", ThreadType.current() == ThreadType.VIRTUAL);
+        root.put("defaultProfileVirtualThreads", isDefaultProfileVirtual());
+        root.put("recording", stream != null);
+        root.put("threshold", threshold);
+        long total = pinnedCounter.sum();
+        root.put("pinned", total);
+        if (total > 0) {
+            root.put("meanPinnedTime", pinnedDuration.sum() / total / 1000000);
+            root.put("maxPinnedTime", maxPinnedDuration.get() / 1000000);
+        }
+        JsonArray arr = new JsonArray();
+        for (Map.Entry<String, LongAdder> e : sortedSites()) {
+            JsonObject jo = new JsonObject();
+            jo.put("location", e.getKey());
+            jo.put("counter", e.getValue().sum());
+            arr.add(jo);
+        }
+        if (!arr.isEmpty()) {
+            root.put("locations", arr);
+        }
+
+        return root;
+    }
+}
@@ -122,6 +122,8 @@ public class KafkaComponentConfigurer extends PropertyConfigurerSupport implemen
         case "key": getOrCreateConfiguration(target).setKey(property(camelContext, java.lang.String.class, value)); return true;
         case "keydeserializer":
         case "keyDeserializer": getOrCreateConfiguration(target).setKeyDeserializer(property(camelContext, java.lang.String.class, value)); return true;
+        case "keyorderedconcurrency":
+        case "keyOrderedConcurrency": getOrCreateConfiguration(target).setKeyOrderedConcurrency(property(camelContext, int.class, value)); return true;
         case "keyserializer":
         case "keySerializer": getOrCreateConfiguration(target).setKeySerializer(property(camelContext, java.lang.String.class, value)); return true;
         case "lazystartproducer":
@@ -366,6 +368,8 @@ public class KafkaComponentConfigurer extends PropertyConfigurerSupport implemen
         case "key": return java.lang.String.class;
         case "keydeserializer":
         case "keyDeserializer": return java.lang.String.class;
+        case "keyorderedconcurrency":
+        case "keyOrderedConcurrency": return int.class;
         case "keyserializer":
         case "keySerializer": return java.lang.String.class;
         case "lazystartproducer":
@@ -606,6 +610,8 @@ public class KafkaComponentConfigurer extends PropertyConfigurerSupport implemen
         case "key": return getOrCreateConfiguration(target).getKey();
         case "keydeserializer":
         case "keyDeserializer": return getOrCreateConfiguration(target).getKeyDeserializer();
+        case "keyorderedconcurrency":
+        case "keyOrderedConcurrency": return getOrCreateConfiguration(target).getKeyOrderedConcurrency();
         case "keyserializer":
         case "keySerializer": return getOrCreateConfiguration(target).getKeySerializer();
         case "lazystartproducer":
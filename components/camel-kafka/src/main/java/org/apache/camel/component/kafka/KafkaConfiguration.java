@@ -86,6 +86,8 @@ public class KafkaConfiguration implements Cloneable, HeaderFilterStrategyAware
 
     @UriParam(label = "consumer", defaultValue = "1")
     private int consumersCount = 1;
+    @UriParam(label = "consumer", defaultValue = "1")
+    private int keyOrderedConcurrency = 1;
     @UriParam(label = "consumer", description = "To use a custom KafkaHeaderDeserializer to deserialize kafka headers values")
     private KafkaHeaderDeserializer headerDeserializer = new DefaultKafkaHeaderDeserializer();
 
@@ -756,6 +758,21 @@ public class KafkaConfiguration implements Cloneable, HeaderFilterStrategyAware
         this.consumersCount = consumersCount;
     }
 
+    public int getKeyOrderedConcurrency() {
+        return keyOrderedConcurrency;
+    }
+
+    /**
+     * The number of threads each consumer uses to process the polled records concurrently. Records with the same key
+     * are always processed in order by the same thread, while records with different keys are processed in parallel,
+     * which allows to scale processing beyond the number of partitions. Offsets are only committed up to the last
+     * record of each partition for which all previous records have been processed. The default value 1 processes the
+     * records of each partition sequentially. This option cannot be used together with batching or allowManualCommit.
+     */
+    public void setKeyOrderedConcurrency(int keyOrderedConcurrency) {
+        this.keyOrderedConcurrency = keyOrderedConcurrency;
+    }
+
     public String getClientId() {
         return clientId;
     }
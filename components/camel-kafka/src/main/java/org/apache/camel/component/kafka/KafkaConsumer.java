@@ -57,6 +57,7 @@ public class KafkaConsumer extends DefaultConsumer
     private static final Logger LOG = LoggerFactory.getLogger(KafkaConsumer.class);
 
     protected ExecutorService executor;
+    protected ExecutorService keyOrderedExecutor;
     private final KafkaEndpoint endpoint;
     private KafkaConsumerHealthCheck consumerHealthCheck;
     private HealthCheckRepository healthCheckRepository;
@@ -148,7 +149,19 @@ public class KafkaConsumer extends DefaultConsumer
             }
         }
 
+        boolean keyOrdered = endpoint.getConfiguration().getKeyOrderedConcurrency() > 1;
+        if (keyOrdered && endpoint.getConfiguration().isBatching()) {
+            throw new IllegalArgumentException("The keyOrderedConcurrency option cannot be used together with batching");
+        }
+        if (keyOrdered && endpoint.getConfiguration().isAllowManualCommit()) {
+            throw new IllegalArgumentException(
+                    "The keyOrderedConcurrency option cannot be used together with allowManualCommit");
+        }
+
         executor = endpoint.createExecutor(this);
+        if (keyOrdered) {
+            keyOrderedExecutor = endpoint.createKeyOrderedExecutor(this);
+        }
 
         String topic = endpoint.getConfiguration().getTopic();
         Pattern pattern = null;
@@ -216,6 +229,16 @@ public class KafkaConsumer extends DefaultConsumer
         tasks.clear();
         executor = null;
 
+        // the fetch tasks are done, so no more records are dispatched to the key ordered workers
+        if (keyOrderedExecutor != null) {
+            if (getEndpoint() != null && getEndpoint().getCamelContext() != null) {
+                getEndpoint().getCamelContext().getExecutorServiceManager().shutdown(keyOrderedExecutor);
+            } else {
+                keyOrderedExecutor.shutdown();
+            }
+            keyOrderedExecutor = null;
+        }
+
         if (stopOffsetRepo) {
             StateRepository<String, String> repo = endpoint.getConfiguration().getOffsetRepository();
             LOG.debug("Stopping OffsetRepository: {}", repo);
@@ -257,6 +280,10 @@ public class KafkaConsumer extends DefaultConsumer
         return tasks.stream().allMatch(KafkaFetchRecords::isPaused);
     }
 
+    ExecutorService getKeyOrderedExecutor() {
+        return keyOrderedExecutor;
+    }
+
     protected List<KafkaFetchRecords> tasks() {
         return Collections.unmodifiableList(tasks);
     }
@@ -206,6 +206,12 @@ public class KafkaEndpoint extends DefaultEndpoint implements MultipleConsumersS
                 "KafkaConsumer[" + configuration.getTopic() + "]", configuration.getConsumersCount());
     }
 
+    public ExecutorService createKeyOrderedExecutor(Object source) {
+        return getCamelContext().getExecutorServiceManager().newFixedThreadPool(source,
+                "KafkaConsumerKeyOrdered[" + configuration.getTopic() + "]",
+                configuration.getConsumersCount() * configuration.getKeyOrderedConcurrency());
+    }
+
     public ExecutorService createProducerExecutor(Object source) {
         int core = getConfiguration().getWorkerPoolCoreSize();
         int max = getConfiguration().getWorkerPoolMaxSize();
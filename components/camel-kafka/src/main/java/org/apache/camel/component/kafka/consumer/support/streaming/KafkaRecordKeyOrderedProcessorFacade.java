@@ -0,0 +1,242 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.kafka.consumer.support.streaming;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.component.kafka.KafkaConsumer;
+import org.apache.camel.component.kafka.consumer.CommitManager;
+import org.apache.camel.component.kafka.consumer.KafkaManualCommit;
+import org.apache.camel.component.kafka.consumer.errorhandler.KafkaConsumerListener;
+import org.apache.camel.component.kafka.consumer.support.AbstractKafkaRecordProcessorFacade;
+import org.apache.camel.component.kafka.consumer.support.ProcessingResult;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Processes the records of a poll concurrently, while keeping the order of the records with the same key.
+ * <p/>
+ * The records are dispatched to a number of lanes by the hash of their key, and the records of a lane are processed one
+ * after the other using the given executor service. As the Kafka consumer is not thread safe, the offsets are recorded
+ * and committed from the polling thread once all the records of the poll have been processed, and only up to the last
+ * record of each partition for which all the previous records have been processed.
+ */
+public class KafkaRecordKeyOrderedProcessorFacade extends AbstractKafkaRecordProcessorFacade {
+    private static final Logger LOG = LoggerFactory.getLogger(KafkaRecordKeyOrderedProcessorFacade.class);
+    private final KafkaRecordStreamingProcessor kafkaRecordProcessor;
+    private final ExecutorService executorService;
+    private final int concurrency;
+    private int nextLane;
+
+    public KafkaRecordKeyOrderedProcessorFacade(
+                                                KafkaConsumer camelKafkaConsumer, String threadId,
+                                                CommitManager commitManager, KafkaConsumerListener consumerListener,
+                                                ExecutorService executorService) {
+        super(camelKafkaConsumer, threadId, commitManager, consumerListener);
+
+        this.executorService = executorService;
+        this.concurrency = camelKafkaConsumer.getEndpoint().getConfiguration().getKeyOrderedConcurrency();
+        this.kafkaRecordProcessor = new KafkaRecordStreamingProcessor(
+                camelKafkaConsumer.getEndpoint().getConfiguration(),
+                camelKafkaConsumer.getProcessor(),
+                new DeferredCommitManager(commitManager));
+    }
+
+    @Override
+    public ProcessingResult processPolledRecords(ConsumerRecords<Object, Object> allRecords) {
+        logRecords(allRecords);
+
+        Set<TopicPartition> partitions = allRecords.partitions();
+        Iterator<TopicPartition> partitionIterator = partitions.iterator();
+
+        LOG.debug("Poll received records on {} partitions", partitions.size());
+
+        final AtomicBoolean breakOnErrorHit = new AtomicBoolean();
+        final CompletableFuture<?>[] lanes = new CompletableFuture<?>[concurrency];
+        final Map<TopicPartition, ProcessingResult[]> results = new LinkedHashMap<>();
+
+        while (partitionIterator.hasNext() && !isStopping()) {
+            TopicPartition partition = partitionIterator.next();
+            boolean partitionHasNext = partitionIterator.hasNext();
+
+            List<ConsumerRecord<Object, Object>> partitionRecords = allRecords.records(partition);
+            logRecordsInPartition(partitionRecords, partition);
+
+            ProcessingResult[] partitionResults = new ProcessingResult[partitionRecords.size()];
+            results.put(partition, partitionResults);
+
+            for (int i = 0; i < partitionRecords.size(); i++) {
+                final int index = i;
+                final ConsumerRecord<Object, Object> consumerRecord = partitionRecords.get(i);
+                final boolean recordHasNext = i < partitionRecords.size() - 1;
+
+                Runnable task = () -> {
+                    // once processing failed and we should break out, then the remaining records are skipped
+                    if (!breakOnErrorHit.get() && !isStopping()) {
+                        ProcessingResult result = processRecord(partition, partitionHasNext, recordHasNext, consumerRecord);
+                        if (result.isBreakOnErrorHit()) {
+                            breakOnErrorHit.set(true);
+                        }
+                        partitionResults[index] = result;
+                    }
+                };
+
+                int lane = lane(consumerRecord.key());
+                if (lanes[lane] == null) {
+                    lanes[lane] = CompletableFuture.runAsync(task, executorService);
+                } else {
+                    lanes[lane] = lanes[lane].thenRunAsync(task, executorService);
+                }
+            }
+        }
+
+        // all records of this poll must be processed before the offsets can be committed and we can poll again
+        CompletableFuture.allOf(Arrays.stream(lanes).filter(Objects::nonNull).toArray(CompletableFuture[]::new)).join();
+
+        ProcessingResult result = ProcessingResult.newUnprocessed();
+        for (Map.Entry<TopicPartition, ProcessingResult[]> entry : results.entrySet()) {
+            TopicPartition partition = entry.getKey();
+            ProcessingResult[] partitionResults = entry.getValue();
+
+            int completed = completedRecords(partitionResults);
+            if (completed > 0) {
+                long offset = allRecords.records(partition).get(completed - 1).offset();
+                LOG.debug("Records on partition {} processed up to offset {}", partition.partition(), offset);
+                commitManager.recordOffset(partition, offset);
+            }
+
+            ProcessingResult partitionResult = partitionResult(partitionResults);
+            if (partitionResult != null) {
+                if (!result.isBreakOnErrorHit()) {
+                    result = partitionResult;
+                }
+                if (consumerListener != null && !consumerListener.afterProcess(partitionResult)) {
+                    commitManager.commit(partition);
+                    return result;
+                }
+            }
+
+            commitManager.commit(partition);
+        }
+
+        return result;
+    }
+
+    private ProcessingResult processRecord(
+            TopicPartition partition, boolean partitionHasNext, boolean recordHasNext,
+            ConsumerRecord<Object, Object> consumerRecord) {
+
+        logRecord(consumerRecord);
+
+        return kafkaRecordProcessor.processExchange(camelKafkaConsumer, partition, partitionHasNext,
+                recordHasNext, consumerRecord);
+    }
+
+    /**
+     * The lane to process the record with the given key. Records without a key have no order to keep, so they are
+     * spread over all the lanes.
+     */
+    private int lane(Object key) {
+        if (key == null) {
+            int lane = nextLane;
+            nextLane = (nextLane + 1) % concurrency;
+            return lane;
+        }
+
+        int hash = key instanceof byte[] bytes ? Arrays.hashCode(bytes) : key.hashCode();
+        return Math.floorMod(hash, concurrency);
+    }
+
+    /**
+     * The number of records, from the start of the partition, that have been processed without the need to break out
+     */
+    private static int completedRecords(ProcessingResult[] partitionResults) {
+        int completed = 0;
+        while (completed < partitionResults.length && partitionResults[completed] != null
+                && !partitionResults[completed].isBreakOnErrorHit()) {
+            completed++;
+        }
+        return completed;
+    }
+
+    /**
+     * The result of the first record of the partition that failed, or otherwise of the last processed record
+     */
+    private static ProcessingResult partitionResult(ProcessingResult[] partitionResults) {
+        ProcessingResult last = null;
+        for (ProcessingResult result : partitionResults) {
+            if (result != null) {
+                if (result.isFailed()) {
+                    return result;
+                }
+                last = result;
+            }
+        }
+        return last;
+    }
+
+    /**
+     * Records are processed on the worker threads, but the Kafka consumer can only be used from the polling thread, so
+     * the offsets are recorded and committed by the facade instead.
+     */
+    private static final class DeferredCommitManager implements CommitManager {
+        private final CommitManager delegate;
+
+        private DeferredCommitManager(CommitManager delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public KafkaManualCommit getManualCommit(
+                Exchange exchange, TopicPartition partition, ConsumerRecord<Object, Object> consumerRecord) {
+            return delegate.getManualCommit(exchange, partition, consumerRecord);
+        }
+
+        @Override
+        public void commit() {
+            // NO-OP
+        }
+
+        @Override
+        public void commit(TopicPartition partition) {
+            // NO-OP
+        }
+
+        @Override
+        public void forceCommit(TopicPartition partition, long partitionLastOffset) {
+            delegate.forceCommit(partition, partitionLastOffset);
+        }
+
+        @Override
+        public void recordOffset(TopicPartition partition, long partitionLastOffset) {
+            // NO-OP
+        }
+    }
+}
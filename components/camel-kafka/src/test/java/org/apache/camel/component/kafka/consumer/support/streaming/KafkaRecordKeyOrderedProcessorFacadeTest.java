@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.kafka.consumer.support.streaming;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Processor;
+import org.apache.camel.component.kafka.KafkaConstants;
+import org.apache.camel.component.kafka.KafkaConsumer;
+import org.apache.camel.component.kafka.KafkaEndpoint;
+import org.apache.camel.component.kafka.consumer.CommitManager;
+import org.apache.camel.component.kafka.consumer.CommitManagers;
+import org.apache.camel.component.kafka.consumer.support.ProcessingResult;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.processor.state.MemoryStateRepository;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class KafkaRecordKeyOrderedProcessorFacadeTest {
+    private static final String TOPIC = "test";
+
+    private final TopicPartition partition = new TopicPartition(TOPIC, 0);
+    private final MemoryStateRepository offsetRepository = new MemoryStateRepository();
+    private final MockConsumer<Object, Object> mockConsumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+    private CamelContext context;
+    private ExecutorService executorService;
+
+    @BeforeEach
+    public void setUp() {
+        context = new DefaultCamelContext();
+        context.getRegistry().bind("offsetRepo", offsetRepository);
+        context.start();
+        executorService = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executorService.shutdownNow();
+        context.stop();
+    }
+
+    @Test
+    public void testKeepsOrderPerKey() throws Exception {
+        Map<Object, List<Long>> processed = new ConcurrentHashMap<>();
+        KafkaRecordKeyOrderedProcessorFacade facade = createFacade("", exchange -> {
+            Object key = exchange.getMessage().getHeader(KafkaConstants.KEY);
+            long offset = exchange.getMessage().getHeader(KafkaConstants.OFFSET, Long.class);
+            processed.computeIfAbsent(key, k -> Collections.synchronizedList(new ArrayList<>())).add(offset);
+        });
+
+        List<ConsumerRecord<Object, Object>> records = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            records.add(new ConsumerRecord<>(TOPIC, 0, i, "key" + i % 10, "value" + i));
+        }
+
+        ProcessingResult result = facade.processPolledRecords(new ConsumerRecords<>(Map.of(partition, records)));
+
+        assertFalse(result.isFailed());
+        assertEquals(10, processed.size());
+        for (List<Long> offsets : processed.values()) {
+            assertEquals(20, offsets.size());
+            List<Long> sorted = new ArrayList<>(offsets);
+            Collections.sort(sorted);
+            assertEquals(sorted, offsets, "Records with the same key should be processed in order");
+        }
+        assertEquals("199", offsetRepository.getState(TOPIC + "/0"));
+    }
+
+    @Test
+    public void testProcessesDifferentKeysConcurrently() throws Exception {
+        // each record waits for the other one, which only completes when both are processed at the same time
+        CountDownLatch latch = new CountDownLatch(2);
+        KafkaRecordKeyOrderedProcessorFacade facade = createFacade("", exchange -> {
+            latch.countDown();
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Records with different keys were not processed concurrently");
+            }
+        });
+
+        // the keys are dispatched to different lanes
+        List<ConsumerRecord<Object, Object>> records = List.of(
+                new ConsumerRecord<>(TOPIC, 0, 0, "a", "value0"),
+                new ConsumerRecord<>(TOPIC, 0, 1, "b", "value1"));
+
+        ProcessingResult result = facade.processPolledRecords(new ConsumerRecords<>(Map.of(partition, records)));
+
+        assertFalse(result.isFailed());
+        assertEquals("1", offsetRepository.getState(TOPIC + "/0"));
+    }
+
+    @Test
+    public void testCommitsUpToLastContiguousProcessedRecord() throws Exception {
+        KafkaRecordKeyOrderedProcessorFacade facade = createFacade("&breakOnFirstError=true", exchange -> {
+            if (exchange.getMessage().getHeader(KafkaConstants.OFFSET, Long.class) == 5) {
+                throw new IllegalArgumentException("Forced");
+            }
+        });
+
+        // the records before the failing record have the same key, so they are processed before it
+        List<ConsumerRecord<Object, Object>> records = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            records.add(new ConsumerRecord<>(TOPIC, 0, i, i <= 5 ? "a" : "b", "value" + i));
+        }
+
+        ProcessingResult result = facade.processPolledRecords(new ConsumerRecords<>(Map.of(partition, records)));
+
+        assertTrue(result.isBreakOnErrorHit());
+        assertEquals(5, result.getOffset());
+        assertEquals("4", offsetRepository.getState(TOPIC + "/0"));
+    }
+
+    private KafkaRecordKeyOrderedProcessorFacade createFacade(String options, Processor processor) throws Exception {
+        KafkaEndpoint endpoint = context.getEndpoint(
+                "kafka:" + TOPIC + "?keyOrderedConcurrency=4&offsetRepository=#offsetRepo" + options, KafkaEndpoint.class);
+        KafkaConsumer kafkaConsumer = (KafkaConsumer) endpoint.createConsumer(processor);
+        CommitManager commitManager = CommitManagers.createCommitManager(mockConsumer, kafkaConsumer, "0", TOPIC);
+
+        return new KafkaRecordKeyOrderedProcessorFacade(kafkaConsumer, "0", commitManager, null, executorService);
+    }
+}
@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInput;
 import java.io.ObjectInputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 
 import javax.xml.transform.dom.DOMSource;
@@ -32,8 +33,11 @@ import org.w3c.dom.Document;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
 import org.apache.camel.Converter;
 import org.apache.camel.Exchange;
+import org.apache.camel.converter.stream.OffHeapInputStreamCache;
 
 /**
  * A set of converter methods for working with Netty types
@@ -101,6 +105,25 @@ public final class NettyConverter {
         return toByteBuffer(bytes);
     }
 
+    @Converter
+    public static ByteBuf toByteBuffer(OffHeapInputStreamCache cache, Exchange exchange) throws IOException {
+        // wrap the off-heap buffers of the stream cache (zero-copy)
+        ByteBuffer[] buffers = cache.getByteBuffers();
+        ByteBuf[] components = new ByteBuf[buffers.length];
+        for (int i = 0; i < buffers.length; i++) {
+            components[i] = Unpooled.wrappedBuffer(buffers[i]);
+        }
+        // the off-heap buffers must be kept until netty has written and released the buffer
+        cache.retain();
+        return new CompositeByteBuf(ByteBufAllocator.DEFAULT, true, Math.max(1, components.length), components) {
+            @Override
+            protected void deallocate() {
+                super.deallocate();
+                cache.release();
+            }
+        };
+    }
+
     @Converter
     public static Document toDocument(ByteBuf buffer, Exchange exchange) {
         InputStream is = toInputStream(buffer, exchange);
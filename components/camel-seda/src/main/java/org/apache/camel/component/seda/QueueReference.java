@@ -101,6 +101,49 @@ public final class QueueReference {
         return queue;
     }
 
+    /**
+     * Removes the exchange from the queue, or from the consumer which has taken the exchange from the queue in a batch
+     * but not yet processed it.
+     *
+     * @return <tt>true</tt> if the exchange was removed
+     */
+    boolean removeExchange(Exchange exchange) {
+        if (queue.remove(exchange)) {
+            return true;
+        }
+        lock.lock();
+        try {
+            for (SedaEndpoint endpoint : endpoints) {
+                for (SedaConsumer consumer : endpoint.getConsumers()) {
+                    if (consumer.removePendingExchange(exchange)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all the exchanges from the queue, and from the consumers which have taken exchanges from the queue in
+     * batches but not yet processed them.
+     */
+    void purge() {
+        queue.clear();
+        lock.lock();
+        try {
+            for (SedaEndpoint endpoint : endpoints) {
+                for (SedaConsumer consumer : endpoint.getConsumers()) {
+                    consumer.purgePendingExchanges();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
     public boolean hasConsumers() {
         lock.lock();
         try {
@@ -0,0 +1,413 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * A bounded lock-free multi-producer/multi-consumer {@link BlockingQueue} backed by a ring buffer.
+ * <p/>
+ * Each slot in the ring buffer has a sequence number which tells producers and consumers whether the slot is free or
+ * has been filled, so offering and polling only needs a single compare-and-set on the tail or head counter (which are
+ * padded to avoid false sharing), and no locks are used. The capacity is rounded up to the next power of two (and is
+ * at least two).
+ * <p/>
+ * Threads that must wait (consumers on an empty queue, and producers on a full queue) wait according to the
+ * {@link WaitStrategy}, which is a trade-off between latency and CPU usage.
+ * <p/>
+ * Removing an arbitrary element (which is only used when a SEDA producer times out waiting for a reply) marks the slot
+ * as removed, and the slot is skipped by the consumers. Therefore {@link #size()} can include removed elements until
+ * they have been skipped.
+ */
+public class RingBufferBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+
+    /**
+     * How threads wait for the queue to become non-empty (consumers) or non-full (producers).
+     */
+    public enum WaitStrategy {
+        /**
+         * Busy spin, which has the lowest latency, but keeps a CPU core busy for each waiting thread.
+         */
+        SPIN,
+        /**
+         * Spin for a short while and then yield the thread, which has low latency, but still uses CPU while waiting.
+         */
+        YIELD,
+        /**
+         * Spin for a short while and then park the thread until signalled, which uses no CPU while waiting, at the
+         * cost of waking up the thread.
+         */
+        PARK
+    }
+
+    static final int MAX_CAPACITY = 1 << 30;
+    private static final int SPIN_TRIES = 100;
+    // upper bound of a single park to recover from a signal that was consumed by a thread that no longer waits
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final Object REMOVED = new Object();
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<Object> buffer;
+    private final AtomicLongArray sequences;
+    private final PaddedAtomicLong head = new PaddedAtomicLong();
+    private final PaddedAtomicLong tail = new PaddedAtomicLong();
+    private final WaitStrategy waitStrategy;
+    private final Queue<Thread> notEmptyWaiters = new ConcurrentLinkedQueue<>();
+    private final Queue<Thread> notFullWaiters = new ConcurrentLinkedQueue<>();
+
+    public RingBufferBlockingQueue(int capacity) {
+        this(capacity, WaitStrategy.PARK);
+    }
+
+    public RingBufferBlockingQueue(int capacity, WaitStrategy waitStrategy) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be between 1 and " + MAX_CAPACITY + ", was: " + capacity);
+        }
+        // a slot sequence of pos + 1 means filled, and pos + capacity means free, so at least two slots are needed
+        this.capacity = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.buffer = new AtomicReferenceArray<>(this.capacity);
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.waitStrategy = waitStrategy != null ? waitStrategy : WaitStrategy.PARK;
+    }
+
+    /**
+     * The capacity of the ring buffer (rounded up to the next power of two, and at least two)
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    @Override
+    public boolean offer(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        long pos = tail.get();
+        while (true) {
+            int index = (int) pos & mask;
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    buffer.set(index, e);
+                    // publish the slot to the consumers
+                    sequences.set(index, pos + 1);
+                    signal(notEmptyWaiters);
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                // the slot has not been consumed since the previous lap, so the queue is full
+                return false;
+            } else {
+                // another producer claimed the slot
+                pos = tail.get();
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long pos = head.get();
+        while (true) {
+            int index = (int) pos & mask;
+            long diff = sequences.get(index) - (pos + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(pos, pos + 1)) {
+                    Object answer = buffer.getAndSet(index, null);
+                    // release the slot to the producers for the next lap
+                    sequences.set(index, pos + capacity);
+                    signal(notFullWaiters);
+                    if (answer != REMOVED) {
+                        if (!notEmptyWaiters.isEmpty() && !isEmpty()) {
+                            // pass on the signal in case it was consumed by a thread that is no longer waiting
+                            signal(notEmptyWaiters);
+                        }
+                        return (E) answer;
+                    }
+                }
+                pos = head.get();
+            } else if (diff < 0) {
+                // the slot has not been published yet, so the queue is empty
+                return null;
+            } else {
+                // another consumer claimed the slot
+                pos = head.get();
+            }
+        }
+    }
+
+    @Override
+    public E peek() {
+        long pos = head.get();
+        long end = tail.get();
+        for (; pos < end; pos++) {
+            int index = (int) pos & mask;
+            Object e = buffer.get(index);
+            if (sequences.get(index) == pos + 1 && e != null && e != REMOVED) {
+                return unchecked(e);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        for (int attempt = 0; !offer(e); attempt++) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            idle(attempt, Long.MAX_VALUE, notFullWaiters, this::isFull);
+        }
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        if (offer(e)) {
+            return true;
+        }
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (int attempt = 0;; attempt++) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (offer(e)) {
+                return true;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            idle(attempt, remaining, notFullWaiters, this::isFull);
+        }
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        for (int attempt = 0;; attempt++) {
+            E answer = poll();
+            if (answer != null) {
+                return answer;
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            idle(attempt, Long.MAX_VALUE, notEmptyWaiters, this::isEmpty);
+        }
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        E answer = poll();
+        if (answer != null) {
+            return answer;
+        }
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (int attempt = 0;; attempt++) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            answer = poll();
+            if (answer != null) {
+                return answer;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return null;
+            }
+            idle(attempt, remaining, notEmptyWaiters, this::isEmpty);
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        if (c == this) {
+            throw new IllegalArgumentException("Cannot drain to itself");
+        }
+        int n = 0;
+        while (n < maxElements) {
+            E e = poll();
+            if (e == null) {
+                break;
+            }
+            c.add(e);
+            n++;
+        }
+        return n;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        long pos = head.get();
+        long end = tail.get();
+        for (; pos < end; pos++) {
+            int index = (int) pos & mask;
+            Object e = buffer.get(index);
+            if (e != null && e != REMOVED && sequences.get(index) == pos + 1 && o.equals(e)) {
+                // the slot is skipped by the consumer
+                return buffer.compareAndSet(index, e, REMOVED);
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        // read head before tail so the size is never negative
+        long h = head.get();
+        long t = tail.get();
+        return (int) Math.max(0, Math.min(capacity, t - h));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return tail.get() <= head.get();
+    }
+
+    private boolean isFull() {
+        return size() >= capacity;
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return capacity - size();
+    }
+
+    /**
+     * Returns a weakly consistent iterator over a snapshot of the elements in the queue.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        List<E> snapshot = new ArrayList<>();
+        long pos = head.get();
+        long end = tail.get();
+        for (; pos < end; pos++) {
+            int index = (int) pos & mask;
+            Object e = buffer.get(index);
+            if (e != null && e != REMOVED && sequences.get(index) == pos + 1) {
+                snapshot.add(unchecked(e));
+            }
+        }
+        return new Iterator<>() {
+            private final Iterator<E> it = snapshot.iterator();
+            private E last;
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public E next() {
+                last = it.next();
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                if (last == null) {
+                    throw new NoSuchElementException();
+                }
+                RingBufferBlockingQueue.this.remove(last);
+                last = null;
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "RingBufferBlockingQueue[capacity=" + capacity + ", size=" + size() + ", waitStrategy=" + waitStrategy + "]";
+    }
+
+    private void idle(int attempt, long remainingNanos, Queue<Thread> waiters, BooleanSupplier blocked) {
+        if (waitStrategy == WaitStrategy.SPIN || attempt < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if (waitStrategy == WaitStrategy.YIELD) {
+            Thread.yield();
+        } else {
+            Thread current = Thread.currentThread();
+            waiters.offer(current);
+            try {
+                // check again after registering as waiter, as otherwise the signal could be missed
+                if (blocked.getAsBoolean()) {
+                    LockSupport.parkNanos(this, Math.min(remainingNanos, MAX_PARK_NANOS));
+                }
+            } finally {
+                waiters.remove(current);
+            }
+        }
+    }
+
+    private void signal(Queue<Thread> waiters) {
+        if (waitStrategy == WaitStrategy.PARK) {
+            Thread waiter = waiters.poll();
+            if (waiter != null) {
+                LockSupport.unpark(waiter);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private E unchecked(Object e) {
+        return (E) e;
+    }
+
+    /**
+     * An {@link AtomicLong} padded so the head and tail counters are not on the same cache line.
+     */
+    @SuppressWarnings("unused")
+    static final class PaddedAtomicLong extends AtomicLong {
+        private long p1;
+        private long p2;
+        private long p3;
+        private long p4;
+        private long p5;
+        private long p6;
+        private long p7;
+    }
+}
@@ -16,10 +16,14 @@
  */
 package org.apache.camel.component.seda;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -49,15 +53,19 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
     private static final Logger LOG = LoggerFactory.getLogger(SedaConsumer.class);
 
     private final AtomicInteger taskCount = new AtomicInteger();
+    // the exchanges taken from the queue in batches which are not yet processed
+    private final Set<Exchange> pendingBatch = ConcurrentHashMap.newKeySet();
     private volatile CountDownLatch latch;
     private volatile boolean shutdownPending;
     private volatile boolean forceShutdown;
     private ExecutorService executor;
     private final int pollTimeout;
+    private final int pollBatchSize;
 
     public SedaConsumer(SedaEndpoint endpoint, Processor processor) {
         super(endpoint, processor);
         this.pollTimeout = endpoint.getPollTimeout();
+        this.pollBatchSize = Math.max(1, endpoint.getPollBatchSize());
     }
 
     @Override
@@ -79,7 +87,7 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
         if (getEndpoint().isPurgeWhenStopping()) {
             getEndpoint().purgeQueue();
         }
-        return getEndpoint().getQueue().size();
+        return getEndpoint().getQueue().size() + pendingBatch.size();
     }
 
     @Override
@@ -136,6 +144,7 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
 
     protected void doRun() {
         BlockingQueue<Exchange> queue = getEndpoint().getQueue();
+        List<Exchange> batch = pollBatchSize > 1 ? new ArrayList<>(pollBatchSize - 1) : null;
         // loop while we are allowed, or if we are stopping loop until the queue is empty
         while (queue != null && isRunAllowed()) {
 
@@ -181,16 +190,10 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
                             exchange);
                 }
                 if (exchange != null) {
-                    try {
-                        final Exchange original = exchange;
-                        // prepare the exchange before sending to consumer
-                        final Exchange prepared = prepareExchange(exchange);
-                        // callback to be executed when sending to consumer and processing is done
-                        AsyncCallback callback = doneSync -> onProcessingDone(original, prepared);
-                        // process the exchange
-                        sendToConsumers(prepared, callback);
-                    } catch (Exception e) {
-                        getExceptionHandler().handleException("Error processing exchange", exchange, e);
+                    processExchange(exchange);
+                    if (batch != null) {
+                        exchange = null;
+                        processBatch(queue, batch);
                     }
                 } else if (shutdownPending && queue.isEmpty()) {
                     LOG.trace("Shutdown is pending, so this consumer thread is breaking out because the task queue is empty.");
@@ -210,6 +213,80 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
         }
     }
 
+    private void processBatch(BlockingQueue<Exchange> queue, List<Exchange> batch) {
+        // take the messages that are already on the queue at once
+        queue.drainTo(batch, pollBatchSize - 1);
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("Drained queue {} -> {} exchanges", ObjectHelper.getIdentityHashCode(queue), batch.size());
+        }
+        // keep track of the taken exchanges, so they are counted as pending, and can be removed by timed out
+        // producers and when purging the queue
+        pendingBatch.addAll(batch);
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                Exchange exchange = batch.get(i);
+                if (!isRunAllowed() || isSuspending() || isSuspended()) {
+                    // the consumer is stopped or suspended while processing the batch
+                    handBack(queue, batch, i);
+                    return;
+                }
+                // the exchange may have been removed (such as timed out or purged) after it was taken
+                if (pendingBatch.remove(exchange)) {
+                    processExchange(exchange);
+                }
+            }
+        } finally {
+            batch.clear();
+        }
+    }
+
+    private void handBack(BlockingQueue<Exchange> queue, List<Exchange> batch, int from) {
+        for (int i = from; i < batch.size(); i++) {
+            Exchange exchange = batch.get(i);
+            if (pendingBatch.remove(exchange) && !queue.offer(exchange)) {
+                // the queue is full, so fail the exchange, which also signals a producer waiting for the exchange
+                LOG.warn("Cannot hand back exchange: {} to the queue as the queue is full", exchange.getExchangeId());
+                exchange.setException(new RejectedExecutionException(
+                        "Consumer is stopping or suspending and cannot hand back exchange to the full queue"));
+                UnitOfWorkHelper.doneSynchronizations(exchange, exchange.getExchangeExtension().handoverCompletions());
+            }
+        }
+        LOG.debug("Handed back {} exchanges to the queue as the consumer is stopping or suspending", batch.size() - from);
+    }
+
+    /**
+     * Removes the exchange which has been taken from the queue, but not yet processed, by this consumer
+     *
+     * @return <tt>true</tt> if removed, or <tt>false</tt> if the exchange is not pending at this consumer
+     */
+    boolean removePendingExchange(Exchange exchange) {
+        return pendingBatch.remove(exchange);
+    }
+
+    /**
+     * Removes all the exchanges which have been taken from the queue, but not yet processed, by this consumer
+     */
+    void purgePendingExchanges() {
+        pendingBatch.clear();
+    }
+
+    private void processExchange(Exchange exchange) {
+        try {
+            final Exchange original = exchange;
+            // prepare the exchange before sending to consumer
+            final Exchange prepared = prepareExchange(exchange);
+            // callback to be executed when sending to consumer and processing is done
+            AsyncCallback callback = doneSync -> onProcessingDone(original, prepared);
+            // process the exchange
+            sendToConsumers(prepared, callback);
+        } catch (Exception e) {
+            getExceptionHandler().handleException("Error processing exchange", exchange, e);
+        }
+    }
+
     /**
      * Strategy to invoke when the exchange is done being processed.
      * <p/>
@@ -99,6 +99,12 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
               description = "The timeout (in milliseconds) used when polling. When a timeout occurs, the consumer can check whether it is"
                             + " allowed to continue running. Setting a lower value allows the consumer to react more quickly upon shutdown.")
     private int pollTimeout = 1000;
+    @UriParam(label = "consumer,advanced", defaultValue = "1",
+              description = "The maximum number of messages a consumer thread takes from the queue each time it polls."
+                            + " The first message is polled (waiting up to the poll timeout), and then any further messages"
+                            + " that are already on the queue are drained at once, which reduces the contention on the queue"
+                            + " under high load. The messages are then processed one by one by the consumer thread.")
+    private int pollBatchSize = 1;
 
     @UriParam(label = "producer", defaultValue = "IfReplyExpected",
               description = "Option to specify whether the caller should wait for the async task to complete or not before continuing. The"
@@ -526,6 +532,21 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
         this.pollTimeout = pollTimeout;
     }
 
+    @ManagedAttribute
+    public int getPollBatchSize() {
+        return pollBatchSize;
+    }
+
+    /**
+     * The maximum number of messages a consumer thread takes from the queue each time it polls. The first message is
+     * polled (waiting up to the poll timeout), and then any further messages that are already on the queue are drained
+     * at once, which reduces the contention on the queue under high load. The messages are then processed one by one by
+     * the consumer thread.
+     */
+    public void setPollBatchSize(int pollBatchSize) {
+        this.pollBatchSize = pollBatchSize;
+    }
+
     @ManagedAttribute
     public boolean isPurgeWhenStopping() {
         return purgeWhenStopping;
@@ -559,7 +580,13 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
     @ManagedOperation(description = "Purges the seda queue")
     public void purgeQueue() {
         LOG.debug("Purging queue with {} exchanges", queue.size());
-        queue.clear();
+        QueueReference queueReference = getQueueReference();
+        if (queueReference != null) {
+            // also purges the exchanges the consumers have taken from the queue in batches
+            queueReference.purge();
+        } else {
+            queue.clear();
+        }
     }
 
     /**
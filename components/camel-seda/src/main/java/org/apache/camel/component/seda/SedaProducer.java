@@ -128,8 +128,13 @@ public class SedaProducer extends DefaultAsyncProducer {
                 }
                 if (!done) {
                     exchange.setException(new ExchangeTimedOutException(exchange, timeout));
-                    // remove timed out Exchange from queue
-                    endpoint.getQueue().remove(copy);
+                    // remove timed out Exchange from queue, or from a consumer that has taken it in a batch
+                    QueueReference queueReference = endpoint.getQueueReference();
+                    if (queueReference != null) {
+                        queueReference.removeExchange(copy);
+                    } else {
+                        endpoint.getQueue().remove(copy);
+                    }
                     // count down to indicate timeout
                     latch.countDown();
                 }
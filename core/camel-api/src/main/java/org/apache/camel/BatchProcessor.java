@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel;
+
+import java.util.List;
+
+/**
+ * An {@link AsyncProcessor} which can process a batch of {@link Exchange}s in a single call.
+ * <p/>
+ * Batch processing is opt-in for consumers that receive many messages at once (such as a poll of records from a
+ * broker). Processors that are batch aware can amortize their per-exchange overhead such as the internal advices,
+ * event notification, and callbacks over the entire batch. Processors that are not batch aware process the exchanges
+ * in the batch one by one, see {@link org.apache.camel.support.BatchProcessorHelper}.
+ * <p/>
+ * Each exchange in the batch is still its own exchange, and any failure is set on the individual exchange, and does
+ * not affect the other exchanges in the batch. An exchange that failed or is marked to stop routing is not continued
+ * being routed together with the rest of the batch.
+ */
+public interface BatchProcessor extends AsyncProcessor {
+
+    /**
+     * Processes the batch of exchanges.
+     * <p/>
+     * The callback is invoked exactly once, when all the exchanges in the batch are done. The list of exchanges must not
+     * be modified by the processor.
+     *
+     * @param  exchanges the exchanges to process
+     * @param  callback  the callback to invoke when the batch is done
+     * @return           (doneSync) <tt>true</tt> to continue execute synchronously, <tt>false</tt> to continue being
+     *                   executed asynchronously
+     */
+    boolean processBatch(List<Exchange> exchanges, AsyncCallback callback);
+
+}
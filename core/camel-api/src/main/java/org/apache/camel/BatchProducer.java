@@ -0,0 +1,28 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel;
+
+/**
+ * A producer which can send a batch of exchanges in a single call, such as a single network round trip, a single
+ * database batch statement, or a single transaction.
+ * <p/>
+ * When a route sends a batch of exchanges to an endpoint whose producer is a batch producer, then the batch is sent in
+ * one call via {@link #processBatch(java.util.List, AsyncCallback)}.
+ */
+public interface BatchProducer extends AsyncProducer, BatchProcessor {
+
+}
@@ -440,6 +440,25 @@ public interface ExtendedCamelContext {
      */
     void setEventNotificationApplicable(boolean eventNotificationApplicable);
 
+    /**
+     * Whether copies of an exchange (such as the sub exchanges of the Splitter and Multicast EIPs) share the headers,
+     * exchange properties and variables with the exchange they are copied from, until either exchange changes them
+     * (copy-on-write).
+     */
+    boolean isExchangeLazyCopy();
+
+    /**
+     * Sets whether copies of an exchange (such as the sub exchanges of the Splitter and Multicast EIPs) share the
+     * headers, exchange properties and variables with the exchange they are copied from, until either exchange changes
+     * them (copy-on-write). This saves copying the maps for copies that never change them.
+     *
+     * The headers, exchange properties and variables of an exchange are not shared once they have been returned as a
+     * mutable map (such as by {@link Message#getHeaders()}), as the map can be changed by the caller at any time.
+     *
+     * This is by default disabled.
+     */
+    void setExchangeLazyCopy(boolean exchangeLazyCopy);
+
     /**
      * Internal {@link RouteController} that are only used internally by Camel to perform basic route operations. Do not
      * use this as end user.
@@ -155,6 +155,31 @@ public interface InflightRepository extends StaticService {
      */
     void setInflightBrowseEnabled(boolean inflightBrowseEnabled);
 
+    /**
+     * The sample rate when browsing inflight exchanges is enabled, where only 1 out of every N exchanges are tracked
+     * for browsing.
+     *
+     * This is by default 1, which means all exchanges are tracked.
+     */
+    default int getInflightBrowseSampleRate() {
+        return 1;
+    }
+
+    /**
+     * Sets a sample rate when browsing inflight exchanges is enabled, to only track 1 out of every N exchanges for
+     * browsing, which reduces the overhead under high load. The {@link #browse()} and {@link #oldest(String)}
+     * operations then only return the sampled exchanges, so the oldest exchange is only approximate as an older
+     * exchange may not have been sampled, but the sizes are always accurate.
+     *
+     * This is by default 1, which means all exchanges are tracked. Implementations that do not support sampling ignore
+     * the sample rate and track all exchanges.
+     *
+     * @param sampleRate the sample rate
+     */
+    default void setInflightBrowseSampleRate(int sampleRate) {
+        // noop
+    }
+
     /**
      * A <i>read-only</i> browser of the {@link InflightExchange}s that are currently inflight.
      */
@@ -190,6 +215,9 @@ public interface InflightRepository extends StaticService {
 
     /**
      * Gets the oldest {@link InflightExchange} that are currently inflight that started from the given route.
+     * <p/>
+     * When a {@link #setInflightBrowseSampleRate(int) sample rate} is in use, then this is the oldest of the sampled
+     * exchanges, and an older exchange that was not sampled may be inflight.
      *
      * @param  fromRouteId the route id, or <tt>null</tt> for all routes.
      * @return             the oldest, or <tt>null</tt> if none inflight
@@ -64,6 +64,32 @@ public interface StreamCachingStrategy extends StaticService {
          */
         long getCacheSpoolAverageSize();
 
+        /**
+         * Gets the counter for number of off-heap {@link StreamCache} created.
+         */
+        long getCacheOffHeapCounter();
+
+        /**
+         * Gets the total accumulated number of bytes which has been stream cached for off-heap stream caches.
+         */
+        long getCacheOffHeapSize();
+
+        /**
+         * Gets the average number of bytes per cached stream for off-heap stream caches.
+         */
+        long getCacheOffHeapAverageSize();
+
+        /**
+         * Gets the number of bytes of off-heap memory currently in use by stream caches.
+         */
+        long getCacheOffHeapUsedMemory();
+
+        /**
+         * Gets the counter for number of times the off-heap memory was exhausted, and the stream cache had to overflow
+         * to disk (or stay in heap memory if spooling to disk is not enabled).
+         */
+        long getCacheOffHeapExhaustedCounter();
+
         /**
          * Reset the counters
          */
@@ -233,6 +259,44 @@ public interface StreamCachingStrategy extends StaticService {
 
     boolean isRemoveSpoolDirectoryWhenStopping();
 
+    /**
+     * Enables an off-heap tier which sits between the in-memory heap cache and spooling to disk. When the
+     * {@link SpoolRule}s determines the stream should be spooled, then the content is moved to pooled direct
+     * {@link java.nio.ByteBuffer}s (outside the Java heap) as long as there is free off-heap memory within the budget
+     * configured by {@link #setOffHeapMaxMemory(long)}. When the budget is exhausted then the stream is spooled to disk
+     * (if spooling to disk is enabled).
+     * <p/>
+     * The off-heap memory is released when the exchange (or unit of work) using the stream cache is complete.
+     * <p/>
+     * <b>Notice:</b> This cannot be changed at runtime.
+     *
+     * Default is disabled.
+     */
+    void setOffHeapEnabled(boolean offHeapEnabled);
+
+    /**
+     * Is the off-heap tier enabled.
+     */
+    boolean isOffHeapEnabled();
+
+    /**
+     * Sets the maximum number of bytes of off-heap memory the stream caches can use in total (for all exchanges).
+     * <p/>
+     * The default is 64mb.
+     */
+    void setOffHeapMaxMemory(long maxMemory);
+
+    long getOffHeapMaxMemory();
+
+    /**
+     * Sets the size of the pooled direct buffers (chunks) used by the off-heap tier.
+     * <p/>
+     * The default size is 64kb.
+     */
+    void setOffHeapBufferSize(int bufferSize);
+
+    int getOffHeapBufferSize();
+
     /**
      * Sets whether if just any of the {@link org.apache.camel.spi.StreamCachingStrategy.SpoolRule} rules returns
      * <tt>true</tt> then {@link #shouldSpoolCache(long)} returns <tt>true</tt>. If this option is <tt>false</tt>, then
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spi;
+
+import org.apache.camel.Service;
+
+/**
+ * Access to a repository of token buckets shared by multiple nodes, used by the
+ * <a href="http://camel.apache.org/throttler.html">Throttler</a> in distributed requests mode to enforce a rate limit
+ * across a cluster.
+ * <p/>
+ * A bucket holds at most <tt>capacity</tt> tokens, and is refilled at the rate of <tt>capacity</tt> tokens per period.
+ * Each node acquires a lease of a number of tokens at a time, which it spends locally, so the repository is only
+ * accessed once per lease and not once per message. Implementations must acquire the tokens atomically, as the same
+ * bucket is accessed concurrently by all the nodes.
+ */
+public interface TokenBucketRepository extends Service {
+
+    /**
+     * Acquires up to the given number of tokens from the bucket. The bucket is created (full) if it does not exist.
+     *
+     * @param  key          the key of the bucket
+     * @param  tokens       the number of tokens to acquire
+     * @param  capacity     the maximum number of tokens in the bucket
+     * @param  periodMillis the time period in millis during which the bucket is refilled with <tt>capacity</tt> tokens
+     * @return              the number of tokens acquired, between 0 and <tt>tokens</tt>
+     */
+    long acquire(String key, long tokens, long capacity, long periodMillis);
+
+    /**
+     * Returns unused tokens to the bucket, such as when a lease expired before all its tokens were spent. The bucket
+     * holds at most <tt>capacity</tt> tokens.
+     *
+     * @param key      the key of the bucket
+     * @param tokens   the number of tokens to return
+     * @param capacity the maximum number of tokens in the bucket
+     */
+    void release(String key, long tokens, long capacity);
+
+    /**
+     * Removes all the buckets
+     */
+    void clear();
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spi;
+
+import java.util.List;
+
+/**
+ * Statistics about a work-stealing {@link ReactiveExecutor}, where idle workers run the pending tasks which other
+ * workers have left behind.
+ */
+public interface WorkStealingReactiveExecutorStatistics {
+
+    /**
+     * Whether statistics is enabled (some of the statistics are only tracked if enabled)
+     */
+    boolean isStatisticsEnabled();
+
+    /**
+     * Number of created workers
+     */
+    int getCreatedWorkers();
+
+    /**
+     * Number of active workers
+     */
+    int getActiveWorkers();
+
+    /**
+     * Number of running workers (only tracked if statistics is enabled)
+     */
+    int getRunningWorkers();
+
+    /**
+     * Number of pending tasks
+     */
+    int getPendingTasks();
+
+    /**
+     * Largest queue depth of a single worker (only tracked if statistics is enabled)
+     */
+    int getMaxQueueDepth();
+
+    /**
+     * Number of tasks stolen by idle workers from other workers
+     */
+    long getStolenTasks();
+
+    /**
+     * Number of attempts by idle workers to steal tasks from other workers
+     */
+    long getStealAttempts();
+
+    /**
+     * Information about the current workers
+     */
+    List<WorkerInfo> getWorkersInfo();
+
+    /**
+     * Information about a worker
+     */
+    interface WorkerInfo {
+
+        int getNumber();
+
+        String getThreadName();
+
+        /**
+         * Whether the worker is running tasks
+         */
+        boolean isRunning();
+
+        /**
+         * Number of tasks pending in the queue of this worker
+         */
+        int getPendingTasks();
+
+        /**
+         * Number of tasks this worker has stolen from other workers
+         */
+        long getStolenTasks();
+
+        /**
+         * Number of tasks other workers have stolen from this worker
+         */
+        long getStolenFromTasks();
+    }
+
+}
@@ -0,0 +1,269 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.util.List;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.spi.CamelInternalProcessorAdvice;
+
+/**
+ * A fixed chain of {@link CamelInternalProcessorAdvice} which the {@link CamelInternalProcessor} executes before and
+ * after processing.
+ * <p/>
+ * The set of advices is known once the route has been created, so the chain is selected up front with a specialized
+ * implementation for the common sizes. Routes typically have only a few advices where at most one of them keeps state,
+ * and then the chain calls the advices directly (no list iteration) and keeps the single state as-is without the need
+ * for a state array per exchange. Larger chains, or chains with several stateful advices, use an array based chain.
+ */
+abstract class AdviceChain {
+
+    private static final Object[] EMPTY_STATES = new Object[0];
+
+    static final AdviceChain EMPTY = new EmptyAdviceChain();
+
+    /**
+     * Creates the chain for the given (sorted) advices.
+     */
+    @SuppressWarnings("rawtypes")
+    static AdviceChain of(List<CamelInternalProcessorAdvice<?>> advices) {
+        CamelInternalProcessorAdvice[] arr = advices.toArray(new CamelInternalProcessorAdvice[0]);
+        int stateful = 0;
+        for (CamelInternalProcessorAdvice advice : arr) {
+            if (advice.hasState()) {
+                stateful++;
+            }
+        }
+        if (stateful > 1) {
+            return new ArrayAdviceChain(arr, stateful);
+        }
+        return switch (arr.length) {
+            case 0 -> EMPTY;
+            case 1 -> new SingleAdviceChain(arr[0]);
+            case 2 -> new PairAdviceChain(arr[0], arr[1]);
+            case 3 -> new TripleAdviceChain(arr[0], arr[1], arr[2]);
+            default -> new ArrayAdviceChain(arr, stateful);
+        };
+    }
+
+    /**
+     * Number of advices in this chain that keeps state.
+     */
+    abstract int getStateCount();
+
+    /**
+     * Whether the state of this chain is held in an array of {@link #getStateCount()} length.
+     */
+    boolean isStateArray() {
+        return false;
+    }
+
+    /**
+     * Executes the before advices in order.
+     *
+     * @param  exchange  the exchange
+     * @param  states    optional pre-allocated array (when {@link #isStateArray()}) to reuse for storing the states
+     * @return           the state to pass on to {@link #after(Exchange, Object)}
+     * @throws Exception is thrown if a before advice failed, then the remainder advices are not executed
+     */
+    abstract Object before(Exchange exchange, Object[] states) throws Exception;
+
+    /**
+     * Executes the after advices in reverse order. All the advices are executed even if one of them fails, which is
+     * then set as exception on the exchange.
+     *
+     * @param exchange the exchange
+     * @param state    the state returned from {@link #before(Exchange, Object[])}
+     */
+    abstract void after(Exchange exchange, Object state);
+
+    @SuppressWarnings("rawtypes")
+    private static Object stateOf(CamelInternalProcessorAdvice advice, Object state, Object current) {
+        return advice.hasState() ? state : current;
+    }
+
+    private static final class EmptyAdviceChain extends AdviceChain {
+
+        @Override
+        int getStateCount() {
+            return 0;
+        }
+
+        @Override
+        Object before(Exchange exchange, Object[] states) {
+            return null;
+        }
+
+        @Override
+        void after(Exchange exchange, Object state) {
+            // noop
+        }
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static final class SingleAdviceChain extends AdviceChain {
+
+        private final CamelInternalProcessorAdvice first;
+        private final boolean firstState;
+
+        SingleAdviceChain(CamelInternalProcessorAdvice first) {
+            this.first = first;
+            this.firstState = first.hasState();
+        }
+
+        @Override
+        int getStateCount() {
+            return firstState ? 1 : 0;
+        }
+
+        @Override
+        Object before(Exchange exchange, Object[] states) throws Exception {
+            return first.before(exchange);
+        }
+
+        @Override
+        void after(Exchange exchange, Object state) {
+            AdviceIterator.runAfterTask(first, firstState ? state : null, exchange);
+        }
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static final class PairAdviceChain extends AdviceChain {
+
+        private final CamelInternalProcessorAdvice first;
+        private final CamelInternalProcessorAdvice second;
+        private final boolean firstState;
+        private final boolean secondState;
+
+        PairAdviceChain(CamelInternalProcessorAdvice first, CamelInternalProcessorAdvice second) {
+            this.first = first;
+            this.second = second;
+            this.firstState = first.hasState();
+            this.secondState = second.hasState();
+        }
+
+        @Override
+        int getStateCount() {
+            return firstState || secondState ? 1 : 0;
+        }
+
+        @Override
+        Object before(Exchange exchange, Object[] states) throws Exception {
+            Object state = stateOf(first, first.before(exchange), null);
+            return stateOf(second, second.before(exchange), state);
+        }
+
+        @Override
+        void after(Exchange exchange, Object state) {
+            AdviceIterator.runAfterTask(second, secondState ? state : null, exchange);
+            AdviceIterator.runAfterTask(first, firstState ? state : null, exchange);
+        }
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static final class TripleAdviceChain extends AdviceChain {
+
+        private final CamelInternalProcessorAdvice first;
+        private final CamelInternalProcessorAdvice second;
+        private final CamelInternalProcessorAdvice third;
+        private final boolean firstState;
+        private final boolean secondState;
+        private final boolean thirdState;
+
+        TripleAdviceChain(CamelInternalProcessorAdvice first, CamelInternalProcessorAdvice second,
+                          CamelInternalProcessorAdvice third) {
+            this.first = first;
+            this.second = second;
+            this.third = third;
+            this.firstState = first.hasState();
+            this.secondState = second.hasState();
+            this.thirdState = third.hasState();
+        }
+
+        @Override
+        int getStateCount() {
+            return firstState || secondState || thirdState ? 1 : 0;
+        }
+
+        @Override
+        Object before(Exchange exchange, Object[] states) throws Exception {
+            Object state = stateOf(first, first.before(exchange), null);
+            state = stateOf(second, second.before(exchange), state);
+            return stateOf(third, third.before(exchange), state);
+        }
+
+        @Override
+        void after(Exchange exchange, Object state) {
+            AdviceIterator.runAfterTask(third, thirdState ? state : null, exchange);
+            AdviceIterator.runAfterTask(second, secondState ? state : null, exchange);
+            AdviceIterator.runAfterTask(first, firstState ? state : null, exchange);
+        }
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static final class ArrayAdviceChain extends AdviceChain {
+
+        private final CamelInternalProcessorAdvice[] advices;
+        private final boolean[] stateful;
+        private final int stateCount;
+
+        ArrayAdviceChain(CamelInternalProcessorAdvice[] advices, int stateCount) {
+            this.advices = advices;
+            this.stateful = new boolean[advices.length];
+            for (int i = 0; i < advices.length; i++) {
+                this.stateful[i] = advices[i].hasState();
+            }
+            this.stateCount = stateCount;
+        }
+
+        @Override
+        int getStateCount() {
+            return stateCount;
+        }
+
+        @Override
+        boolean isStateArray() {
+            return true;
+        }
+
+        @Override
+        Object before(Exchange exchange, Object[] states) throws Exception {
+            if (states == null) {
+                states = stateCount > 0 ? new Object[stateCount] : EMPTY_STATES;
+            }
+            for (int i = 0, j = 0; i < advices.length; i++) {
+                Object state = advices[i].before(exchange);
+                if (stateful[i]) {
+                    states[j++] = state;
+                }
+            }
+            return states;
+        }
+
+        @Override
+        void after(Exchange exchange, Object state) {
+            Object[] states = (Object[]) state;
+            for (int i = advices.length - 1, j = stateCount - 1; i >= 0; i--) {
+                Object s = null;
+                if (stateful[i]) {
+                    s = states[j--];
+                }
+                AdviceIterator.runAfterTask(advices[i], s, exchange);
+            }
+        }
+    }
+}
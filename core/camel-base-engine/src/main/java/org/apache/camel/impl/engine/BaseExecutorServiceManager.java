@@ -200,7 +200,7 @@ public class BaseExecutorServiceManager extends ServiceSupport implements Execut
         ThreadPoolProfile defaultProfile = getDefaultThreadPoolProfile();
         profile.addDefaults(defaultProfile);
 
-        ThreadFactory threadFactory = createThreadFactory(source, sanitizedName, true);
+        ThreadFactory threadFactory = createThreadFactory(source, sanitizedName, true, isVirtualThreads(profile));
         ExecutorService executorService = threadPoolFactory.newThreadPool(profile, threadFactory);
         onThreadPoolCreated(executorService, source, profile.getId());
         if (LOG.isDebugEnabled()) {
@@ -226,7 +226,8 @@ public class BaseExecutorServiceManager extends ServiceSupport implements Execut
     @Override
     public ExecutorService newCachedThreadPool(Object source, String name) {
         String sanitizedName = URISupport.sanitizeUri(name);
-        ExecutorService answer = threadPoolFactory.newCachedThreadPool(createThreadFactory(source, sanitizedName, true));
+        ExecutorService answer = threadPoolFactory.newCachedThreadPool(
+                createThreadFactory(source, sanitizedName, true, isVirtualThreads(getDefaultThreadPoolProfile())));
         onThreadPoolCreated(answer, source, null);
 
         if (LOG.isDebugEnabled()) {
@@ -260,7 +261,8 @@ public class BaseExecutorServiceManager extends ServiceSupport implements Execut
         String sanitizedName = URISupport.sanitizeUri(name);
         profile.addDefaults(getDefaultThreadPoolProfile());
         ScheduledExecutorService answer
-                = threadPoolFactory.newScheduledThreadPool(profile, createThreadFactory(source, sanitizedName, true));
+                = threadPoolFactory.newScheduledThreadPool(profile,
+                        createThreadFactory(source, sanitizedName, true, isVirtualThreads(profile)));
         onThreadPoolCreated(answer, source, null);
 
         if (LOG.isDebugEnabled()) {
@@ -599,11 +601,19 @@ public class BaseExecutorServiceManager extends ServiceSupport implements Execut
     }
 
     protected ThreadFactory createThreadFactory(Object source, String name, boolean daemon) {
-        ThreadFactory factory = new CamelThreadFactory(threadNamePattern, name, daemon);
+        return createThreadFactory(source, name, daemon, false);
+    }
+
+    protected ThreadFactory createThreadFactory(Object source, String name, boolean daemon, boolean virtual) {
+        ThreadFactory factory = new CamelThreadFactory(threadNamePattern, name, daemon, virtual);
         for (ThreadFactoryListener listener : threadFactoryListeners) {
             factory = listener.onNewThreadFactory(source, factory);
         }
         return factory;
     }
 
+    private static boolean isVirtualThreads(ThreadPoolProfile profile) {
+        return profile != null && Boolean.TRUE.equals(profile.getVirtualThreads());
+    }
+
 }
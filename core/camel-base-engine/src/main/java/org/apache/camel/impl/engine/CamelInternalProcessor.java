@@ -24,8 +24,10 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.camel.AsyncCallback;
+import org.apache.camel.BatchProcessor;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Channel;
 import org.apache.camel.DisabledAware;
@@ -64,6 +66,7 @@ import org.apache.camel.spi.Tracer;
 import org.apache.camel.spi.Transformer;
 import org.apache.camel.spi.UnitOfWork;
 import org.apache.camel.spi.UnitOfWorkFactory;
+import org.apache.camel.support.BatchProcessorHelper;
 import org.apache.camel.support.CamelContextHelper;
 import org.apache.camel.support.EventHelper;
 import org.apache.camel.support.ExchangeHelper;
@@ -110,17 +113,15 @@ import static java.util.Objects.requireNonNull;
  * <p/>
  * The added advices can implement {@link Ordered} to control in which order the advices are executed.
  */
-public class CamelInternalProcessor extends DelegateAsyncProcessor implements InternalProcessor {
+public class CamelInternalProcessor extends DelegateAsyncProcessor implements InternalProcessor, BatchProcessor {
 
     private static final Logger LOG = LoggerFactory.getLogger(CamelInternalProcessor.class);
 
-    private static final Object[] EMPTY_STATES = new Object[0];
-
     final CamelContext camelContext;
     private final ReactiveExecutor reactiveExecutor;
     private final ShutdownStrategy shutdownStrategy;
     private final List<CamelInternalProcessorAdvice<?>> advices = new ArrayList<>();
-    private byte statefulAdvices;
+    private AdviceChain chain = AdviceChain.EMPTY;
     private PooledObjectFactory<CamelInternalTask> taskFactory;
 
     public CamelInternalProcessor(CamelContext camelContext) {
@@ -162,10 +163,8 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor implements In
         advices.add(advice);
         // ensure advices are sorted so they are in the order we want
         advices.sort(OrderedComparator.get());
-
-        if (advice.hasState()) {
-            statefulAdvices++;
-        }
+        // and select the optimized chain to execute them
+        chain = AdviceChain.of(advices);
     }
 
     @Override
@@ -217,6 +216,7 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor implements In
     private final class AsyncAfterTask implements CamelInternalTask {
 
         private final Object[] states;
+        private Object state;
         private Exchange exchange;
         private AsyncCallback originalCallback;
 
@@ -235,9 +235,17 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor implements In
             return states;
         }
 
+        @Override
+        public void setState(Object state) {
+            this.state = state;
+        }
+
         @Override
         public void reset() {
-            Arrays.fill(this.states, null);
+            if (this.states != null) {
+                Arrays.fill(this.states, null);
+            }
+            this.state = null;
             this.exchange = null;
             this.originalCallback = null;
         }
@@ -245,7 +253,7 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor implements In
         @Override
         public void done(boolean doneSync) {
             try {
-                AdviceIterator.runAfterTasks(advices, states, exchange);
+                chain.after(exchange, state);
             } finally {
                 // ----------------------------------------------------------
                 // CAMEL END USER - DEBUG ME HERE +++ START +++
@@ -297,33 +305,115 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor implements In
             return processShutdown(exchange, originalCallback);
         }
 
-        Object[] states;
-
         // create internal callback which will execute the advices in reverse order when done
         CamelInternalTask afterTask = taskFactory != null ? taskFactory.acquire() : null;
         if (afterTask == null) {
-            states = statefulAdvices > 0 ? new Object[statefulAdvices] : EMPTY_STATES;
-            afterTask = new AsyncAfterTask(states);
-        } else {
-            states = afterTask.getStates();
+            // only use object array for states when the chain has more than one advice that keep state
+            afterTask = new AsyncAfterTask(chain.isStateArray() ? new Object[chain.getStateCount()] : null);
         }
         afterTask.prepare(exchange, originalCallback);
 
-        // optimise to use object array for states, and only for the number of advices that keep state
-        // optimise for loop using index access to avoid creating iterator object
-        for (int i = 0, j = 0; i < advices.size(); i++) {
-            CamelInternalProcessorAdvice<?> task = advices.get(i);
+        try {
+            afterTask.setState(chain.before(exchange, afterTask.getStates()));
+        } catch (Exception e) {
+            return handleException(exchange, originalCallback, e, afterTask);
+        }
+
+        // debugger can skip processing the exchange
+        if (skipOver(exchange)) {
+            // skip because the processor is specially disabled (such as from debugger)
+            originalCallback.done(true);
+            return true;
+        }
+
+        if (exchange.isTransacted()) {
+            return processTransacted(exchange, afterTask);
+        }
+
+        return processNonTransacted(exchange, afterTask);
+    }
+
+    @Override
+    public boolean processBatch(List<Exchange> exchanges, AsyncCallback callback) {
+        if (!(processor instanceof BatchProcessor batch) || !isBatchable(exchanges)) {
+            // the batch must be processed one by one
+            return BatchProcessorHelper.processEach(this, exchanges, callback);
+        }
+        if (this instanceof Channel ca && ca.getNextProcessor() instanceof DisabledAware da && da.isDisabled()) {
+            // skip because the processor is disabled at runtime (in dev mode)
+            callback.done(true);
+            return true;
+        }
+
+        // execute the before advices for each exchange, and only continue with the exchanges that should be processed
+        final List<Exchange> accepted = new ArrayList<>(exchanges.size());
+        final List<Object> acceptedStates = new ArrayList<>(exchanges.size());
+        for (Exchange exchange : exchanges) {
+            if (exchange.isRouteStop()) {
+                continue;
+            }
+            Object state;
             try {
-                Object state = task.before(exchange);
-                if (task.hasState()) {
-                    states[j++] = state;
-                }
+                state = chain.before(exchange, null);
             } catch (Exception e) {
-                return handleException(exchange, originalCallback, e, afterTask);
+                // error in before so break out
+                exchange.setException(e);
+                continue;
             }
+            if (!skipOver(exchange)) {
+                accepted.add(exchange);
+                acceptedStates.add(state);
+            }
+        }
+        if (accepted.isEmpty()) {
+            callback.done(true);
+            return true;
         }
 
-        // debugger can skip processing the exchange
+        // ----------------------------------------------------------
+        // CAMEL END USER - DEBUG ME HERE +++ START +++
+        // ----------------------------------------------------------
+        boolean sync = batch.processBatch(accepted, doneSync -> {
+            try {
+                // execute the after advices for each exchange
+                for (int i = 0; i < accepted.size(); i++) {
+                    chain.after(accepted.get(i), acceptedStates.get(i));
+                }
+            } finally {
+                // callback must be called (once for the entire batch)
+                reactiveExecutor.schedule(callback);
+            }
+        });
+        // ----------------------------------------------------------
+        // CAMEL END USER - DEBUG ME HERE +++ END +++
+        // ----------------------------------------------------------
+        if (!sync) {
+            for (Exchange exchange : accepted) {
+                EventHelper.notifyExchangeAsyncProcessingStartedEvent(camelContext, exchange);
+            }
+        }
+        return sync;
+    }
+
+    private boolean isBatchable(List<Exchange> exchanges) {
+        if (shutdownStrategy.isForceShutdown()) {
+            return false;
+        }
+        for (Exchange exchange : exchanges) {
+            // transacted exchanges and unit of works with before/after processing must be processed one by one
+            if (exchange.isTransacted()) {
+                return false;
+            }
+            UnitOfWork uow = exchange.getUnitOfWork();
+            if (uow != null && uow.isBeforeAfterProcess()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static boolean skipOver(Exchange exchange) {
         Object skip = exchange.removeProperty(ExchangePropertyKey.SKIP_OVER);
         if (Boolean.TRUE == skip) {
             if (LOG.isTraceEnabled()) {
@@ -334,16 +424,9 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor implements In
                 MessageHistory last = list.get(list.size() - 1);
                 last.setDebugSkipOver(true);
             }
-            // skip because the processor is specially disabled (such as from debugger)
-            originalCallback.done(true);
             return true;
         }
-
-        if (exchange.isTransacted()) {
-            return processTransacted(exchange, afterTask);
-        }
-
-        return processNonTransacted(exchange, afterTask);
+        return false;
     }
 
     private static boolean processShutdown(Exchange exchange, AsyncCallback originalCallback) {
@@ -485,21 +568,32 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor implements In
 
         private final InflightRepository inflightRepository;
         private final String id;
+        // the counter of the route in the default repository, so it is not looked up for every exchange
+        private final LongAdder routeCounter;
 
         public RouteInflightRepositoryAdvice(InflightRepository inflightRepository, String id) {
             this.inflightRepository = inflightRepository;
             this.id = id;
+            this.routeCounter = inflightRepository instanceof DefaultInflightRepository dir ? dir.routeCounter(id) : null;
         }
 
         @Override
         public Object before(Exchange exchange) throws Exception {
-            inflightRepository.add(exchange, id);
+            if (routeCounter != null) {
+                routeCounter.increment();
+            } else {
+                inflightRepository.add(exchange, id);
+            }
             return null;
         }
 
         @Override
         public void after(Exchange exchange, Object state) throws Exception {
-            inflightRepository.remove(exchange, id);
+            if (routeCounter != null) {
+                routeCounter.decrement();
+            } else {
+                inflightRepository.remove(exchange, id);
+            }
         }
 
         @Override
@@ -33,10 +33,15 @@ interface CamelInternalTask extends AsyncCallback {
     void prepare(Exchange exchange, AsyncCallback callback);
 
     /**
-     * Gets the states
+     * Gets the pre-allocated states (only in use when more than one advice keep state)
      */
     Object[] getStates();
 
+    /**
+     * Sets the state returned from the before advices
+     */
+    void setState(Object state);
+
     /**
      * Resets the task after its done and can be reused for another exchange.
      */
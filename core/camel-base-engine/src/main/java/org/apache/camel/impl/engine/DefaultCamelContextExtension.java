@@ -115,6 +115,7 @@ class DefaultCamelContextExtension implements ExtendedCamelContext {
     private volatile ManagementMBeanAssembler managementMBeanAssembler;
     private volatile HeadersMapFactory headersMapFactory;
     private volatile boolean eventNotificationApplicable;
+    private volatile boolean exchangeLazyCopy;
     private volatile CamelContextNameStrategy nameStrategy;
     private volatile ManagementNameStrategy managementNameStrategy;
     private volatile PropertiesComponent propertiesComponent;
@@ -477,6 +478,16 @@ class DefaultCamelContextExtension implements ExtendedCamelContext {
         this.eventNotificationApplicable = eventNotificationApplicable;
     }
 
+    @Override
+    public boolean isExchangeLazyCopy() {
+        return exchangeLazyCopy;
+    }
+
+    @Override
+    public void setExchangeLazyCopy(boolean exchangeLazyCopy) {
+        this.exchangeLazyCopy = exchangeLazyCopy;
+    }
+
     @Override
     public FactoryFinder getDefaultFactoryFinder() {
         return getFactoryFinder(FactoryFinder.DEFAULT_PATH);
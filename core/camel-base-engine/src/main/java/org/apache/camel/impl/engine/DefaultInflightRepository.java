@@ -37,22 +37,28 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Default {@link org.apache.camel.spi.InflightRepository}.
+ * <p/>
+ * The sizes are kept as striped counters. When browsing is enabled then the exchanges are tracked as well, which can be
+ * limited to a sample of the exchanges to reduce the overhead under high load.
  */
 public class DefaultInflightRepository extends ServiceSupport implements InflightRepository {
 
     private static final Logger LOG = LoggerFactory.getLogger(DefaultInflightRepository.class);
 
     private final LongAdder size = new LongAdder();
-    private final ConcurrentMap<String, Exchange> inflight = new ConcurrentHashMap<>();
+    // keyed by identity, which avoids creating the exchange id
+    private final ConcurrentMap<Exchange, Exchange> inflight = new ConcurrentHashMap<>();
     private final ConcurrentMap<String, LongAdder> routeCount = new ConcurrentHashMap<>();
+    private final boolean routeCounterCacheable = isRouteCounterCacheable();
     private boolean inflightExchangeEnabled;
+    private int inflightBrowseSampleRate = 1;
 
     @Override
     public void add(Exchange exchange) {
         size.increment();
 
-        if (inflightExchangeEnabled) {
-            inflight.put(exchange.getExchangeId(), exchange);
+        if (inflightExchangeEnabled && isSampled(exchange)) {
+            inflight.put(exchange, exchange);
         }
     }
 
@@ -60,9 +66,13 @@ public class DefaultInflightRepository extends ServiceSupport implements Infligh
     public void remove(Exchange exchange) {
         size.decrement();
 
-        if (inflightExchangeEnabled) {
-            inflight.remove(exchange.getExchangeId());
-        }
+        // always remove (a cheap no-op when not tracked) as browsing or the sample rate may have changed since added
+        inflight.remove(exchange);
+    }
+
+    private boolean isSampled(Exchange exchange) {
+        // must be deterministic so the same exchange is sampled when added and removed
+        return inflightBrowseSampleRate <= 1 || System.identityHashCode(exchange) % inflightBrowseSampleRate == 0;
     }
 
     @Override
@@ -81,6 +91,32 @@ public class DefaultInflightRepository extends ServiceSupport implements Infligh
         }
     }
 
+    /**
+     * Gets the counter of the route, which can be cached and updated directly instead of calling
+     * {@link #add(Exchange, String)} and {@link #remove(Exchange, String)} for every exchange.
+     *
+     * @return the counter, or <tt>null</tt> if a subclass overrides how exchanges are counted per route
+     */
+    LongAdder routeCounter(String routeId) {
+        if (!routeCounterCacheable) {
+            return null;
+        }
+        return routeCount.computeIfAbsent(routeId, k -> new LongAdder());
+    }
+
+    private boolean isRouteCounterCacheable() {
+        return isNotOverridden("add") && isNotOverridden("remove");
+    }
+
+    private boolean isNotOverridden(String method) {
+        try {
+            return getClass().getMethod(method, Exchange.class, String.class).getDeclaringClass()
+                    == DefaultInflightRepository.class;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
     @Override
     public int size() {
         return size.intValue();
@@ -112,6 +148,16 @@ public class DefaultInflightRepository extends ServiceSupport implements Infligh
         this.inflightExchangeEnabled = inflightBrowseEnabled;
     }
 
+    @Override
+    public int getInflightBrowseSampleRate() {
+        return inflightBrowseSampleRate;
+    }
+
+    @Override
+    public void setInflightBrowseSampleRate(int inflightBrowseSampleRate) {
+        this.inflightBrowseSampleRate = inflightBrowseSampleRate;
+    }
+
     @Override
     public Collection<InflightExchange> browse() {
         return browse(null, -1, false);
@@ -144,13 +190,10 @@ public class DefaultInflightRepository extends ServiceSupport implements Infligh
         }
 
         if (sortByLongestDuration) {
-            // sort by duration and grab the first
-            values = values.sorted((e1, e2) -> {
-                long d1 = getExchangeDuration(e1);
-                long d2 = getExchangeDuration(e2);
-                // need the biggest number first
-                return -1 * Long.compare(d1, d2);
-            });
+            // sort by duration (computed once as the duration changes while sorting), need the biggest number first
+            values = values.map(e -> new SortEntry(e, getExchangeDuration(e)))
+                    .sorted(Comparator.comparingLong(SortEntry::duration).reversed())
+                    .map(SortEntry::exchange);
         } else {
             // else sort by exchange id
             values = values.sorted(Comparator.comparing(Exchange::getExchangeId));
@@ -180,13 +223,8 @@ public class DefaultInflightRepository extends ServiceSupport implements Infligh
                     .filter(e -> fromRouteId.equals(e.getFromRouteId()));
         }
 
-        // sort by duration and grab the first
-        Exchange first = values.sorted((e1, e2) -> {
-            long d1 = getExchangeDuration(e1);
-            long d2 = getExchangeDuration(e2);
-            // need the biggest number first
-            return -1 * Long.compare(d1, d2);
-        }).findFirst().orElse(null);
+        // grab the one with the longest duration (only among the sampled exchanges when sampling)
+        Exchange first = values.max(Comparator.comparingLong(DefaultInflightRepository::getExchangeDuration)).orElse(null);
 
         if (first != null) {
             return new InflightExchangeEntry(first);
@@ -210,6 +248,9 @@ public class DefaultInflightRepository extends ServiceSupport implements Infligh
         return exchange.getClock().elapsed();
     }
 
+    private record SortEntry(Exchange exchange, long duration) {
+    }
+
     private static final class InflightExchangeEntry implements InflightExchange {
 
         private final Exchange exchange;
@@ -35,6 +35,8 @@ import org.apache.camel.Message;
 import org.apache.camel.StreamCache;
 import org.apache.camel.TypeConverter;
 import org.apache.camel.WrappedFile;
+import org.apache.camel.converter.stream.OffHeapBufferPool;
+import org.apache.camel.converter.stream.OffHeapInputStreamCache;
 import org.apache.camel.spi.StreamCachingStrategy;
 import org.apache.camel.support.TempDirHelper;
 import org.apache.camel.support.service.ServiceSupport;
@@ -70,6 +72,10 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
     private String spoolCipher;
     private int bufferSize = IOHelper.DEFAULT_BUFFER_SIZE;
     private boolean removeSpoolDirectoryWhenStopping = true;
+    private boolean offHeapEnabled;
+    private long offHeapMaxMemory = 64 * 1024 * 1024L;
+    private int offHeapBufferSize = 64 * 1024;
+    private OffHeapBufferPool offHeapBufferPool;
     private final UtilizationStatistics statistics = new UtilizationStatistics();
     private final Set<SpoolRule> spoolRules = new LinkedHashSet<>();
     private boolean anySpoolRules;
@@ -207,6 +213,36 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
         this.removeSpoolDirectoryWhenStopping = removeSpoolDirectoryWhenStopping;
     }
 
+    @Override
+    public boolean isOffHeapEnabled() {
+        return offHeapEnabled;
+    }
+
+    @Override
+    public void setOffHeapEnabled(boolean offHeapEnabled) {
+        this.offHeapEnabled = offHeapEnabled;
+    }
+
+    @Override
+    public long getOffHeapMaxMemory() {
+        return offHeapMaxMemory;
+    }
+
+    @Override
+    public void setOffHeapMaxMemory(long offHeapMaxMemory) {
+        this.offHeapMaxMemory = offHeapMaxMemory;
+    }
+
+    @Override
+    public int getOffHeapBufferSize() {
+        return offHeapBufferSize;
+    }
+
+    @Override
+    public void setOffHeapBufferSize(int offHeapBufferSize) {
+        this.offHeapBufferSize = offHeapBufferSize;
+    }
+
     @Override
     public boolean isAnySpoolRules() {
         return anySpoolRules;
@@ -311,7 +347,8 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
         }
         if (cache != null) {
             if (LOG.isTraceEnabled()) {
-                LOG.trace("Cached stream to {} -> {}", cache.inMemory() ? "memory" : "spool", cache);
+                LOG.trace("Cached stream to {} -> {}",
+                        cache instanceof OffHeapInputStreamCache ? "off-heap" : cache.inMemory() ? "memory" : "spool", cache);
             }
             if (statistics.isStatisticsEnabled()) {
                 computeStatistics(cache);
@@ -350,7 +387,9 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
 
     private void computeStatistics(StreamCache cache) {
         try {
-            if (cache.inMemory()) {
+            if (cache instanceof OffHeapInputStreamCache) {
+                statistics.updateOffHeap(cache.length());
+            } else if (cache.inMemory()) {
                 statistics.updateMemory(cache.length());
             } else {
                 statistics.updateSpool(cache.length());
@@ -406,8 +445,39 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
                     "SpoolHeapMemoryWatermarkThreshold must not be higher than 99, was: " + spoolUsedHeapMemoryThreshold);
         }
 
+        if (offHeapEnabled) {
+            if (offHeapBufferPool == null) {
+                offHeapBufferPool = new OffHeapBufferPool(offHeapBufferSize, offHeapMaxMemory);
+            }
+            camelContext.getCamelContextExtension().addContextPlugin(OffHeapBufferPool.class, offHeapBufferPool);
+            statistics.offHeapBufferPool = offHeapBufferPool;
+        }
+
+        // if we can overflow to off-heap memory or disk then setup the spool rules
+        if ((spoolEnabled || offHeapEnabled)
+                && (spoolThreshold > 0 || spoolUsedHeapMemoryThreshold > 0 || !spoolRules.isEmpty())) {
+            setupSpoolRules();
+        }
+
+        LOG.debug("StreamCaching configuration {}", this);
+
+        if (spoolDirectory != null) {
+            LOG.info("StreamCaching in use with spool directory: {} and rules: {}", spoolDirectory.getPath(), spoolRules);
+        } else if (!spoolRules.isEmpty()) {
+            LOG.info("StreamCaching in use with rules: {}", spoolRules);
+        } else {
+            // reduce logging noise when its in-memory stream caching
+            LOG.debug("StreamCaching in use");
+        }
+        if (offHeapBufferPool != null) {
+            LOG.info("StreamCaching in use with off-heap memory: {}K max using {}K buffers", offHeapMaxMemory >> 10,
+                    offHeapBufferSize >> 10);
+        }
+    }
+
+    private void setupSpoolRules() {
         // if we can overflow to disk then make sure directory exists / is created
-        if (spoolEnabled && (spoolThreshold > 0 || spoolUsedHeapMemoryThreshold > 0 || !spoolRules.isEmpty())) {
+        if (spoolEnabled) {
             if (spoolDirectory == null && spoolDirectoryName == null) {
                 throw new IllegalArgumentException("SpoolDirectory must be configured when using SpoolThreshold > 0");
             }
@@ -438,27 +508,16 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
                     LOG.debug("Created spool directory: {}", spoolDirectory);
                 }
             }
-            if (spoolThreshold > 0) {
-                spoolRules.add(new FixedThresholdSpoolRule());
-            }
-            if (spoolUsedHeapMemoryThreshold > 0) {
-                if (spoolUsedHeapMemoryLimit == null) {
-                    // use max by default
-                    spoolUsedHeapMemoryLimit = SpoolUsedHeapMemoryLimit.Max;
-                }
-                spoolRules.add(new UsedHeapMemorySpoolRule(spoolUsedHeapMemoryLimit));
-            }
         }
-
-        LOG.debug("StreamCaching configuration {}", this);
-
-        if (spoolDirectory != null) {
-            LOG.info("StreamCaching in use with spool directory: {} and rules: {}", spoolDirectory.getPath(), spoolRules);
-        } else if (!spoolRules.isEmpty()) {
-            LOG.info("StreamCaching in use with rules: {}", spoolRules);
-        } else {
-            // reduce logging noise when its in-memory stream caching
-            LOG.debug("StreamCaching in use");
+        if (spoolThreshold > 0) {
+            spoolRules.add(new FixedThresholdSpoolRule());
+        }
+        if (spoolUsedHeapMemoryThreshold > 0) {
+            if (spoolUsedHeapMemoryLimit == null) {
+                // use max by default
+                spoolUsedHeapMemoryLimit = SpoolUsedHeapMemoryLimit.Max;
+            }
+            spoolRules.add(new UsedHeapMemorySpoolRule(spoolUsedHeapMemoryLimit));
         }
     }
 
@@ -474,6 +533,11 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
         }
 
         statistics.reset();
+
+        if (offHeapBufferPool != null) {
+            // free buffers can be reclaimed, and buffers in use are returned to the pool when released
+            offHeapBufferPool.clear();
+        }
     }
 
     private boolean isSpoolRemovable() {
@@ -489,6 +553,9 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
                + ", spoolThreshold=" + spoolThreshold
                + ", spoolUsedHeapMemoryThreshold=" + spoolUsedHeapMemoryThreshold
                + ", bufferSize=" + bufferSize
+               + ", offHeapEnabled=" + offHeapEnabled
+               + ", offHeapMaxMemory=" + offHeapMaxMemory
+               + ", offHeapBufferSize=" + offHeapBufferSize
                + ", anySpoolRules=" + anySpoolRules + "]";
     }
 
@@ -568,6 +635,10 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
         private final AtomicLong spoolCounter = new AtomicLong();
         private final AtomicLong spoolSize = new AtomicLong();
         private final AtomicLong spoolAverageSize = new AtomicLong();
+        private final AtomicLong offHeapCounter = new AtomicLong();
+        private final AtomicLong offHeapSize = new AtomicLong();
+        private final AtomicLong offHeapAverageSize = new AtomicLong();
+        private volatile OffHeapBufferPool offHeapBufferPool;
 
         void updateMemory(long size) {
             lock.lock();
@@ -583,7 +654,16 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
             try {
                 spoolAverageSize.set(spoolSize.addAndGet(size) / spoolCounter.incrementAndGet());
             } finally {
-                lock.lock();
+                lock.unlock();
+            }
+        }
+
+        void updateOffHeap(long size) {
+            lock.lock();
+            try {
+                offHeapAverageSize.set(offHeapSize.addAndGet(size) / offHeapCounter.incrementAndGet());
+            } finally {
+                lock.unlock();
             }
         }
 
@@ -617,6 +697,33 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
             return spoolAverageSize.get();
         }
 
+        @Override
+        public long getCacheOffHeapCounter() {
+            return offHeapCounter.get();
+        }
+
+        @Override
+        public long getCacheOffHeapSize() {
+            return offHeapSize.get();
+        }
+
+        @Override
+        public long getCacheOffHeapAverageSize() {
+            return offHeapAverageSize.get();
+        }
+
+        @Override
+        public long getCacheOffHeapUsedMemory() {
+            OffHeapBufferPool pool = offHeapBufferPool;
+            return pool != null ? pool.getUsedMemory() : 0;
+        }
+
+        @Override
+        public long getCacheOffHeapExhaustedCounter() {
+            OffHeapBufferPool pool = offHeapBufferPool;
+            return pool != null ? pool.getExhaustedCounter() : 0;
+        }
+
         @Override
         public void reset() {
             lock.lock();
@@ -627,6 +734,13 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
                 spoolCounter.set(0);
                 spoolSize.set(0);
                 spoolAverageSize.set(0);
+                offHeapCounter.set(0);
+                offHeapSize.set(0);
+                offHeapAverageSize.set(0);
+                OffHeapBufferPool pool = offHeapBufferPool;
+                if (pool != null) {
+                    pool.resetExhaustedCounter();
+                }
             } finally {
                 lock.unlock();
             }
@@ -645,8 +759,9 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
         @Override
         public String toString() {
             return String.format(
-                    "[memoryCounter=%s, memorySize=%s, memoryAverageSize=%s, spoolCounter=%s, spoolSize=%s, spoolAverageSize=%s]",
-                    memoryCounter, memorySize, memoryAverageSize, spoolCounter, spoolSize, spoolAverageSize);
+                    "[memoryCounter=%s, memorySize=%s, memoryAverageSize=%s, spoolCounter=%s, spoolSize=%s, spoolAverageSize=%s, offHeapCounter=%s, offHeapSize=%s, offHeapAverageSize=%s, offHeapUsedMemory=%s]",
+                    memoryCounter, memorySize, memoryAverageSize, spoolCounter, spoolSize, spoolAverageSize, offHeapCounter,
+                    offHeapSize, offHeapAverageSize, getCacheOffHeapUsedMemory());
         }
     }
 
@@ -0,0 +1,229 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Assigns integer slots to header names, which are used by {@link IndexedHeadersMap} to store headers in arrays
+ * instead of looking up the keys in a case-insensitive tree.
+ * <p/>
+ * The names are matched case-insensitive, so <tt>content-type</tt> and <tt>Content-Type</tt> are using the same slot.
+ * The spelling variants that are looked up are remembered, so they can be found by the (cached) hash code of the
+ * string and identity comparison, which is the common case when the header names are constants.
+ * <p/>
+ * A slot is never removed, and the number of names is bounded (names that cannot be indexed are stored in a regular
+ * case-insensitive map by {@link IndexedHeadersMap}). The lookup tables are immutable and replaced (copy-on-write)
+ * when a new name or spelling variant is added, so lookups are lock-free.
+ */
+final class HeaderNameIndex {
+
+    private final int maxNames;
+    private final int maxVariants;
+    private volatile Table table;
+
+    HeaderNameIndex(Collection<String> names, int maxNames) {
+        this.maxNames = maxNames;
+        this.maxVariants = maxNames * 2;
+        this.table = new Table(new String[0], new String[0], new int[0]);
+        for (String name : names) {
+            indexOf(name, true);
+        }
+    }
+
+    /**
+     * Number of header names with a slot
+     */
+    int size() {
+        return table.names.length;
+    }
+
+    /**
+     * Maximum number of header names that can have a slot
+     */
+    int getMaxNames() {
+        return maxNames;
+    }
+
+    /**
+     * Gets the slot of the given header name
+     *
+     * @param  name the header name
+     * @param  add  whether to assign a new slot if the header name does not have a slot yet
+     * @return      the slot, or <tt>-1</tt> if the name has no slot
+     */
+    int indexOf(String name, boolean add) {
+        Table t = table;
+        int slot = t.exactSlot(name);
+        if (slot >= 0) {
+            return slot;
+        }
+        slot = t.caseInsensitiveSlot(name);
+        if (slot >= 0) {
+            if (t.variantSlots.length < maxVariants) {
+                // remember this spelling so next lookup is fast
+                addVariant(name, slot);
+            }
+            return slot;
+        }
+        return add ? addName(name) : -1;
+    }
+
+    private synchronized void addVariant(String name, int slot) {
+        Table t = table;
+        if (t.exactSlot(name) >= 0 || t.variantSlots.length >= maxVariants) {
+            return;
+        }
+        int len = t.variants.length;
+        String[] variants = Arrays.copyOf(t.variants, len + 1);
+        int[] variantSlots = Arrays.copyOf(t.variantSlots, len + 1);
+        variants[len] = name;
+        variantSlots[len] = slot;
+        table = new Table(t.names, variants, variantSlots);
+    }
+
+    private synchronized int addName(String name) {
+        Table t = table;
+        // another thread may have added the name in the meantime
+        int slot = t.caseInsensitiveSlot(name);
+        if (slot >= 0) {
+            return slot;
+        }
+        int len = t.names.length;
+        if (len >= maxNames) {
+            return -1;
+        }
+        String[] names = Arrays.copyOf(t.names, len + 1);
+        names[len] = name;
+        table = new Table(names, t.variants, t.variantSlots);
+        return len;
+    }
+
+    static int caseInsensitiveHash(String name) {
+        int h = 0;
+        for (int i = 0; i < name.length(); i++) {
+            char ch = name.charAt(i);
+            if (ch < 128) {
+                if (ch >= 'A' && ch <= 'Z') {
+                    ch += 'a' - 'A';
+                }
+            } else {
+                // same folding as String.equalsIgnoreCase
+                ch = Character.toLowerCase(Character.toUpperCase(ch));
+            }
+            h = 31 * h + ch;
+        }
+        return h;
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    private static int tableSize(int entries) {
+        int size = 16;
+        while (size < entries * 2) {
+            size <<= 1;
+        }
+        return size;
+    }
+
+    /**
+     * Immutable open addressing (linear probing) lookup tables.
+     */
+    private static final class Table {
+        private final String[] names;
+        private final String[] variants;
+        private final int[] variantSlots;
+        // keyed by the exact spelling (String.hashCode)
+        private final String[] exactKeys;
+        private final int[] exactValues;
+        // keyed by the case-insensitive hash of the names
+        private final String[] keys;
+        private final int[] values;
+
+        Table(String[] names, String[] variants, int[] variantSlots) {
+            this.names = names;
+            this.variants = variants;
+            this.variantSlots = variantSlots;
+
+            int size = tableSize(names.length + variants.length);
+            this.exactKeys = new String[size];
+            this.exactValues = new int[size];
+            for (int i = 0; i < names.length; i++) {
+                putExact(names[i], i);
+            }
+            for (int i = 0; i < variants.length; i++) {
+                putExact(variants[i], variantSlots[i]);
+            }
+
+            size = tableSize(names.length);
+            this.keys = new String[size];
+            this.values = new int[size];
+            int mask = size - 1;
+            for (int slot = 0; slot < names.length; slot++) {
+                int i = spread(caseInsensitiveHash(names[slot])) & mask;
+                while (keys[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = names[slot];
+                values[i] = slot;
+            }
+        }
+
+        private void putExact(String name, int slot) {
+            int mask = exactKeys.length - 1;
+            int i = spread(name.hashCode()) & mask;
+            while (exactKeys[i] != null) {
+                if (exactKeys[i].equals(name)) {
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+            exactKeys[i] = name;
+            exactValues[i] = slot;
+        }
+
+        int exactSlot(String name) {
+            int h = name.hashCode();
+            int mask = exactKeys.length - 1;
+            int i = spread(h) & mask;
+            String key;
+            while ((key = exactKeys[i]) != null) {
+                if (key == name || key.hashCode() == h && key.equals(name)) {
+                    return exactValues[i];
+                }
+                i = (i + 1) & mask;
+            }
+            return -1;
+        }
+
+        int caseInsensitiveSlot(String name) {
+            int mask = keys.length - 1;
+            int i = spread(caseInsensitiveHash(name)) & mask;
+            String key;
+            while ((key = keys[i]) != null) {
+                if (key.equalsIgnoreCase(name)) {
+                    return values[i];
+                }
+                i = (i + 1) & mask;
+            }
+            return -1;
+        }
+    }
+}
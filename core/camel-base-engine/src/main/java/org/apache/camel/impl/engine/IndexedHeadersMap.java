@@ -0,0 +1,386 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import org.apache.camel.util.CaseInsensitiveMap;
+
+/**
+ * A case-insensitive {@link Map} for message headers, created by {@link IndexedHeadersMapFactory}.
+ * <p/>
+ * The header names are mapped to integer slots by a {@link HeaderNameIndex} (shared by all the maps from the same
+ * factory), and the headers are stored in plain arrays, so looking up a header does not compare strings in a tree
+ * like {@link CaseInsensitiveMap}. Only the well-known header names are indexed, and other header names are stored in a
+ * {@link CaseInsensitiveMap}.
+ * <p/>
+ * When the headers are copied to an empty map from the same factory (such as when an exchange is copied by the
+ * multicast, splitter, or wire tap EIPs) then the arrays are shared between the two maps, and only copied when either
+ * map is changed (copy-on-write).
+ * <p/>
+ * The iteration order is not sorted (unlike {@link CaseInsensitiveMap}), and this implementation is not thread-safe.
+ */
+public final class IndexedHeadersMap extends AbstractMap<String, Object> {
+
+    private static final short[] EMPTY_POSITIONS = new short[0];
+    private static final String[] EMPTY_KEYS = new String[0];
+    private static final Object[] EMPTY_VALUES = new Object[0];
+    private static final int[] EMPTY_SLOTS = new int[0];
+
+    private final HeaderNameIndex index;
+    // slot -> (position + 1) in the dense arrays below, 0 if the header is not present
+    private short[] positions = EMPTY_POSITIONS;
+    private String[] keys = EMPTY_KEYS;
+    private Object[] values = EMPTY_VALUES;
+    private int[] slots = EMPTY_SLOTS;
+    private int count;
+    // headers which could not be indexed
+    private CaseInsensitiveMap overflow;
+    // whether the arrays are shared with another map and must be copied before changing
+    private boolean shared;
+    private Set<Map.Entry<String, Object>> entrySet;
+
+    IndexedHeadersMap(HeaderNameIndex index) {
+        this.index = index;
+    }
+
+    HeaderNameIndex getIndex() {
+        return index;
+    }
+
+    @Override
+    public int size() {
+        return overflow != null ? count + overflow.size() : count;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return count == 0 && (overflow == null || overflow.isEmpty());
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (key instanceof String name) {
+            int slot = index.indexOf(name, false);
+            if (slot >= 0) {
+                int pos = position(slot);
+                return pos >= 0 ? values[pos] : null;
+            }
+            if (overflow != null) {
+                return overflow.get(name);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (key instanceof String name) {
+            int slot = index.indexOf(name, false);
+            if (slot >= 0) {
+                return position(slot) >= 0;
+            }
+            return overflow != null && overflow.containsKey(name);
+        }
+        return false;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        Objects.requireNonNull(key, "key");
+        // only the well-known header names are indexed, other names are stored in the overflow map
+        int slot = index.indexOf(key, false);
+        ensureWritable();
+        if (slot < 0) {
+            if (overflow == null) {
+                overflow = new CaseInsensitiveMap();
+            }
+            return overflow.put(key, value);
+        }
+        int pos = position(slot);
+        if (pos >= 0) {
+            // keep the existing key (same as CaseInsensitiveMap)
+            Object answer = values[pos];
+            values[pos] = value;
+            return answer;
+        }
+        add(slot, key, value);
+        return null;
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ?> map) {
+        if (map instanceof IndexedHeadersMap other && other != this && other.index == index && isEmpty()) {
+            // share the arrays until either map is changed
+            other.shared = true;
+            this.shared = true;
+            this.positions = other.positions;
+            this.keys = other.keys;
+            this.values = other.values;
+            this.slots = other.slots;
+            this.count = other.count;
+            this.overflow = other.overflow;
+            return;
+        }
+        for (Map.Entry<? extends String, ?> entry : map.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public Object remove(Object key) {
+        if (key instanceof String name) {
+            int slot = index.indexOf(name, false);
+            if (slot >= 0) {
+                int pos = position(slot);
+                if (pos >= 0) {
+                    ensureWritable();
+                    Object answer = values[pos];
+                    removeAt(pos);
+                    return answer;
+                }
+            } else if (overflow != null && overflow.containsKey(name)) {
+                ensureWritable();
+                return overflow.remove(name);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void clear() {
+        if (shared) {
+            positions = EMPTY_POSITIONS;
+            keys = EMPTY_KEYS;
+            values = EMPTY_VALUES;
+            slots = EMPTY_SLOTS;
+            overflow = null;
+            shared = false;
+        } else {
+            for (int i = 0; i < count; i++) {
+                positions[slots[i]] = 0;
+                keys[i] = null;
+                values[i] = null;
+            }
+            if (overflow != null) {
+                overflow.clear();
+            }
+        }
+        count = 0;
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super String, ? super Object> action) {
+        for (int i = 0; i < count; i++) {
+            action.accept(keys[i], values[i]);
+        }
+        if (overflow != null) {
+            overflow.forEach(action);
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private int position(int slot) {
+        return slot < positions.length ? positions[slot] - 1 : -1;
+    }
+
+    private void ensureWritable() {
+        if (shared) {
+            positions = positions.clone();
+            keys = keys.clone();
+            values = values.clone();
+            slots = slots.clone();
+            if (overflow != null) {
+                overflow = new CaseInsensitiveMap(overflow);
+            }
+            shared = false;
+        }
+    }
+
+    private void add(int slot, String key, Object value) {
+        if (slot >= positions.length) {
+            // grow by doubling (the slot is always lower than the maximum number of names)
+            int len = Math.min(Math.max(slot + 1, positions.length * 2), index.getMaxNames());
+            short[] arr = new short[len];
+            System.arraycopy(positions, 0, arr, 0, positions.length);
+            positions = arr;
+        }
+        if (count == keys.length) {
+            int len = Math.max(8, count * 2);
+            String[] newKeys = new String[len];
+            Object[] newValues = new Object[len];
+            int[] newSlots = new int[len];
+            System.arraycopy(keys, 0, newKeys, 0, count);
+            System.arraycopy(values, 0, newValues, 0, count);
+            System.arraycopy(slots, 0, newSlots, 0, count);
+            keys = newKeys;
+            values = newValues;
+            slots = newSlots;
+        }
+        keys[count] = key;
+        values[count] = value;
+        slots[count] = slot;
+        positions[slot] = (short) ++count;
+    }
+
+    private void removeAt(int pos) {
+        positions[slots[pos]] = 0;
+        int last = --count;
+        if (pos != last) {
+            // move the last header into the free position
+            keys[pos] = keys[last];
+            values[pos] = values[last];
+            slots[pos] = slots[last];
+            positions[slots[pos]] = (short) (pos + 1);
+        }
+        keys[last] = null;
+        values[last] = null;
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+
+        @Override
+        public Iterator<Map.Entry<String, Object>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return IndexedHeadersMap.this.size();
+        }
+
+        @Override
+        public void clear() {
+            IndexedHeadersMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+        private int next;
+        private int current = -1;
+        private String currentOverflow;
+        private Iterator<Map.Entry<String, Object>> overflowIterator;
+        // the overflow map being iterated, which is no longer the current one once a shared map has been copied
+        private CaseInsensitiveMap iterated;
+
+        @Override
+        public boolean hasNext() {
+            if (next < count) {
+                return true;
+            }
+            if (overflow == null) {
+                return false;
+            }
+            if (overflowIterator == null) {
+                iterated = overflow;
+                overflowIterator = overflow.entrySet().iterator();
+            }
+            return overflowIterator.hasNext();
+        }
+
+        @Override
+        public Map.Entry<String, Object> next() {
+            if (next < count) {
+                current = next++;
+                return new IndexedEntry(keys[current]);
+            }
+            if (hasNext()) {
+                current = -1;
+                currentOverflow = overflowIterator.next().getKey();
+                // changes to the entry go through the map so a shared overflow map is copied first
+                return new IndexedEntry(currentOverflow);
+            }
+            throw new NoSuchElementException();
+        }
+
+        @Override
+        public void remove() {
+            if (currentOverflow != null) {
+                ensureWritable();
+                if (iterated == overflow) {
+                    overflowIterator.remove();
+                } else {
+                    // the shared overflow map has been copied, so continue after the current header in the copy
+                    overflow.remove(currentOverflow);
+                    iterated = overflow;
+                    overflowIterator = overflow.tailMap(currentOverflow, false).entrySet().iterator();
+                }
+                currentOverflow = null;
+            } else if (current >= 0) {
+                ensureWritable();
+                removeAt(current);
+                // the last header has been moved into the current position
+                next = current;
+                current = -1;
+            } else {
+                throw new IllegalStateException();
+            }
+        }
+    }
+
+    private final class IndexedEntry implements Map.Entry<String, Object> {
+        private final String key;
+
+        IndexedEntry(String key) {
+            this.key = key;
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            return get(key);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            return put(key, value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Map.Entry<?, ?> e && key.equals(e.getKey()) && Objects.equals(getValue(), e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode() ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.spi.HeadersMapFactory;
+
+/**
+ * {@link HeadersMapFactory} which uses the {@link IndexedHeadersMap} that stores the headers in arrays indexed by
+ * integer slots assigned to the header names, instead of the tree used by the default
+ * {@link org.apache.camel.util.CaseInsensitiveMap CaseInsensitiveMap}. The maps are case-insensitive.
+ * <p/>
+ * Only well-known header names are indexed: the constants from {@link Exchange}, common HTTP and JMS headers, and the
+ * names added with {@link #addHeaderNames(String...)} or {@link #addHeaderNames(Class)} (such as the constants from a
+ * component), until the maximum number of names has been indexed. Other header names are not indexed, as the index is
+ * shared and never shrinks, so arbitrary names (such as names with an id) would otherwise use up the slots for good.
+ * <p/>
+ * This can be faster than the default implementation for routes with many headers, and when copying exchanges (the
+ * headers are copy-on-write), but the iteration order of the headers is not sorted.
+ */
+public class IndexedHeadersMapFactory implements HeadersMapFactory {
+
+    /**
+     * The default maximum number of header names that can be indexed.
+     */
+    public static final int DEFAULT_MAX_HEADER_NAMES = 1024;
+
+    private static final String[] COMMON_HEADER_NAMES = {
+            // http
+            "Accept", "Accept-Charset", "Accept-Encoding", "Accept-Language", "Authorization", "Cache-Control",
+            "Connection", "Content-Disposition", "Content-Encoding", "Content-Language", "Content-Length", "Content-Type",
+            "Cookie", "Date", "ETag", "Expect", "Expires", "Host", "If-Match", "If-Modified-Since", "If-None-Match",
+            "Last-Modified", "Location", "Origin", "Pragma", "Referer", "Server", "Set-Cookie", "Transfer-Encoding",
+            "User-Agent", "Vary", "Via", "WWW-Authenticate", "X-Forwarded-For", "X-Forwarded-Host", "X-Forwarded-Proto",
+            "X-Request-ID", "traceparent", "tracestate",
+            // jms
+            "JMSCorrelationID", "JMSDeliveryMode", "JMSDestination", "JMSExpiration", "JMSMessageID", "JMSPriority",
+            "JMSRedelivered", "JMSReplyTo", "JMSTimestamp", "JMSType", "JMSXGroupID", "JMSXUserID"
+    };
+
+    private final HeaderNameIndex index;
+
+    public IndexedHeadersMapFactory() {
+        this(DEFAULT_MAX_HEADER_NAMES);
+    }
+
+    /**
+     * @param maxHeaderNames the maximum number of header names that can be indexed
+     */
+    public IndexedHeadersMapFactory(int maxHeaderNames) {
+        if (maxHeaderNames <= 0 || maxHeaderNames > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("maxHeaderNames must be between 1 and " + Short.MAX_VALUE);
+        }
+        List<String> names = new ArrayList<>(constantValues(Exchange.class));
+        names.addAll(List.of(COMMON_HEADER_NAMES));
+        this.index = new HeaderNameIndex(names, maxHeaderNames);
+    }
+
+    /**
+     * Adds well-known header names to be indexed.
+     */
+    public void addHeaderNames(String... names) {
+        for (String name : names) {
+            index.indexOf(name, true);
+        }
+    }
+
+    /**
+     * Adds the values of the public static String constants from the given class (such as the <tt>Constants</tt>
+     * class of a component) as well-known header names to be indexed.
+     */
+    public void addHeaderNames(Class<?> constants) {
+        for (String name : constantValues(constants)) {
+            index.indexOf(name, true);
+        }
+    }
+
+    /**
+     * Number of header names that has been indexed
+     */
+    public int getIndexedHeaderNames() {
+        return index.size();
+    }
+
+    /**
+     * The maximum number of header names that can be indexed
+     */
+    public int getMaxHeaderNames() {
+        return index.getMaxNames();
+    }
+
+    @Override
+    public Map<String, Object> newMap() {
+        return new IndexedHeadersMap(index);
+    }
+
+    @Override
+    public Map<String, Object> newMap(Map<String, Object> map) {
+        IndexedHeadersMap answer = new IndexedHeadersMap(index);
+        // is copy-on-write if the map is also from this factory
+        answer.putAll(map);
+        return answer;
+    }
+
+    @Override
+    public boolean isInstanceOf(Map<String, Object> map) {
+        return map instanceof IndexedHeadersMap ihm && ihm.getIndex() == index;
+    }
+
+    @Override
+    public boolean isCaseInsensitive() {
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "indexed";
+    }
+
+    private static List<String> constantValues(Class<?> type) {
+        List<String> answer = new ArrayList<>();
+        for (Field field : type.getFields()) {
+            int mod = field.getModifiers();
+            if (Modifier.isStatic(mod) && Modifier.isFinal(mod) && field.getType() == String.class) {
+                try {
+                    Object value = field.get(null);
+                    if (value != null) {
+                        answer.add(value.toString());
+                    }
+                } catch (IllegalAccessException e) {
+                    // ignore
+                }
+            }
+        }
+        return answer;
+    }
+}
@@ -0,0 +1,528 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.StaticService;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.ReactiveExecutor;
+import org.apache.camel.spi.WorkStealingReactiveExecutorStatistics;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.concurrent.NamedThreadLocal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A work-stealing {@link ReactiveExecutor}.
+ *
+ * Like {@link DefaultReactiveExecutor} each thread has its own worker with a queue of pending tasks. However, when a
+ * worker has run out of work, then it attempts to steal pending tasks which other workers have left behind, such as
+ * when the thread of the worker has ended, or its run was aborted by an error. This allows idle Camel threads to pick
+ * up continuations that otherwise would have to wait until the other thread schedules new work (if ever).
+ *
+ * The tasks of a worker are run one after another, and callers rely on this. Therefore tasks are never stolen from a
+ * worker which is running its own tasks (inside its trampoline loop), and a worker runs a stolen task while holding
+ * the lock of the worker it was stolen from, so the owner waits for the stolen task to complete before it continues
+ * running its own tasks.
+ *
+ * Tasks scheduled via {@link #scheduleQueue(Runnable)} (used for transacted exchanges) are bound to their thread, and
+ * therefore a worker with such pending tasks is never a victim for stealing.
+ */
+@ManagedResource(description = "Managed WorkStealingReactiveExecutor")
+public class WorkStealingReactiveExecutor extends ServiceSupport
+        implements ReactiveExecutor, WorkStealingReactiveExecutorStatistics, StaticService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WorkStealingReactiveExecutor.class);
+
+    private boolean statisticsEnabled;
+    private int stealThreshold = 1;
+    private int maxStealsPerRun = 16;
+
+    private final AtomicInteger createdWorkers = new AtomicInteger();
+    private final LongAdder runningWorkers = new LongAdder();
+    private final LongAdder stolenTasks = new LongAdder();
+    private final LongAdder stealAttempts = new LongAdder();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+    private final List<Worker> allWorkers = new CopyOnWriteArrayList<>();
+
+    private final NamedThreadLocal<Worker> workers = new NamedThreadLocal<>("CamelReactiveWorker", () -> {
+        int number = createdWorkers.incrementAndGet();
+        Worker worker = new Worker(number, WorkStealingReactiveExecutor.this);
+        // deregister workers of threads that have ended, so thread churn does not leak workers
+        removeDeadWorkers();
+        allWorkers.add(worker);
+        return worker;
+    });
+
+    @Override
+    public void schedule(Runnable runnable) {
+        workers.get().schedule(runnable, false, false, false);
+    }
+
+    @Override
+    public void scheduleMain(Runnable runnable) {
+        workers.get().schedule(runnable, true, true, false);
+    }
+
+    @Override
+    public void scheduleSync(Runnable runnable) {
+        workers.get().schedule(runnable, false, true, true);
+    }
+
+    @Override
+    public void scheduleQueue(Runnable runnable) {
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("ScheduleQueue: {}", runnable);
+        }
+        workers.get().scheduleQueue(runnable);
+    }
+
+    @Override
+    public boolean executeFromQueue() {
+        return workers.get().executeFromQueue();
+    }
+
+    @Override
+    @ManagedAttribute(description = "Whether statistics is enabled")
+    public boolean isStatisticsEnabled() {
+        return statisticsEnabled;
+    }
+
+    @Override
+    public void setStatisticsEnabled(boolean statisticsEnabled) {
+        this.statisticsEnabled = statisticsEnabled;
+    }
+
+    @ManagedAttribute(description = "Minimum number of pending tasks a worker must have before tasks can be stolen")
+    public int getStealThreshold() {
+        return stealThreshold;
+    }
+
+    /**
+     * Minimum number of pending tasks a worker must have before other workers can steal tasks from it. The default is
+     * 1.
+     */
+    public void setStealThreshold(int stealThreshold) {
+        this.stealThreshold = stealThreshold;
+    }
+
+    @ManagedAttribute(description = "Maximum number of tasks an idle worker steals before returning its thread")
+    public int getMaxStealsPerRun() {
+        return maxStealsPerRun;
+    }
+
+    /**
+     * Maximum number of tasks a worker that has run out of work steals from other workers, before the thread is
+     * returned to its caller (such as a thread pool or an event loop). The default is 16. Use 0 to turn off stealing.
+     */
+    public void setMaxStealsPerRun(int maxStealsPerRun) {
+        this.maxStealsPerRun = maxStealsPerRun;
+    }
+
+    @Override
+    @ManagedAttribute(description = "Number of created workers")
+    public int getCreatedWorkers() {
+        return createdWorkers.get();
+    }
+
+    @Override
+    @ManagedAttribute(description = "Number of active workers")
+    public int getActiveWorkers() {
+        removeDeadWorkers();
+        return allWorkers.size();
+    }
+
+    @Override
+    @ManagedAttribute(description = "Number of running workers (only tracked if statistics is enabled)")
+    public int getRunningWorkers() {
+        return runningWorkers.intValue();
+    }
+
+    @Override
+    @ManagedAttribute(description = "Number of pending tasks")
+    public int getPendingTasks() {
+        int answer = 0;
+        for (Worker worker : allWorkers) {
+            answer += worker.pending.get();
+        }
+        return answer;
+    }
+
+    @Override
+    @ManagedAttribute(description = "Largest queue depth of a single worker (only tracked if statistics is enabled)")
+    public int getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    @Override
+    @ManagedAttribute(description = "Number of tasks stolen by idle workers from other workers")
+    public long getStolenTasks() {
+        return stolenTasks.sum();
+    }
+
+    @Override
+    @ManagedAttribute(description = "Number of attempts by idle workers to steal tasks from other workers")
+    public long getStealAttempts() {
+        return stealAttempts.sum();
+    }
+
+    @Override
+    public List<WorkerInfo> getWorkersInfo() {
+        List<WorkerInfo> answer = new ArrayList<>(allWorkers.size());
+        for (Worker worker : allWorkers) {
+            answer.add(new DefaultWorkerInfo(
+                    worker.number, worker.threadName, worker.running, worker.pending.get(), worker.stolen,
+                    worker.stolenFrom));
+        }
+        return answer;
+    }
+
+    /**
+     * Resets the statistics
+     */
+    public void resetStatistics() {
+        stolenTasks.reset();
+        stealAttempts.reset();
+        maxQueueDepth.set(0);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug(
+                    "Stopping WorkStealingReactiveExecutor [createdWorkers: {}, runningWorkers: {}, pendingTasks: {}, stolenTasks: {}]",
+                    getCreatedWorkers(), getRunningWorkers(), getPendingTasks(), getStolenTasks());
+        }
+    }
+
+    @Override
+    protected void doShutdown() throws Exception {
+        workers.remove();
+        allWorkers.clear();
+    }
+
+    /**
+     * Removes the workers whose thread has ended and which have no pending tasks.
+     */
+    private void removeDeadWorkers() {
+        allWorkers.removeIf(w -> !w.isAlive() && w.pending.get() == 0);
+    }
+
+    /**
+     * Attempts to steal and run a pending task from another worker which is not running its own tasks.
+     *
+     * @return <tt>true</tt> if a task was stolen and run
+     */
+    private boolean stealAndRun(Worker thief) {
+        Object[] candidates = allWorkers.toArray();
+        int size = candidates.length;
+        if (size <= 1) {
+            return false;
+        }
+        stealAttempts.increment();
+        int start = ThreadLocalRandom.current().nextInt(size);
+        for (int i = 0; i < size; i++) {
+            Worker victim = (Worker) candidates[(start + i) % size];
+            if (victim == thief) {
+                continue;
+            }
+            if (!victim.isAlive() && victim.pending.get() == 0) {
+                // the thread is gone so the worker can no longer be used
+                allWorkers.remove(victim);
+                continue;
+            }
+            if (victim.runStolenTask(thief, stealThreshold)) {
+                stolenTasks.increment();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class DefaultWorkerInfo implements WorkerInfo {
+        private final int number;
+        private final String threadName;
+        private final boolean running;
+        private final int pendingTasks;
+        private final long stolenTasks;
+        private final long stolenFromTasks;
+
+        DefaultWorkerInfo(int number, String threadName, boolean running, int pendingTasks, long stolenTasks,
+                          long stolenFromTasks) {
+            this.number = number;
+            this.threadName = threadName;
+            this.running = running;
+            this.pendingTasks = pendingTasks;
+            this.stolenTasks = stolenTasks;
+            this.stolenFromTasks = stolenFromTasks;
+        }
+
+        @Override
+        public int getNumber() {
+            return number;
+        }
+
+        @Override
+        public String getThreadName() {
+            return threadName;
+        }
+
+        @Override
+        public boolean isRunning() {
+            return running;
+        }
+
+        @Override
+        public int getPendingTasks() {
+            return pendingTasks;
+        }
+
+        @Override
+        public long getStolenTasks() {
+            return stolenTasks;
+        }
+
+        @Override
+        public long getStolenFromTasks() {
+            return stolenFromTasks;
+        }
+    }
+
+    private static class Worker {
+
+        private final int number;
+        private final WorkStealingReactiveExecutor executor;
+        private final boolean stats;
+        private final WeakReference<Thread> thread;
+        private final String threadName;
+        private final AtomicInteger pending = new AtomicInteger();
+        // held while tasks of this worker are running, so they run one after another (also when stolen)
+        private final ReentrantLock runLock = new ReentrantLock();
+        private volatile Deque<Runnable> queue = new ConcurrentLinkedDeque<>();
+        private Deque<Deque<Runnable>> back;
+        private volatile boolean running;
+        private volatile boolean pinned;
+        // only updated while holding the run lock
+        private volatile long stolen;
+        private volatile long stolenFrom;
+
+        public Worker(int number, WorkStealingReactiveExecutor executor) {
+            this.number = number;
+            this.executor = executor;
+            this.stats = executor.isStatisticsEnabled();
+            Thread current = Thread.currentThread();
+            this.thread = new WeakReference<>(current);
+            this.threadName = current.getName();
+        }
+
+        boolean isAlive() {
+            Thread t = thread.get();
+            return t != null && t.isAlive();
+        }
+
+        void schedule(Runnable runnable, boolean first, boolean main, boolean sync) {
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Schedule [first={}, main={}, sync={}]: {}", first, main, sync, runnable);
+            }
+            if (main) {
+                executeMainFlow();
+            }
+            if (first) {
+                queue.addFirst(runnable);
+            } else {
+                queue.addLast(runnable);
+            }
+
+            incrementPendingTasks();
+            tryExecuteReactiveWork(runnable, sync);
+        }
+
+        void scheduleQueue(Runnable runnable) {
+            if (!pinned) {
+                pinned = true;
+                // wait for any in-progress steal to complete, after which no task can be stolen from this worker
+                runLock.lock();
+                runLock.unlock();
+            }
+            queue.add(runnable);
+            incrementPendingTasks();
+        }
+
+        private void executeMainFlow() {
+            if (!queue.isEmpty()) {
+                if (back == null) {
+                    back = new ArrayDeque<>();
+                }
+                back.push(queue);
+                queue = new ConcurrentLinkedDeque<>();
+            }
+        }
+
+        private void tryExecuteReactiveWork(Runnable runnable, boolean sync) {
+            if (!running || sync) {
+                boolean nested = running;
+                // wait for any task stolen from this worker to complete, so the tasks run one after another
+                runLock.lock();
+                running = true;
+                incrementRunningWorkers();
+                try {
+                    // only steal work when this is the outer run, as nested (sync) runs must return asap
+                    executeReactiveWork(!nested);
+                } finally {
+                    running = nested;
+                    decrementRunningWorkers();
+                    runLock.unlock();
+                }
+            } else {
+                if (LOG.isTraceEnabled()) {
+                    LOG.trace("Queuing reactive work: {}", runnable);
+                }
+            }
+        }
+
+        private void executeReactiveWork(boolean steal) {
+            int steals = 0;
+            for (;;) {
+                Runnable polled = pollLocal();
+                if (polled == null) {
+                    if (back != null && !back.isEmpty()) {
+                        queue = back.pollFirst();
+                        continue;
+                    }
+                    pinned = false;
+                    if (!steal || steals >= executor.maxStealsPerRun) {
+                        break;
+                    }
+                    if (!executor.stealAndRun(this)) {
+                        break;
+                    }
+                    steals++;
+                    stolen++;
+                    continue;
+                }
+                doRun(polled);
+            }
+        }
+
+        private Runnable pollLocal() {
+            Runnable polled = queue.pollFirst();
+            if (polled != null) {
+                pending.decrementAndGet();
+            }
+            return polled;
+        }
+
+        /**
+         * Called by another worker to steal and run the next task from this worker, which is only possible when this
+         * worker is not running its own tasks.
+         */
+        boolean runStolenTask(Worker thief, int threshold) {
+            if (running || pinned || pending.get() < threshold) {
+                return false;
+            }
+            if (!runLock.tryLock()) {
+                // the owner or someone else is running tasks of this worker
+                return false;
+            }
+            try {
+                if (running || pinned) {
+                    return false;
+                }
+                Runnable task = pollLocal();
+                if (task == null) {
+                    return false;
+                }
+                stolenFrom++;
+                if (LOG.isTraceEnabled()) {
+                    LOG.trace("Worker #{} stole from worker #{}: {}", thief.number, number, task);
+                }
+                thief.doRun(task);
+                return true;
+            } finally {
+                runLock.unlock();
+            }
+        }
+
+        private void doRun(Runnable polled) {
+            try {
+                if (LOG.isTraceEnabled()) {
+                    LOG.trace("Worker #{} running: {}", number, polled);
+                }
+                polled.run();
+            } catch (Exception t) {
+                LOG.warn("Error executing reactive work due to {}. This exception is ignored.",
+                        t.getMessage(), t);
+            }
+        }
+
+        private void decrementRunningWorkers() {
+            if (stats) {
+                executor.runningWorkers.decrement();
+            }
+        }
+
+        private void incrementRunningWorkers() {
+            if (stats) {
+                executor.runningWorkers.increment();
+            }
+        }
+
+        private void incrementPendingTasks() {
+            int depth = pending.incrementAndGet();
+            if (stats && depth > executor.maxQueueDepth.get()) {
+                executor.maxQueueDepth.accumulateAndGet(depth, Math::max);
+            }
+        }
+
+        boolean executeFromQueue() {
+            final Runnable polled = pollLocal();
+            if (polled == null) {
+                if (back == null || back.isEmpty()) {
+                    pinned = false;
+                }
+                return false;
+            }
+            runLock.lock();
+            try {
+                if (LOG.isTraceEnabled()) {
+                    LOG.trace("Running: {}", polled);
+                }
+                polled.run();
+            } catch (Exception t) {
+                // should not happen
+                LOG.warn("Error executing reactive work due to {}. This exception is ignored.", t.getMessage(), t);
+            } finally {
+                runLock.unlock();
+            }
+            return true;
+        }
+
+    }
+
+}
@@ -24,7 +24,9 @@ import java.util.Set;
 
 import org.apache.camel.api.management.ManagedCamelContext;
 import org.apache.camel.api.management.mbean.ManagedCamelContextMBean;
+import org.apache.camel.spi.ReactiveExecutor;
 import org.apache.camel.spi.ReloadStrategy;
+import org.apache.camel.spi.WorkStealingReactiveExecutorStatistics;
 import org.apache.camel.spi.annotations.DevConsole;
 import org.apache.camel.support.CamelContextHelper;
 import org.apache.camel.support.ExceptionHelper;
@@ -113,6 +115,23 @@ public class ContextDevConsole extends AbstractDevConsole {
             }
         }
 
+        ReactiveExecutor re = getCamelContext().getCamelContextExtension().getReactiveExecutor();
+        if (re instanceof WorkStealingReactiveExecutorStatistics wre) {
+            sb.append("\n    Reactive Executor: work-stealing");
+            sb.append(String.format("\n        Workers: %s/%s", wre.getActiveWorkers(), wre.getCreatedWorkers()));
+            sb.append(String.format("\n        Pending Tasks: %s", wre.getPendingTasks()));
+            if (wre.isStatisticsEnabled()) {
+                sb.append(String.format("\n        Running Workers: %s", wre.getRunningWorkers()));
+                sb.append(String.format("\n        Max Queue Depth: %s", wre.getMaxQueueDepth()));
+            }
+            sb.append(String.format("\n        Stolen Tasks: %s/%s", wre.getStolenTasks(), wre.getStealAttempts()));
+            for (WorkStealingReactiveExecutorStatistics.WorkerInfo wi : wre.getWorkersInfo()) {
+                sb.append(String.format("\n        #%s %s (pending: %s stolen: %s stolenFrom: %s)", wi.getNumber(),
+                        wi.getThreadName(), wi.getPendingTasks(), wi.getStolenTasks(), wi.getStolenFromTasks()));
+            }
+            sb.append("\n");
+        }
+
         return sb.toString();
     }
 
@@ -204,6 +223,35 @@ public class ContextDevConsole extends AbstractDevConsole {
             }
         }
 
+        ReactiveExecutor re = getCamelContext().getCamelContextExtension().getReactiveExecutor();
+        if (re instanceof WorkStealingReactiveExecutorStatistics wre) {
+            JsonObject jo = new JsonObject();
+            jo.put("type", "work-stealing");
+            jo.put("statisticsEnabled", wre.isStatisticsEnabled());
+            jo.put("createdWorkers", wre.getCreatedWorkers());
+            jo.put("activeWorkers", wre.getActiveWorkers());
+            jo.put("pendingTasks", wre.getPendingTasks());
+            if (wre.isStatisticsEnabled()) {
+                jo.put("runningWorkers", wre.getRunningWorkers());
+                jo.put("maxQueueDepth", wre.getMaxQueueDepth());
+            }
+            jo.put("stolenTasks", wre.getStolenTasks());
+            jo.put("stealAttempts", wre.getStealAttempts());
+            JsonArray arr = new JsonArray();
+            for (WorkStealingReactiveExecutorStatistics.WorkerInfo wi : wre.getWorkersInfo()) {
+                JsonObject wo = new JsonObject();
+                wo.put("number", wi.getNumber());
+                wo.put("threadName", wi.getThreadName());
+                wo.put("running", wi.isRunning());
+                wo.put("pendingTasks", wi.getPendingTasks());
+                wo.put("stolenTasks", wi.getStolenTasks());
+                wo.put("stolenFromTasks", wi.getStolenFromTasks());
+                arr.add(wo);
+            }
+            jo.put("workers", arr);
+            root.put("reactiveExecutor", jo);
+        }
+
         return root;
     }
 
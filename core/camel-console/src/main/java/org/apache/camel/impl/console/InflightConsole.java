@@ -55,6 +55,9 @@ public class InflightConsole extends AbstractDevConsole {
         sb.append(String.format("\n    Inflight: %s", repo.size()));
         sb.append(String.format("\n    InflightBrowseEnabled: %s", repo.isInflightBrowseEnabled()));
         if (repo.isInflightBrowseEnabled()) {
+            if (repo.getInflightBrowseSampleRate() > 1) {
+                sb.append(String.format("\n    InflightBrowseSampleRate: 1/%s", repo.getInflightBrowseSampleRate()));
+            }
             for (InflightRepository.InflightExchange ie : repo.browse(filter, max, false)) {
                 String age = TimeUtils.printDuration(ie.getDuration(), true);
                 sb.append(String.format("\n    %s (from: %s at: %s/%s remote: %b age: %s)",
@@ -78,6 +81,7 @@ public class InflightConsole extends AbstractDevConsole {
         root.put("inflight", repo.size());
         root.put("inflightBrowseEnabled", repo.isInflightBrowseEnabled());
         if (repo.isInflightBrowseEnabled()) {
+            root.put("inflightBrowseSampleRate", repo.getInflightBrowseSampleRate());
             final List<JsonObject> list = new ArrayList<>();
             for (InflightRepository.InflightExchange ie : repo.browse(filter, max, false)) {
                 JsonObject props = new JsonObject();
@@ -49,6 +49,7 @@ import org.apache.camel.support.MessageHelper;
 import org.apache.camel.support.RandomUuidGenerator;
 import org.apache.camel.support.ShortUuidGenerator;
 import org.apache.camel.support.SimpleUuidGenerator;
+import org.apache.camel.support.TypeConverterCallSite;
 import org.apache.camel.support.builder.ExpressionBuilder;
 import org.apache.camel.util.FileUtil;
 import org.apache.camel.util.ObjectHelper;
@@ -901,6 +902,7 @@ public final class SimpleExpressionBuilder {
      */
     public static Expression mandatoryBodyExpression(final String name) {
         return new ExpressionAdapter() {
+            private final TypeConverterCallSite callSite = new TypeConverterCallSite();
             private ClassResolver classResolver;
             private Expression exp;
 
@@ -914,7 +916,7 @@ public final class SimpleExpressionBuilder {
                     throw CamelExecutionException.wrapCamelExecutionException(exchange, e);
                 }
                 try {
-                    return exchange.getIn().getMandatoryBody(type);
+                    return callSite.getMandatoryBody(exchange.getIn(), type);
                 } catch (InvalidPayloadException e) {
                     throw CamelExecutionException.wrapCamelExecutionException(exchange, e);
                 }
@@ -20,7 +20,10 @@ import org.apache.camel.AggregationStrategy;
 import org.apache.camel.processor.aggregate.AggregationStrategyBeanAdapter;
 import org.apache.camel.processor.aggregate.GroupedBodyAggregationStrategy;
 import org.apache.camel.processor.aggregate.GroupedExchangeAggregationStrategy;
+import org.apache.camel.processor.aggregate.SpoolingGroupedBodyAggregationStrategy;
+import org.apache.camel.processor.aggregate.StreamLinesAggregationStrategy;
 import org.apache.camel.processor.aggregate.StringAggregationStrategy;
+import org.apache.camel.processor.aggregate.SummarizingAggregationStrategy;
 import org.apache.camel.processor.aggregate.UseLatestAggregationStrategy;
 import org.apache.camel.processor.aggregate.UseOriginalAggregationStrategy;
 
@@ -157,4 +160,27 @@ public final class AggregationStrategies {
         return string().delimiter(delimiter);
     }
 
+    /**
+     * Creates a {@link SummarizingAggregationStrategy} computing the given function over the message bodies.
+     *
+     * @param function One of count, sum, min, max or average.
+     */
+    public static SummarizingAggregationStrategy summarizing(String function) {
+        return new SummarizingAggregationStrategy().function(function);
+    }
+
+    /**
+     * Creates a {@link SpoolingGroupedBodyAggregationStrategy}.
+     */
+    public static SpoolingGroupedBodyAggregationStrategy spoolingGroupedBody() {
+        return new SpoolingGroupedBodyAggregationStrategy();
+    }
+
+    /**
+     * Creates a {@link StreamLinesAggregationStrategy}.
+     */
+    public static StreamLinesAggregationStrategy streamLines() {
+        return new StreamLinesAggregationStrategy();
+    }
+
 }
@@ -50,6 +50,9 @@ public class ClaimCheckDefinition extends NoOutputDefinition<ClaimCheckDefinitio
     @XmlAttribute
     @Metadata(label = "advanced")
     private String aggregationStrategyMethodName;
+    @XmlAttribute
+    @Metadata(label = "advanced", javaType = "java.lang.Boolean", defaultValue = "false")
+    private String spool;
 
     public ClaimCheckDefinition() {
     }
@@ -62,6 +65,7 @@ public class ClaimCheckDefinition extends NoOutputDefinition<ClaimCheckDefinitio
         this.filter = source.filter;
         this.aggregationStrategy = source.aggregationStrategy;
         this.aggregationStrategyMethodName = source.aggregationStrategyMethodName;
+        this.spool = source.spool;
     }
 
     @Override
@@ -188,6 +192,37 @@ public class ClaimCheckDefinition extends NoOutputDefinition<ClaimCheckDefinitio
         return this;
     }
 
+    /**
+     * Whether to move large message bodies out of the heap while they are stored in the claim check repository. The
+     * message body is moved to off-heap memory or spooled to disk using stream caching, and the stream caching off-heap
+     * or spool options must be enabled. Only bodies that are larger than the stream caching spool threshold are moved.
+     * The stored body is given back as a stream cache which is only read (materialized) when needed.
+     */
+    public ClaimCheckDefinition spool() {
+        return spool(true);
+    }
+
+    /**
+     * Whether to move large message bodies out of the heap while they are stored in the claim check repository. The
+     * message body is moved to off-heap memory or spooled to disk using stream caching, and the stream caching off-heap
+     * or spool options must be enabled. Only bodies that are larger than the stream caching spool threshold are moved.
+     * The stored body is given back as a stream cache which is only read (materialized) when needed.
+     */
+    public ClaimCheckDefinition spool(boolean spool) {
+        return spool(Boolean.toString(spool));
+    }
+
+    /**
+     * Whether to move large message bodies out of the heap while they are stored in the claim check repository. The
+     * message body is moved to off-heap memory or spooled to disk using stream caching, and the stream caching off-heap
+     * or spool options must be enabled. Only bodies that are larger than the stream caching spool threshold are moved.
+     * The stored body is given back as a stream cache which is only read (materialized) when needed.
+     */
+    public ClaimCheckDefinition spool(String spool) {
+        setSpool(spool);
+        return this;
+    }
+
     // Properties
     // -------------------------------------------------------------------------
 
@@ -235,4 +270,12 @@ public class ClaimCheckDefinition extends NoOutputDefinition<ClaimCheckDefinitio
         this.aggregationStrategyMethodName = aggregationStrategyMethodName;
     }
 
+    public String getSpool() {
+        return spool;
+    }
+
+    public void setSpool(String spool) {
+        this.spool = spool;
+    }
+
 }
@@ -30,6 +30,7 @@ import jakarta.xml.bind.annotation.XmlRootElement;
 import org.apache.camel.Expression;
 import org.apache.camel.model.loadbalancer.CustomLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.FailoverLoadBalancerDefinition;
+import org.apache.camel.model.loadbalancer.LatencyAwareLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.RandomLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.RoundRobinLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.StickyLoadBalancerDefinition;
@@ -48,6 +49,7 @@ public class LoadBalanceDefinition extends OutputDefinition<LoadBalanceDefinitio
     @XmlElements({
             @XmlElement(name = "customLoadBalancer", type = CustomLoadBalancerDefinition.class),
             @XmlElement(name = "failoverLoadBalancer", type = FailoverLoadBalancerDefinition.class),
+            @XmlElement(name = "latencyAwareLoadBalancer", type = LatencyAwareLoadBalancerDefinition.class),
             @XmlElement(name = "randomLoadBalancer", type = RandomLoadBalancerDefinition.class),
             @XmlElement(name = "roundRobinLoadBalancer", type = RoundRobinLoadBalancerDefinition.class),
             @XmlElement(name = "stickyLoadBalancer", type = StickyLoadBalancerDefinition.class),
@@ -225,6 +227,30 @@ public class LoadBalanceDefinition extends OutputDefinition<LoadBalanceDefinitio
         return this;
     }
 
+    /**
+     * Uses latency aware load balancer, which selects the endpoint based on the number of in-flight exchanges and the
+     * response time of each endpoint, using the power of two choices strategy.
+     *
+     * @return the builder
+     */
+    public LoadBalanceDefinition latencyAware() {
+        setLoadBalancerType(new LatencyAwareLoadBalancerDefinition());
+        return this;
+    }
+
+    /**
+     * Uses latency aware load balancer
+     *
+     * @param  strategy the strategy to select the endpoint: leastOutstanding, peakEwma or powerOfTwoChoices
+     * @return          the builder
+     */
+    public LoadBalanceDefinition latencyAware(String strategy) {
+        LatencyAwareLoadBalancerDefinition def = new LatencyAwareLoadBalancerDefinition();
+        def.setStrategy(strategy);
+        setLoadBalancerType(def);
+        return this;
+    }
+
     /**
      * Uses the custom load balancer
      *
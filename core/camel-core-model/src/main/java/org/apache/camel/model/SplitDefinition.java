@@ -71,6 +71,9 @@ public class SplitDefinition extends OutputExpressionNode implements ExecutorSer
     @Metadata(javaType = "java.lang.Boolean")
     private String streaming;
     @XmlAttribute
+    @Metadata(label = "advanced", javaType = "java.lang.Integer")
+    private String reorderWindow;
+    @XmlAttribute
     @Metadata(label = "advanced", javaType = "java.lang.Boolean")
     private String stopOnException;
     @XmlAttribute
@@ -102,6 +105,7 @@ public class SplitDefinition extends OutputExpressionNode implements ExecutorSer
         this.parallelProcessing = source.parallelProcessing;
         this.synchronous = source.synchronous;
         this.streaming = source.streaming;
+        this.reorderWindow = source.reorderWindow;
         this.stopOnException = source.stopOnException;
         this.timeout = source.timeout;
         this.executorService = source.executorService;
@@ -410,6 +414,37 @@ public class SplitDefinition extends OutputExpressionNode implements ExecutorSer
         return this;
     }
 
+    /**
+     * When using parallel processing, then limits the number of split messages which can be in-flight, or completed
+     * and waiting to be aggregated in order (a reordering window). When the window is full, then the splitter does not
+     * split any further messages until the first message in the window has been aggregated. The split messages are
+     * always aggregated in the same order as they were split, also in streaming mode. This allows splitting big
+     * messages in parallel and in streaming mode, while keeping the order and using a constant amount of memory. By
+     * default there is no limit.
+     *
+     * @param  reorderWindow the maximum number of split messages in the window
+     * @return               the builder
+     */
+    public SplitDefinition reorderWindow(int reorderWindow) {
+        return reorderWindow(Integer.toString(reorderWindow));
+    }
+
+    /**
+     * When using parallel processing, then limits the number of split messages which can be in-flight, or completed
+     * and waiting to be aggregated in order (a reordering window). When the window is full, then the splitter does not
+     * split any further messages until the first message in the window has been aggregated. The split messages are
+     * always aggregated in the same order as they were split, also in streaming mode. This allows splitting big
+     * messages in parallel and in streaming mode, while keeping the order and using a constant amount of memory. By
+     * default there is no limit.
+     *
+     * @param  reorderWindow the maximum number of split messages in the window
+     * @return               the builder
+     */
+    public SplitDefinition reorderWindow(String reorderWindow) {
+        setReorderWindow(reorderWindow);
+        return this;
+    }
+
     /**
      * Will now stop further processing if an exception or failure occurred during processing of an
      * {@link org.apache.camel.Exchange} and the caused exception will be thrown.
@@ -630,6 +665,14 @@ public class SplitDefinition extends OutputExpressionNode implements ExecutorSer
         this.streaming = streaming;
     }
 
+    public String getReorderWindow() {
+        return reorderWindow;
+    }
+
+    public void setReorderWindow(String reorderWindow) {
+        this.reorderWindow = reorderWindow;
+    }
+
     @Deprecated(since = "4.7.0")
     public String getParallelAggregate() {
         return parallelAggregate;
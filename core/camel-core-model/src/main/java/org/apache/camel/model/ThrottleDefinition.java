@@ -30,6 +30,7 @@ import org.apache.camel.Expression;
 import org.apache.camel.builder.ExpressionBuilder;
 import org.apache.camel.model.language.ExpressionDefinition;
 import org.apache.camel.spi.Metadata;
+import org.apache.camel.spi.TokenBucketRepository;
 
 /**
  * Controls the rate at which messages are passed to the next node in the route
@@ -42,10 +43,12 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
 
     @XmlTransient
     private ExecutorService executorServiceBean;
+    @XmlTransient
+    private TokenBucketRepository tokenBucketRepositoryBean;
 
     @XmlAttribute
     @Metadata(javaType = "org.apache.camel.model.ThrottlingMode", defaultValue = "TotalRequests",
-              enums = "TotalRequests,ConcurrentRequests")
+              enums = "TotalRequests,ConcurrentRequests,DistributedRequests")
     private String mode;
     @XmlElement(name = "correlationExpression")
     private ExpressionSubElementDefinition correlationExpression;
@@ -64,6 +67,12 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
     @XmlAttribute
     @Metadata(defaultValue = "1000", javaType = "java.time.Duration")
     private String timePeriodMillis;
+    @XmlAttribute
+    @Metadata(label = "advanced", javaType = "org.apache.camel.spi.TokenBucketRepository")
+    private String tokenBucketRepository;
+    @XmlAttribute
+    @Metadata(label = "advanced", defaultValue = "10", javaType = "java.lang.Integer")
+    private String leaseSize;
 
     public ThrottleDefinition() {
         totalRequestsMode();
@@ -72,6 +81,7 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
     protected ThrottleDefinition(ThrottleDefinition source) {
         super(source);
         this.executorServiceBean = source.executorServiceBean;
+        this.tokenBucketRepositoryBean = source.tokenBucketRepositoryBean;
         this.mode = source.mode;
         this.correlationExpression
                 = source.correlationExpression != null ? source.correlationExpression.copyDefinition() : null;
@@ -80,6 +90,8 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
         this.callerRunsWhenRejected = source.callerRunsWhenRejected;
         this.rejectExecution = source.rejectExecution;
         this.timePeriodMillis = source.timePeriodMillis;
+        this.tokenBucketRepository = source.tokenBucketRepository;
+        this.leaseSize = source.leaseSize;
     }
 
     public ThrottleDefinition(Expression maximumRequestsPerPeriod) {
@@ -117,6 +129,11 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
         return this;
     }
 
+    public ThrottleDefinition distributedRequestsMode() {
+        this.mode = ThrottlingMode.DistributedRequests.name();
+        return this;
+    }
+
     @Override
     public String toString() {
         return "Throttle[" + description() + "]";
@@ -125,6 +142,8 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
     protected String description() {
         if (mode.equals(ThrottlingMode.TotalRequests.name())) {
             return getExpression() + " request per " + getTimePeriodMillis() + " millis";
+        } else if (mode.equals(ThrottlingMode.DistributedRequests.name())) {
+            return getExpression() + " request per " + getTimePeriodMillis() + " millis (distributed)";
         } else {
             return getExpression() + " maximum concurrent requests";
         }
@@ -355,11 +374,62 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
         return this;
     }
 
+    /**
+     * To use a shared token bucket repository, which is required when using distributed requests mode, to enforce the
+     * maximum number of requests across all the nodes in a cluster.
+     *
+     * @param  tokenBucketRepository the token bucket repository
+     * @return                       the builder
+     */
+    public ThrottleDefinition tokenBucketRepository(TokenBucketRepository tokenBucketRepository) {
+        this.tokenBucketRepositoryBean = tokenBucketRepository;
+        return this;
+    }
+
+    /**
+     * To use a shared token bucket repository, which is required when using distributed requests mode, to enforce the
+     * maximum number of requests across all the nodes in a cluster.
+     *
+     * @param  tokenBucketRepository reference to lookup the token bucket repository from the registry
+     * @return                       the builder
+     */
+    public ThrottleDefinition tokenBucketRepository(String tokenBucketRepository) {
+        setTokenBucketRepository(tokenBucketRepository);
+        return this;
+    }
+
+    /**
+     * The number of tokens each node acquires from the token bucket repository at a time, when using distributed
+     * requests mode.
+     * <p/>
+     * Is by default <tt>10</tt>
+     *
+     * @param  leaseSize the number of tokens to acquire at a time
+     * @return           the builder
+     */
+    public ThrottleDefinition leaseSize(int leaseSize) {
+        return leaseSize(Integer.toString(leaseSize));
+    }
+
+    /**
+     * The number of tokens each node acquires from the token bucket repository at a time, when using distributed
+     * requests mode.
+     * <p/>
+     * Is by default <tt>10</tt>
+     *
+     * @param  leaseSize the number of tokens to acquire at a time
+     * @return           the builder
+     */
+    public ThrottleDefinition leaseSize(String leaseSize) {
+        setLeaseSize(leaseSize);
+        return this;
+    }
+
     /**
      * Sets the throttling mode to one of the available modes enumerated in ThrottlingMode
      *
-     * @param  mode The throttling mode as a string parameter. It currently accepts one of 'TotalRequests' or
-     *              `ConcurrentRequests`
+     * @param  mode The throttling mode as a string parameter. It currently accepts one of 'TotalRequests',
+     *              `ConcurrentRequests` or `DistributedRequests`
      * @see         ThrottlingMode
      * @return      the builder
      */
@@ -392,18 +462,20 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
     }
 
     public String getTimePeriodMillis() {
-        if (ThrottlingMode.toMode(mode) == ThrottlingMode.TotalRequests) {
+        if (ThrottlingMode.toMode(mode) != ThrottlingMode.ConcurrentRequests) {
             return timePeriodMillis;
         }
 
-        throw new IllegalArgumentException("Time period in millis can only be obtained when using total requests mode");
+        throw new IllegalArgumentException(
+                "Time period in millis can only be obtained when using total or distributed requests mode");
     }
 
     public void setTimePeriodMillis(String timePeriodMillis) {
-        if (ThrottlingMode.toMode(mode) == ThrottlingMode.TotalRequests) {
+        if (ThrottlingMode.toMode(mode) != ThrottlingMode.ConcurrentRequests) {
             this.timePeriodMillis = timePeriodMillis;
         } else {
-            throw new IllegalArgumentException("Time period in millis can only be set when using total requests mode");
+            throw new IllegalArgumentException(
+                    "Time period in millis can only be set when using total or distributed requests mode");
         }
     }
 
@@ -455,11 +527,42 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
         return mode;
     }
 
+    public TokenBucketRepository getTokenBucketRepositoryBean() {
+        return tokenBucketRepositoryBean;
+    }
+
+    public String getTokenBucketRepository() {
+        return tokenBucketRepository;
+    }
+
+    /**
+     * Sets the reference id of the shared token bucket repository to use when using distributed requests mode.
+     * <p/>
+     * The repository is shared by all the nodes in a cluster, so the maximum number of requests is enforced across the
+     * cluster, and not per node.
+     */
+    public void setTokenBucketRepository(String tokenBucketRepository) {
+        this.tokenBucketRepository = tokenBucketRepository;
+    }
+
+    public String getLeaseSize() {
+        return leaseSize;
+    }
+
+    /**
+     * The number of tokens each node acquires from the token bucket repository at a time, when using distributed
+     * requests mode. The tokens are spent locally without accessing the repository. A larger lease accesses the
+     * repository less often, but the tokens may be unevenly spread between the nodes.
+     */
+    public void setLeaseSize(String leaseSize) {
+        this.leaseSize = leaseSize;
+    }
+
     /**
      * Sets the throttling mode to one of the available modes enumerated in ThrottlingMode
      *
-     * @param mode The throttling mode as a string parameter. It currently accepts one of 'TotalRequests' or
-     *             `ConcurrentRequests`
+     * @param mode The throttling mode as a string parameter. It currently accepts one of 'TotalRequests',
+     *             `ConcurrentRequests` or `DistributedRequests`
      * @see        ThrottlingMode
      */
     public void setMode(String mode) {
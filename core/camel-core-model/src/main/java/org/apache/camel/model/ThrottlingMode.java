@@ -32,12 +32,21 @@ public enum ThrottlingMode {
      * Uses a throttling mode that uses a leaky-bucket algorithm to limit the outflow based on a maximum number of
      * concurrent requests
      */
-    ConcurrentRequests;
+    ConcurrentRequests,
+
+    /**
+     * Uses a throttling mode that considers the total number of requests over defined period of time across all the
+     * nodes in a cluster, using a token bucket shared by the nodes
+     */
+    DistributedRequests;
 
     public static ThrottlingMode toMode(String mode) {
         if (mode.equals(ThrottlingMode.TotalRequests.name())) {
             return ThrottlingMode.TotalRequests;
         }
+        if (mode.equals(ThrottlingMode.DistributedRequests.name())) {
+            return ThrottlingMode.DistributedRequests;
+        }
 
         return ThrottlingMode.ConcurrentRequests;
     }
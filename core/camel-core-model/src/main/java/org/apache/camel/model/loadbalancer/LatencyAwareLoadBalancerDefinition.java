@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.model.loadbalancer;
+
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlAttribute;
+import jakarta.xml.bind.annotation.XmlRootElement;
+
+import org.apache.camel.model.LoadBalancerDefinition;
+import org.apache.camel.spi.Metadata;
+
+/**
+ * The destination endpoints are selected based on the number of in-flight exchanges and the response time of each
+ * endpoint.
+ */
+@Metadata(label = "eip,routing")
+@XmlRootElement(name = "latencyAwareLoadBalancer")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class LatencyAwareLoadBalancerDefinition extends LoadBalancerDefinition {
+
+    @XmlAttribute
+    @Metadata(defaultValue = "powerOfTwoChoices", enums = "leastOutstanding,peakEwma,powerOfTwoChoices")
+    private String strategy;
+    @XmlAttribute
+    @Metadata(label = "advanced", defaultValue = "10000", javaType = "java.time.Duration")
+    private String decayWindow;
+
+    public LatencyAwareLoadBalancerDefinition() {
+    }
+
+    protected LatencyAwareLoadBalancerDefinition(LatencyAwareLoadBalancerDefinition source) {
+        super(source);
+        this.strategy = source.strategy;
+        this.decayWindow = source.decayWindow;
+    }
+
+    @Override
+    public LatencyAwareLoadBalancerDefinition copyDefinition() {
+        return new LatencyAwareLoadBalancerDefinition(this);
+    }
+
+    public String getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * The strategy used to select the endpoint.
+     * <p/>
+     * leastOutstanding selects the endpoint with the fewest in-flight exchanges. peakEwma selects the endpoint with the
+     * lowest cost, which is the peak exponentially weighted moving average (EWMA) of the response time multiplied by
+     * the number of in-flight exchanges. powerOfTwoChoices picks two endpoints at random and selects the one with the
+     * lowest cost.
+     * <p/>
+     * The default value is powerOfTwoChoices.
+     */
+    public void setStrategy(String strategy) {
+        this.strategy = strategy;
+    }
+
+    public String getDecayWindow() {
+        return decayWindow;
+    }
+
+    /**
+     * The time window (in millis) over which the average response time of an endpoint decays. A smaller window reacts
+     * faster to changes in the response time, and a larger window smooths out spikes.
+     */
+    public void setDecayWindow(String decayWindow) {
+        this.decayWindow = decayWindow;
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyAwareLoadBalancer[" + (strategy != null ? strategy : "powerOfTwoChoices") + "]";
+    }
+}
@@ -40,6 +40,9 @@ import org.slf4j.LoggerFactory;
  * repository is not shared among {@link Exchange}s, but a private instance is created per {@link Exchange}. This guards
  * against concurrent and thread-safe issues. For off-memory persistent storage of data, then use any of the many Camel
  * components that support persistent storage, and do not use this Claim Check EIP implementation.
+ * <p/>
+ * When spool is enabled, then large message bodies are moved out of the heap (to off-heap memory or disk) using stream
+ * caching while they are stored in the repository, see {@link SpoolingClaimCheckRepository}.
  */
 public class ClaimCheckProcessor extends BaseProcessorSupport implements IdAware, RouteIdAware, CamelContextAware {
 
@@ -53,6 +56,7 @@ public class ClaimCheckProcessor extends BaseProcessorSupport implements IdAware
     private String key;
     private Expression keyExpression;
     private String filter;
+    private boolean spool;
 
     @Override
     public CamelContext getCamelContext() {
@@ -116,6 +120,14 @@ public class ClaimCheckProcessor extends BaseProcessorSupport implements IdAware
         this.filter = filter;
     }
 
+    public boolean isSpool() {
+        return spool;
+    }
+
+    public void setSpool(boolean spool) {
+        this.spool = spool;
+    }
+
     @Override
     public boolean process(Exchange exchange, AsyncCallback callback) {
         // the repository is scoped per exchange
@@ -194,11 +206,12 @@ public class ClaimCheckProcessor extends BaseProcessorSupport implements IdAware
         }
     }
 
-    private static ClaimCheckRepository getClaimCheckRepository(Exchange exchange) {
+    private ClaimCheckRepository getClaimCheckRepository(Exchange exchange) {
         ClaimCheckRepository repo
                 = exchange.getProperty(ExchangePropertyKey.CLAIM_CHECK_REPOSITORY, ClaimCheckRepository.class);
         if (repo == null) {
-            repo = new DefaultClaimCheckRepository();
+            // the repository is created by the first claim check the exchange is passing
+            repo = spool ? new SpoolingClaimCheckRepository(exchange) : new DefaultClaimCheckRepository();
             exchange.setProperty(ExchangePropertyKey.CLAIM_CHECK_REPOSITORY, repo);
         }
         return repo;
@@ -221,6 +234,10 @@ public class ClaimCheckProcessor extends BaseProcessorSupport implements IdAware
     @Override
     protected void doStart() throws Exception {
         ObjectHelper.notNull(operation, "operation", this);
+        if (spool && !SpoolingClaimCheckRepository.isSpoolSupported(camelContext.getStreamCachingStrategy())) {
+            LOG.warn("ClaimCheck: {} has spool enabled, but stream caching is not configured to use off-heap memory or"
+                     + " to spool to disk. Large message bodies are kept in the heap.", id);
+        }
         ServiceHelper.startService(aggregationStrategy);
     }
 
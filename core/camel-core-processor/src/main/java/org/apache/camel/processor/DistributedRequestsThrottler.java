@@ -0,0 +1,458 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.RuntimeExchangeException;
+import org.apache.camel.spi.TokenBucketRepository;
+import org.apache.camel.support.service.ServiceHelper;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A <a href="http://camel.apache.org/throttler.html">Throttler</a> which sets a limit on the maximum number of message
+ * exchanges which can be sent to a processor within a specific time period, across all the nodes in a cluster.
+ * <p/>
+ * The rate limit is enforced by a token bucket, which is shared by all the nodes using a {@link TokenBucketRepository}.
+ * To avoid a round trip to the repository for each exchange, each node acquires a lease of a number of tokens at a
+ * time, and spends those tokens locally. A lease is valid for one time period, after which the unused tokens are
+ * returned to the bucket, so a node cannot hold on to tokens which other nodes could use.
+ * <p/>
+ * Each correlation group uses its own bucket and its own lease, so a busy group does not hold up the other groups.
+ * Within a group, exchanges waiting for tokens are served in the order they arrived: while exchanges are waiting, new
+ * exchanges do not take tokens from the lease directly, but wait in line.
+ */
+public class DistributedRequestsThrottler extends AbstractThrottler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DistributedRequestsThrottler.class);
+
+    private final TokenBucketRepository tokenBucketRepository;
+    private final Map<String, LeaseState> states = new ConcurrentHashMap<>();
+    private final long timePeriodMillis;
+    private final long cleanPeriodMillis;
+    private int leaseSize = 10;
+    private final LongAdder leaseRefillCount = new LongAdder();
+    private final LongAdder leaseRefillTime = new LongAdder();
+    private volatile long lastLeaseRefillTime;
+
+    public DistributedRequestsThrottler(final CamelContext camelContext, final Expression maxRequestsExpression,
+                                        final long timePeriodMillis, final TokenBucketRepository tokenBucketRepository,
+                                        final ScheduledExecutorService asyncExecutor, final boolean shutdownAsyncExecutor,
+                                        final boolean rejectExecution, Expression correlation) {
+        super(asyncExecutor, shutdownAsyncExecutor, camelContext, rejectExecution, correlation, maxRequestsExpression);
+
+        if (timePeriodMillis <= 0) {
+            throw new IllegalArgumentException("TimePeriodMillis should be a positive number, was: " + timePeriodMillis);
+        }
+        this.timePeriodMillis = timePeriodMillis;
+        this.cleanPeriodMillis = timePeriodMillis * 10;
+        this.tokenBucketRepository = ObjectHelper.notNull(tokenBucketRepository, "tokenBucketRepository");
+    }
+
+    @Override
+    public boolean process(final Exchange exchange, final AsyncCallback callback) {
+        State state = exchange.getProperty(PROPERTY_EXCHANGE_STATE, State.SYNC, State.class);
+        exchange.removeProperty(PROPERTY_EXCHANGE_STATE);
+        boolean doneSync = state == State.SYNC || state == State.ASYNC_REJECTED;
+
+        try {
+            if (!isRunAllowed()) {
+                throw new RejectedExecutionException("Run is not allowed");
+            }
+
+            String group = DEFAULT_KEY;
+            if (correlationExpression != null) {
+                group = correlationExpression.evaluate(exchange, String.class);
+            }
+            LeaseState leaseState = states.computeIfAbsent(group, LeaseState::new);
+            leaseState.calculateAndSetMaxRequestsPerPeriod(exchange);
+
+            if (!leaseState.tryAcquireIfNoWaiters()) {
+                if (isRejectExecution()) {
+                    if (!leaseState.refillAndAcquire()) {
+                        throw new ThrottlerRejectedExecutionException(
+                                "Exceeded the max throttle rate of " + leaseState.getThrottleRate() + " within "
+                                                                      + timePeriodMillis + "ms");
+                    }
+                } else if (isAsyncDelayed() && !exchange.isTransacted() && state != State.ASYNC_REJECTED) {
+                    if (!leaseState.refillAndAcquire()) {
+                        if (LOG.isDebugEnabled()) {
+                            LOG.debug(
+                                    "Throttle rate exceeded but AsyncDelayed enabled, so queueing for async processing, exchangeId: {}",
+                                    exchange.getExchangeId());
+                        }
+                        return processAsynchronously(exchange, callback, leaseState);
+                    }
+                } else {
+                    // block waiting for a token
+                    leaseState.acquire();
+                }
+            }
+
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Token acquired for exchangeId: {}", exchange.getExchangeId());
+            }
+            callback.done(doneSync);
+            return doneSync;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return handleInterrupt(exchange, callback, e, doneSync);
+        } catch (Exception e) {
+            return handleException(exchange, callback, e, doneSync);
+        }
+    }
+
+    /**
+     * Delegate waiting for the bucket to be refilled to an asyncExecutor. Except if the executor rejects the submission
+     * and isCallerRunsWhenRejected() is enabled, then this method will delegate back to process(), but not before
+     * changing the exchange state to stop any recursion.
+     */
+    protected boolean processAsynchronously(
+            final Exchange exchange, final AsyncCallback callback, LeaseState leaseState) {
+        try {
+            exchange.setProperty(PROPERTY_EXCHANGE_STATE, State.ASYNC);
+            asyncExecutor.schedule(() -> process(exchange, callback), leaseState.getBackoffMillis(), TimeUnit.MILLISECONDS);
+            return false;
+        } catch (final RejectedExecutionException e) {
+            if (isCallerRunsWhenRejected()) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("AsyncExecutor is full, rejected exchange will run in the current thread, exchangeId: {}",
+                            exchange.getExchangeId());
+                }
+                exchange.setProperty(PROPERTY_EXCHANGE_STATE, State.ASYNC_REJECTED);
+                return process(exchange, callback);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (isAsyncDelayed()) {
+            ObjectHelper.notNull(asyncExecutor, "executorService", this);
+        }
+        ServiceHelper.startService(tokenBucketRepository);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        // return the unused tokens so other nodes can use them
+        states.values().forEach(LeaseState::returnUnused);
+        states.clear();
+        ServiceHelper.stopService(tokenBucketRepository);
+    }
+
+    @Override
+    protected void doShutdown() throws Exception {
+        if (shutdownAsyncExecutor && asyncExecutor != null) {
+            camelContext.getExecutorServiceManager().shutdownNow(asyncExecutor);
+        }
+        ServiceHelper.stopAndShutdownServices(tokenBucketRepository);
+        super.doShutdown();
+    }
+
+    protected class LeaseState {
+        private final String key;
+        private final String bucketKey;
+        // fair, so exchanges waiting for tokens are served in the order they arrived
+        private final Lock lock = new ReentrantLock(true);
+        private final AtomicLong tokens = new AtomicLong();
+        private final AtomicInteger waiters = new AtomicInteger();
+        private final AtomicReference<ScheduledFuture<?>> cleanFuture = new AtomicReference<>();
+        private volatile long leaseExpires;
+        private volatile int throttleRate;
+        // whether the state has been removed by clean (guarded by the lock)
+        private boolean removed;
+
+        LeaseState(String key) {
+            this.key = key;
+            this.bucketKey = (id != null ? id : "throttle") + ":" + key;
+            this.leaseExpires = System.nanoTime();
+        }
+
+        public int getThrottleRate() {
+            return throttleRate;
+        }
+
+        /**
+         * Takes a token from the current lease, without accessing the repository.
+         */
+        public boolean tryAcquire() {
+            if (System.nanoTime() - leaseExpires > 0) {
+                return false;
+            }
+            long current;
+            do {
+                current = tokens.get();
+                if (current <= 0) {
+                    return false;
+                }
+            } while (!tokens.compareAndSet(current, current - 1));
+            return true;
+        }
+
+        /**
+         * Takes a token from the current lease, unless other exchanges are waiting for tokens (which are served first).
+         */
+        public boolean tryAcquireIfNoWaiters() {
+            return waiters.get() == 0 && tryAcquire();
+        }
+
+        /**
+         * Takes a token, refilling the lease from the repository once if needed.
+         */
+        public boolean refillAndAcquire() {
+            waiters.incrementAndGet();
+            lock.lock();
+            try {
+                return tryAcquire() || refill() > 0 && tryAcquire();
+            } finally {
+                waiters.decrementAndGet();
+                returnUnusedIfRemoved();
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Takes a token, waiting for the bucket to be refilled if needed.
+         */
+        public void acquire() throws InterruptedException {
+            waiters.incrementAndGet();
+            try {
+                lock.lockInterruptibly();
+            } catch (InterruptedException e) {
+                waiters.decrementAndGet();
+                throw e;
+            }
+            try {
+                while (!tryAcquire()) {
+                    if (refill() == 0) {
+                        long backoff = getBackoffMillis();
+                        if (LOG.isTraceEnabled()) {
+                            LOG.trace("No tokens available for group: {}, waiting {}ms", key, backoff);
+                        }
+                        Thread.sleep(backoff);
+                    }
+                }
+            } finally {
+                waiters.decrementAndGet();
+                returnUnusedIfRemoved();
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Acquires a new lease from the repository, returning the unused tokens of the expired lease.
+         */
+        private long refill() {
+            returnUnused();
+            int rate = throttleRate;
+            long size = Math.max(1, Math.min(leaseSize, rate));
+
+            long start = System.nanoTime();
+            long granted = tokenBucketRepository.acquire(bucketKey, size, rate, timePeriodMillis);
+            long elapsed = System.nanoTime() - start;
+            leaseRefillCount.increment();
+            leaseRefillTime.add(elapsed);
+            lastLeaseRefillTime = elapsed;
+
+            if (granted > 0) {
+                leaseExpires = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timePeriodMillis);
+                tokens.addAndGet(granted);
+            }
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Lease of {} tokens requested for group: {}, granted: {}", size, key, granted);
+            }
+            scheduleClean();
+            return granted;
+        }
+
+        /**
+         * Returns the unused tokens of the lease to the repository.
+         */
+        void returnUnused() {
+            long unused = tokens.getAndSet(0);
+            if (unused > 0) {
+                tokenBucketRepository.release(bucketKey, unused, throttleRate);
+            }
+        }
+
+        /**
+         * The time to wait before the bucket has been refilled with a new lease.
+         */
+        long getBackoffMillis() {
+            int rate = Math.max(1, throttleRate);
+            long size = Math.max(1, Math.min(leaseSize, rate));
+            return Math.max(1, timePeriodMillis * size / rate);
+        }
+
+        private void scheduleClean() {
+            if (asyncExecutor == null) {
+                return;
+            }
+            try {
+                ScheduledFuture<?> next = asyncExecutor.schedule(this::clean, cleanPeriodMillis, TimeUnit.MILLISECONDS);
+                ScheduledFuture<?> prev = cleanFuture.getAndSet(next);
+                if (prev != null) {
+                    prev.cancel(false);
+                }
+            } catch (RejectedExecutionException e) {
+                LOG.debug("Throttling lease cleaning rejected", e);
+            }
+        }
+
+        /**
+         * Returns the unused tokens of a lease which has been refilled after the state was removed by clean, as new
+         * exchanges use a new state for the group, so the tokens would otherwise be lost (must hold the lock).
+         */
+        private void returnUnusedIfRemoved() {
+            if (removed) {
+                returnUnused();
+            }
+        }
+
+        private void clean() {
+            // do not remove the state while it is being used or refilled
+            if (waiters.get() > 0 || !lock.tryLock()) {
+                scheduleClean();
+                return;
+            }
+            try {
+                removed = true;
+                states.remove(key, this);
+                returnUnused();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Evaluates the maxRequestsPerPeriodExpression and adjusts the throttle rate.
+         */
+        public void calculateAndSetMaxRequestsPerPeriod(final Exchange exchange) throws Exception {
+            Integer newThrottle
+                    = DistributedRequestsThrottler.this.getMaximumRequestsExpression().evaluate(exchange, Integer.class);
+
+            if (newThrottle != null && newThrottle < 0) {
+                throw new IllegalStateException(
+                        "The maximumRequestsPerPeriod must be a positive number, was: " + newThrottle);
+            }
+
+            if (newThrottle == null && throttleRate == 0) {
+                throw new RuntimeExchangeException(
+                        "The maxRequestsPerPeriodExpression was evaluated as null: "
+                                                   + DistributedRequestsThrottler.this.getMaximumRequestsExpression(),
+                        exchange);
+            }
+
+            if (newThrottle != null && newThrottle != throttleRate) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Throttle rate changed from {} to {}, triggered by ExchangeId: {}", throttleRate,
+                            newThrottle, exchange.getExchangeId());
+                }
+                throttleRate = newThrottle;
+            }
+        }
+    }
+
+    @Override
+    public String getMode() {
+        return "DistributedRequests";
+    }
+
+    /**
+     * Gets the current maximum request per period value. If it is grouped throttling applied with correlationExpression
+     * than the max per period within the group will return
+     */
+    @Override
+    public int getCurrentMaximumRequests() {
+        return states.values().stream().mapToInt(LeaseState::getThrottleRate).max().orElse(0);
+    }
+
+    public long getTimePeriodMillis() {
+        return timePeriodMillis;
+    }
+
+    public TokenBucketRepository getTokenBucketRepository() {
+        return tokenBucketRepository;
+    }
+
+    public int getLeaseSize() {
+        return leaseSize;
+    }
+
+    /**
+     * The number of tokens to acquire from the repository at a time. A larger lease accesses the repository less
+     * often, but the tokens may be unevenly spread between the nodes.
+     */
+    public void setLeaseSize(int leaseSize) {
+        if (leaseSize <= 0) {
+            throw new IllegalArgumentException("LeaseSize should be a positive number, was: " + leaseSize);
+        }
+        this.leaseSize = leaseSize;
+    }
+
+    /**
+     * Number of times a lease has been requested from the repository
+     */
+    public long getLeaseRefillCount() {
+        return leaseRefillCount.sum();
+    }
+
+    /**
+     * The mean time in millis to request a lease from the repository
+     */
+    public double getMeanLeaseRefillTime() {
+        long count = leaseRefillCount.sum();
+        return count == 0 ? 0 : (double) leaseRefillTime.sum() / count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * The time in millis the last lease request to the repository took
+     */
+    public double getLastLeaseRefillTime() {
+        return (double) lastLeaseRefillTime / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public String getTraceLabel() {
+        return "throttle[" + this.getMaximumRequestsExpression() + " per: " + timePeriodMillis + " distributed]";
+    }
+
+    @Override
+    public String toString() {
+        return id;
+    }
+}
@@ -16,7 +16,11 @@
  */
 package org.apache.camel.processor;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.apache.camel.AsyncCallback;
+import org.apache.camel.BatchProcessor;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
 import org.apache.camel.Predicate;
@@ -24,6 +28,7 @@ import org.apache.camel.Processor;
 import org.apache.camel.Traceable;
 import org.apache.camel.spi.IdAware;
 import org.apache.camel.spi.RouteIdAware;
+import org.apache.camel.support.BatchProcessorHelper;
 import org.apache.camel.support.service.ServiceHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,7 +37,7 @@ import org.slf4j.LoggerFactory;
  * The processor which implements the <a href="http://camel.apache.org/message-filter.html">Message Filter</a> EIP
  * pattern.
  */
-public class FilterProcessor extends BaseDelegateProcessorSupport implements Traceable, IdAware, RouteIdAware {
+public class FilterProcessor extends BaseDelegateProcessorSupport implements BatchProcessor, Traceable, IdAware, RouteIdAware {
 
     private static final Logger LOG = LoggerFactory.getLogger(FilterProcessor.class);
 
@@ -84,6 +89,30 @@ public class FilterProcessor extends BaseDelegateProcessorSupport implements Tra
         }
     }
 
+    @Override
+    public boolean processBatch(List<Exchange> exchanges, AsyncCallback callback) {
+        List<Exchange> matched = new ArrayList<>(exchanges.size());
+        for (Exchange exchange : exchanges) {
+            boolean matches = false;
+
+            try {
+                matches = matches(exchange);
+                if (statusPropertyName != null) {
+                    exchange.setProperty(statusPropertyName, matches);
+                }
+            } catch (Exception e) {
+                exchange.setException(e);
+            }
+
+            if (matches) {
+                matched.add(exchange);
+            }
+        }
+
+        // only the matched exchanges continue to the filter outputs as a batch
+        return BatchProcessorHelper.process(processor, matched, callback);
+    }
+
     public boolean matches(Exchange exchange) {
         boolean matches = predicate.matches(exchange);
 
@@ -33,6 +33,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -186,6 +187,9 @@ public class MulticastProcessor extends BaseProcessorSupport
     private final int cacheSize;
     private final Map<Processor, Processor> errorHandlers;
     private final boolean shareUnitOfWork;
+    private int reorderWindow;
+    private final AtomicInteger reorderWindowOccupancy = new AtomicInteger();
+    private final LongAdder reorderWindowStallTime = new LongAdder();
 
     public MulticastProcessor(CamelContext camelContext, Route route, Collection<Processor> processors) {
         this(camelContext, route, processors, null);
@@ -412,6 +416,10 @@ public class MulticastProcessor extends BaseProcessorSupport
         final AtomicBoolean done = new AtomicBoolean();
         final Map<String, String> mdc;
         final ScheduledFuture<?> timeoutTask;
+        // number of exchanges sent which has not yet been aggregated (when using a reorder window)
+        final AtomicInteger inWindow = new AtomicInteger();
+        final AtomicBoolean stalled = new AtomicBoolean();
+        volatile long stallStart;
 
         MulticastTask(Exchange original, Iterable<ProcessorExchangePair> pairs, AsyncCallback callback, int capacity,
                       boolean transacted) {
@@ -432,11 +440,13 @@ public class MulticastProcessor extends BaseProcessorSupport
             } else {
                 this.mdc = null;
             }
+            // a reorder window always aggregates in order (also in streaming mode)
+            boolean ordered = !isStreaming() || isReorderWindowEnabled();
             if (capacity > 0) {
                 this.completion
-                        = new AsyncCompletionService<>(transacted ? txScheduler : scheduler, !isStreaming(), lock, capacity);
+                        = new AsyncCompletionService<>(transacted ? txScheduler : scheduler, ordered, lock, capacity);
             } else {
-                this.completion = new AsyncCompletionService<>(transacted ? txScheduler : scheduler, !isStreaming(), lock);
+                this.completion = new AsyncCompletionService<>(transacted ? txScheduler : scheduler, ordered, lock);
             }
         }
 
@@ -459,6 +469,9 @@ public class MulticastProcessor extends BaseProcessorSupport
                     Exchange exchange;
                     while (!done.get() && (exchange = completion.poll()) != null) {
                         doAggregate(result, exchange, original);
+                        if (isReorderWindowEnabled()) {
+                            leaveWindow();
+                        }
                         if (nbAggregated.incrementAndGet() >= nbExchangeSent.get() && allSent.get()) {
                             doDone(result.get(), true);
                         }
@@ -470,6 +483,47 @@ public class MulticastProcessor extends BaseProcessorSupport
                 } finally {
                     lock.unlock();
                 }
+                if (isReorderWindowEnabled() && !done.get() && !isWindowFull()) {
+                    resume();
+                }
+            }
+        }
+
+        /**
+         * Whether the reorder window is full, meaning that no more exchanges should be sent until the head of the
+         * window has been aggregated
+         */
+        protected boolean isWindowFull() {
+            return inWindow.get() >= reorderWindow;
+        }
+
+        protected void enterWindow() {
+            inWindow.incrementAndGet();
+            reorderWindowOccupancy.incrementAndGet();
+        }
+
+        protected void leaveWindow() {
+            if (inWindow.getAndUpdate(n -> n > 0 ? n - 1 : 0) > 0) {
+                reorderWindowOccupancy.decrementAndGet();
+            }
+        }
+
+        /**
+         * Stops sending (and thus pulling from the iterator) until the window has room again
+         */
+        protected void stall() {
+            stallStart = System.nanoTime();
+            stalled.set(true);
+            // the head may have been aggregated while stalling
+            if (!isWindowFull()) {
+                resume();
+            }
+        }
+
+        protected void resume() {
+            if (stalled.compareAndSet(true, false)) {
+                reorderWindowStallTime.add(System.nanoTime() - stallStart);
+                schedule(this);
             }
         }
 
@@ -506,12 +560,14 @@ public class MulticastProcessor extends BaseProcessorSupport
 
         protected void doTimeoutDone(Exchange exchange, boolean forceExhaust) {
             if (done.compareAndSet(false, true)) {
+                releaseWindow();
                 MulticastProcessor.this.doDone(original, exchange, pairs, callback, false, forceExhaust);
             }
         }
 
         protected void doDone(Exchange exchange, boolean forceExhaust) {
             if (done.compareAndSet(false, true)) {
+                releaseWindow();
                 // cancel timeout if we are done normally (we cannot cancel if called via onTimeout)
                 if (timeoutTask != null) {
                     try {
@@ -525,6 +581,12 @@ public class MulticastProcessor extends BaseProcessorSupport
             }
         }
 
+        private void releaseWindow() {
+            if (isReorderWindowEnabled()) {
+                reorderWindowOccupancy.addAndGet(-inWindow.getAndSet(0));
+            }
+        }
+
         @Override
         public void reject() {
             original.setException(new RejectedExecutionException("Task rejected executing from ExecutorService"));
@@ -567,6 +629,9 @@ public class MulticastProcessor extends BaseProcessorSupport
                 if (!hasNext) {
                     allSent.set(true);
                 }
+                if (isReorderWindowEnabled()) {
+                    enterWindow();
+                }
 
                 completion.submit(exchangeResult -> {
                     // compute time taken if sending to another endpoint
@@ -625,7 +690,12 @@ public class MulticastProcessor extends BaseProcessorSupport
                 });
                 // after submitting this pair then move on to the next pair (if in parallel mode)
                 if (hasNext && isParallelProcessing()) {
-                    schedule(this);
+                    if (isReorderWindowEnabled() && isWindowFull()) {
+                        // back-pressure on the iterator until the head of the window has been aggregated
+                        stall();
+                    } else {
+                        schedule(this);
+                    }
                 }
             } catch (Exception e) {
                 original.setException(e);
@@ -1272,6 +1342,42 @@ public class MulticastProcessor extends BaseProcessorSupport
         return streaming;
     }
 
+    /**
+     * The maximum number of exchanges which can be in-flight or waiting to be aggregated in order when using parallel
+     * processing (0 = unbounded).
+     */
+    public int getReorderWindow() {
+        return reorderWindow;
+    }
+
+    /**
+     * Sets the maximum number of exchanges which can be in-flight or waiting to be aggregated in order when using
+     * parallel processing. When the window is full, then no more exchanges are sent (and for the splitter no more parts
+     * are read from the iterator) until the head of the window has been aggregated. The exchanges are always aggregated
+     * in order, also in streaming mode. This bounds the memory usage when splitting big messages in parallel.
+     */
+    public void setReorderWindow(int reorderWindow) {
+        this.reorderWindow = reorderWindow;
+    }
+
+    protected boolean isReorderWindowEnabled() {
+        return reorderWindow > 0 && isParallelProcessing();
+    }
+
+    /**
+     * Current number of exchanges in the reorder window (in-flight or waiting to be aggregated in order)
+     */
+    public int getReorderWindowOccupancy() {
+        return reorderWindowOccupancy.get();
+    }
+
+    /**
+     * Total time in millis sending has been stalled because the reorder window was full
+     */
+    public long getReorderWindowStallTime() {
+        return TimeUnit.NANOSECONDS.toMillis(reorderWindowStallTime.sum());
+    }
+
     /**
      * Should the multicast processor stop processing further exchanges in case of an exception occurred?
      */
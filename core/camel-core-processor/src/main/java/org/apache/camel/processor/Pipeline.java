@@ -22,6 +22,7 @@ import java.util.List;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.AsyncProcessor;
+import org.apache.camel.BatchProcessor;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
 import org.apache.camel.Navigate;
@@ -31,6 +32,7 @@ import org.apache.camel.spi.IdAware;
 import org.apache.camel.spi.ReactiveExecutor;
 import org.apache.camel.spi.RouteIdAware;
 import org.apache.camel.support.AsyncProcessorConverterHelper;
+import org.apache.camel.support.BatchProcessorHelper;
 import org.apache.camel.support.ExchangeHelper;
 import org.apache.camel.support.service.ServiceHelper;
 import org.slf4j.Logger;
@@ -42,7 +44,8 @@ import static org.apache.camel.processor.PipelineHelper.continueProcessing;
  * Creates a Pipeline pattern where the output of the previous step is sent as input to the next step, reusing the same
  * message exchanges
  */
-public class Pipeline extends BaseProcessorSupport implements Navigate<Processor>, Traceable, IdAware, RouteIdAware {
+public class Pipeline extends BaseProcessorSupport
+        implements BatchProcessor, Navigate<Processor>, Traceable, IdAware, RouteIdAware {
 
     private static final Logger LOG = LoggerFactory.getLogger(Pipeline.class);
 
@@ -117,6 +120,60 @@ public class Pipeline extends BaseProcessorSupport implements Navigate<Processor
         }
     }
 
+    /**
+     * Task for routing a batch of exchanges through the pipeline, where each step processes the batch of exchanges that
+     * should continue being routed.
+     */
+    private final class PipelineBatchTask implements AsyncCallback {
+
+        private final List<Exchange> exchanges;
+        private final AsyncCallback callback;
+        private int index;
+
+        PipelineBatchTask(List<Exchange> exchanges, AsyncCallback callback) {
+            this.exchanges = exchanges;
+            this.callback = callback;
+        }
+
+        @Override
+        public void done(boolean doneSync) {
+            reactiveExecutor.schedule(this);
+        }
+
+        @Override
+        public void run() {
+            List<Exchange> next = null;
+            if (index < size) {
+                boolean first = index == 0;
+                next = new ArrayList<>(exchanges.size());
+                for (Exchange exchange : exchanges) {
+                    if (!exchange.isRouteStop()
+                            && (first || continueProcessing(exchange, "so breaking out of pipeline", LOG))) {
+                        // prepare for next run
+                        ExchangeHelper.prepareOutToIn(exchange);
+                        next.add(exchange);
+                    }
+                }
+            }
+
+            if (next != null && !next.isEmpty()) {
+                // get the next processor
+                AsyncProcessor processor = processors.get(index++);
+
+                BatchProcessorHelper.process(processor, next, this);
+            } else {
+                for (Exchange exchange : exchanges) {
+                    // copyResults is needed in case MEP is OUT and the message is not an OUT message
+                    ExchangeHelper.copyResults(exchange, exchange);
+                }
+                if (LOG.isTraceEnabled()) {
+                    LOG.trace("Processing complete for batch of {} exchanges", exchanges.size());
+                }
+                reactiveExecutor.schedule(callback);
+            }
+        }
+    }
+
     public Pipeline(CamelContext camelContext, Collection<Processor> processors) {
         this.camelContext = camelContext;
         this.reactiveExecutor = camelContext.getCamelContextExtension().getReactiveExecutor();
@@ -169,6 +226,21 @@ public class Pipeline extends BaseProcessorSupport implements Navigate<Processor
         }
     }
 
+    @Override
+    public boolean processBatch(List<Exchange> exchanges, AsyncCallback callback) {
+        if (exchanges.isEmpty()) {
+            callback.done(true);
+            return true;
+        }
+        PipelineBatchTask task = new PipelineBatchTask(exchanges, callback);
+        if (exchanges.get(0).isTransacted()) {
+            reactiveExecutor.scheduleQueue(task);
+        } else {
+            reactiveExecutor.scheduleMain(task);
+        }
+        return false;
+    }
+
     @Override
     protected void doBuild() throws Exception {
         boolean pooled = camelContext.getCamelContextExtension().getExchangeFactory().isPooled();
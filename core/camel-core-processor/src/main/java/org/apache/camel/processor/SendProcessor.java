@@ -16,11 +16,14 @@
  */
 package org.apache.camel.processor;
 
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.AsyncProducer;
+import org.apache.camel.BatchProcessor;
+import org.apache.camel.BatchProducer;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Endpoint;
 import org.apache.camel.EndpointAware;
@@ -32,6 +35,7 @@ import org.apache.camel.spi.HeadersMapFactory;
 import org.apache.camel.spi.IdAware;
 import org.apache.camel.spi.ProducerCache;
 import org.apache.camel.spi.RouteIdAware;
+import org.apache.camel.support.BatchProcessorHelper;
 import org.apache.camel.support.EndpointHelper;
 import org.apache.camel.support.EventHelper;
 import org.apache.camel.support.ExchangeHelper;
@@ -48,7 +52,8 @@ import org.slf4j.LoggerFactory;
  *
  * @see SendDynamicProcessor
  */
-public class SendProcessor extends BaseProcessorSupport implements Traceable, EndpointAware, IdAware, RouteIdAware {
+public class SendProcessor extends BaseProcessorSupport
+        implements BatchProcessor, Traceable, EndpointAware, IdAware, RouteIdAware {
 
     private static final Logger LOG = LoggerFactory.getLogger(SendProcessor.class);
 
@@ -160,6 +165,75 @@ public class SendProcessor extends BaseProcessorSupport implements Traceable, En
         }
     }
 
+    @Override
+    public boolean processBatch(List<Exchange> exchanges, AsyncCallback callback) {
+        if (!(producer instanceof BatchProducer batchProducer) || variableSend != null || variableReceive != null
+                || !isStarted()) {
+            // the producer cannot send batches so send the exchanges one by one
+            return BatchProcessorHelper.processEach(this, exchanges, callback);
+        }
+
+        final ExchangePattern[] existingPatterns = new ExchangePattern[exchanges.size()];
+        for (int i = 0; i < exchanges.size(); i++) {
+            Exchange exchange = exchanges.get(i);
+            // we should preserve existing MEP so remember old MEP
+            existingPatterns[i] = exchange.getPattern();
+            if (destinationExchangePattern != null || pattern != null) {
+                exchange.setPattern(destinationExchangePattern != null ? destinationExchangePattern : pattern);
+            }
+            // set property which endpoint we send to
+            exchange.setProperty(ExchangePropertyKey.TO_ENDPOINT, destination.getEndpointUri());
+        }
+        if (extendedStatistics) {
+            counter.addAndGet(exchanges.size());
+        }
+
+        // check once per batch whether we should emit events
+        boolean sending = false;
+        if (camelContext.getCamelContextExtension().isEventNotificationApplicable()) {
+            for (Exchange exchange : exchanges) {
+                sending |= EventHelper.notifyExchangeSending(camelContext, exchange, destination);
+            }
+        }
+        // record timing for sending the batch using the producer
+        final StopWatch watch = sending ? new StopWatch() : null;
+
+        AsyncCallback ac = doneSync -> {
+            try {
+                long timeTaken = watch != null ? watch.taken() : 0;
+                for (int i = 0; i < exchanges.size(); i++) {
+                    Exchange exchange = exchanges.get(i);
+                    // restore previous MEP
+                    exchange.setPattern(existingPatterns[i]);
+                    // emit event that the exchange was sent to the endpoint
+                    if (watch != null) {
+                        EventHelper.notifyExchangeSent(camelContext, exchange, destination, timeTaken);
+                    }
+                }
+            } finally {
+                callback.done(doneSync);
+            }
+        };
+
+        try {
+            LOG.debug(">>>> {} batch of {} exchanges", destination, exchanges.size());
+            boolean sync = batchProducer.processBatch(exchanges, ac);
+            if (!sync) {
+                for (Exchange exchange : exchanges) {
+                    EventHelper.notifyExchangeAsyncProcessingStartedEvent(camelContext, exchange);
+                }
+            }
+            return sync;
+        } catch (Exception throwable) {
+            for (Exchange exchange : exchanges) {
+                exchange.setException(throwable);
+            }
+            callback.done(true);
+        }
+
+        return true;
+    }
+
     private boolean sendUsingPattern(
             Exchange exchange, AsyncCallback callback, ExchangePattern existingPattern, Object originalBody,
             Map<String, Object> originalHeaders) {
@@ -16,7 +16,10 @@
  */
 package org.apache.camel.processor;
 
+import java.util.List;
+
 import org.apache.camel.AsyncCallback;
+import org.apache.camel.BatchProcessor;
 import org.apache.camel.Exchange;
 import org.apache.camel.Expression;
 import org.apache.camel.Message;
@@ -28,7 +31,7 @@ import org.apache.camel.util.ObjectHelper;
 /**
  * A processor which sets the header on the IN or OUT message with an {@link org.apache.camel.Expression}
  */
-public class SetHeaderProcessor extends BaseProcessorSupport implements Traceable, IdAware, RouteIdAware {
+public class SetHeaderProcessor extends BaseProcessorSupport implements BatchProcessor, Traceable, IdAware, RouteIdAware {
 
     private String id;
     private String routeId;
@@ -44,13 +47,29 @@ public class SetHeaderProcessor extends BaseProcessorSupport implements Traceabl
 
     @Override
     public boolean process(Exchange exchange, AsyncCallback callback) {
+        doProcess(exchange);
+
+        callback.done(true);
+        return true;
+    }
+
+    @Override
+    public boolean processBatch(List<Exchange> exchanges, AsyncCallback callback) {
+        for (Exchange exchange : exchanges) {
+            doProcess(exchange);
+        }
+
+        callback.done(true);
+        return true;
+    }
+
+    private void doProcess(Exchange exchange) {
         try {
             Object newHeader = expression.evaluate(exchange, Object.class);
 
             if (exchange.getException() != null) {
                 // the expression threw an exception so we should break-out
-                callback.done(true);
-                return true;
+                return;
             }
 
             Message old = exchange.getMessage();
@@ -61,9 +80,6 @@ public class SetHeaderProcessor extends BaseProcessorSupport implements Traceabl
         } catch (Exception e) {
             exchange.setException(e);
         }
-
-        callback.done(true);
-        return true;
     }
 
     @Override
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.io.IOException;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.StreamCache;
+import org.apache.camel.converter.stream.CachedOutputStream;
+import org.apache.camel.converter.stream.OffHeapInputStreamCache;
+import org.apache.camel.spi.ClaimCheckRepository;
+import org.apache.camel.spi.StreamCachingStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link ClaimCheckRepository} that moves large message bodies out of the heap while they are stored in the
+ * repository.
+ * <p/>
+ * The message body is written to a stream cache using the {@link StreamCachingStrategy}, which keeps the content in
+ * pooled off-heap memory within the global off-heap memory budget, and spools to disk beyond that (if enabled). Only
+ * message bodies that are larger than the spool threshold (according to the spool rules) are moved. The stored body is
+ * given back as a {@link StreamCache} which is only read (materialized) when the body is used.
+ * <p/>
+ * Like the {@link DefaultClaimCheckRepository} a private instance is created per {@link Exchange}, and the off-heap
+ * memory and spool files are released when the exchange is done.
+ */
+public class SpoolingClaimCheckRepository extends DefaultClaimCheckRepository {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SpoolingClaimCheckRepository.class);
+
+    private final Exchange owner;
+    private final StreamCachingStrategy strategy;
+
+    /**
+     * Creates the repository
+     *
+     * @param owner the exchange which the repository is scoped to
+     */
+    public SpoolingClaimCheckRepository(Exchange owner) {
+        this.owner = owner;
+        this.strategy = owner.getContext().getStreamCachingStrategy();
+    }
+
+    /**
+     * Whether the stream caching strategy is configured to move stream caches to off-heap memory or disk.
+     */
+    public static boolean isSpoolSupported(StreamCachingStrategy strategy) {
+        return strategy.isEnabled() && (strategy.isOffHeapEnabled() || strategy.isSpoolEnabled());
+    }
+
+    @Override
+    public boolean add(String key, Exchange exchange) {
+        spool(exchange);
+        return super.add(key, exchange);
+    }
+
+    @Override
+    public Exchange get(String key) {
+        Exchange answer = super.get(key);
+        if (answer != null && answer.getMessage().getBody() instanceof StreamCache cache) {
+            // the claim check is kept, so replace the body with a copy that can be read from the beginning again
+            try {
+                answer.getMessage().setBody(cache.copy(owner));
+            } catch (IOException e) {
+                throw new RuntimeCamelException(e);
+            }
+        }
+        return answer;
+    }
+
+    @Override
+    public void push(Exchange exchange) {
+        spool(exchange);
+        super.push(exchange);
+    }
+
+    /**
+     * Moves the message body of the exchange to off-heap memory or disk, if the body is larger than the spool
+     * threshold.
+     */
+    protected void spool(Exchange exchange) {
+        if (!isSpoolSupported(strategy)) {
+            return;
+        }
+        Object body = exchange.getMessage().getBody();
+        try {
+            StreamCache cache = null;
+            if (body instanceof byte[] data) {
+                if (strategy.shouldSpoolCache(data.length)) {
+                    cache = writeToCache(data);
+                }
+            } else if (body instanceof String text) {
+                // the length in chars is a cheap lower bound of the length in bytes
+                if (strategy.shouldSpoolCache(text.length())) {
+                    byte[] data = exchange.getContext().getTypeConverter().convertTo(byte[].class, exchange, text);
+                    cache = writeToCache(data);
+                }
+            } else if (body instanceof StreamCache sc && sc.inMemory() && !(sc instanceof OffHeapInputStreamCache)) {
+                if (strategy.shouldSpoolCache(sc.length())) {
+                    CachedOutputStream cos = new CachedOutputStream(owner);
+                    sc.reset();
+                    sc.writeTo(cos);
+                    sc.reset();
+                    cache = cos.newStreamCache();
+                }
+            }
+            if (cache != null) {
+                LOG.debug("Spooled claim check message body ({} bytes) to {}", cache.length(), cache);
+                exchange.getMessage().setBody(cache);
+            }
+        } catch (IOException e) {
+            throw new RuntimeCamelException(e);
+        }
+    }
+
+    private StreamCache writeToCache(byte[] data) throws IOException {
+        CachedOutputStream cos = new CachedOutputStream(owner);
+        cos.write(data);
+        return cos.newStreamCache();
+    }
+}
@@ -31,12 +31,17 @@ import org.apache.camel.Expression;
 import org.apache.camel.Navigate;
 import org.apache.camel.Processor;
 import org.apache.camel.Traceable;
+import org.apache.camel.processor.resequencer.DefaultExchangeComparator;
+import org.apache.camel.processor.resequencer.LongSequenceResequencerEngine;
 import org.apache.camel.processor.resequencer.ResequencerEngine;
 import org.apache.camel.processor.resequencer.SequenceElementComparator;
 import org.apache.camel.processor.resequencer.SequenceSender;
+import org.apache.camel.processor.resequencer.StreamResequencerEngine;
 import org.apache.camel.spi.ExceptionHandler;
 import org.apache.camel.spi.IdAware;
 import org.apache.camel.spi.RouteIdAware;
+import org.apache.camel.support.AsyncProcessorConverterHelper;
+import org.apache.camel.support.BatchProcessorHelper;
 import org.apache.camel.support.ExchangeHelper;
 import org.apache.camel.support.LoggingExceptionHandler;
 import org.apache.camel.support.service.ServiceHelper;
@@ -57,8 +62,13 @@ import org.slf4j.LoggerFactory;
  * <p>
  * Instances of this class poll for {@link Exchange}s from a given <code>endpoint</code>. Resequencing work and the
  * delivery of messages to the next <code>processor</code> is done within the single polling thread.
+ * <p>
+ * When using the {@link DefaultExchangeComparator} (sequence numbers of type <code>long</code>) then the
+ * {@link LongSequenceResequencerEngine} is used, which inserts exchanges without locking, and delivers the runs of
+ * exchanges which are in sequence as a batch. Otherwise the {@link ResequencerEngine} is used.
  *
  * @see ResequencerEngine
+ * @see LongSequenceResequencerEngine
  */
 public class StreamResequencer extends BaseProcessorSupport
         implements SequenceSender<Exchange>, Navigate<Processor>, Traceable, IdAware, RouteIdAware {
@@ -69,7 +79,7 @@ public class StreamResequencer extends BaseProcessorSupport
     private String routeId;
     private final CamelContext camelContext;
     private final ExceptionHandler exceptionHandler;
-    private final ResequencerEngine<Exchange> engine;
+    private final StreamResequencerEngine<Exchange> engine;
     private final Processor processor;
     private final Expression expression;
     private Delivery delivery;
@@ -87,7 +97,11 @@ public class StreamResequencer extends BaseProcessorSupport
                              Expression expression) {
         ObjectHelper.notNull(camelContext, "CamelContext");
         this.camelContext = camelContext;
-        this.engine = new ResequencerEngine<>(comparator);
+        if (comparator != null && comparator.getClass() == DefaultExchangeComparator.class) {
+            this.engine = new LongSequenceResequencerEngine<>(((DefaultExchangeComparator) comparator)::sequenceNumber);
+        } else {
+            this.engine = new ResequencerEngine<>(comparator);
+        }
         this.engine.setSequenceSender(this);
         this.processor = processor;
         this.expression = expression;
@@ -126,11 +140,11 @@ public class StreamResequencer extends BaseProcessorSupport
 
     /**
      * Returns this resequencer's timeout. This sets the resequencer engine's timeout via
-     * {@link ResequencerEngine#setTimeout(long)}. This value is also used to define the polling timeout from the
+     * {@link StreamResequencerEngine#setTimeout(long)}. This value is also used to define the polling timeout from the
      * endpoint.
      *
      * @return this resequencer's timeout. (Processor)
-     * @see    ResequencerEngine#setTimeout(long)
+     * @see    StreamResequencerEngine#setTimeout(long)
      */
     public long getTimeout() {
         return engine.getTimeout();
@@ -138,6 +152,10 @@ public class StreamResequencer extends BaseProcessorSupport
 
     public void setCapacity(int capacity) {
         this.capacity = capacity;
+        if (capacity > 0 && engine.size() == 0 && engine instanceof LongSequenceResequencerEngine<Exchange> longEngine) {
+            // make room for the exchanges in the ring buffer (the ring size is capped, and the rest overflow to a heap)
+            longEngine.setRingSize(capacity);
+        }
     }
 
     public void setTimeout(long timeout) {
@@ -236,10 +254,20 @@ public class StreamResequencer extends BaseProcessorSupport
         processor.process(exchange);
     }
 
+    /**
+     * Sends the <code>exchanges</code> (in sequence) to the next <code>processor</code> as a batch.
+     *
+     * @param exchanges exchanges to send.
+     */
+    @Override
+    public void sendElements(List<Exchange> exchanges) throws Exception {
+        BatchProcessorHelper.process(AsyncProcessorConverterHelper.convert(processor), exchanges);
+    }
+
     @Override
     public boolean process(Exchange exchange, AsyncCallback callback) {
         try {
-            engine.waitUntil(s -> s.size() < capacity);
+            engine.waitForCapacity(capacity);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             // we were interrupted so break out
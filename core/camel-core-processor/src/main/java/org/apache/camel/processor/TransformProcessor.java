@@ -16,7 +16,10 @@
  */
 package org.apache.camel.processor;
 
+import java.util.List;
+
 import org.apache.camel.AsyncCallback;
+import org.apache.camel.BatchProcessor;
 import org.apache.camel.Exchange;
 import org.apache.camel.Expression;
 import org.apache.camel.Message;
@@ -30,7 +33,7 @@ import org.apache.camel.util.ObjectHelper;
 /**
  * A processor which sets the body on the OUT message with an {@link Expression}.
  */
-public class TransformProcessor extends BaseProcessorSupport implements Traceable, IdAware, RouteIdAware {
+public class TransformProcessor extends BaseProcessorSupport implements BatchProcessor, Traceable, IdAware, RouteIdAware {
 
     private String id;
     private String routeId;
@@ -43,13 +46,29 @@ public class TransformProcessor extends BaseProcessorSupport implements Traceabl
 
     @Override
     public boolean process(Exchange exchange, AsyncCallback callback) {
+        doProcess(exchange);
+
+        callback.done(true);
+        return true;
+    }
+
+    @Override
+    public boolean processBatch(List<Exchange> exchanges, AsyncCallback callback) {
+        for (Exchange exchange : exchanges) {
+            doProcess(exchange);
+        }
+
+        callback.done(true);
+        return true;
+    }
+
+    private void doProcess(Exchange exchange) {
         try {
             Object newBody = expression.evaluate(exchange, Object.class);
 
             if (exchange.getException() != null) {
                 // the expression threw an exception so we should break-out
-                callback.done(true);
-                return true;
+                return;
             }
 
             Message old = exchange.getMessage();
@@ -77,9 +96,6 @@ public class TransformProcessor extends BaseProcessorSupport implements Traceabl
         } catch (Exception e) {
             exchange.setException(e);
         }
-
-        callback.done(true);
-        return true;
     }
 
     @Override
@@ -31,6 +31,7 @@ import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.AbstractQueuedSynchronizer;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 import org.apache.camel.AggregationStrategy;
 import org.apache.camel.AsyncCallback;
@@ -48,7 +49,6 @@ import org.apache.camel.Predicate;
 import org.apache.camel.Processor;
 import org.apache.camel.ProducerTemplate;
 import org.apache.camel.ShutdownRunningTask;
-import org.apache.camel.TimeoutMap;
 import org.apache.camel.Traceable;
 import org.apache.camel.processor.BaseProcessorSupport;
 import org.apache.camel.spi.AggregationRepository;
@@ -61,11 +61,12 @@ import org.apache.camel.spi.RouteIdAware;
 import org.apache.camel.spi.ShutdownAware;
 import org.apache.camel.spi.ShutdownPrepared;
 import org.apache.camel.spi.Synchronization;
-import org.apache.camel.support.DefaultTimeoutMap;
 import org.apache.camel.support.ExchangeHelper;
 import org.apache.camel.support.LRUCacheFactory;
 import org.apache.camel.support.LoggingExceptionHandler;
 import org.apache.camel.support.NoLock;
+import org.apache.camel.support.TimingWheelTimeoutMap;
+import org.apache.camel.support.UnitOfWorkHelper;
 import org.apache.camel.support.service.ServiceHelper;
 import org.apache.camel.util.ObjectHelper;
 import org.apache.camel.util.StopWatch;
@@ -100,6 +101,9 @@ public class AggregateProcessor extends BaseProcessorSupport
 
     private static final Logger LOG = LoggerFactory.getLogger(AggregateProcessor.class);
     private volatile Lock lock;
+    // lock stripes so different correlation keys can be aggregated in parallel
+    private volatile Lock[] locks;
+    private final AtomicBoolean completeAllGroupsPending = new AtomicBoolean();
     private final AtomicBoolean aggregateRepositoryWarned = new AtomicBoolean();
     private final CamelContext camelContext;
     private final ReactiveExecutor reactiveExecutor;
@@ -119,7 +123,7 @@ public class AggregateProcessor extends BaseProcessorSupport
     private boolean shutdownOptimisticLockingExecutorService;
     private ScheduledExecutorService recoverService;
     // store correlation key -> exchange id in timeout map
-    private TimeoutMap<String, String> timeoutMap;
+    private TimingWheelTimeoutMap<String, String> timeoutMap;
     private ExceptionHandler exceptionHandler;
     private AggregationRepository aggregationRepository;
     private Map<String, String> closedCorrelationKeys;
@@ -231,6 +235,7 @@ public class AggregateProcessor extends BaseProcessorSupport
     private Integer closeCorrelationKeyOnCompletion;
     private boolean parallelProcessing;
     private boolean optimisticLocking;
+    private int lockStripes = 1;
 
     // different ways to have completion triggered
     private boolean eagerCheckCompletion;
@@ -404,13 +409,14 @@ public class AggregateProcessor extends BaseProcessorSupport
         removeFlagCompleteAllGroupsInclusive(copy);
 
         List<Exchange> aggregated = null;
-        lock.lock();
+        Lock keyLock = lockFor(key);
+        keyLock.lock();
         try {
             aggregated = doAggregation(key, copy);
         } catch (CamelExchangeException e) {
             exchange.setException(e);
         } finally {
-            lock.unlock();
+            keyLock.unlock();
         }
 
         // we are completed so do that work outside the lock
@@ -419,6 +425,11 @@ public class AggregateProcessor extends BaseProcessorSupport
             aggregated.forEach(agg -> onSubmitCompletion(key, agg));
         }
 
+        // complete all groups which was requested while aggregating using lock stripes
+        if (completeAllGroupsPending.compareAndSet(true, false)) {
+            forceCompletionOfAllGroups();
+        }
+
         // check for the special header to force completion of all groups (inclusive of the message)
         if (isCompleteAllGroupsInclusive(exchange)) {
             removeFlagCompleteAllGroupsInclusive(exchange);
@@ -576,7 +587,12 @@ public class AggregateProcessor extends BaseProcessorSupport
         // check for the special exchange property to force completion of all groups
         if (isCompleteAllGroups(answer)) {
             removeFlagCompleteAllGroups(answer);
-            forceCompletionOfAllGroups();
+            if (locks != null) {
+                // cannot lock the other groups while holding the lock of this group, so complete after the lock is released
+                completeAllGroupsPending.set(true);
+            } else {
+                forceCompletionOfAllGroups();
+            }
         } else if (isCompletionOnNewCorrelationGroup() && originalExchange == null) {
             // its a new group so force complete of all existing groups
             forceCompletionOfAllGroups();
@@ -828,6 +844,8 @@ public class AggregateProcessor extends BaseProcessorSupport
         aggregationRepository.confirm(aggregated.getContext(), aggregated.getExchangeId());
         // and remove redelivery state as well
         redeliveryState.remove(aggregated.getExchangeId());
+        // the discarded exchange is never routed, so run its on completions (such as releasing resources) now
+        UnitOfWorkHelper.doneSynchronizations(aggregated, aggregated.getExchangeExtension().handoverCompletions());
         // the completion was from timeout and we should just discard it
     }
 
@@ -977,6 +995,28 @@ public class AggregateProcessor extends BaseProcessorSupport
         }
     }
 
+    /**
+     * Current number of correlation keys tracked for completion timeout
+     */
+    public int getCompletionTimeoutEntries() {
+        if (timeoutMap != null) {
+            return timeoutMap.size();
+        } else {
+            return 0;
+        }
+    }
+
+    /**
+     * The maximum time in millis a correlation group has been completed by timeout later than its completion timeout
+     */
+    public long getCompletionTimeoutMaxExpiryLag() {
+        if (timeoutMap != null) {
+            return timeoutMap.getMaxExpiryLag();
+        } else {
+            return 0;
+        }
+    }
+
     public AggregateProcessorStatistics getStatistics() {
         return statistics;
     }
@@ -1109,6 +1149,14 @@ public class AggregateProcessor extends BaseProcessorSupport
         this.optimisticLocking = optimisticLocking;
     }
 
+    public int getLockStripes() {
+        return lockStripes;
+    }
+
+    public void setLockStripes(int lockStripes) {
+        this.lockStripes = lockStripes;
+    }
+
     public AggregationRepository getAggregationRepository() {
         return aggregationRepository;
     }
@@ -1266,11 +1314,12 @@ public class AggregateProcessor extends BaseProcessorSupport
     /**
      * Background task that looks for aggregated exchanges which is triggered by completion timeouts.
      */
-    private final class AggregationTimeoutMap extends DefaultTimeoutMap<String, String> {
+    private final class AggregationTimeoutMap extends TimingWheelTimeoutMap<String, String> {
 
         private AggregationTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis) {
             // do NOT use locking on the timeout map as this aggregator has its own shared lock we will use instead
-            super(executor, requestMapPollTimeMillis, optimisticLocking);
+            // (unless using lock stripes where each evicted correlation key is locked individually)
+            super(executor, requestMapPollTimeMillis, optimisticLocking || lockStripes > 1);
             addListener(this::onEviction);
         }
 
@@ -1278,6 +1327,11 @@ public class AggregateProcessor extends BaseProcessorSupport
         protected void purge() {
             // wait for lock to be created
             if (lock != null) {
+                if (locks != null) {
+                    // the lock stripes are acquired per correlation key on eviction
+                    super.purge();
+                    return;
+                }
                 // must acquire the shared aggregation lock to be able to purge
                 lock.lock();
                 try {
@@ -1292,6 +1346,23 @@ public class AggregateProcessor extends BaseProcessorSupport
             if (type != Listener.Type.Evict) {
                 return;
             }
+            if (locks != null) {
+                Lock keyLock = lockFor(key);
+                keyLock.lock();
+                try {
+                    // the group may have received a new exchange (and is tracked again) while waiting for the lock
+                    if (get(key) == null) {
+                        doEviction(key, exchangeId);
+                    }
+                } finally {
+                    keyLock.unlock();
+                }
+            } else {
+                doEviction(key, exchangeId);
+            }
+        }
+
+        private void doEviction(String key, String exchangeId) {
             log.debug("Completion timeout triggered for correlation key: {}", key);
 
             boolean inProgress = inProgressCompleteExchanges.contains(exchangeId);
@@ -1347,35 +1418,30 @@ public class AggregateProcessor extends BaseProcessorSupport
 
             if (keys != null && !keys.isEmpty()) {
                 // must acquire the shared aggregation lock to be able to trigger interval completion
-                lock.lock();
-                try {
-                    for (String key : keys) {
-                        boolean stolenInterval = false;
-                        Exchange exchange = aggregationRepository.get(camelContext, key);
-                        if (exchange == null) {
-                            stolenInterval = true;
-                        } else {
-                            LOG.trace("Completion interval triggered for correlation key: {}", key);
-                            // indicate it was completed by interval
-                            exchange.setProperty(ExchangePropertyKey.AGGREGATED_COMPLETED_BY, COMPLETED_BY_INTERVAL);
-                            try {
-                                Exchange answer = onCompletion(key, exchange, exchange, false, false);
-                                if (answer != null) {
-                                    onSubmitCompletion(key, answer);
-                                }
-                            } catch (OptimisticLockingAggregationRepository.OptimisticLockingException e) {
-                                stolenInterval = true;
+                doInLock(keys, key -> {
+                    boolean stolenInterval = false;
+                    Exchange exchange = aggregationRepository.get(camelContext, key);
+                    if (exchange == null) {
+                        stolenInterval = true;
+                    } else {
+                        LOG.trace("Completion interval triggered for correlation key: {}", key);
+                        // indicate it was completed by interval
+                        exchange.setProperty(ExchangePropertyKey.AGGREGATED_COMPLETED_BY, COMPLETED_BY_INTERVAL);
+                        try {
+                            Exchange answer = onCompletion(key, exchange, exchange, false, false);
+                            if (answer != null) {
+                                onSubmitCompletion(key, answer);
                             }
-                        }
-                        if (optimisticLocking && stolenInterval) {
-                            LOG.debug(
-                                    "Another Camel instance has already processed this interval aggregation for exchange with correlation id: {}",
-                                    key);
+                        } catch (OptimisticLockingAggregationRepository.OptimisticLockingException e) {
+                            stolenInterval = true;
                         }
                     }
-                } finally {
-                    lock.unlock();
-                }
+                    if (optimisticLocking && stolenInterval) {
+                        LOG.debug(
+                                "Another Camel instance has already processed this interval aggregation for exchange with correlation id: {}",
+                                key);
+                    }
+                });
             }
 
             LOG.trace("Completion interval task complete");
@@ -1550,6 +1616,17 @@ public class AggregateProcessor extends BaseProcessorSupport
             LOG.info("Defaulting to MemoryAggregationRepository");
         }
 
+        if (lockStripes > 1) {
+            if (optimisticLocking) {
+                throw new IllegalArgumentException("Cannot use both lockStripes and optimisticLocking");
+            }
+            if (isCompletionFromBatchConsumer() || isCompletionOnNewCorrelationGroup()) {
+                throw new IllegalArgumentException(
+                        "Cannot use lockStripes together with completionFromBatchConsumer or completionOnNewCorrelationGroup");
+            }
+            LOG.info("Using {} lock stripes to aggregate different correlation keys in parallel", lockStripes);
+        }
+
         if (optimisticLocking) {
             if (!(aggregationRepository instanceof OptimisticLockingAggregationRepository)) {
                 throw new IllegalArgumentException(
@@ -1642,6 +1719,13 @@ public class AggregateProcessor extends BaseProcessorSupport
                 shutdownOptimisticLockingExecutorService = true;
             }
         } else {
+            if (lockStripes > 1) {
+                Lock[] arr = new Lock[lockStripes];
+                for (int i = 0; i < arr.length; i++) {
+                    arr[i] = new ReentrantLock();
+                }
+                locks = arr;
+            }
             lock = new ReentrantLock();
         }
     }
@@ -1754,7 +1838,8 @@ public class AggregateProcessor extends BaseProcessorSupport
         // must acquire the shared aggregation lock to be able to trigger force completion
         int total = 0;
 
-        lock.lock();
+        Lock keyLock = lockFor(key);
+        keyLock.lock();
         try {
             Exchange exchange = aggregationRepository.get(camelContext, key);
             if (exchange != null) {
@@ -1768,7 +1853,7 @@ public class AggregateProcessor extends BaseProcessorSupport
                 }
             }
         } finally {
-            lock.unlock();
+            keyLock.unlock();
         }
         LOG.trace("Completed force completion of group {}", key);
 
@@ -1796,24 +1881,19 @@ public class AggregateProcessor extends BaseProcessorSupport
         int total = 0;
         if (keys != null && !keys.isEmpty()) {
             // must acquire the shared aggregation lock to be able to trigger force completion
-            lock.lock();
             total = keys.size();
-            try {
-                for (String key : keys) {
-                    Exchange exchange = aggregationRepository.get(camelContext, key);
-                    if (exchange != null) {
-                        LOG.trace("Force completion triggered for correlation key: {}", key);
-                        // indicate it was completed by a force completion request
-                        exchange.setProperty(ExchangePropertyKey.AGGREGATED_COMPLETED_BY, COMPLETED_BY_FORCE);
-                        Exchange answer = onCompletion(key, exchange, exchange, false, false);
-                        if (answer != null) {
-                            onSubmitCompletion(key, answer);
-                        }
+            doInLock(keys, key -> {
+                Exchange exchange = aggregationRepository.get(camelContext, key);
+                if (exchange != null) {
+                    LOG.trace("Force completion triggered for correlation key: {}", key);
+                    // indicate it was completed by a force completion request
+                    exchange.setProperty(ExchangePropertyKey.AGGREGATED_COMPLETED_BY, COMPLETED_BY_FORCE);
+                    Exchange answer = onCompletion(key, exchange, exchange, false, false);
+                    if (answer != null) {
+                        onSubmitCompletion(key, answer);
                     }
                 }
-            } finally {
-                lock.unlock();
-            }
+            });
         }
         LOG.trace("Completed force completion of all groups task");
 
@@ -1827,7 +1907,8 @@ public class AggregateProcessor extends BaseProcessorSupport
         // must acquire the shared aggregation lock to be able to trigger force completion
         int total = 0;
 
-        lock.lock();
+        Lock keyLock = lockFor(key);
+        keyLock.lock();
         try {
             Exchange exchange = aggregationRepository.get(camelContext, key);
             if (exchange != null) {
@@ -1837,7 +1918,7 @@ public class AggregateProcessor extends BaseProcessorSupport
                 onCompletion(key, exchange, exchange, false, true);
             }
         } finally {
-            lock.unlock();
+            keyLock.unlock();
         }
         LOG.trace("Completed force discarded of group {}", key);
 
@@ -1865,20 +1946,15 @@ public class AggregateProcessor extends BaseProcessorSupport
         int total = 0;
         if (keys != null && !keys.isEmpty()) {
             // must acquire the shared aggregation lock to be able to trigger force completion
-            lock.lock();
             total = keys.size();
-            try {
-                for (String key : keys) {
-                    Exchange exchange = aggregationRepository.get(camelContext, key);
-                    if (exchange != null) {
-                        LOG.trace("Force discarded triggered for correlation key: {}", key);
-                        // force discarding by setting aggregate failed as true
-                        onCompletion(key, exchange, exchange, false, true);
-                    }
+            doInLock(keys, key -> {
+                Exchange exchange = aggregationRepository.get(camelContext, key);
+                if (exchange != null) {
+                    LOG.trace("Force discarded triggered for correlation key: {}", key);
+                    // force discarding by setting aggregate failed as true
+                    onCompletion(key, exchange, exchange, false, true);
                 }
-            } finally {
-                lock.unlock();
-            }
+            });
         }
         LOG.trace("Completed force discarding of all groups task");
 
@@ -1888,6 +1964,45 @@ public class AggregateProcessor extends BaseProcessorSupport
         return total;
     }
 
+    /**
+     * Gets the lock to use for aggregating the given correlation key.
+     */
+    private Lock lockFor(String key) {
+        Lock[] arr = locks;
+        if (arr == null) {
+            return lock;
+        }
+        int h = key.hashCode();
+        // spread the hash as strings often only differ in the last characters
+        h ^= h >>> 16;
+        return arr[(h & Integer.MAX_VALUE) % arr.length];
+    }
+
+    /**
+     * Executes the task for each of the correlation keys while holding the lock. When using lock stripes then each key
+     * is locked one at a time, otherwise the shared lock is held while executing the task for all the keys.
+     */
+    private void doInLock(Set<String> keys, Consumer<String> task) {
+        if (locks == null) {
+            lock.lock();
+            try {
+                keys.forEach(task);
+            } finally {
+                lock.unlock();
+            }
+        } else {
+            for (String key : keys) {
+                Lock keyLock = lockFor(key);
+                keyLock.lock();
+                try {
+                    task.accept(key);
+                } finally {
+                    keyLock.unlock();
+                }
+            }
+        }
+    }
+
     /**
      * Synchronization class to avoid busy-loop when waiting for exchanges to be processed during shutdown.
      */
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregate;
+
+import java.io.IOException;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.StreamCache;
+import org.apache.camel.converter.stream.CachedOutputStream;
+import org.apache.camel.support.SynchronizationAdapter;
+import org.apache.camel.util.IOHelper;
+
+/**
+ * The content of a streaming aggregation, which is written to a {@link CachedOutputStream} that is spooled to disk (when
+ * spooling is enabled on the stream caching strategy) as it grows beyond the spool threshold.
+ */
+final class AggregationSpool {
+
+    private final CachedOutputStream cos;
+    private long count;
+    private volatile boolean released;
+
+    /**
+     * Creates the spool, which is deleted when the owner exchange is done (or when released).
+     *
+     * @param exchange the exchange the aggregation is started from
+     * @param owner    the exchange which owns the aggregation, such as the input exchange of the splitter, or the
+     *                 aggregated exchange of the aggregator
+     */
+    AggregationSpool(Exchange exchange, Exchange owner) {
+        // the aggregation outlives the exchange it was started from, so the spool must not be deleted when that
+        // exchange is done, but when the owner of the aggregation is done
+        this.cos = new CachedOutputStream(exchange, false);
+        // register the cleanup up front, so the spool is also deleted if the aggregation fails or is discarded
+        owner.getExchangeExtension().addOnCompletion(new SynchronizationAdapter() {
+            @Override
+            public void onDone(Exchange exchange) {
+                release();
+            }
+        });
+    }
+
+    CachedOutputStream getOutputStream() throws IOException {
+        if (released) {
+            throw new IOException("The aggregation has been released");
+        }
+        return cos;
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    void increment() {
+        count++;
+    }
+
+    StreamCache newStreamCache() throws IOException {
+        if (released) {
+            throw new IOException("The aggregation has been released");
+        }
+        return cos.newStreamCache();
+    }
+
+    /**
+     * Deletes the spool (if any)
+     */
+    void release() {
+        released = true;
+        IOHelper.close(cos);
+    }
+
+}
@@ -0,0 +1,241 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregate;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.apache.camel.AggregationStrategy;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
+import org.apache.camel.Expression;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.spi.Configurer;
+import org.apache.camel.spi.Metadata;
+import org.apache.camel.support.builder.ExpressionBuilder;
+import org.apache.camel.util.IOHelper;
+
+/**
+ * Aggregate result of pick expression into a single combined Exchange holding all the aggregated values in an
+ * {@link Iterable} as the message body, where the values are serialized to a
+ * {@link org.apache.camel.converter.stream.CachedOutputStream} as they are aggregated.
+ * <p/>
+ * When spooling is enabled on the stream caching strategy, the values are spooled to disk when they grow beyond the
+ * spool threshold, so the memory usage is bounded regardless of the number of aggregated exchanges (unlike
+ * {@link GroupedBodyAggregationStrategy} which keeps all the bodies in a {@link java.util.List}). The aggregated values
+ * must be {@link java.io.Serializable}, and they are deserialized one by one when iterating the message body. The spool
+ * is deleted when the exchange which owns the aggregation is done (the input exchange of the splitter, or the aggregated
+ * exchange of the aggregator), also if the aggregation failed or was discarded.
+ *
+ * This aggregation strategy can used in combination with {@link org.apache.camel.processor.Splitter} to batch messages
+ */
+@Metadata(label = "bean",
+          description = "Aggregate result of pick expression into a single combined Exchange holding all the aggregated values"
+                        + " in an Iterable as the message body. The values are serialized to a stream cache as they are"
+                        + " aggregated, which is spooled to disk when spooling is enabled on stream caching.",
+          annotations = { "interfaceName=org.apache.camel.AggregationStrategy" })
+@Configurer(metadataOnly = true)
+public class SpoolingGroupedBodyAggregationStrategy implements AggregationStrategy {
+
+    private Expression pickExpression = ExpressionBuilder.bodyExpression();
+
+    public Expression getPickExpression() {
+        return pickExpression;
+    }
+
+    public void setPickExpression(Expression pickExpression) {
+        this.pickExpression = pickExpression;
+    }
+
+    /**
+     * Set an expression to extract the value to be aggregated from the incoming {@link Exchange}.
+     * <p/>
+     * By default, it picks the full IN message body of the incoming exchange.
+     *
+     * @param  expression The picking expression.
+     * @return            This instance.
+     */
+    public SpoolingGroupedBodyAggregationStrategy pick(Expression expression) {
+        this.pickExpression = expression;
+        return this;
+    }
+
+    @Override
+    public Exchange aggregate(Exchange oldExchange, Exchange newExchange) {
+        return aggregate(oldExchange, newExchange, null);
+    }
+
+    @Override
+    public Exchange aggregate(Exchange oldExchange, Exchange newExchange, Exchange inputExchange) {
+        Exchange answer = oldExchange != null ? oldExchange : newExchange;
+        if (answer == null) {
+            return null;
+        }
+
+        Object value = newExchange != null ? pickExpression.evaluate(newExchange, Object.class) : null;
+        // the splitter copies the result to the input exchange, which is then the owner of the spool
+        Values values = getValues(answer, inputExchange != null ? inputExchange : answer);
+        if (value != null) {
+            try {
+                values.add(value);
+            } catch (IOException e) {
+                values.spool.release();
+                throw new RuntimeCamelException("Error spooling aggregated value: " + value, e);
+            }
+        }
+        return answer;
+    }
+
+    @Override
+    public void onCompletion(Exchange exchange) {
+        onCompletion(exchange, null);
+    }
+
+    @Override
+    public void onCompletion(Exchange exchange, Exchange inputExchange) {
+        if (exchange != null) {
+            Values values = (Values) exchange.removeProperty(ExchangePropertyKey.GROUPED_EXCHANGE);
+            if (values != null) {
+                try {
+                    values.flush();
+                } catch (IOException e) {
+                    values.spool.release();
+                    throw new RuntimeCamelException("Error completing aggregated values", e);
+                }
+                exchange.getIn().setBody(new SpooledValues(values.spool));
+            }
+        }
+    }
+
+    private static Values getValues(Exchange exchange, Exchange owner) {
+        Values values = exchange.getProperty(ExchangePropertyKey.GROUPED_EXCHANGE, Values.class);
+        if (values == null) {
+            values = new Values(exchange, owner);
+            exchange.setProperty(ExchangePropertyKey.GROUPED_EXCHANGE, values);
+        }
+        return values;
+    }
+
+    /**
+     * The aggregated values being serialized (thread safe)
+     */
+    private static final class Values {
+
+        private final AggregationSpool spool;
+        private ObjectOutputStream out;
+
+        private Values(Exchange exchange, Exchange owner) {
+            this.spool = new AggregationSpool(exchange, owner);
+        }
+
+        synchronized void add(Object value) throws IOException {
+            // fails if the spool has been released
+            OutputStream os = spool.getOutputStream();
+            if (out == null) {
+                out = new ObjectOutputStream(os);
+            }
+            out.writeUnshared(value);
+            // do not keep references to the written values
+            out.reset();
+            spool.increment();
+        }
+
+        synchronized void flush() throws IOException {
+            if (out != null) {
+                out.flush();
+            }
+        }
+    }
+
+    /**
+     * The completed aggregation, which can be iterated any number of times
+     */
+    private static final class SpooledValues implements Iterable<Object> {
+
+        private final AggregationSpool spool;
+
+        private SpooledValues(AggregationSpool spool) {
+            this.spool = spool;
+        }
+
+        @Override
+        public Iterator<Object> iterator() {
+            try {
+                return new SpooledValuesIterator((InputStream) spool.newStreamCache(), spool.getCount());
+            } catch (IOException e) {
+                throw new RuntimeCamelException("Error reading aggregated values", e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "SpooledValues[size: " + spool.getCount() + "]";
+        }
+    }
+
+    private static final class SpooledValuesIterator implements Iterator<Object>, Closeable {
+
+        private final InputStream is;
+        private final long count;
+        private ObjectInputStream in;
+        private long index;
+
+        private SpooledValuesIterator(InputStream is, long count) {
+            this.is = is;
+            this.count = count;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (index < count) {
+                return true;
+            }
+            close();
+            return false;
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                if (in == null) {
+                    in = new ObjectInputStream(is);
+                }
+                Object answer = in.readObject();
+                index++;
+                return answer;
+            } catch (IOException | ClassNotFoundException e) {
+                close();
+                throw new RuntimeCamelException("Error reading aggregated value", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            IOHelper.close(in, is);
+        }
+    }
+
+}
@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregate;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+
+import org.apache.camel.AggregationStrategy;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
+import org.apache.camel.Expression;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.spi.Configurer;
+import org.apache.camel.spi.Metadata;
+import org.apache.camel.support.ExchangeHelper;
+import org.apache.camel.support.builder.ExpressionBuilder;
+
+/**
+ * Aggregate result of pick expression into a single combined Exchange holding all the aggregated values as lines in a
+ * {@link org.apache.camel.StreamCache} as the message body, such as NDJSON or CSV.
+ * <p/>
+ * The lines are written to a {@link org.apache.camel.converter.stream.CachedOutputStream} as they are aggregated, so
+ * when spooling is enabled on the stream caching strategy, the memory usage is bounded by the spool threshold regardless
+ * of the number of aggregated exchanges. The spool is deleted when the exchange which owns the aggregation is done (the
+ * input exchange of the splitter, or the aggregated exchange of the aggregator), also if the aggregation failed or was
+ * discarded.
+ *
+ * This aggregation strategy can used in combination with {@link org.apache.camel.processor.Splitter} to batch messages
+ */
+@Metadata(label = "bean",
+          description = "Aggregate result of pick expression into a single combined Exchange holding all the aggregated values"
+                        + " as lines in a stream as the message body, such as NDJSON or CSV. The lines are written to a stream"
+                        + " cache as they are aggregated, which is spooled to disk when spooling is enabled on stream caching.",
+          annotations = { "interfaceName=org.apache.camel.AggregationStrategy" })
+@Configurer(metadataOnly = true)
+public class StreamLinesAggregationStrategy implements AggregationStrategy {
+
+    @Metadata(description = "Header line (such as CSV column names) written before the aggregated lines.")
+    private String header;
+    @Metadata(description = "Separator written after each line. Default is new line.")
+    private String lineSeparator = "\n";
+    private Expression pickExpression = ExpressionBuilder.bodyExpression();
+
+    public String getHeader() {
+        return header;
+    }
+
+    public void setHeader(String header) {
+        this.header = header;
+    }
+
+    public String getLineSeparator() {
+        return lineSeparator;
+    }
+
+    public void setLineSeparator(String lineSeparator) {
+        this.lineSeparator = lineSeparator;
+    }
+
+    public Expression getPickExpression() {
+        return pickExpression;
+    }
+
+    public void setPickExpression(Expression pickExpression) {
+        this.pickExpression = pickExpression;
+    }
+
+    /**
+     * Set a header line (such as CSV column names) to write before the aggregated lines
+     *
+     * @param header The header line
+     */
+    public StreamLinesAggregationStrategy header(String header) {
+        this.header = header;
+        return this;
+    }
+
+    /**
+     * Set the separator written after each line
+     *
+     * @param lineSeparator The line separator. Default new line
+     */
+    public StreamLinesAggregationStrategy lineSeparator(String lineSeparator) {
+        this.lineSeparator = lineSeparator;
+        return this;
+    }
+
+    /**
+     * Set an expression to extract the line to be aggregated from the incoming {@link Exchange}.
+     * <p/>
+     * By default, it picks the full IN message body of the incoming exchange.
+     *
+     * @param  expression The picking expression.
+     * @return            This instance.
+     */
+    public StreamLinesAggregationStrategy pick(Expression expression) {
+        this.pickExpression = expression;
+        return this;
+    }
+
+    @Override
+    public Exchange aggregate(Exchange oldExchange, Exchange newExchange) {
+        return aggregate(oldExchange, newExchange, null);
+    }
+
+    @Override
+    public Exchange aggregate(Exchange oldExchange, Exchange newExchange, Exchange inputExchange) {
+        Exchange answer = oldExchange != null ? oldExchange : newExchange;
+        if (answer == null) {
+            return null;
+        }
+
+        String pick = newExchange != null ? pickExpression.evaluate(newExchange, String.class) : null;
+        // the splitter copies the result to the input exchange, which is then the owner of the spool
+        Lines lines = getLines(answer, inputExchange != null ? inputExchange : answer);
+        if (pick != null) {
+            try {
+                lines.append(pick);
+            } catch (IOException e) {
+                lines.spool.release();
+                throw new RuntimeCamelException("Error writing aggregated line", e);
+            }
+        }
+        return answer;
+    }
+
+    @Override
+    public void onCompletion(Exchange exchange) {
+        onCompletion(exchange, null);
+    }
+
+    @Override
+    public void onCompletion(Exchange exchange, Exchange inputExchange) {
+        if (exchange != null) {
+            Lines lines = (Lines) exchange.removeProperty(ExchangePropertyKey.GROUPED_EXCHANGE);
+            if (lines != null) {
+                try {
+                    exchange.getIn().setBody(lines.spool.newStreamCache());
+                } catch (IOException e) {
+                    lines.spool.release();
+                    throw new RuntimeCamelException("Error completing aggregated lines", e);
+                }
+            }
+        }
+    }
+
+    private Lines getLines(Exchange exchange, Exchange owner) {
+        Lines lines = exchange.getProperty(ExchangePropertyKey.GROUPED_EXCHANGE, Lines.class);
+        if (lines == null) {
+            lines = new Lines(exchange, owner);
+            exchange.setProperty(ExchangePropertyKey.GROUPED_EXCHANGE, lines);
+        }
+        return lines;
+    }
+
+    /**
+     * The aggregated lines (thread safe)
+     */
+    private final class Lines {
+
+        private final AggregationSpool spool;
+        private final Charset charset;
+        private final byte[] separator;
+
+        private Lines(Exchange exchange, Exchange owner) {
+            this.spool = new AggregationSpool(exchange, owner);
+            this.charset = Charset.forName(ExchangeHelper.getCharsetName(exchange));
+            this.separator = lineSeparator != null ? lineSeparator.getBytes(charset) : new byte[0];
+        }
+
+        synchronized void append(String line) throws IOException {
+            if (spool.getCount() == 0 && header != null) {
+                write(header);
+            }
+            write(line);
+            spool.increment();
+        }
+
+        private void write(String line) throws IOException {
+            spool.getOutputStream().write(line.getBytes(charset));
+            spool.getOutputStream().write(separator);
+        }
+    }
+
+}
@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregate;
+
+import org.apache.camel.AggregationStrategy;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
+import org.apache.camel.Expression;
+import org.apache.camel.TypeConverter;
+import org.apache.camel.spi.Configurer;
+import org.apache.camel.spi.Metadata;
+import org.apache.camel.support.builder.ExpressionBuilder;
+
+/**
+ * Aggregate result of pick expression into a single combined Exchange holding the count, sum, minimum, maximum or
+ * average of the picked values as the message body.
+ * <p/>
+ * Only the running result is kept during aggregation, so the memory usage is the same regardless of the number of
+ * aggregated exchanges. Integral values are summed as a {@link Long}, and if any value is a decimal number then the
+ * result is a {@link Double}.
+ *
+ * This aggregation strategy can used in combination with {@link org.apache.camel.processor.Splitter} to batch messages
+ */
+@Metadata(label = "bean",
+          description = "Aggregate result of pick expression into a single combined Exchange holding the count, sum, minimum,"
+                        + " maximum or average of the picked values as the message body. Only the running result is kept"
+                        + " during aggregation, so the memory usage is the same regardless of the number of aggregated"
+                        + " exchanges.",
+          annotations = { "interfaceName=org.apache.camel.AggregationStrategy" })
+@Configurer(metadataOnly = true)
+public class SummarizingAggregationStrategy implements AggregationStrategy {
+
+    @Metadata(description = "The function to compute over the picked values.", enums = "count,sum,min,max,average",
+              defaultValue = "sum")
+    private String function = "sum";
+    private Expression pickExpression = ExpressionBuilder.bodyExpression();
+
+    public String getFunction() {
+        return function;
+    }
+
+    public void setFunction(String function) {
+        this.function = function;
+    }
+
+    public Expression getPickExpression() {
+        return pickExpression;
+    }
+
+    public void setPickExpression(Expression pickExpression) {
+        this.pickExpression = pickExpression;
+    }
+
+    /**
+     * Set the function to compute over the picked values
+     *
+     * @param function One of count, sum, min, max or average. Default sum
+     */
+    public SummarizingAggregationStrategy function(String function) {
+        this.function = function;
+        return this;
+    }
+
+    /**
+     * Set an expression to extract the value to be aggregated from the incoming {@link Exchange}.
+     * <p/>
+     * By default, it picks the full IN message body of the incoming exchange.
+     *
+     * @param  expression The picking expression.
+     * @return            This instance.
+     */
+    public SummarizingAggregationStrategy pick(Expression expression) {
+        this.pickExpression = expression;
+        return this;
+    }
+
+    @Override
+    public Exchange aggregate(Exchange oldExchange, Exchange newExchange) {
+        Exchange answer = oldExchange != null ? oldExchange : newExchange;
+        if (answer == null) {
+            return null;
+        }
+
+        Summary summary = getSummary(answer);
+        if (newExchange != null) {
+            Object value = pickExpression.evaluate(newExchange, Object.class);
+            if (value != null) {
+                summary.add(toNumber(newExchange, value));
+            }
+        }
+        return answer;
+    }
+
+    @Override
+    public void onCompletion(Exchange exchange) {
+        if (exchange != null) {
+            Summary summary = (Summary) exchange.removeProperty(ExchangePropertyKey.GROUPED_EXCHANGE);
+            if (summary != null) {
+                exchange.getIn().setBody(summary.result(function));
+            }
+        }
+    }
+
+    private static Number toNumber(Exchange exchange, Object value) {
+        if (value instanceof Number number) {
+            return number;
+        }
+        TypeConverter tc = exchange.getContext().getTypeConverter();
+        Number answer = tc.tryConvertTo(Long.class, exchange, value);
+        if (answer == null) {
+            answer = tc.tryConvertTo(Double.class, exchange, value);
+        }
+        if (answer == null) {
+            throw new IllegalArgumentException("Cannot aggregate value as it is not a number: " + value);
+        }
+        return answer;
+    }
+
+    private static Summary getSummary(Exchange exchange) {
+        Summary summary = exchange.getProperty(ExchangePropertyKey.GROUPED_EXCHANGE, Summary.class);
+        if (summary == null) {
+            summary = new Summary();
+            exchange.setProperty(ExchangePropertyKey.GROUPED_EXCHANGE, summary);
+        }
+        return summary;
+    }
+
+    /**
+     * The running result of the aggregation (thread safe)
+     */
+    private static final class Summary {
+
+        private long count;
+        private boolean decimal;
+        private long longSum;
+        private long longMin = Long.MAX_VALUE;
+        private long longMax = Long.MIN_VALUE;
+        private double doubleSum;
+        private double doubleMin = Double.POSITIVE_INFINITY;
+        private double doubleMax = Double.NEGATIVE_INFINITY;
+
+        synchronized void add(Number value) {
+            count++;
+            if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                long v = value.longValue();
+                longSum += v;
+                longMin = Math.min(longMin, v);
+                longMax = Math.max(longMax, v);
+            } else {
+                decimal = true;
+            }
+            double v = value.doubleValue();
+            doubleSum += v;
+            doubleMin = Math.min(doubleMin, v);
+            doubleMax = Math.max(doubleMax, v);
+        }
+
+        synchronized Object result(String function) {
+            switch (function) {
+                case "count":
+                    return count;
+                case "sum":
+                    return decimal ? (Object) doubleSum : (Object) longSum;
+                case "min":
+                    if (count == 0) {
+                        return null;
+                    }
+                    return decimal ? (Object) doubleMin : (Object) longMin;
+                case "max":
+                    if (count == 0) {
+                        return null;
+                    }
+                    return decimal ? (Object) doubleMax : (Object) longMax;
+                case "average":
+                    return count == 0 ? null : doubleSum / count;
+                default:
+                    throw new IllegalArgumentException("Unknown function: " + function);
+            }
+        }
+    }
+
+}
@@ -16,19 +16,22 @@
  */
 package org.apache.camel.processor.errorhandler;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.AsyncProcessor;
+import org.apache.camel.BatchProcessor;
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
 import org.apache.camel.spi.ErrorHandler;
 import org.apache.camel.support.AsyncCallbackToCompletableFutureAdapter;
 import org.apache.camel.support.AsyncProcessorConverterHelper;
 import org.apache.camel.support.AsyncProcessorHelper;
+import org.apache.camel.support.BatchProcessorHelper;
 import org.apache.camel.support.service.ServiceHelper;
 
-public class NoErrorHandler extends ErrorHandlerSupport implements AsyncProcessor, ErrorHandler {
+public class NoErrorHandler extends ErrorHandlerSupport implements AsyncProcessor, BatchProcessor, ErrorHandler {
 
     private final AsyncProcessor output;
 
@@ -52,6 +55,16 @@ public class NoErrorHandler extends ErrorHandlerSupport implements AsyncProcesso
         });
     }
 
+    @Override
+    public boolean processBatch(List<Exchange> exchanges, AsyncCallback callback) {
+        return BatchProcessorHelper.process(output, exchanges, doneSync -> {
+            for (Exchange exchange : exchanges) {
+                exchange.getExchangeExtension().setRedeliveryExhausted(false);
+            }
+            callback.done(doneSync);
+        });
+    }
+
     @Override
     public CompletableFuture<Exchange> processAsync(Exchange exchange) {
         AsyncCallbackToCompletableFutureAdapter<Exchange> callback = new AsyncCallbackToCompletableFutureAdapter<>(exchange);
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.loadbalancer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToDoubleFunction;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.AsyncProcessor;
+import org.apache.camel.Exchange;
+
+/**
+ * A base class for load balancers which choose the processor based on how busy and how slow the processors currently
+ * are. The number of in-flight exchanges and the response time are tracked for each processor as
+ * {@link LatencyStatistics}.
+ */
+public abstract class LatencyAwareLoadBalancer extends QueueLoadBalancer {
+
+    /**
+     * The default decay window (10 seconds)
+     */
+    public static final long DEFAULT_DECAY_WINDOW = 10000;
+
+    private final Map<AsyncProcessor, LatencyStatistics> statistics = new ConcurrentHashMap<>();
+    private final AtomicInteger counter = new AtomicInteger();
+    private long decayWindow = DEFAULT_DECAY_WINDOW;
+    private long decayWindowNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_DECAY_WINDOW);
+    transient int lastIndex = -1;
+
+    /**
+     * The strategy name
+     */
+    public abstract String getStrategy();
+
+    public long getDecayWindow() {
+        return decayWindow;
+    }
+
+    /**
+     * The time window (in millis) over which the average response time of a processor decays. A smaller window reacts
+     * faster to changes in the response time, and a larger window smooths out spikes.
+     */
+    public void setDecayWindow(long decayWindow) {
+        if (decayWindow <= 0) {
+            throw new IllegalArgumentException("DecayWindow must be positive, was: " + decayWindow);
+        }
+        this.decayWindow = decayWindow;
+        this.decayWindowNanos = TimeUnit.MILLISECONDS.toNanos(decayWindow);
+    }
+
+    public int getLastChosenProcessorIndex() {
+        return lastIndex;
+    }
+
+    /**
+     * Gets the latency statistics of the processor at the given index
+     */
+    public LatencyStatistics getLatencyStatistics(int index) {
+        AsyncProcessor[] processors = doGetProcessors();
+        if (index < 0 || index >= processors.length) {
+            return null;
+        }
+        return getLatencyStatistics(processors[index]);
+    }
+
+    protected LatencyStatistics getLatencyStatistics(AsyncProcessor processor) {
+        return statistics.computeIfAbsent(processor, p -> new LatencyStatistics());
+    }
+
+    /**
+     * The cost of sending an exchange to the processor (lower is better)
+     */
+    protected double getCost(AsyncProcessor processor) {
+        return getLatencyStatistics(processor).getCost(decayWindowNanos);
+    }
+
+    /**
+     * Resets the latency statistics
+     */
+    public void reset() {
+        statistics.values().forEach(LatencyStatistics::reset);
+    }
+
+    @Override
+    public void removeProcessor(AsyncProcessor processor) {
+        super.removeProcessor(processor);
+        statistics.remove(processor);
+    }
+
+    @Override
+    public boolean process(final Exchange exchange, final AsyncCallback callback) {
+        AsyncProcessor[] list = doGetProcessors();
+        if (list.length > 0) {
+            AsyncProcessor processor = chooseProcessor(list, exchange);
+            if (processor == null) {
+                Exception e = new IllegalStateException("No processors could be chosen to process " + exchange);
+                exchange.setException(e);
+            } else {
+                LatencyStatistics stats = getLatencyStatistics(processor);
+                stats.begin();
+                long start = System.nanoTime();
+                processor.process(exchange, doneSync -> {
+                    stats.end(System.nanoTime() - start, exchange.isFailed(), decayWindowNanos);
+                    callback.done(doneSync);
+                });
+                return false;
+            }
+        }
+        // no processors but indicate we are done
+        callback.done(false);
+        return false;
+    }
+
+    /**
+     * Chooses the processor with the lowest value. The processors are visited starting from a rotating offset, so ties
+     * are distributed in a round robin fashion.
+     */
+    protected AsyncProcessor chooseLowest(AsyncProcessor[] processors, ToDoubleFunction<AsyncProcessor> function) {
+        int size = processors.length;
+        if (size == 1) {
+            lastIndex = 0;
+            return processors[0];
+        }
+        int offset = (counter.getAndIncrement() & Integer.MAX_VALUE) % size;
+        int best = offset;
+        double lowest = function.applyAsDouble(processors[offset]);
+        for (int i = 1; i < size && lowest > 0; i++) {
+            int index = (offset + i) % size;
+            double value = function.applyAsDouble(processors[index]);
+            if (value < lowest) {
+                lowest = value;
+                best = index;
+            }
+        }
+        lastIndex = best;
+        return processors[best];
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + getStrategy() + "]";
+    }
+
+}
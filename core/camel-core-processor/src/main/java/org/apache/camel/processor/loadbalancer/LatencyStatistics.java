@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.loadbalancer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency statistics of a processor used by a {@link LatencyAwareLoadBalancer}.
+ * <p/>
+ * Keeps track (lock-free) of the number of in-flight exchanges, and a peak exponentially weighted moving average (EWMA)
+ * of the response time. A response time higher than the average replaces the average (the peak), and lower response
+ * times are blended into the average, weighted by how long ago the average was last updated compared to the decay
+ * window. When the processor is not used the average decays towards zero, so a processor which has been slow is tried
+ * again after a while.
+ */
+public final class LatencyStatistics {
+
+    // the cost of a processor with exchanges in-flight but no response time yet
+    private static final double PENALTY = 1e15;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final AtomicReference<Ewma> ewma = new AtomicReference<>(new Ewma(0, System.nanoTime()));
+    private volatile long lastResponseTime;
+
+    private record Ewma(double value, long timestamp) {
+    }
+
+    /**
+     * Marks the start of processing an exchange.
+     */
+    void begin() {
+        inflight.incrementAndGet();
+    }
+
+    /**
+     * Marks the end of processing an exchange.
+     *
+     * @param responseTime the response time in nanos
+     * @param failure      whether the exchange failed
+     * @param decayWindow  the decay window in nanos
+     */
+    void end(long responseTime, boolean failure, long decayWindow) {
+        inflight.decrementAndGet();
+        completed.increment();
+        lastResponseTime = responseTime;
+
+        double rtt = responseTime;
+        Ewma current;
+        Ewma update;
+        do {
+            current = ewma.get();
+            long now = System.nanoTime();
+            double value = current.value;
+            if (failure) {
+                // a processor failing fast should not be preferred
+                rtt = Math.max(rtt, value * 2);
+            }
+            if (rtt > value) {
+                value = rtt;
+            } else {
+                double weight = weight(current, now, decayWindow);
+                value = value * weight + rtt * (1 - weight);
+            }
+            update = new Ewma(value, now);
+        } while (!ewma.compareAndSet(current, update));
+        if (failure) {
+            failed.increment();
+        }
+    }
+
+    /**
+     * The cost of sending an exchange to the processor, which is the (decayed) peak EWMA response time multiplied by
+     * the number of in-flight exchanges plus one.
+     *
+     * @param decayWindow the decay window in nanos
+     */
+    double getCost(long decayWindow) {
+        Ewma current = ewma.get();
+        double value = current.value * weight(current, System.nanoTime(), decayWindow);
+        int n = inflight.get();
+        if (value == 0 && n > 0) {
+            return PENALTY + n;
+        }
+        return value * (n + 1);
+    }
+
+    private static double weight(Ewma ewma, long now, long decayWindow) {
+        long elapsed = Math.max(now - ewma.timestamp, 0);
+        return Math.exp((double) -elapsed / decayWindow);
+    }
+
+    /**
+     * Number of exchanges currently in-flight
+     */
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    /**
+     * Number of exchanges completed
+     */
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    /**
+     * Number of exchanges failed
+     */
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /**
+     * The peak EWMA response time in millis (as last updated)
+     */
+    public double getAverageResponseTime() {
+        return ewma.get().value / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * The last response time in millis
+     */
+    public long getLastResponseTime() {
+        return TimeUnit.NANOSECONDS.toMillis(lastResponseTime);
+    }
+
+    /**
+     * Resets the statistics (exchanges in-flight are still tracked)
+     */
+    public void reset() {
+        completed.reset();
+        failed.reset();
+        lastResponseTime = 0;
+        ewma.set(new Ewma(0, System.nanoTime()));
+    }
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.loadbalancer;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.camel.AsyncProcessor;
+import org.apache.camel.Exchange;
+
+/**
+ * Implements the power of two choices load balancing policy, which picks two processors at random, and chooses the one
+ * with the lowest cost (peak EWMA response time multiplied by the number of exchanges in-flight plus one). This avoids
+ * looking at all the processors, and that all the exchanges go to the same processor until its statistics are updated.
+ */
+public class PowerOfTwoChoicesLoadBalancer extends LatencyAwareLoadBalancer {
+
+    @Override
+    public String getStrategy() {
+        return "powerOfTwoChoices";
+    }
+
+    @Override
+    protected AsyncProcessor chooseProcessor(AsyncProcessor[] processors, Exchange exchange) {
+        int size = processors.length;
+        if (size <= 2) {
+            return chooseLowest(processors, this::getCost);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int a = random.nextInt(size);
+        int b = random.nextInt(size - 1);
+        if (b >= a) {
+            b++;
+        }
+        int index = getCost(processors[b]) < getCost(processors[a]) ? b : a;
+        lastIndex = index;
+        return processors[index];
+    }
+
+}
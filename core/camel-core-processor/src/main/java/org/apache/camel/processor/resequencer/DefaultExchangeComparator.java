@@ -57,6 +57,26 @@ public class DefaultExchangeComparator implements ExpressionResultComparator {
         return expression.evaluate(exchange, Long.class);
     }
 
+    /**
+     * Evaluates the sequence number of the given exchange.
+     *
+     * @param  exchange                 the exchange
+     * @return                          the sequence number
+     * @throws IllegalArgumentException if the exchange has no valid sequence number
+     */
+    public long sequenceNumber(Exchange exchange) {
+        Long num = null;
+        try {
+            num = expression.evaluate(exchange, Long.class);
+        } catch (Exception e) {
+            // ignore
+        }
+        if (num == null) {
+            throw new IllegalArgumentException("Element cannot be used in comparator: " + this);
+        }
+        return num;
+    }
+
     @Override
     public boolean isValid(Exchange exchange) {
         Long num = null;
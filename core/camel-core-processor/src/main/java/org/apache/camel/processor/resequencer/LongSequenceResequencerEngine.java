@@ -0,0 +1,462 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.resequencer;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+
+/**
+ * A {@link StreamResequencerEngine} specialized for elements with <code>long</code> sequence numbers, such as the
+ * exchanges resequenced by the stream resequencer using the {@link DefaultExchangeComparator}.
+ * <p>
+ * The resequencing behaviour is the same as {@link ResequencerEngine}: an element is <i>ready-for-delivery</i> if it is
+ * the immediate successor of the last-delivered element, or if it has been waiting for <code>timeout</code> milliseconds
+ * at the head of a gap in the sequence. However, instead of keeping the elements in a sorted set (comparing boxed
+ * sequence numbers) with a timer task per element, the sequence number of an element is computed once, and the element
+ * is stored in a ring buffer at the slot given by its sequence number. The ring covers the sequence numbers from the
+ * next expected sequence number and onwards. Elements which do not fit into the ring (too far ahead, or older than the
+ * last-delivered element) are kept in an overflow heap until the ring catches up, or they are delivered.
+ * <p>
+ * Inserting elements is lock-free. Delivery is done by a single thread at a time (guarded by a lock which is never used
+ * when inserting elements), and delivers the runs of elements which are ready in a single batch via
+ * {@link SequenceSender#sendElements(List)}. Timeouts are evaluated when delivering, so there is no timer thread.
+ * Duplicate elements (same sequence number) which are waiting in the resequencer at the same time are dropped.
+ */
+public class LongSequenceResequencerEngine<E> implements StreamResequencerEngine<E> {
+
+    /**
+     * The default number of slots in the ring buffer.
+     */
+    public static final int DEFAULT_RING_SIZE = 1024;
+
+    /**
+     * The maximum number of slots in the ring buffer. The elements which do not fit into the ring are kept in the
+     * overflow heap, so a larger capacity of the resequencer does not allocate a large ring up front.
+     */
+    public static final int MAX_RING_SIZE = 1 << 16;
+
+    private static final long UNKNOWN = Long.MIN_VALUE;
+
+    private final ToLongFunction<E> sequenceNumber;
+    private final AtomicInteger size = new AtomicInteger();
+    // elements which could not be added to the ring by the inserting threads
+    private final Queue<Slot<E>> incoming = new ConcurrentLinkedQueue<>();
+    // the following fields are only accessed by the delivering thread (while holding the delivery lock)
+    private final PriorityQueue<Slot<E>> overflow = new PriorityQueue<>(Comparator.comparingLong(Slot::seq));
+    private final List<E> batch = new ArrayList<>();
+    private final Lock deliveryLock = new ReentrantLock();
+    private long gapDeadline;
+    // to wait until there is capacity
+    private final Lock capacityLock = new ReentrantLock();
+    private final Condition capacityCondition = capacityLock.newCondition();
+    private final AtomicInteger capacityWaiters = new AtomicInteger();
+
+    private volatile AtomicReferenceArray<Slot<E>> ring;
+    /**
+     * The next expected sequence number, which is the start of the ring.
+     */
+    private volatile long base = UNKNOWN;
+    private volatile Slot<E> lastDelivered;
+    private long timeout = 2000L;
+    private Boolean rejectOld;
+    private SequenceSender<E> sequenceSender;
+
+    /**
+     * Creates a new resequencer instance with a default timeout of 2000 milliseconds.
+     *
+     * @param sequenceNumber function returning the sequence number of an element, which must throw
+     *                       {@link IllegalArgumentException} if the element has no valid sequence number.
+     */
+    public LongSequenceResequencerEngine(ToLongFunction<E> sequenceNumber) {
+        this(sequenceNumber, DEFAULT_RING_SIZE);
+    }
+
+    /**
+     * Creates a new resequencer instance with a default timeout of 2000 milliseconds.
+     *
+     * @param sequenceNumber function returning the sequence number of an element, which must throw
+     *                       {@link IllegalArgumentException} if the element has no valid sequence number.
+     * @param ringSize       the number of slots in the ring buffer (rounded up to a power of two, and at most
+     *                       {@link #MAX_RING_SIZE})
+     */
+    public LongSequenceResequencerEngine(ToLongFunction<E> sequenceNumber, int ringSize) {
+        this.sequenceNumber = sequenceNumber;
+        this.ring = new AtomicReferenceArray<>(powerOfTwo(ringSize));
+    }
+
+    @Override
+    public void start() {
+        // noop
+    }
+
+    @Override
+    public void stop() {
+        // noop
+    }
+
+    /**
+     * Returns the number of slots in the ring buffer.
+     */
+    public int getRingSize() {
+        return ring.length();
+    }
+
+    /**
+     * Sets the number of slots in the ring buffer (rounded up to a power of two, and at most {@link #MAX_RING_SIZE}).
+     * This can only be changed while the resequencer is empty, and should be set to the capacity of the resequencer,
+     * so the elements which are not in sequence do not have to be kept in the overflow heap.
+     */
+    public void setRingSize(int ringSize) {
+        deliveryLock.lock();
+        try {
+            if (size.get() > 0) {
+                throw new IllegalStateException("Cannot change the ring size of a resequencer which is not empty");
+            }
+            this.ring = new AtomicReferenceArray<>(powerOfTwo(ringSize));
+        } finally {
+            deliveryLock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    @Override
+    public void waitForCapacity(int capacity) throws InterruptedException {
+        if (size.get() < capacity) {
+            return;
+        }
+        capacityLock.lock();
+        try {
+            capacityWaiters.incrementAndGet();
+            try {
+                while (size.get() >= capacity) {
+                    capacityCondition.await();
+                }
+            } finally {
+                capacityWaiters.decrementAndGet();
+            }
+        } finally {
+            capacityLock.unlock();
+        }
+    }
+
+    @Override
+    public long getTimeout() {
+        return timeout;
+    }
+
+    @Override
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+
+    @Override
+    public Boolean getRejectOld() {
+        return rejectOld;
+    }
+
+    @Override
+    public void setRejectOld(Boolean rejectOld) {
+        this.rejectOld = rejectOld;
+    }
+
+    @Override
+    public SequenceSender<E> getSequenceSender() {
+        return sequenceSender;
+    }
+
+    @Override
+    public void setSequenceSender(SequenceSender<E> sequenceSender) {
+        this.sequenceSender = sequenceSender;
+    }
+
+    /**
+     * Returns the last delivered element.
+     *
+     * @return the last delivered element or <code>null</code> if no delivery has been made yet.
+     */
+    E getLastDelivered() {
+        Slot<E> last = lastDelivered;
+        return last != null ? last.object : null;
+    }
+
+    /**
+     * Sets the last delivered element. This is for testing purposes only.
+     *
+     * @param o an element.
+     */
+    void setLastDelivered(E o) {
+        Slot<E> last = new Slot<>(sequenceNumber.applyAsLong(o), o, 0);
+        lastDelivered = last;
+        if (base == UNKNOWN) {
+            base = last.seq + 1;
+        }
+    }
+
+    @Override
+    public void insert(E o) {
+        long seq = sequenceNumber.applyAsLong(o);
+
+        // validate the element shouldn't be 'rejected' (if applicable)
+        Slot<E> last = lastDelivered;
+        if (rejectOld != null && rejectOld && last != null && seq < last.seq) {
+            throw new MessageRejectedException(
+                    "rejecting message [" + o + "], it should have been sent before the last delivered message ["
+                                               + last.object + "]");
+        }
+
+        Slot<E> slot = new Slot<>(seq, o, System.currentTimeMillis() + timeout);
+        size.incrementAndGet();
+        if (!offer(slot)) {
+            incoming.add(slot);
+        }
+    }
+
+    /**
+     * Adds the slot to the ring (lock-free) if its sequence number is within the ring.
+     */
+    private boolean offer(Slot<E> slot) {
+        AtomicReferenceArray<Slot<E>> r = ring;
+        long b = base;
+        if (b == UNKNOWN || slot.seq < b || slot.seq - b >= r.length()) {
+            return false;
+        }
+        int index = (int) slot.seq & (r.length() - 1);
+        if (!r.compareAndSet(index, null, slot)) {
+            return false;
+        }
+        // the delivering thread may have moved past the slot in the meantime, then take it back
+        // (if the delivering thread took it already then it has been moved to the overflow heap)
+        return base <= slot.seq || !r.compareAndSet(index, slot, null);
+    }
+
+    @Override
+    public void deliver() throws Exception {
+        doDeliver(Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean deliverNext() throws Exception {
+        return doDeliver(1) > 0;
+    }
+
+    private int doDeliver(int max) throws Exception {
+        int answer;
+        deliveryLock.lock();
+        try {
+            Slot<E> slot;
+            while ((slot = incoming.poll()) != null) {
+                overflow.add(slot);
+            }
+            long start = base;
+            long now = System.currentTimeMillis();
+            while (batch.size() < max && collectNext(now)) {
+                // collect the elements ready for delivery
+            }
+            if (start != UNKNOWN && base != start) {
+                sweep(start, base);
+            }
+            answer = batch.size();
+            if (answer > 0) {
+                size.addAndGet(-answer);
+                signalCapacity();
+                try {
+                    sequenceSender.sendElements(batch);
+                } finally {
+                    batch.clear();
+                }
+            }
+        } finally {
+            deliveryLock.unlock();
+        }
+        return answer;
+    }
+
+    /**
+     * Collects the element at the head of the resequencer if its ready for delivery.
+     */
+    private boolean collectNext(long now) {
+        AtomicReferenceArray<Slot<E>> r = ring;
+        if (base == UNKNOWN) {
+            Slot<E> first = overflow.peek();
+            if (first == null) {
+                return false;
+            }
+            base = first.seq;
+        }
+
+        // elements older than the ring are first in sequence
+        Slot<E> head = overflow.peek();
+        if (head != null && head.seq < base) {
+            if (!isReady(head, now)) {
+                return false;
+            }
+            collect(overflow.poll());
+            return true;
+        }
+
+        // move the elements which now fit into the ring from the overflow heap
+        while (head != null && head.seq - base < r.length()) {
+            overflow.poll();
+            int index = (int) head.seq & (r.length() - 1);
+            Slot<E> existing = r.get(index);
+            if (existing == null) {
+                if (!r.compareAndSet(index, null, head)) {
+                    // added by an inserting thread in the meantime so try again
+                    overflow.add(head);
+                }
+            } else if (existing.seq == head.seq) {
+                // duplicate
+                size.decrementAndGet();
+            } else if (r.compareAndSet(index, existing, head)) {
+                // replace a stale element (older than the ring) which is then first in sequence
+                overflow.add(existing);
+                return true;
+            } else {
+                overflow.add(head);
+            }
+            head = overflow.peek();
+        }
+
+        int index = (int) base & (r.length() - 1);
+        Slot<E> slot = r.get(index);
+        if (slot != null) {
+            if (slot.seq != base) {
+                // a stale element which is then first in sequence
+                if (r.compareAndSet(index, slot, null)) {
+                    overflow.add(slot);
+                }
+                return true;
+            }
+            if (!isReady(slot, now)) {
+                return false;
+            }
+            r.set(index, null);
+            collect(slot);
+            base = slot.seq + 1;
+            gapDeadline = 0;
+            return true;
+        }
+
+        // there is a gap so find the next element in sequence
+        if (now < gapDeadline || size.get() <= batch.size()) {
+            return false;
+        }
+        for (int i = 1; i < r.length(); i++) {
+            long seq = base + i;
+            index = (int) seq & (r.length() - 1);
+            slot = r.get(index);
+            if (slot != null) {
+                if (slot.seq != seq) {
+                    // a stale element which is then first in sequence
+                    if (r.compareAndSet(index, slot, null)) {
+                        overflow.add(slot);
+                    }
+                    return true;
+                }
+                if (!isReady(slot, now)) {
+                    gapDeadline = slot.deadline;
+                    return false;
+                }
+                r.set(index, null);
+                collect(slot);
+                base = slot.seq + 1;
+                gapDeadline = 0;
+                return true;
+            }
+        }
+        head = overflow.peek();
+        if (head == null) {
+            return false;
+        }
+        if (!isReady(head, now)) {
+            gapDeadline = head.deadline;
+            return false;
+        }
+        collect(overflow.poll());
+        base = head.seq + 1;
+        gapDeadline = 0;
+        return true;
+    }
+
+    private boolean isReady(Slot<E> slot, long now) {
+        Slot<E> last = lastDelivered;
+        return last != null && slot.seq == last.seq + 1 || now >= slot.deadline;
+    }
+
+    private void collect(Slot<E> slot) {
+        batch.add(slot.object);
+        Slot<E> last = lastDelivered;
+        if (last == null || slot.seq > last.seq) {
+            lastDelivered = slot;
+        }
+    }
+
+    /**
+     * Moves the elements which have been added to the ring by inserting threads after the delivering thread moved past
+     * them to the overflow heap.
+     */
+    private void sweep(long from, long to) {
+        AtomicReferenceArray<Slot<E>> r = ring;
+        long n = Math.min(to - from, r.length());
+        for (long i = 0; i < n; i++) {
+            int index = (int) (from + i) & (r.length() - 1);
+            Slot<E> slot = r.get(index);
+            if (slot != null && slot.seq < base && r.compareAndSet(index, slot, null)) {
+                overflow.add(slot);
+            }
+        }
+    }
+
+    private void signalCapacity() {
+        if (capacityWaiters.get() > 0) {
+            capacityLock.lock();
+            try {
+                capacityCondition.signalAll();
+            } finally {
+                capacityLock.unlock();
+            }
+        }
+    }
+
+    private static int powerOfTwo(int size) {
+        if (size < 2) {
+            return 2;
+        }
+        if (size >= MAX_RING_SIZE) {
+            return MAX_RING_SIZE;
+        }
+        return Integer.highestOneBit(size - 1) << 1;
+    }
+
+    private record Slot<E>(long seq, E object, long deadline) {
+    }
+
+}
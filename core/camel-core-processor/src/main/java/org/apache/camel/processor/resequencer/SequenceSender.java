@@ -16,6 +16,8 @@
  */
 package org.apache.camel.processor.resequencer;
 
+import java.util.List;
+
 /**
  * An interface used by the {@link ResequencerEngine#deliver()} and {@link ResequencerEngine#deliverNext()} methods to
  * send out re-ordered elements.
@@ -30,4 +32,18 @@ public interface SequenceSender<E> {
      */
     void sendElement(E o) throws Exception;
 
+    /**
+     * Sends the given run of re-ordered elements (in order).
+     * <p/>
+     * The default implementation sends the elements one by one via {@link #sendElement(Object)}.
+     *
+     * @param  elements  the re-ordered elements.
+     * @throws Exception if delivery fails.
+     */
+    default void sendElements(List<E> elements) throws Exception {
+        for (E o : elements) {
+            sendElement(o);
+        }
+    }
+
 }
@@ -47,6 +47,7 @@ public class ClaimCheckReifier extends ProcessorReifier<ClaimCheckDefinition> {
         claim.setOperation(parse(ClaimCheckOperation.class, definition.getOperation()).name());
         claim.setKey(parseString(definition.getKey()));
         claim.setFilter(parseString(definition.getFilter()));
+        claim.setSpool(parseBoolean(definition.getSpool(), false));
 
         AggregationStrategy strategy = createAggregationStrategy();
         if (strategy != null) {
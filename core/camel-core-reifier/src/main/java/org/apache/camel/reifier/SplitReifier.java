@@ -56,6 +56,10 @@ public class SplitReifier extends ExpressionReifier<SplitDefinition> {
         if (timeout > 0 && !isParallelProcessing) {
             throw new IllegalArgumentException("Timeout is used but ParallelProcessing has not been enabled.");
         }
+        int reorderWindow = parseInt(definition.getReorderWindow(), 0);
+        if (reorderWindow > 0 && !isParallelProcessing) {
+            throw new IllegalArgumentException("ReorderWindow is used but ParallelProcessing has not been enabled.");
+        }
         Processor prepare = definition.getOnPrepareProcessor();
         if (prepare == null && definition.getOnPrepare() != null) {
             prepare = mandatoryLookup(definition.getOnPrepare(), Processor.class);
@@ -77,6 +81,7 @@ public class SplitReifier extends ExpressionReifier<SplitDefinition> {
                     isShareUnitOfWork, isParallelAggregate);
         }
         answer.setSynchronous(isSynchronous);
+        answer.setReorderWindow(reorderWindow);
         answer.setDisabled(isDisabled(camelContext, definition));
         return answer;
     }
@@ -25,7 +25,10 @@ import org.apache.camel.model.ProcessorDefinition;
 import org.apache.camel.model.ThrottleDefinition;
 import org.apache.camel.model.ThrottlingMode;
 import org.apache.camel.processor.ConcurrentRequestsThrottler;
+import org.apache.camel.processor.DistributedRequestsThrottler;
 import org.apache.camel.processor.TotalRequestsThrottler;
+import org.apache.camel.spi.TokenBucketRepository;
+import org.apache.camel.util.ObjectHelper;
 
 public class ThrottleReifier extends ExpressionReifier<ThrottleDefinition> {
 
@@ -51,7 +54,8 @@ public class ThrottleReifier extends ExpressionReifier<ThrottleDefinition> {
             throw new IllegalArgumentException("MaxRequestsPerPeriod expression must be provided on " + this);
         }
 
-        if (ThrottlingMode.toMode(parseString(definition.getMode())) == ThrottlingMode.ConcurrentRequests) {
+        ThrottlingMode mode = ThrottlingMode.toMode(parseString(definition.getMode()));
+        if (mode == ThrottlingMode.ConcurrentRequests) {
             ConcurrentRequestsThrottler answer = new ConcurrentRequestsThrottler(
                     camelContext, maxRequestsExpression, threadPool, shutdownThreadPool, reject, correlation);
             answer.setDisabled(isDisabled(camelContext, definition));
@@ -59,6 +63,19 @@ public class ThrottleReifier extends ExpressionReifier<ThrottleDefinition> {
             // should be true by default
             answer.setCallerRunsWhenRejected(parseBoolean(definition.getCallerRunsWhenRejected(), true));
             return answer;
+        } else if (mode == ThrottlingMode.DistributedRequests) {
+            TokenBucketRepository repository = resolveTokenBucketRepository();
+            ObjectHelper.notNull(repository, "tokenBucketRepository", definition);
+            long period = parseDuration(definition.getTimePeriodMillis(), 1000L);
+            DistributedRequestsThrottler answer = new DistributedRequestsThrottler(
+                    camelContext, maxRequestsExpression, period, repository, threadPool, shutdownThreadPool, reject,
+                    correlation);
+            answer.setDisabled(isDisabled(camelContext, definition));
+            answer.setAsyncDelayed(async);
+            // should be true by default
+            answer.setCallerRunsWhenRejected(parseBoolean(definition.getCallerRunsWhenRejected(), true));
+            answer.setLeaseSize(parseInt(definition.getLeaseSize(), 10));
+            return answer;
         } else {
             long period = parseDuration(definition.getTimePeriodMillis(), 1000L);
             TotalRequestsThrottler answer = new TotalRequestsThrottler(
@@ -72,6 +89,18 @@ public class ThrottleReifier extends ExpressionReifier<ThrottleDefinition> {
 
     }
 
+    /**
+     * Strategy method to resolve the {@link org.apache.camel.spi.TokenBucketRepository} to use
+     */
+    protected TokenBucketRepository resolveTokenBucketRepository() {
+        TokenBucketRepository repo = definition.getTokenBucketRepositoryBean();
+        String ref = parseString(definition.getTokenBucketRepository());
+        if (repo == null && ref != null) {
+            repo = mandatoryLookup(ref, TokenBucketRepository.class);
+        }
+        return repo;
+    }
+
     private Expression createMaxRequestsPerPeriodExpression() {
         return definition.getExpression() != null ? createExpression(definition.getExpression()) : null;
     }
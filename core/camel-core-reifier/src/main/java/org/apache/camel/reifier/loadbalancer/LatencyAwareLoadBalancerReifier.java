@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.reifier.loadbalancer;
+
+import org.apache.camel.Route;
+import org.apache.camel.model.LoadBalancerDefinition;
+import org.apache.camel.model.loadbalancer.LatencyAwareLoadBalancerDefinition;
+import org.apache.camel.processor.loadbalancer.LatencyAwareLoadBalancer;
+import org.apache.camel.processor.loadbalancer.LeastOutstandingLoadBalancer;
+import org.apache.camel.processor.loadbalancer.LoadBalancer;
+import org.apache.camel.processor.loadbalancer.PeakEwmaLoadBalancer;
+import org.apache.camel.processor.loadbalancer.PowerOfTwoChoicesLoadBalancer;
+
+public class LatencyAwareLoadBalancerReifier extends LoadBalancerReifier<LatencyAwareLoadBalancerDefinition> {
+
+    public LatencyAwareLoadBalancerReifier(Route route, LoadBalancerDefinition definition) {
+        super(route, (LatencyAwareLoadBalancerDefinition) definition);
+    }
+
+    @Override
+    public LoadBalancer createLoadBalancer() {
+        LatencyAwareLoadBalancer loadBalancer;
+
+        String strategy = parseString(definition.getStrategy());
+        if (strategy == null || "powerOfTwoChoices".equals(strategy)) {
+            loadBalancer = new PowerOfTwoChoicesLoadBalancer();
+        } else if ("peakEwma".equals(strategy)) {
+            loadBalancer = new PeakEwmaLoadBalancer();
+        } else if ("leastOutstanding".equals(strategy)) {
+            loadBalancer = new LeastOutstandingLoadBalancer();
+        } else {
+            throw new IllegalArgumentException(
+                    "Unknown strategy: " + strategy + ". Supported strategies: leastOutstanding, peakEwma, powerOfTwoChoices");
+        }
+        loadBalancer.setDecayWindow(parseDuration(definition.getDecayWindow(), LatencyAwareLoadBalancer.DEFAULT_DECAY_WINDOW));
+
+        return loadBalancer;
+    }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test for processing the polled files in parallel
+ */
+public class FileConsumerConcurrentConsumersTest extends ContextTestSupport {
+
+    private final Set<String> threads = ConcurrentHashMap.newKeySet();
+
+    @Test
+    public void testConcurrentConsumers() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(20);
+
+        for (int i = 0; i < 20; i++) {
+            template.sendBodyAndHeader(fileUri(), "Hello " + i, Exchange.FILE_NAME, "hello" + i + ".txt");
+        }
+
+        context.getRouteController().startRoute("foo");
+
+        assertMockEndpointsSatisfied();
+
+        // the files are processed by more than one thread
+        assertTrue(threads.size() > 1, "Should use more than one thread: " + threads);
+
+        // and all the files are committed (moved to the .camel directory)
+        Awaitility.await().untilAsserted(() -> {
+            for (int i = 0; i < 20; i++) {
+                assertFileExists(testFile(".camel/hello" + i + ".txt"));
+            }
+        });
+
+        // the file which completes the batch is the last to complete
+        long complete = mock.getReceivedExchanges().stream()
+                .filter(e -> e.getProperty(Exchange.BATCH_COMPLETE, false, Boolean.class)).count();
+        assertEquals(1, complete);
+        assertTrue(mock.getReceivedExchanges().get(19).getProperty(Exchange.BATCH_COMPLETE, false, Boolean.class));
+
+        FileConsumer consumer = (FileConsumer) context.getRoute("foo").getConsumer();
+        assertEquals(4, consumer.getConcurrentConsumers());
+        assertTrue(consumer.getMaxPollDuration() > 0);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from(fileUri("?initialDelay=0&delay=10&concurrentConsumers=4"))
+                        .routeId("foo").autoStartup(false)
+                        .process(e -> {
+                            threads.add(Thread.currentThread().getName());
+                            Thread.sleep(50);
+                        })
+                        .convertBodyTo(String.class).to("mock:result");
+            }
+        };
+    }
+}
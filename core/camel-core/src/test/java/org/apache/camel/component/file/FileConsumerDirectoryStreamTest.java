@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for listing the directories by streaming their entries
+ */
+public class FileConsumerDirectoryStreamTest extends ContextTestSupport {
+
+    @Test
+    public void testDirectoryStream() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceivedInAnyOrder("Hello World", "Bye World", "Hi World");
+        mock.message(0).header(Exchange.FILE_LENGTH).isNotNull();
+
+        template.sendBodyAndHeader(fileUri(), "Hello World", Exchange.FILE_NAME, "hello.txt");
+        template.sendBodyAndHeader(fileUri(), "Bye World", Exchange.FILE_NAME, "sub/bye.txt");
+        template.sendBodyAndHeader(fileUri(), "Hi World", Exchange.FILE_NAME, "sub/sub2/hi.txt");
+
+        context.getRouteController().startRoute("recursive");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testDirectoryStreamMaxMessagesPerPoll() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(5);
+        mock.message(0).exchangeProperty(Exchange.BATCH_SIZE).isEqualTo(2);
+        mock.message(1).exchangeProperty(Exchange.BATCH_SIZE).isEqualTo(2);
+
+        for (int i = 0; i < 5; i++) {
+            template.sendBodyAndHeader(fileUri(), "Message " + i, Exchange.FILE_NAME, "message" + i + ".txt");
+        }
+
+        context.getRouteController().startRoute("max");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testDirectoryStreamDoneFile() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived("Hello World");
+
+        template.sendBodyAndHeader(fileUri(), "Hello World", Exchange.FILE_NAME, "hello.txt");
+        template.sendBodyAndHeader(fileUri(), "Bye World", Exchange.FILE_NAME, "bye.txt");
+        template.sendBodyAndHeader(fileUri(), "", Exchange.FILE_NAME, "hello.txt.done");
+
+        context.getRouteController().startRoute("done");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from(fileUri("?initialDelay=0&delay=10&directoryStream=true&recursive=true"))
+                        .routeId("recursive").autoStartup(false)
+                        .convertBodyTo(String.class).to("mock:result");
+
+                from(fileUri("?initialDelay=0&delay=10&directoryStream=true&maxMessagesPerPoll=2"))
+                        .routeId("max").autoStartup(false)
+                        .convertBodyTo(String.class).to("mock:result");
+
+                from(fileUri("?initialDelay=0&delay=10&directoryStream=true&doneFileName=${file:name}.done"))
+                        .routeId("done").autoStartup(false)
+                        .convertBodyTo(String.class).to("mock:result");
+            }
+        };
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.converter.stream.FileInputStreamCache;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FileProducerFsyncTest extends ContextTestSupport {
+
+    @Test
+    public void testFsync() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(20);
+
+        List<CompletableFuture<Object>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            futures.add(template.asyncRequestBodyAndHeader("direct:start", "Hello " + i, Exchange.FILE_NAME,
+                    "hello" + i + ".txt"));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        assertMockEndpointsSatisfied();
+
+        for (int i = 0; i < 20; i++) {
+            assertFileExists(testFile("hello" + i + ".txt"), "Hello " + i);
+        }
+    }
+
+    @Test
+    public void testFsyncGroupedInRounds() throws Exception {
+        FileEndpoint endpoint = context.getEndpoint(fileUri("?fsync=true"), FileEndpoint.class);
+        FileProducer producer = (FileProducer) endpoint.createProducer();
+        producer.start();
+        try {
+            final int files = 10;
+            CountDownLatch syncing = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch done = new CountDownLatch(files + 1);
+
+            // the first round is kept in progress until the other files have been written
+            producer.process(createExchange("first.txt"), doneSync -> {
+                syncing.countDown();
+                awaitQuietly(release);
+                done.countDown();
+            });
+            assertTrue(syncing.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < files; i++) {
+                producer.process(createExchange("hello" + i + ".txt"), doneSync -> done.countDown());
+            }
+            release.countDown();
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+
+            // the syncs requested while the first round was in progress are grouped in a single round
+            assertEquals(2, producer.getSyncRoundCount());
+        } finally {
+            producer.stop();
+        }
+    }
+
+    @Test
+    public void testFsyncStaleFileNameProduced() throws Exception {
+        template.sendBodyAndHeader(fileUri(), "Hello", Exchange.FILE_NAME, "hello.txt");
+
+        // the file is not written as it exists, so the header from the earlier producer must be kept as is
+        Exchange out = template.request("direct:ignore", e -> {
+            e.getIn().setBody("Bye");
+            e.getIn().setHeader(Exchange.FILE_NAME, "hello.txt");
+            e.getIn().setHeader(Exchange.FILE_NAME_PRODUCED, "earlier.txt");
+        });
+        assertNull(out.getException());
+        assertEquals("earlier.txt", out.getMessage().getHeader(Exchange.FILE_NAME_PRODUCED));
+        assertFileExists(testFile("hello.txt"), "Hello");
+    }
+
+    @Test
+    public void testFsyncAppend() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(3);
+
+        template.sendBodyAndHeader("direct:append", "A", Exchange.FILE_NAME, "append.txt");
+        template.sendBodyAndHeader("direct:append", "B", Exchange.FILE_NAME, "append.txt");
+        template.sendBodyAndHeader("direct:append", "C", Exchange.FILE_NAME, "append.txt");
+
+        assertMockEndpointsSatisfied();
+
+        assertFileExists(testFile("append.txt"), "ABC");
+    }
+
+    @Test
+    public void testSpooledStreamCache() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(1);
+
+        Path spool = testDirectory("spool").resolve("spooled.dat");
+        Files.createDirectories(spool.getParent());
+        Files.writeString(spool, "Hello Spooled World");
+
+        template.sendBodyAndHeader("direct:start", new FileInputStreamCache(spool.toFile()), Exchange.FILE_NAME,
+                "spooled.txt");
+
+        assertMockEndpointsSatisfied();
+
+        assertFileExists(testFile("spooled.txt"), "Hello Spooled World");
+    }
+
+    @Test
+    public void testAppendFileBody() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(2);
+
+        Path source = testDirectory("source").resolve("source.txt");
+        Files.createDirectories(source.getParent());
+        Files.writeString(source, "Bye World");
+
+        template.sendBodyAndHeader("direct:append", "Hello World ", Exchange.FILE_NAME, "combined.txt");
+        template.sendBodyAndHeader("direct:append", source.toFile(), Exchange.FILE_NAME, "combined.txt");
+
+        assertMockEndpointsSatisfied();
+
+        assertFileExists(testFile("combined.txt"), "Hello World Bye World");
+    }
+
+    @Test
+    public void testFsyncRenamedFilesInDirectories() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(4);
+
+        // the files are renamed from temp files, so the directories are synced as well
+        template.sendBodyAndHeader("direct:temp", "A", Exchange.FILE_NAME, "a/one.txt");
+        template.sendBodyAndHeader("direct:temp", "B", Exchange.FILE_NAME, "a/two.txt");
+        template.sendBodyAndHeader("direct:temp", "C", Exchange.FILE_NAME, "b/one.txt");
+        template.sendBodyAndHeader("direct:temp", "D", Exchange.FILE_NAME, "three.txt");
+
+        assertMockEndpointsSatisfied();
+
+        assertFileExists(testFile("a/one.txt"), "A");
+        assertFileExists(testFile("a/two.txt"), "B");
+        assertFileExists(testFile("b/one.txt"), "C");
+        assertFileExists(testFile("three.txt"), "D");
+    }
+
+    private Exchange createExchange(String fileName) {
+        Exchange exchange = createExchangeWithBody("Hello");
+        exchange.getIn().setHeader(Exchange.FILE_NAME, fileName);
+        return exchange;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:start").to(fileUri("?fsync=true")).to("mock:result");
+
+                from("direct:append").to(fileUri("?fsync=true&fileExist=Append")).to("mock:result");
+
+                from("direct:temp").to(fileUri("?fsync=true&tempPrefix=inprogress-")).to("mock:result");
+
+                from("direct:ignore").to(fileUri("?fsync=true&fileExist=Ignore&tempPrefix=inprogress-"));
+            }
+        };
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.component.seda.RingBufferBlockingQueue.WaitStrategy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RingBufferBlockingQueueTest {
+
+    @Test
+    public void testOfferPoll() {
+        RingBufferBlockingQueue<String> queue = new RingBufferBlockingQueue<>(3);
+        assertEquals(4, queue.getCapacity());
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+
+        for (int lap = 0; lap < 3; lap++) {
+            assertTrue(queue.offer("a"));
+            assertTrue(queue.offer("b"));
+            assertTrue(queue.offer("c"));
+            assertTrue(queue.offer("d"));
+            assertFalse(queue.offer("e"), "Should be full");
+            assertEquals(4, queue.size());
+            assertEquals(0, queue.remainingCapacity());
+            assertEquals("a", queue.peek());
+
+            assertEquals("a", queue.poll());
+            assertEquals("b", queue.poll());
+            assertEquals("c", queue.poll());
+            assertEquals("d", queue.poll());
+            assertNull(queue.poll());
+            assertEquals(0, queue.size());
+        }
+    }
+
+    @Test
+    public void testInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new RingBufferBlockingQueue<>(0));
+        assertThrows(IllegalArgumentException.class, () -> new RingBufferBlockingQueue<>(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testRemove() {
+        RingBufferBlockingQueue<String> queue = new RingBufferBlockingQueue<>(8);
+        queue.add("a");
+        queue.add("b");
+        queue.add("c");
+
+        assertTrue(queue.remove("b"));
+        assertFalse(queue.remove("b"));
+        assertEquals(List.of("a", "c"), new ArrayList<>(queue));
+
+        assertEquals("a", queue.poll());
+        assertEquals("c", queue.poll());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testDrainTo() {
+        RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<>(16);
+        for (int i = 0; i < 10; i++) {
+            queue.add(i);
+        }
+
+        List<Integer> batch = new ArrayList<>();
+        assertEquals(4, queue.drainTo(batch, 4));
+        assertEquals(List.of(0, 1, 2, 3), batch);
+        assertEquals(6, queue.drainTo(batch));
+        assertEquals(10, batch.size());
+        assertTrue(queue.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> queue.drainTo(queue));
+    }
+
+    @ParameterizedTest
+    @EnumSource(WaitStrategy.class)
+    public void testTimeout(WaitStrategy waitStrategy) throws Exception {
+        RingBufferBlockingQueue<String> queue = new RingBufferBlockingQueue<>(1, waitStrategy);
+        assertEquals(2, queue.getCapacity());
+
+        long start = System.nanoTime();
+        assertNull(queue.poll(50, TimeUnit.MILLISECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+
+        queue.put("a");
+        queue.put("b");
+        start = System.nanoTime();
+        assertFalse(queue.offer("c", 50, TimeUnit.MILLISECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    // busy spinning needs a CPU core per thread, which the build machine may not have
+    @ParameterizedTest
+    @EnumSource(value = WaitStrategy.class, names = { "YIELD", "PARK" })
+    public void testConcurrentProducersConsumers(WaitStrategy waitStrategy) throws Exception {
+        final int producers = 4;
+        final int consumers = 4;
+        final int count = 20000;
+        // small capacity so the producers have to wait for the consumers
+        RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<>(64, waitStrategy);
+        Set<Integer> received = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(producers * count);
+
+        ExecutorService executor = Executors.newFixedThreadPool(producers + consumers);
+        try {
+            for (int c = 0; c < consumers; c++) {
+                executor.submit(() -> {
+                    List<Integer> batch = new ArrayList<>();
+                    while (!Thread.currentThread().isInterrupted()) {
+                        Integer value = queue.poll(10, TimeUnit.MILLISECONDS);
+                        if (value != null) {
+                            batch.add(value);
+                            queue.drainTo(batch, 9);
+                            for (Integer v : batch) {
+                                if (!received.add(v)) {
+                                    duplicates.incrementAndGet();
+                                }
+                                done.countDown();
+                            }
+                            batch.clear();
+                        }
+                    }
+                    return null;
+                });
+            }
+            for (int p = 0; p < producers; p++) {
+                final int offset = p * count;
+                executor.submit(() -> {
+                    for (int i = 0; i < count; i++) {
+                        queue.put(offset + i);
+                    }
+                    return null;
+                });
+            }
+
+            assertTrue(done.await(30, TimeUnit.SECONDS), "Should receive all elements");
+            assertEquals(producers * count, received.size());
+            assertEquals(0, duplicates.get());
+            assertTrue(queue.isEmpty());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
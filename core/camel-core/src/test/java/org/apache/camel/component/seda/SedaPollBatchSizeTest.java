@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePattern;
+import org.apache.camel.ExchangeTimedOutException;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.jupiter.api.Test;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SedaPollBatchSizeTest extends ContextTestSupport {
+
+    private final RingBufferBlockingQueueFactory<Exchange> ringBufferQueueFactory = new RingBufferBlockingQueueFactory<>();
+    private final CountDownLatch processing = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch releaseBatch = new CountDownLatch(1);
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.getRegistry().bind("ringBufferQueueFactory", ringBufferQueueFactory);
+        return context;
+    }
+
+    @Test
+    public void testRingBufferQueueFactory() {
+        SedaEndpoint endpoint = resolveMandatoryEndpoint("seda:ring?queueFactory=#ringBufferQueueFactory&size=100",
+                SedaEndpoint.class);
+
+        RingBufferBlockingQueue<?> queue = assertIsInstanceOf(RingBufferBlockingQueue.class, endpoint.getQueue());
+        assertEquals(128, queue.remainingCapacity());
+    }
+
+    @Test
+    public void testPollBatchSize() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(500);
+
+        for (int i = 0; i < 500; i++) {
+            template.sendBody("seda:foo?queueFactory=#ringBufferQueueFactory", "Message " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testPollBatchSizeInOrder() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:ordered");
+        mock.expectedBodiesReceived(createBodies());
+
+        for (int i = 0; i < 100; i++) {
+            template.sendBody("seda:bar", "Message " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testPendingBatch() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:slow");
+        mock.expectedBodiesReceived("Message 0", "Message 1", "Message 3");
+
+        SedaEndpoint endpoint = context.getEndpoint("seda:slow", SedaEndpoint.class);
+        SedaConsumer consumer = (SedaConsumer) context.getRoute("slow").getConsumer();
+
+        template.sendBody("seda:slow", "Message 0");
+        assertTrue(processing.await(5, TimeUnit.SECONDS));
+        template.sendBody("seda:slow", "Message 1");
+        Future<Exchange> reply = template.asyncSend("seda:slow?timeout=1000", e -> {
+            e.setPattern(ExchangePattern.InOut);
+            e.getMessage().setBody("Message 2");
+        });
+        template.sendBody("seda:slow", "Message 3");
+        await().atMost(5, TimeUnit.SECONDS).until(() -> endpoint.getQueue().size() == 3);
+
+        // the consumer takes the other messages in a batch and blocks processing the first of them
+        release.countDown();
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> {
+            assertEquals(0, endpoint.getQueue().size());
+            assertEquals(2, consumer.getPendingExchangesSize());
+        });
+
+        // the producer times out while its message is pending in the batch, which must then not be processed
+        Exchange out = reply.get(5, TimeUnit.SECONDS);
+        assertIsInstanceOf(ExchangeTimedOutException.class, out.getException());
+        assertEquals(1, consumer.getPendingExchangesSize());
+
+        releaseBatch.countDown();
+        assertMockEndpointsSatisfied();
+        assertEquals(0, consumer.getPendingExchangesSize());
+    }
+
+    private static Object[] createBodies() {
+        Object[] answer = new Object[100];
+        for (int i = 0; i < 100; i++) {
+            answer[i] = "Message " + i;
+        }
+        return answer;
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("seda:foo?queueFactory=#ringBufferQueueFactory&concurrentConsumers=4&pollBatchSize=16")
+                        .to("mock:result");
+
+                // a single consumer processes the batch in order
+                from("seda:bar?pollBatchSize=10")
+                        .to("mock:ordered");
+
+                from("seda:slow?pollBatchSize=10").routeId("slow")
+                        .process(e -> {
+                            String body = e.getMessage().getBody(String.class);
+                            if ("Message 0".equals(body)) {
+                                processing.countDown();
+                                release.await(5, TimeUnit.SECONDS);
+                            } else if ("Message 1".equals(body)) {
+                                releaseBatch.await(5, TimeUnit.SECONDS);
+                            }
+                        })
+                        .to("mock:slow");
+            }
+        };
+    }
+}
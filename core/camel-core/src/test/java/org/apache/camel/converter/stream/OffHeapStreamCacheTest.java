@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.StreamCache;
+import org.apache.camel.impl.engine.DefaultUnitOfWork;
+import org.apache.camel.spi.StreamCachingStrategy;
+import org.apache.camel.spi.UnitOfWork;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OffHeapStreamCacheTest extends ContextTestSupport {
+    private static final String TEST_STRING = "This is a test string and it has enough"
+                                              + " aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa ";
+
+    private Exchange exchange;
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.setStreamCaching(true);
+        context.getStreamCachingStrategy().setSpoolDirectory(testDirectory().toFile());
+        context.getStreamCachingStrategy().setSpoolEnabled(true);
+        context.getStreamCachingStrategy().setSpoolThreshold(16);
+        context.getStreamCachingStrategy().setOffHeapEnabled(true);
+        context.getStreamCachingStrategy().setOffHeapBufferSize(32);
+        context.getStreamCachingStrategy().setOffHeapMaxMemory(192);
+        context.getStreamCachingStrategy().getStatistics().setStatisticsEnabled(true);
+        return context;
+    }
+
+    @Override
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+
+        exchange = new DefaultExchange(context);
+        UnitOfWork uow = new DefaultUnitOfWork(exchange);
+        exchange.getExchangeExtension().setUnitOfWork(uow);
+    }
+
+    @Override
+    public boolean isUseRouteBuilder() {
+        return false;
+    }
+
+    private StreamCachingStrategy.Statistics statistics() {
+        return context.getStreamCachingStrategy().getStatistics();
+    }
+
+    @Test
+    public void testCacheStreamOffHeap() throws Exception {
+        context.start();
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(TEST_STRING.getBytes(StandardCharsets.UTF_8));
+
+        String[] files = testDirectory().toFile().list();
+        assertNotNull(files);
+        assertEquals(0, files.length, "Should not spool to disk");
+
+        StreamCache cache = cos.newStreamCache();
+        OffHeapInputStreamCache offHeap = assertInstanceOf(OffHeapInputStreamCache.class, cache);
+        assertTrue(offHeap.inMemory());
+        assertEquals(TEST_STRING.length(), offHeap.length());
+        assertEquals(TEST_STRING, new String(offHeap.readAllBytes(), StandardCharsets.UTF_8));
+        assertEquals(-1, offHeap.read());
+
+        offHeap.reset();
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        offHeap.writeTo(bos);
+        assertEquals(TEST_STRING, bos.toString(StandardCharsets.UTF_8));
+
+        // 4 buffers of 32 bytes
+        assertEquals(128, statistics().getCacheOffHeapUsedMemory());
+
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals(0, statistics().getCacheOffHeapUsedMemory());
+        assertThrows(Exception.class, offHeap::read, "The buffers have been released");
+    }
+
+    @Test
+    public void testCacheStreamOffHeapWriteToChannel() throws Exception {
+        context.start();
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(TEST_STRING.getBytes(StandardCharsets.UTF_8));
+        OffHeapInputStreamCache cache = (OffHeapInputStreamCache) cos.newStreamCache();
+
+        // skip the first part which should not be written
+        assertEquals(40, cache.skip(40));
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        assertEquals(TEST_STRING.length() - 40, cache.writeTo(Channels.newChannel(bos)));
+        assertEquals(TEST_STRING.substring(40), bos.toString(StandardCharsets.UTF_8));
+
+        exchange.getUnitOfWork().done(exchange);
+    }
+
+    @Test
+    public void testCacheStreamOffHeapCopy() throws Exception {
+        context.start();
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(TEST_STRING.getBytes(StandardCharsets.UTF_8));
+        StreamCache cache = cos.newStreamCache();
+
+        Exchange copy = new DefaultExchange(context);
+        copy.getExchangeExtension().setUnitOfWork(new DefaultUnitOfWork(copy));
+        StreamCache cacheCopy = cache.copy(copy);
+
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals(128, statistics().getCacheOffHeapUsedMemory(), "Still in use by the copy");
+        assertEquals(TEST_STRING, new String(((InputStream) cacheCopy).readAllBytes(), StandardCharsets.UTF_8));
+
+        copy.getUnitOfWork().done(copy);
+        assertEquals(0, statistics().getCacheOffHeapUsedMemory());
+    }
+
+    @Test
+    public void testCacheStreamOffHeapRetain() throws Exception {
+        context.start();
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(TEST_STRING.getBytes(StandardCharsets.UTF_8));
+        OffHeapInputStreamCache cache = (OffHeapInputStreamCache) cos.newStreamCache();
+
+        cache.retain();
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals(128, statistics().getCacheOffHeapUsedMemory(), "Still retained");
+        assertEquals(4, cache.getByteBuffers().length);
+
+        cache.release();
+        assertEquals(0, statistics().getCacheOffHeapUsedMemory());
+    }
+
+    @Test
+    public void testCacheStreamOffHeapExhaustedSpoolToFile() throws Exception {
+        context.start();
+
+        // occupy most of the off-heap memory
+        Exchange other = new DefaultExchange(context);
+        other.getExchangeExtension().setUnitOfWork(new DefaultUnitOfWork(other));
+        CachedOutputStream occupy = new CachedOutputStream(other);
+        occupy.write(TEST_STRING.getBytes(StandardCharsets.UTF_8));
+        assertInstanceOf(OffHeapInputStreamCache.class, occupy.newStreamCache());
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(TEST_STRING.getBytes(StandardCharsets.UTF_8));
+        StreamCache cache = cos.newStreamCache();
+        assertInstanceOf(FileInputStreamCache.class, cache);
+        assertEquals(TEST_STRING, new String(((InputStream) cache).readAllBytes(), StandardCharsets.UTF_8));
+        assertEquals(1, statistics().getCacheOffHeapExhaustedCounter());
+
+        File file = testDirectory().toFile();
+        String[] files = file.list();
+        assertNotNull(files);
+        assertEquals(1, files.length, "Should spool to disk");
+
+        exchange.getUnitOfWork().done(exchange);
+        other.getUnitOfWork().done(other);
+        assertEquals(0, statistics().getCacheOffHeapUsedMemory());
+    }
+
+    @Test
+    public void testCacheStreamOffHeapExhaustedWhileWriting() throws Exception {
+        context.start();
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        for (int i = 0; i < 4; i++) {
+            cos.write(TEST_STRING.getBytes(StandardCharsets.UTF_8));
+        }
+        StreamCache cache = cos.newStreamCache();
+        assertInstanceOf(FileInputStreamCache.class, cache);
+        assertEquals(TEST_STRING.repeat(4), new String(((InputStream) cache).readAllBytes(), StandardCharsets.UTF_8));
+        assertEquals(0, statistics().getCacheOffHeapUsedMemory(), "Should have moved from off-heap to disk");
+
+        exchange.getUnitOfWork().done(exchange);
+    }
+
+    @Test
+    public void testStreamCachingStrategyStatistics() throws Exception {
+        context.start();
+
+        exchange.getIn().setBody(new BufferedInputStream(new ByteArrayInputStream(TEST_STRING.getBytes(StandardCharsets.UTF_8))));
+        StreamCache cache = context.getStreamCachingStrategy().cache(exchange);
+        assertInstanceOf(OffHeapInputStreamCache.class, cache);
+
+        assertEquals(1, statistics().getCacheOffHeapCounter());
+        assertEquals(TEST_STRING.length(), statistics().getCacheOffHeapSize());
+        assertEquals(0, statistics().getCacheMemoryCounter());
+        assertEquals(0, statistics().getCacheSpoolCounter());
+
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals(0, statistics().getCacheOffHeapUsedMemory());
+        assertFalse(statistics().toString().isEmpty());
+    }
+}
@@ -18,6 +18,7 @@ package org.apache.camel.impl;
 
 import java.io.IOException;
 import java.net.ConnectException;
+import java.util.Map;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
@@ -366,6 +367,51 @@ public class DefaultExchangeTest extends ExchangeTestSupport {
         assertEquals(2, copy.getVariables().size());
     }
 
+    @Test
+    public void testCopyExchangeLazyCopy() {
+        context.getCamelContextExtension().setExchangeLazyCopy(true);
+        exchange.getIn().setHeader("foo", 123);
+        exchange.setProperty("fruit", "apple");
+
+        Exchange copy = exchange.copy();
+        Exchange copy2 = exchange.copy();
+        assertEquals(123, copy.getIn().getHeader("foo"));
+        assertEquals("apple", copy.getProperty("fruit"));
+
+        // changing the copy should not affect the original and other copies
+        copy.getIn().setHeader("foo", 456);
+        copy.setProperty("fruit", "banana");
+        assertEquals(123, exchange.getIn().getHeader("foo"));
+        assertEquals("apple", exchange.getProperty("fruit"));
+        assertEquals(123, copy2.getIn().getHeader("foo"));
+        assertEquals("apple", copy2.getProperty("fruit"));
+
+        // and changing the original should not affect the copies
+        exchange.getIn().removeHeader("foo");
+        exchange.getProperties().clear();
+        assertEquals(456, copy.getIn().getHeader("foo"));
+        assertEquals(123, copy2.getIn().getHeader("foo"));
+        assertEquals("apple", copy2.getProperty("fruit"));
+        assertNull(exchange.getIn().getHeader("foo"));
+        assertNull(exchange.getProperty("fruit"));
+
+        copy2.getIn().getHeaders().put("baz", "yes");
+        copy2.removeProperties("*");
+        assertNull(copy.getIn().getHeader("baz"));
+        assertEquals("banana", copy.getProperty("fruit"));
+        assertNull(copy2.getProperty("fruit"));
+
+        // maps taken before copying are not shared
+        copy.setVariable("beer", "Heineken");
+        Map<String, Object> properties = copy.getProperties();
+        Map<String, Object> variables = copy.getVariables();
+        Exchange copy3 = copy.copy();
+        properties.put("fruit", "cherry");
+        variables.put("beer", "Carlsberg");
+        assertEquals("banana", copy3.getProperty("fruit"));
+        assertEquals("Heineken", copy3.getVariable("beer"));
+    }
+
     @Test
     public void testInType() {
         exchange.setIn(new MyMessage(context));
@@ -31,9 +31,12 @@ import org.apache.camel.util.concurrent.ThreadPoolRejectedPolicy;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -345,6 +348,23 @@ public class DefaultExecutorServiceManagerTest extends ContextTestSupport {
         assertEquals("CallerRuns", tp.getRejectedExecutionHandler().toString());
     }
 
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    public void testGetThreadPoolProfileVirtualThreads() throws Exception {
+        ThreadPoolProfile foo = new ThreadPoolProfile("foo");
+        foo.setVirtualThreads(true);
+        context.getExecutorServiceManager().registerThreadPoolProfile(foo);
+        ThreadPoolProfile bar = new ThreadPoolProfile("bar");
+        context.getExecutorServiceManager().registerThreadPoolProfile(bar);
+
+        ExecutorService executor = context.getExecutorServiceManager().newThreadPool(this, "MyPool", "foo");
+        assertEquals("java.lang.VirtualThread", executor.submit(() -> Thread.currentThread().getClass().getName()).get());
+
+        // should use platform threads as the default profile has not enabled virtual threads
+        executor = context.getExecutorServiceManager().newThreadPool(this, "MyOtherPool", "bar");
+        assertNotEquals("java.lang.VirtualThread", executor.submit(() -> Thread.currentThread().getClass().getName()).get());
+    }
+
     @Test
     public void testNewThreadPoolProfile() {
         assertNull(context.getExecutorServiceManager().getThreadPoolProfile("foo"));
@@ -16,14 +16,21 @@
  */
 package org.apache.camel.impl;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.apache.camel.ContextTestSupport;
 import org.apache.camel.Exchange;
+import org.apache.camel.impl.engine.CamelInternalProcessor;
 import org.apache.camel.impl.engine.DefaultInflightRepository;
 import org.apache.camel.spi.InflightRepository;
 import org.apache.camel.support.DefaultExchange;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class DefaultInflightRepositoryTest extends ContextTestSupport {
 
@@ -47,4 +54,79 @@ public class DefaultInflightRepositoryTest extends ContextTestSupport {
         repo.remove(e1);
         assertEquals(0, repo.size());
     }
+
+    @Test
+    public void testDefaultInflightRepositoryBrowseSample() {
+        InflightRepository repo = new DefaultInflightRepository();
+        repo.setInflightBrowseEnabled(true);
+        repo.setInflightBrowseSampleRate(4);
+
+        List<Exchange> exchanges = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Exchange e = new DefaultExchange(context);
+            exchanges.add(e);
+            repo.add(e);
+        }
+        assertEquals(1000, repo.size());
+
+        // only a sample of the exchanges can be browsed
+        int sampled = repo.browse().size();
+        assertTrue(sampled > 0 && sampled < 1000, "Should only browse a sample, was: " + sampled);
+        for (InflightRepository.InflightExchange ie : repo.browse()) {
+            assertTrue(exchanges.contains(ie.getExchange()));
+        }
+        assertNotNull(repo.oldest(null));
+
+        for (Exchange e : exchanges) {
+            repo.remove(e);
+        }
+        assertEquals(0, repo.size());
+        assertEquals(0, repo.browse().size());
+        assertNull(repo.oldest(null));
+    }
+
+    @Test
+    public void testDefaultInflightRepositoryBrowseSampleRateChanged() {
+        InflightRepository repo = new DefaultInflightRepository();
+        repo.setInflightBrowseEnabled(true);
+
+        List<Exchange> exchanges = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Exchange e = new DefaultExchange(context);
+            exchanges.add(e);
+            repo.add(e);
+        }
+        assertEquals(100, repo.browse().size());
+
+        // the exchanges added under the old rate must still be removed
+        repo.setInflightBrowseSampleRate(4);
+        for (Exchange e : exchanges) {
+            repo.remove(e);
+        }
+        assertEquals(0, repo.size());
+        assertEquals(0, repo.browse().size());
+
+        // as well as when browsing has been turned off meanwhile
+        Exchange e = new DefaultExchange(context);
+        repo.setInflightBrowseSampleRate(1);
+        repo.add(e);
+        repo.setInflightBrowseEnabled(false);
+        repo.remove(e);
+        repo.setInflightBrowseEnabled(true);
+        assertEquals(0, repo.browse().size());
+    }
+
+    @Test
+    public void testDefaultInflightRepositoryRouteAdvice() throws Exception {
+        InflightRepository repo = new DefaultInflightRepository();
+        CamelInternalProcessor.RouteInflightRepositoryAdvice advice
+                = new CamelInternalProcessor.RouteInflightRepositoryAdvice(repo, "foo");
+        repo.addRoute("foo");
+
+        Exchange e = new DefaultExchange(context);
+        advice.before(e);
+        assertEquals(1, repo.size("foo"));
+        advice.after(e, null);
+        assertEquals(0, repo.size("foo"));
+    }
 }
@@ -16,6 +16,8 @@
  */
 package org.apache.camel.impl;
 
+import java.util.Map;
+
 import org.apache.camel.CamelContext;
 import org.apache.camel.Message;
 import org.apache.camel.support.DefaultExchange;
@@ -281,6 +283,61 @@ public class DefaultMessageHeaderTest {
         assertTrue(msg.getHeaders().isEmpty());
     }
 
+    @Test
+    public void testCopyHeadersIsolated() {
+        assertCopyHeadersIsolated();
+    }
+
+    @Test
+    public void testLazyCopyHeadersIsolated() {
+        camelContext.getCamelContextExtension().setExchangeLazyCopy(true);
+        assertCopyHeadersIsolated();
+    }
+
+    private void assertCopyHeadersIsolated() {
+        Message msg = new DefaultMessage(camelContext);
+        msg.setHeader("foo", "cheese");
+
+        Message copy = msg.copy();
+        Message copy2 = msg.copy();
+        assertEquals("cheese", copy.getHeader("foo"));
+        assertEquals("cheese", copy2.getHeader("foo"));
+
+        // changing the copy should not affect the original and other copies
+        copy.setHeader("foo", "wine");
+        copy.setHeader("bar", "beer");
+        assertEquals("cheese", msg.getHeader("foo"));
+        assertNull(msg.getHeader("bar"));
+        assertEquals("cheese", copy2.getHeader("foo"));
+
+        // and changing the original should not affect the copies
+        Message copy3 = msg.copy();
+        msg.setHeader("foo", "milk");
+        msg.setHeader("baz", "water");
+        assertEquals("cheese", copy2.getHeader("foo"));
+        assertEquals("cheese", copy3.getHeader("foo"));
+        assertNull(copy3.getHeader("baz"));
+        assertEquals("wine", copy.getHeader("foo"));
+
+        // changing the headers map of a copy should not affect the original
+        Message copy4 = msg.copy();
+        copy4.getHeaders().put("foo", "tea");
+        copy4.getHeaders().remove("baz");
+        assertEquals("milk", msg.getHeader("foo"));
+        assertEquals("water", msg.getHeader("baz"));
+
+        // a reference to the headers taken before copying should not affect the copies when changed afterwards
+        Map<String, Object> headers = msg.getHeaders();
+        Message copy5 = msg.copy();
+        headers.put("foo", "coffee");
+        headers.remove("baz");
+        assertEquals("coffee", msg.getHeader("foo"));
+        assertEquals("milk", copy5.getHeader("foo"));
+        assertEquals("water", copy5.getHeader("baz"));
+        copy5.removeHeaders("*");
+        assertEquals("coffee", msg.getHeader("foo"));
+    }
+
     @Test
     public void testWithDefaults() {
         DefaultMessage msg = new DefaultMessage(camelContext);
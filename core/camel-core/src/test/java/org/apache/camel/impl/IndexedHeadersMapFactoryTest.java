@@ -0,0 +1,234 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.engine.DefaultHeadersMapFactory;
+import org.apache.camel.impl.engine.IndexedHeadersMapFactory;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndexedHeadersMapFactoryTest {
+
+    @Test
+    public void testLookupCaseAgnostic() {
+        Map<String, Object> map = new IndexedHeadersMapFactory().newMap();
+        assertNull(map.get("foo"));
+
+        map.put("foo", "cheese");
+
+        assertEquals("cheese", map.get("foo"));
+        assertEquals("cheese", map.get("Foo"));
+        assertEquals("cheese", map.get("FOO"));
+        assertTrue(map.containsKey("fOO"));
+
+        map.put("FOO", "cake");
+        assertEquals(1, map.size());
+        assertEquals("cake", map.get("foo"));
+        // keeps the original key
+        assertEquals("foo", map.keySet().iterator().next());
+
+        map.put(Exchange.CONTENT_TYPE, "text/plain");
+        assertEquals("text/plain", map.get("content-type"));
+        assertEquals(2, map.size());
+
+        assertEquals("cake", map.remove("Foo"));
+        assertNull(map.get("foo"));
+        assertEquals(1, map.size());
+        assertEquals("text/plain", map.get(Exchange.CONTENT_TYPE));
+    }
+
+    @Test
+    public void testNullValue() {
+        Map<String, Object> map = new IndexedHeadersMapFactory().newMap();
+        map.put("foo", null);
+        assertTrue(map.containsKey("FOO"));
+        assertNull(map.get("foo"));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testConstructFromOther() {
+        Map<String, Object> other = new DefaultHeadersMapFactory().newMap();
+        other.put("Foo", "cheese");
+        other.put("bar", 123);
+
+        Map<String, Object> map = new IndexedHeadersMapFactory().newMap(other);
+
+        assertEquals("cheese", map.get("FOO"));
+        assertEquals("cheese", map.get("foo"));
+        assertEquals("cheese", map.get("Foo"));
+
+        assertEquals(123, map.get("BAR"));
+        assertEquals(123, map.get("bar"));
+        assertEquals(123, map.get("BaR"));
+        assertEquals(other, map);
+    }
+
+    @Test
+    public void testCopyOnWrite() {
+        IndexedHeadersMapFactory factory = new IndexedHeadersMapFactory();
+        Map<String, Object> map = factory.newMap();
+        map.put("foo", "cheese");
+        map.put("bar", 123);
+
+        Map<String, Object> copy = factory.newMap(map);
+        assertEquals(map, copy);
+
+        copy.put("foo", "cake");
+        copy.put("baz", true);
+        assertEquals("cheese", map.get("foo"));
+        assertFalse(map.containsKey("baz"));
+        assertEquals(2, map.size());
+        assertEquals("cake", copy.get("foo"));
+        assertEquals(3, copy.size());
+
+        Map<String, Object> copy2 = factory.newMap(map);
+        map.remove("bar");
+        assertEquals(123, copy2.get("bar"));
+        copy2.clear();
+        assertTrue(copy2.isEmpty());
+        assertEquals("cheese", map.get("foo"));
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        Map<String, Object> map = new IndexedHeadersMapFactory().newMap();
+        for (int i = 0; i < 10; i++) {
+            map.put("key" + i, i);
+        }
+        Iterator<Map.Entry<String, Object>> it = map.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Object> entry = it.next();
+            if ((Integer) entry.getValue() % 2 == 0) {
+                it.remove();
+            }
+        }
+        assertEquals(5, map.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i % 2 != 0, map.containsKey("KEY" + i));
+        }
+    }
+
+    @Test
+    public void testIteratorOnCopy() {
+        IndexedHeadersMapFactory factory = new IndexedHeadersMapFactory();
+        Map<String, Object> map = factory.newMap();
+        map.put(Exchange.FILE_NAME, "hello.txt");
+        map.put(Exchange.HTTP_METHOD, "GET");
+        for (int i = 0; i < 10; i++) {
+            map.put("key" + i, i);
+        }
+
+        Map<String, Object> copy = factory.newMap(map);
+        Iterator<Map.Entry<String, Object>> it = copy.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Object> entry = it.next();
+            if (entry.getValue() instanceof Integer i) {
+                if (i % 2 == 0) {
+                    it.remove();
+                } else {
+                    entry.setValue(i * 10);
+                }
+            } else if (Exchange.FILE_NAME.equals(entry.getKey())) {
+                entry.setValue("bye.txt");
+            } else {
+                it.remove();
+            }
+        }
+
+        assertEquals(6, copy.size());
+        assertEquals("bye.txt", copy.get(Exchange.FILE_NAME));
+        assertFalse(copy.containsKey(Exchange.HTTP_METHOD));
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i % 2 != 0 ? i * 10 : null, copy.get("key" + i));
+        }
+
+        // the original map is not changed by the copy
+        assertEquals(12, map.size());
+        assertEquals("hello.txt", map.get(Exchange.FILE_NAME));
+        assertEquals("GET", map.get(Exchange.HTTP_METHOD));
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, map.get("key" + i));
+        }
+    }
+
+    @Test
+    public void testUnknownHeaderNamesNotIndexed() {
+        IndexedHeadersMapFactory factory = new IndexedHeadersMapFactory();
+        int indexed = factory.getIndexedHeaderNames();
+        Map<String, Object> map = factory.newMap();
+        for (int i = 0; i < 300; i++) {
+            map.put("key" + i, i);
+        }
+        map.put(Exchange.FILE_NAME, "hello.txt");
+        assertEquals(indexed, factory.getIndexedHeaderNames());
+        assertEquals(301, map.size());
+        for (int i = 0; i < 300; i++) {
+            assertEquals(i, map.get("KEY" + i));
+        }
+        assertEquals("hello.txt", map.get(Exchange.FILE_NAME.toLowerCase()));
+    }
+
+    @Test
+    public void testMaxHeaderNames() {
+        IndexedHeadersMapFactory factory = new IndexedHeadersMapFactory();
+        int max = factory.getMaxHeaderNames();
+        String[] names = new String[max + 100];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = "key" + i;
+        }
+        factory.addHeaderNames(names);
+        assertEquals(max, factory.getIndexedHeaderNames());
+
+        Map<String, Object> map = factory.newMap();
+        for (int i = 0; i < names.length; i++) {
+            map.put(names[i], i);
+        }
+        assertEquals(names.length, map.size());
+        for (int i = 0; i < names.length; i++) {
+            assertEquals(i, map.get("KEY" + i));
+        }
+
+        Map<String, Object> copy = factory.newMap(map);
+        String last = names[names.length - 1];
+        copy.remove(last);
+        assertEquals(names.length - 1, copy.size());
+        assertEquals(names.length - 1, map.get(last));
+    }
+
+    @Test
+    public void testIsInstance() {
+        IndexedHeadersMapFactory factory = new IndexedHeadersMapFactory();
+        Map<String, Object> map = factory.newMap();
+
+        Map<String, Object> other = factory.newMap(map);
+        other.put("Foo", "cheese");
+        other.put("bar", 123);
+
+        assertTrue(factory.isInstanceOf(map));
+        assertTrue(factory.isInstanceOf(other));
+        assertFalse(factory.isInstanceOf(new HashMap<>()));
+        assertFalse(new IndexedHeadersMapFactory().isInstanceOf(map));
+    }
+
+}
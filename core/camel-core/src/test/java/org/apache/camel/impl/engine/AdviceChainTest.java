@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.spi.CamelInternalProcessorAdvice;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class AdviceChainTest extends ContextTestSupport {
+
+    private final List<String> events = new ArrayList<>();
+
+    @Test
+    public void testEmpty() throws Exception {
+        AdviceChain chain = AdviceChain.of(List.of());
+        assertSame(AdviceChain.EMPTY, chain);
+        assertEquals(0, chain.getStateCount());
+
+        Exchange exchange = createExchangeWithBody("Hello");
+        Object state = chain.before(exchange, null);
+        chain.after(exchange, state);
+        assertNull(state);
+    }
+
+    @Test
+    public void testFixedArity() throws Exception {
+        for (int size = 1; size <= 3; size++) {
+            for (int stateful = -1; stateful < size; stateful++) {
+                List<CamelInternalProcessorAdvice<?>> advices = new ArrayList<>();
+                for (int i = 0; i < size; i++) {
+                    advices.add(new MyAdvice("a" + i, i == stateful));
+                }
+                assertChain(advices);
+            }
+        }
+    }
+
+    @Test
+    public void testManyAdvices() throws Exception {
+        List<CamelInternalProcessorAdvice<?>> advices = new ArrayList<>();
+        advices.add(new MyAdvice("a0", false));
+        advices.add(new MyAdvice("a1", true));
+        advices.add(new MyAdvice("a2", false));
+        advices.add(new MyAdvice("a3", true));
+        advices.add(new MyAdvice("a4", true));
+        AdviceChain chain = assertChain(advices);
+        assertEquals(3, chain.getStateCount());
+
+        // reuse pre-allocated states
+        Object[] states = new Object[3];
+        Exchange exchange = createExchangeWithBody("Hello");
+        assertSame(states, chain.before(exchange, states));
+    }
+
+    @Test
+    public void testTwoStatefulAdvices() throws Exception {
+        List<CamelInternalProcessorAdvice<?>> advices = new ArrayList<>();
+        advices.add(new MyAdvice("a0", true));
+        advices.add(new MyAdvice("a1", true));
+        AdviceChain chain = assertChain(advices);
+        assertEquals(2, chain.getStateCount());
+    }
+
+    @Test
+    public void testBeforeFailed() throws Exception {
+        List<CamelInternalProcessorAdvice<?>> advices = new ArrayList<>();
+        advices.add(new MyAdvice("a0", true));
+        advices.add(new MyAdvice("fail", false));
+        advices.add(new MyAdvice("a2", false));
+        AdviceChain chain = AdviceChain.of(advices);
+
+        Exchange exchange = createExchangeWithBody("Hello");
+        assertThrows(IllegalArgumentException.class, () -> chain.before(exchange, null));
+        assertEquals(List.of("before-a0", "before-fail"), events);
+    }
+
+    @Test
+    public void testAfterFailed() throws Exception {
+        List<CamelInternalProcessorAdvice<?>> advices = new ArrayList<>();
+        advices.add(new MyAdvice("a0", true));
+        advices.add(new MyAdvice("a1", false));
+        AdviceChain chain = AdviceChain.of(advices);
+
+        Exchange exchange = createExchangeWithBody("Hello");
+        Object state = chain.before(exchange, null);
+        exchange.getMessage().setHeader("failAfter", "a1");
+        chain.after(exchange, state);
+
+        // all after advices must be executed
+        assertEquals(List.of("before-a0", "before-a1", "after-a1-null", "after-a0-state-a0"), events);
+        assertNotNull(exchange.getException());
+    }
+
+    private AdviceChain assertChain(List<CamelInternalProcessorAdvice<?>> advices) throws Exception {
+        events.clear();
+        AdviceChain chain = AdviceChain.of(advices);
+        long stateful = advices.stream().filter(CamelInternalProcessorAdvice::hasState).count();
+        assertEquals(stateful, chain.getStateCount());
+
+        Exchange exchange = createExchangeWithBody("Hello");
+        Object state = chain.before(exchange, null);
+        chain.after(exchange, state);
+
+        // before in order, and after in reverse order with the state from its own before
+        List<String> expected = new ArrayList<>();
+        for (CamelInternalProcessorAdvice<?> advice : advices) {
+            expected.add("before-" + ((MyAdvice) advice).name);
+        }
+        for (int i = advices.size() - 1; i >= 0; i--) {
+            MyAdvice advice = (MyAdvice) advices.get(i);
+            expected.add("after-" + advice.name + "-" + (advice.hasState() ? "state-" + advice.name : "null"));
+        }
+        assertEquals(expected, events, "Advices: " + advices.size() + " stateful: " + stateful);
+        return chain;
+    }
+
+    private final class MyAdvice implements CamelInternalProcessorAdvice<String> {
+
+        private final String name;
+        private final boolean state;
+
+        private MyAdvice(String name, boolean state) {
+            this.name = name;
+            this.state = state;
+        }
+
+        @Override
+        public String before(Exchange exchange) throws Exception {
+            events.add("before-" + name);
+            if ("fail".equals(name)) {
+                throw new IllegalArgumentException("Forced");
+            }
+            return "state-" + name;
+        }
+
+        @Override
+        public void after(Exchange exchange, String data) throws Exception {
+            events.add("after-" + name + "-" + data);
+            if (name.equals(exchange.getMessage().getHeader("failAfter"))) {
+                throw new IllegalArgumentException("Forced");
+            }
+        }
+
+        @Override
+        public boolean hasState() {
+            return state;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.spi.ReactiveExecutor;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WorkStealingReactiveExecutorTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        WorkStealingReactiveExecutor executor = new WorkStealingReactiveExecutor();
+        executor.setStatisticsEnabled(true);
+        context.getCamelContextExtension().setReactiveExecutor(executor);
+        return context;
+    }
+
+    @Test
+    public void testRouting() throws Exception {
+        ReactiveExecutor re = context.getCamelContextExtension().getReactiveExecutor();
+        assertInstanceOf(WorkStealingReactiveExecutor.class, re);
+
+        getMockEndpoint("mock:result").expectedMessageCount(100);
+
+        for (int i = 0; i < 100; i++) {
+            template.sendBody("seda:start", "Message " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+        assertEquals(0, ((WorkStealingReactiveExecutor) re).getPendingTasks());
+    }
+
+    @Test
+    public void testNoStealFromBusyWorker() throws Exception {
+        WorkStealingReactiveExecutor executor = new WorkStealingReactiveExecutor();
+        executor.start();
+
+        final int tasks = 10;
+        final CountDownLatch queued = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger counter = new AtomicInteger();
+
+        // busy worker which queues up tasks and then blocks
+        Thread busy = new Thread(() -> executor.schedule(() -> {
+            for (int i = 0; i < tasks; i++) {
+                executor.schedule(counter::incrementAndGet);
+            }
+            queued.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }), "busy");
+        busy.start();
+        assertTrue(queued.await(5, TimeUnit.SECONDS));
+
+        // idle worker must not steal the tasks, as they must run after the current task of the busy worker
+        Thread idle = new Thread(() -> executor.schedule(() -> {
+        }), "idle");
+        idle.start();
+        idle.join(5000);
+
+        assertEquals(0, executor.getStolenTasks());
+        assertEquals(0, counter.get());
+
+        release.countDown();
+        busy.join(5000);
+        assertEquals(tasks, counter.get());
+        assertEquals(0, executor.getPendingTasks());
+        executor.stop();
+    }
+
+    @Test
+    public void testStealLeftOverTasks() throws Exception {
+        WorkStealingReactiveExecutor executor = new WorkStealingReactiveExecutor();
+        executor.start();
+
+        final int tasks = 10;
+        final List<Integer> order = new CopyOnWriteArrayList<>();
+
+        // worker which queues up tasks and then is aborted by an error, which leaves the tasks behind
+        Thread aborted = new Thread(() -> {
+            try {
+                executor.schedule(() -> {
+                    for (int i = 0; i < tasks; i++) {
+                        final int number = i;
+                        executor.schedule(() -> order.add(number));
+                    }
+                    throw new StackOverflowError("Simulated");
+                });
+            } catch (StackOverflowError e) {
+                // expected
+            }
+        }, "aborted");
+        aborted.start();
+        aborted.join(5000);
+        assertEquals(tasks, executor.getPendingTasks());
+
+        // idle worker steals the left over tasks, which still run one after another in order
+        Thread idle = new Thread(() -> executor.schedule(() -> {
+        }), "idle");
+        idle.start();
+        idle.join(5000);
+
+        assertEquals(tasks, order.size());
+        for (int i = 0; i < tasks; i++) {
+            assertEquals(Integer.valueOf(i), order.get(i));
+        }
+        assertEquals(tasks, executor.getStolenTasks());
+        assertEquals(0, executor.getPendingTasks());
+        executor.stop();
+    }
+
+    @Test
+    public void testNoStealFromThreadBoundQueue() throws Exception {
+        WorkStealingReactiveExecutor executor = new WorkStealingReactiveExecutor();
+        executor.start();
+
+        final CountDownLatch queued = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger counter = new AtomicInteger();
+
+        Thread busy = new Thread(() -> executor.schedule(() -> {
+            executor.scheduleQueue(counter::incrementAndGet);
+            executor.scheduleQueue(counter::incrementAndGet);
+            queued.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            // tasks bound to this thread are executed from the queue
+            while (executor.executeFromQueue()) {
+                // noop
+            }
+        }), "busy");
+        busy.start();
+        assertTrue(queued.await(5, TimeUnit.SECONDS));
+
+        Thread idle = new Thread(() -> executor.schedule(() -> {
+        }), "idle");
+        idle.start();
+        idle.join(5000);
+
+        assertEquals(0, executor.getStolenTasks());
+        assertEquals(0, counter.get());
+
+        release.countDown();
+        busy.join(5000);
+        assertEquals(2, counter.get());
+        executor.stop();
+    }
+
+    @Test
+    public void testThreadChurn() throws Exception {
+        WorkStealingReactiveExecutor executor = new WorkStealingReactiveExecutor();
+        // no stealing so dead workers are never pruned by idle workers looking for work
+        executor.setMaxStealsPerRun(0);
+        executor.start();
+
+        final int threads = 50;
+        final AtomicInteger counter = new AtomicInteger();
+        for (int i = 0; i < threads; i++) {
+            Thread t = new Thread(() -> executor.schedule(counter::incrementAndGet), "churn-" + i);
+            t.start();
+            t.join(5000);
+        }
+
+        assertEquals(threads, counter.get());
+        assertEquals(threads, executor.getCreatedWorkers());
+        // the workers of the ended threads are deregistered
+        assertTrue(executor.getActiveWorkers() <= 1, "Should not leak workers: " + executor.getActiveWorkers());
+        assertEquals(0, executor.getPendingTasks());
+
+        executor.stop();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("seda:start?concurrentConsumers=5")
+                        .to("log:foo?level=OFF")
+                        .multicast().parallelProcessing()
+                            .to("direct:a", "direct:b")
+                        .end()
+                        .to("mock:result");
+
+                from("direct:a").delay(1).transform(simple("A ${body}"));
+                from("direct:b").transform(simple("B ${body}"));
+            }
+        };
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.AsyncProcessor;
+import org.apache.camel.BatchProducer;
+import org.apache.camel.Consumer;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.Producer;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.support.AsyncProcessorConverterHelper;
+import org.apache.camel.support.BatchProcessorHelper;
+import org.apache.camel.support.DefaultAsyncProducer;
+import org.apache.camel.support.DefaultEndpoint;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BatchProcessorTest extends ContextTestSupport {
+
+    private final MyBatchEndpoint batch = new MyBatchEndpoint();
+
+    @Test
+    public void testBatch() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived("Hello 0", "Hello 1", "Hello 2", "Hello 3", "Hello 4");
+
+        List<Exchange> exchanges = createExchanges("direct:start", 5);
+        BatchProcessorHelper.process(routeProcessor("start"), exchanges);
+
+        assertMockEndpointsSatisfied();
+
+        // the matched exchanges are sent as a single batch
+        assertEquals(1, batch.getBatches().size());
+        List<Exchange> sent = batch.getBatches().get(0);
+        assertEquals(3, sent.size());
+        for (Exchange exchange : sent) {
+            assertEquals("bar", exchange.getMessage().getHeader("foo"));
+            assertTrue(exchange.getMessage().getHeader("id", Integer.class) > 1);
+        }
+        for (Exchange exchange : exchanges) {
+            assertNull(exchange.getException());
+        }
+    }
+
+    @Test
+    public void testBatchFailedExchange() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:failed");
+        mock.expectedBodiesReceived("0", "1", "3");
+
+        List<Exchange> exchanges = createExchanges("direct:failed", 4);
+        BatchProcessorHelper.process(routeProcessor("failed"), exchanges);
+
+        assertMockEndpointsSatisfied();
+
+        // the failed exchange is not continued routed with the rest of the batch
+        assertEquals(1, batch.getBatches().size());
+        assertEquals(3, batch.getBatches().get(0).size());
+        assertInstanceOf(IllegalArgumentException.class, exchanges.get(2).getException());
+        assertNull(exchanges.get(3).getException());
+    }
+
+    @Test
+    public void testBatchWithErrorHandler() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:handler");
+        mock.expectedMessageCount(3);
+
+        List<Exchange> exchanges = createExchanges("direct:handler", 3);
+        BatchProcessorHelper.process(routeProcessor("handler"), exchanges);
+
+        assertMockEndpointsSatisfied();
+
+        // the redelivery error handler is not batch aware, so the exchanges are sent one by one
+        assertEquals(3, batch.getBatches().size());
+        for (List<Exchange> list : batch.getBatches()) {
+            assertEquals(1, list.size());
+        }
+    }
+
+    @Test
+    public void testProcessEach() {
+        List<Exchange> exchanges = createExchanges("direct:start", 3);
+        List<Exchange> processed = new ArrayList<>();
+        AsyncProcessor processor = AsyncProcessorConverterHelper.convert(processed::add);
+
+        boolean[] done = new boolean[1];
+        assertTrue(BatchProcessorHelper.processEach(processor, exchanges, doneSync -> done[0] = doneSync));
+        assertTrue(done[0]);
+        assertEquals(exchanges, processed);
+
+        done[0] = false;
+        assertTrue(BatchProcessorHelper.process(processor, List.of(), doneSync -> done[0] = true));
+        assertTrue(done[0]);
+        assertFalse(processed.isEmpty());
+    }
+
+    private AsyncProcessor routeProcessor(String routeId) {
+        Consumer consumer = context.getRoute(routeId).getConsumer();
+        return AsyncProcessorConverterHelper.convert(consumer.getProcessor());
+    }
+
+    private List<Exchange> createExchanges(String uri, int size) {
+        Endpoint endpoint = context.getEndpoint(uri);
+        List<Exchange> answer = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Exchange exchange = endpoint.createExchange();
+            exchange.getMessage().setBody(String.valueOf(i));
+            exchange.getMessage().setHeader("id", i);
+            answer.add(exchange);
+        }
+        return answer;
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                batch.setCamelContext(context);
+
+                from("direct:start").routeId("start").errorHandler(noErrorHandler())
+                        .transform(simple("Hello ${body}"))
+                        .filter(header("id").isGreaterThan(1))
+                            .setHeader("foo", constant("bar"))
+                            .to(batch)
+                        .end()
+                        .to("mock:result");
+
+                from("direct:failed").routeId("failed").errorHandler(noErrorHandler())
+                        .process(e -> {
+                            if (e.getMessage().getHeader("id", Integer.class) == 2) {
+                                throw new IllegalArgumentException("Forced");
+                            }
+                        })
+                        .to(batch)
+                        .to("mock:failed");
+
+                from("direct:handler").routeId("handler")
+                        .setHeader("foo", constant("bar"))
+                        .to(batch)
+                        .to("mock:handler");
+            }
+        };
+    }
+
+    private final class MyBatchEndpoint extends DefaultEndpoint {
+
+        private final List<List<Exchange>> batches = new CopyOnWriteArrayList<>();
+
+        private MyBatchEndpoint() {
+            super("mybatch://foo", null);
+        }
+
+        @Override
+        protected String createEndpointUri() {
+            return "mybatch://foo";
+        }
+
+        List<List<Exchange>> getBatches() {
+            return batches;
+        }
+
+        @Override
+        public Producer createProducer() {
+            return new MyBatchProducer(this);
+        }
+
+        @Override
+        public Consumer createConsumer(Processor processor) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isSingleton() {
+            return true;
+        }
+    }
+
+    private static final class MyBatchProducer extends DefaultAsyncProducer implements BatchProducer {
+
+        private MyBatchProducer(MyBatchEndpoint endpoint) {
+            super(endpoint);
+        }
+
+        @Override
+        public MyBatchEndpoint getEndpoint() {
+            return (MyBatchEndpoint) super.getEndpoint();
+        }
+
+        @Override
+        public boolean process(Exchange exchange, AsyncCallback callback) {
+            return processBatch(List.of(exchange), callback);
+        }
+
+        @Override
+        public boolean processBatch(List<Exchange> exchanges, AsyncCallback callback) {
+            getEndpoint().getBatches().add(new ArrayList<>(exchanges));
+            callback.done(true);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.StreamCache;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.converter.stream.FileInputStreamCache;
+import org.apache.camel.converter.stream.OffHeapInputStreamCache;
+import org.apache.camel.model.ClaimCheckOperation;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+public class ClaimCheckEipSpoolTest extends ContextTestSupport {
+
+    private static final String BODY = "0123456789".repeat(100);
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.setStreamCaching(true);
+        context.getStreamCachingStrategy().setSpoolDirectory(testDirectory().toFile());
+        context.getStreamCachingStrategy().setSpoolEnabled(true);
+        context.getStreamCachingStrategy().setSpoolThreshold(256);
+        context.getStreamCachingStrategy().setOffHeapEnabled(true);
+        context.getStreamCachingStrategy().setOffHeapBufferSize(512);
+        context.getStreamCachingStrategy().setOffHeapMaxMemory(2048);
+        context.getStreamCachingStrategy().getStatistics().setStatisticsEnabled(true);
+        return context;
+    }
+
+    @Test
+    public void testSetGetOffHeap() throws Exception {
+        MockEndpoint b = getMockEndpoint("mock:b");
+        b.expectedBodiesReceived("Bye World");
+        MockEndpoint c = getMockEndpoint("mock:c");
+        c.expectedMessageCount(2);
+        // the body is lazy read from the off-heap buffers, and each get can be read from the beginning
+        c.whenAnyExchangeReceived(e -> {
+            assertInstanceOf(OffHeapInputStreamCache.class, e.getMessage().getBody());
+            assertEquals(BODY, e.getMessage().getBody(String.class));
+        });
+
+        template.sendBody("direct:set", BODY);
+
+        assertMockEndpointsSatisfied();
+
+        // the buffers are released when the exchange is done
+        assertEquals(0, context.getStreamCachingStrategy().getStatistics().getCacheOffHeapUsedMemory());
+    }
+
+    @Test
+    public void testPushPopSpoolToDisk() throws Exception {
+        // larger than the off-heap memory budget so overflows to disk
+        String big = BODY.repeat(3);
+
+        MockEndpoint c = getMockEndpoint("mock:pop");
+        c.expectedMessageCount(1);
+        c.whenAnyExchangeReceived(e -> {
+            assertInstanceOf(FileInputStreamCache.class, e.getMessage().getBody());
+            assertEquals(big, e.getMessage().getBody(String.class));
+        });
+
+        template.sendBody("direct:push", big.getBytes());
+
+        assertMockEndpointsSatisfied();
+
+        assertEquals(0, context.getStreamCachingStrategy().getStatistics().getCacheOffHeapUsedMemory());
+    }
+
+    @Test
+    public void testSmallBodyNotSpooled() throws Exception {
+        getMockEndpoint("mock:b").expectedMessageCount(1);
+        MockEndpoint c = getMockEndpoint("mock:c");
+        c.expectedBodiesReceived("Hello World", "Hello World");
+
+        template.sendBody("direct:set", "Hello World");
+
+        assertMockEndpointsSatisfied();
+
+        Object body = c.getReceivedExchanges().get(0).getMessage().getBody();
+        assertEquals(String.class, body.getClass());
+    }
+
+    @Test
+    public void testSpoolDisabled() throws Exception {
+        MockEndpoint c = getMockEndpoint("mock:nospool");
+        c.expectedBodiesReceived(BODY);
+
+        template.sendBody("direct:nospool", BODY);
+
+        assertMockEndpointsSatisfied();
+
+        Object body = c.getReceivedExchanges().get(0).getMessage().getBody();
+        assertEquals(String.class, body.getClass());
+        assertFalse(body instanceof StreamCache);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:set")
+                        .claimCheck().operation(ClaimCheckOperation.Set).key("foo").spool()
+                        .transform().constant("Bye World")
+                        .to("mock:b")
+                        .claimCheck(ClaimCheckOperation.Get, "foo")
+                        .to("mock:c")
+                        .claimCheck(ClaimCheckOperation.Get, "foo")
+                        .to("mock:c");
+
+                from("direct:push")
+                        .claimCheck().operation(ClaimCheckOperation.Push).spool()
+                        .transform().constant("Bye World")
+                        .claimCheck(ClaimCheckOperation.Pop)
+                        .to("mock:pop");
+
+                from("direct:nospool")
+                        .claimCheck(ClaimCheckOperation.Set, "foo")
+                        .transform().constant("Bye World")
+                        .claimCheck(ClaimCheckOperation.GetAndRemove, "foo")
+                        .to("mock:nospool");
+            }
+        };
+    }
+}
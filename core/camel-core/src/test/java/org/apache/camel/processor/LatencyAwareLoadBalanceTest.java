@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LatencyAwareLoadBalanceTest extends ContextTestSupport {
+    protected MockEndpoint x;
+    protected MockEndpoint y;
+
+    @Override
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+
+        x = getMockEndpoint("mock://x");
+        y = getMockEndpoint("mock://y");
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            public void configure() {
+                from("direct:slow").delay(50).to("mock:y");
+
+                from("direct://leastOutstanding").loadBalance().latencyAware("leastOutstanding")
+                        .to("mock://x", "mock://y");
+                from("direct://peakEwma").loadBalance().latencyAware("peakEwma").to("mock://x", "direct:slow");
+                from("direct://powerOfTwoChoices").loadBalance().latencyAware().to("mock://x", "direct:slow");
+            }
+        };
+    }
+
+    @Test
+    public void testLeastOutstanding() throws Exception {
+        // nothing in-flight when sending one at a time, so the ties are spread evenly
+        x.expectedMessageCount(5);
+        y.expectedMessageCount(5);
+
+        for (int i = 0; i < 10; i++) {
+            template.sendBody("direct:leastOutstanding", "Hello World");
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testPeakEwma() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            template.sendBody("direct:peakEwma", "Hello World");
+        }
+
+        assertSlowAvoided();
+    }
+
+    @Test
+    public void testPowerOfTwoChoices() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            template.sendBody("direct:powerOfTwoChoices", "Hello World");
+        }
+
+        assertSlowAvoided();
+    }
+
+    private void assertSlowAvoided() {
+        // the slow endpoint is tried once, and then avoided
+        assertEquals(20, x.getReceivedCounter() + y.getReceivedCounter());
+        assertTrue(y.getReceivedCounter() <= 2, "Slow endpoint should be avoided, was: " + y.getReceivedCounter());
+    }
+
+}
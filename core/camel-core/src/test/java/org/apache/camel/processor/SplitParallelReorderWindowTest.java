@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.FailedToCreateRouteException;
+import org.apache.camel.builder.AggregationStrategies;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class SplitParallelReorderWindowTest extends ContextTestSupport {
+
+    private static final int WINDOW = 4;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final AtomicInteger maxInflight = new AtomicInteger();
+    private final Random random = new Random();
+
+    @Test
+    public void testReorderWindow() throws Exception {
+        StringBuilder body = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            if (i > 0) {
+                body.append(",");
+                expected.append("+");
+            }
+            body.append(i);
+            expected.append("Hi ").append(i);
+        }
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived(expected.toString());
+
+        template.sendBody("direct:start", body.toString());
+
+        assertMockEndpointsSatisfied();
+
+        assertTrue(maxInflight.get() <= WINDOW, "Should not exceed window, was: " + maxInflight.get());
+        assertTrue(maxInflight.get() > 1, "Should process in parallel, was: " + maxInflight.get());
+
+        Splitter splitter = (Splitter) context.getProcessor("mySplitter");
+        assertEquals(WINDOW, splitter.getReorderWindow());
+        assertEquals(0, splitter.getReorderWindowOccupancy());
+    }
+
+    @Test
+    public void testReorderWindowRequiresParallel() throws Exception {
+        try {
+            context.addRoutes(new RouteBuilder() {
+                @Override
+                public void configure() {
+                    from("direct:bad").split(body().tokenize(",")).reorderWindow(10).to("mock:bad");
+                }
+            });
+            fail("Should have thrown exception");
+        } catch (FailedToCreateRouteException e) {
+            assertIsInstanceOf(IllegalArgumentException.class, e.getCause());
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:start")
+                        .split(body().tokenize(","), AggregationStrategies.string("+"))
+                            .streaming().parallelProcessing().reorderWindow(WINDOW).id("mySplitter")
+                        .process(e -> {
+                            int n = inflight.incrementAndGet();
+                            maxInflight.accumulateAndGet(n, Math::max);
+                            Thread.sleep(random.nextInt(20));
+                            inflight.decrementAndGet();
+                        })
+                        .transform(simple("Hi ${body}"))
+                        .end()
+                        .to("mock:result");
+            }
+        };
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregator;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.AggregationStrategies;
+import org.apache.camel.builder.RouteBuilder;
+import org.junit.jupiter.api.Test;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+public class SpoolingGroupedBodyAggregationStrategyTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.setStreamCaching(true);
+        context.getStreamCachingStrategy().setSpoolDirectory(testDirectory().toFile());
+        context.getStreamCachingStrategy().setSpoolEnabled(true);
+        context.getStreamCachingStrategy().setSpoolThreshold(64);
+        return context;
+    }
+
+    @Test
+    public void testAggregateSpooling() throws Exception {
+        getMockEndpoint("mock:item").expectedBodiesReceived("A", 2, "C");
+
+        template.sendBody("direct:aggregate", "A");
+        template.sendBody("direct:aggregate", 2);
+        template.sendBody("direct:aggregate", "C");
+
+        assertMockEndpointsSatisfied();
+        // the spool is deleted when the exchange is done
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(this::assertSpoolDeleted);
+    }
+
+    @Test
+    public void testSplitSpooling() throws Exception {
+        List<Object> expected = new ArrayList<>();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            sb.append(i).append(",");
+            expected.add(i);
+        }
+        getMockEndpoint("mock:split").expectedBodiesReceived(List.of(expected));
+
+        template.sendBody("direct:split", sb.toString());
+
+        assertMockEndpointsSatisfied();
+        // the spool is deleted when the exchange is done
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(this::assertSpoolDeleted);
+    }
+
+    @Test
+    public void testDiscardSpooling() throws Exception {
+        getMockEndpoint("mock:discarded").expectedMessageCount(0);
+
+        template.sendBody("direct:discard", "A".repeat(100));
+        template.sendBody("direct:discard", "B".repeat(100));
+
+        // the values are spooled until the aggregation is discarded
+        File[] files = testDirectory().toFile().listFiles(File::isFile);
+        assertEquals(1, files != null ? files.length : 0, "The values should be spooled");
+
+        // the spool is deleted when the aggregation is discarded
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(this::assertSpoolDeleted);
+        assertMockEndpointsSatisfied();
+    }
+
+    private void assertSpoolDeleted() {
+        File[] files = testDirectory().toFile().listFiles(File::isFile);
+        assertEquals(0, files != null ? files.length : 0, "The spool file should be deleted");
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:aggregate").aggregate(constant(true), AggregationStrategies.spoolingGroupedBody())
+                        .completionSize(3)
+                        .split(body()).to("mock:item");
+
+                from("direct:discard").aggregate(constant(true), AggregationStrategies.spoolingGroupedBody())
+                        .completionTimeout(1000).discardOnCompletionTimeout()
+                        .to("mock:discarded");
+
+                from("direct:split")
+                        .split(body().tokenize(","), AggregationStrategies.spoolingGroupedBody()).streaming()
+                            .convertBodyTo(Integer.class)
+                        .end()
+                        .process(e -> {
+                            Iterable<?> values = assertInstanceOf(Iterable.class, e.getIn().getBody());
+                            List<Object> list = new ArrayList<>();
+                            values.forEach(list::add);
+                            e.getIn().setBody(list);
+                        })
+                        .to("mock:split");
+            }
+        };
+    }
+}
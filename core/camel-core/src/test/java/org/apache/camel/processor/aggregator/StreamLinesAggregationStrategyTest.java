@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregator;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.AggregationStrategies;
+import org.apache.camel.builder.RouteBuilder;
+import org.junit.jupiter.api.Test;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+public class StreamLinesAggregationStrategyTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.setStreamCaching(true);
+        context.getStreamCachingStrategy().setSpoolDirectory(testDirectory().toFile());
+        context.getStreamCachingStrategy().setSpoolEnabled(true);
+        context.getStreamCachingStrategy().setSpoolThreshold(16);
+        return context;
+    }
+
+    @Test
+    public void testAggregateLines() throws Exception {
+        getMockEndpoint("mock:aggregated").expectedBodiesReceived("{\"id\":1}\n{\"id\":2}\n{\"id\":3}\n");
+
+        template.sendBody("direct:aggregate", "{\"id\":1}");
+        template.sendBody("direct:aggregate", "{\"id\":2}");
+        template.sendBody("direct:aggregate", "{\"id\":3}");
+
+        assertMockEndpointsSatisfied();
+        // the spool is deleted when the exchange is done
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(this::assertSpoolDeleted);
+    }
+
+    @Test
+    public void testSplitLines() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        StringBuilder expected = new StringBuilder("id,name\r\n");
+        for (int i = 0; i < 1000; i++) {
+            sb.append(i).append(",");
+            expected.append(i).append(",name").append(i).append("\r\n");
+        }
+        getMockEndpoint("mock:split").expectedBodiesReceived(expected.toString());
+
+        template.sendBody("direct:split", sb.toString());
+
+        assertMockEndpointsSatisfied();
+        // the spool is deleted when the exchange is done
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(this::assertSpoolDeleted);
+    }
+
+    private void assertSpoolDeleted() {
+        File[] files = testDirectory().toFile().listFiles(File::isFile);
+        assertEquals(0, files != null ? files.length : 0, "The spool file should be deleted");
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:aggregate").aggregate(constant(true), AggregationStrategies.streamLines())
+                        .completionSize(3).convertBodyTo(String.class).to("mock:aggregated");
+
+                from("direct:split")
+                        .split(body().tokenize(","),
+                                AggregationStrategies.streamLines().header("id,name").lineSeparator("\r\n"))
+                            .streaming()
+                            .setBody(simple("${body},name${body}"))
+                        .end()
+                        .process(e -> assertInstanceOf(InputStream.class, e.getIn().getBody()))
+                        .convertBodyTo(String.class)
+                        .to("mock:split");
+            }
+        };
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregator;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.AggregationStrategies;
+import org.apache.camel.builder.RouteBuilder;
+import org.junit.jupiter.api.Test;
+
+public class SummarizingAggregationStrategyTest extends ContextTestSupport {
+
+    @Test
+    public void testAggregateSummarizing() throws Exception {
+        getMockEndpoint("mock:count").expectedBodiesReceived(4L);
+        getMockEndpoint("mock:sum").expectedBodiesReceived(20L);
+        getMockEndpoint("mock:min").expectedBodiesReceived(2L);
+        getMockEndpoint("mock:max").expectedBodiesReceived(9L);
+        getMockEndpoint("mock:average").expectedBodiesReceived(5.0d);
+
+        template.sendBodyAndHeader("direct:start", 5, "price", "1.5");
+        template.sendBodyAndHeader("direct:start", "9", "price", "2.5");
+        template.sendBodyAndHeader("direct:start", 2L, "price", "3");
+        template.sendBodyAndHeader("direct:start", 4, "price", "1");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testAggregateSummarizingDecimal() throws Exception {
+        getMockEndpoint("mock:decimal").expectedBodiesReceived(8.0d);
+
+        template.sendBodyAndHeader("direct:start", 5, "price", "1.5");
+        template.sendBodyAndHeader("direct:start", "9", "price", "2.5");
+        template.sendBodyAndHeader("direct:start", 2L, "price", "3");
+        template.sendBodyAndHeader("direct:start", 4, "price", "1");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testSplitSummarizing() throws Exception {
+        getMockEndpoint("mock:split").expectedBodiesReceived(1000L);
+
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            sb.append(i % 2 == 0 ? "1" : "x").append(",");
+        }
+        template.sendBody("direct:split", sb.toString());
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:start").to("direct:count", "direct:sum", "direct:min", "direct:max", "direct:average",
+                        "direct:decimal");
+
+                from("direct:count").aggregate(constant(true), AggregationStrategies.summarizing("count"))
+                        .completionSize(4).to("mock:count");
+                from("direct:sum").aggregate(constant(true), AggregationStrategies.summarizing("sum"))
+                        .completionSize(4).to("mock:sum");
+                from("direct:min").aggregate(constant(true), AggregationStrategies.summarizing("min"))
+                        .completionSize(4).to("mock:min");
+                from("direct:max").aggregate(constant(true), AggregationStrategies.summarizing("max"))
+                        .completionSize(4).to("mock:max");
+                from("direct:average").aggregate(constant(true), AggregationStrategies.summarizing("average"))
+                        .completionSize(4).to("mock:average");
+                from("direct:decimal")
+                        .aggregate(constant(true), AggregationStrategies.summarizing("sum").pick(header("price")))
+                        .completionSize(4).to("mock:decimal");
+
+                // count the number of lines
+                from("direct:split")
+                        .split(body().tokenize(","), AggregationStrategies.summarizing("count")).streaming()
+                            .setBody(constant(1))
+                        .end()
+                        .to("mock:split");
+            }
+        };
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.resequencer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.camel.TestSupport;
+import org.junit.jupiter.api.Test;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongSequenceResequencerEngineTest extends TestSupport {
+
+    private final List<List<Long>> batches = new CopyOnWriteArrayList<>();
+
+    @Test
+    void testTimeout() throws Exception {
+        LongSequenceResequencerEngine<Long> engine = createEngine(16, 200);
+        engine.insert(4L);
+        engine.deliver();
+        assertTrue(batches.isEmpty());
+
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> {
+            engine.deliver();
+            assertEquals(List.of(List.of(4L)), batches);
+        });
+        assertEquals(4L, (long) engine.getLastDelivered());
+    }
+
+    @Test
+    void testTimeoutGap() throws Exception {
+        LongSequenceResequencerEngine<Long> engine = createEngine(16, 200);
+        engine.setLastDelivered(2L);
+        engine.insert(4L);
+        engine.insert(5L);
+        engine.deliver();
+        assertTrue(batches.isEmpty());
+
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> {
+            engine.deliver();
+            assertEquals(List.of(List.of(4L, 5L)), batches);
+        });
+        assertEquals(5L, (long) engine.getLastDelivered());
+    }
+
+    @Test
+    void testSuccessorOfLastDelivered() throws Exception {
+        LongSequenceResequencerEngine<Long> engine = createEngine(16, 60000);
+        engine.setLastDelivered(2L);
+        engine.insert(4L);
+        engine.insert(3L);
+        engine.deliver();
+        assertEquals(List.of(List.of(3L, 4L)), batches);
+        assertEquals(0, engine.size());
+    }
+
+    @Test
+    void testDeliverNext() throws Exception {
+        LongSequenceResequencerEngine<Long> engine = createEngine(16, 60000);
+        engine.setLastDelivered(0L);
+        engine.insert(2L);
+        engine.insert(1L);
+        assertTrue(engine.deliverNext());
+        assertTrue(engine.deliverNext());
+        assertFalse(engine.deliverNext());
+        assertEquals(List.of(List.of(1L), List.of(2L)), batches);
+    }
+
+    @Test
+    void testOverflow() throws Exception {
+        LongSequenceResequencerEngine<Long> engine = createEngine(16, 60000);
+        engine.setLastDelivered(0L);
+        // the ring can only hold 16 elements so the others are kept in the overflow heap
+        for (long i = 100; i > 1; i--) {
+            engine.insert(i);
+        }
+        engine.deliver();
+        assertTrue(batches.isEmpty());
+        assertEquals(99, engine.size());
+
+        engine.insert(1L);
+        engine.deliver();
+        assertEquals(1, batches.size());
+        assertEquals(sequence(1, 100), batches.get(0));
+        assertEquals(0, engine.size());
+    }
+
+    @Test
+    void testMaxRingSize() throws Exception {
+        LongSequenceResequencerEngine<Long> engine = createEngine(Integer.MAX_VALUE, 60000);
+        assertEquals(LongSequenceResequencerEngine.MAX_RING_SIZE, engine.getRingSize());
+
+        engine.setRingSize((1 << 30) + 1);
+        assertEquals(LongSequenceResequencerEngine.MAX_RING_SIZE, engine.getRingSize());
+
+        engine.setRingSize(1000);
+        assertEquals(1024, engine.getRingSize());
+    }
+
+    @Test
+    void testDuplicate() throws Exception {
+        LongSequenceResequencerEngine<Long> engine = createEngine(16, 60000);
+        engine.setLastDelivered(0L);
+        engine.insert(3L);
+        engine.insert(3L);
+        engine.insert(2L);
+        engine.insert(1L);
+        engine.deliver();
+        assertEquals(List.of(List.of(1L, 2L, 3L)), batches);
+        assertEquals(0, engine.size());
+    }
+
+    @Test
+    void testRejectOld() throws Exception {
+        LongSequenceResequencerEngine<Long> engine = createEngine(16, 60000);
+        engine.setRejectOld(true);
+        engine.setLastDelivered(5L);
+        assertThrows(MessageRejectedException.class, () -> engine.insert(3L));
+        engine.insert(6L);
+        engine.deliver();
+        assertEquals(List.of(List.of(6L)), batches);
+    }
+
+    @Test
+    void testInvalid() {
+        LongSequenceResequencerEngine<Long> engine = createEngine(16, 60000);
+        assertThrows(IllegalArgumentException.class, () -> engine.insert(-1L));
+        assertEquals(0, engine.size());
+    }
+
+    @Test
+    void testConcurrentInsert() throws Exception {
+        int threads = 4;
+        int count = 20000;
+        LongSequenceResequencerEngine<Long> engine = createEngine(64, 60000);
+        engine.setLastDelivered(0L);
+
+        List<Long> input = sequence(1, count);
+        Collections.shuffle(input);
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        try {
+            CountDownLatch latch = new CountDownLatch(threads);
+            for (int t = 0; t < threads; t++) {
+                List<Long> part = input.subList(t * count / threads, (t + 1) * count / threads);
+                executor.submit(() -> {
+                    part.forEach(engine::insert);
+                    latch.countDown();
+                });
+            }
+            AtomicBoolean inserted = new AtomicBoolean();
+            Future<?> delivery = executor.submit(() -> {
+                while (!inserted.get() || engine.size() > 0) {
+                    engine.deliver();
+                }
+                return null;
+            });
+            assertTrue(latch.await(20, TimeUnit.SECONDS));
+            inserted.set(true);
+            delivery.get(20, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<Long> delivered = new ArrayList<>();
+        batches.forEach(delivered::addAll);
+        assertEquals(sequence(1, count), delivered);
+    }
+
+    private LongSequenceResequencerEngine<Long> createEngine(int ringSize, long timeout) {
+        LongSequenceResequencerEngine<Long> engine = new LongSequenceResequencerEngine<>(n -> {
+            if (n < 0) {
+                throw new IllegalArgumentException("Invalid sequence number: " + n);
+            }
+            return n;
+        }, ringSize);
+        engine.setTimeout(timeout);
+        engine.setSequenceSender(new SequenceSender<>() {
+            @Override
+            public void sendElement(Long o) {
+                batches.add(List.of(o));
+            }
+
+            @Override
+            public void sendElements(List<Long> elements) {
+                batches.add(List.copyOf(elements));
+            }
+        });
+        engine.start();
+        return engine;
+    }
+
+    private static List<Long> sequence(long from, long to) {
+        List<Long> answer = new ArrayList<>();
+        for (long i = from; i <= to; i++) {
+            answer.add(i);
+        }
+        return answer;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.throttle.distributed;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.processor.ThrottlerRejectedExecutionException;
+import org.apache.camel.spi.Registry;
+import org.apache.camel.spi.TokenBucketRepository;
+import org.apache.camel.support.processor.throttle.MemoryTokenBucketRepository;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DistributedRequestsThrottlerTest extends ContextTestSupport {
+
+    private final TokenBucketRepository repository = new MemoryTokenBucketRepository();
+
+    @Override
+    protected Registry createCamelRegistry() throws Exception {
+        Registry registry = super.createCamelRegistry();
+        registry.bind("myRepo", repository);
+        return registry;
+    }
+
+    @Test
+    public void testSendLotsOfMessagesWithRejectExecution() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(3);
+        getMockEndpoint("mock:error").expectedMessageCount(3);
+
+        for (int i = 0; i < 6; i++) {
+            template.sendBody("direct:start", "<message>" + i + "</message>");
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testRateSharedBetweenCamelContexts() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(3);
+        getMockEndpoint("mock:error").expectedMessageCount(1);
+
+        CamelContext other = new DefaultCamelContext();
+        other.getRegistry().bind("myRepo", repository);
+        other.addRoutes(createRouteBuilder());
+        other.start();
+        try {
+            // the other node takes 2 of the 3 requests in the period
+            MockEndpoint otherResult = other.getEndpoint("mock:result", MockEndpoint.class);
+            otherResult.expectedMessageCount(2);
+            ProducerTemplate otherTemplate = other.createProducerTemplate();
+            otherTemplate.sendBody("direct:start", "A");
+            otherTemplate.sendBody("direct:start", "B");
+            otherResult.assertIsSatisfied();
+
+            // so this node only has 1 left
+            template.sendBody("direct:start", "C");
+            template.sendBody("direct:start", "D");
+
+            // and the other node cannot get more either
+            MockEndpoint otherError = other.getEndpoint("mock:error", MockEndpoint.class);
+            otherError.expectedMessageCount(1);
+            otherTemplate.sendBody("direct:start", "E");
+            otherError.assertIsSatisfied();
+        } finally {
+            other.stop();
+        }
+
+        // send to our own route that has a different throttler id and bucket
+        template.sendBody("direct:other", "F");
+        template.sendBody("direct:other", "G");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testSendLotsOfMessagesAreDelayed() throws Exception {
+        getMockEndpoint("mock:delayed").expectedMessageCount(6);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 6; i++) {
+            template.sendBody("direct:delayed", "<message>" + i + "</message>");
+        }
+        assertMockEndpointsSatisfied();
+
+        // the first 3 messages pass at once, and the next 3 must wait for the bucket to be refilled
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(elapsed >= 400, "Should be throttled but took " + elapsed + " millis");
+    }
+
+    @Test
+    public void testMemoryTokenBucketRepository() {
+        MemoryTokenBucketRepository repo = new MemoryTokenBucketRepository();
+        assertEquals(5, repo.acquire("foo", 5, 10, 60000));
+        assertEquals(5, repo.acquire("foo", 8, 10, 60000));
+        assertEquals(0, repo.acquire("foo", 1, 10, 60000));
+        // other keys have their own bucket
+        assertEquals(10, repo.acquire("bar", 10, 10, 60000));
+
+        // returned tokens can be acquired again but never beyond the capacity
+        repo.release("foo", 4, 10);
+        assertEquals(4, repo.acquire("foo", 5, 10, 60000));
+        repo.release("foo", 20, 10);
+        assertEquals(10, repo.acquire("foo", 20, 10, 60000));
+        assertEquals(2, repo.getSize());
+
+        repo.clear();
+        assertEquals(0, repo.getSize());
+    }
+
+    @Test
+    public void testMemoryTokenBucketRepositoryRefill() throws Exception {
+        MemoryTokenBucketRepository repo = new MemoryTokenBucketRepository();
+        assertEquals(10, repo.acquire("foo", 10, 10, 100));
+        Thread.sleep(150);
+        assertTrue(repo.acquire("foo", 10, 10, 100) > 0);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                onException(ThrottlerRejectedExecutionException.class).handled(true).to("mock:error");
+
+                from("direct:start")
+                        .throttle(3).timePeriodMillis(60000).distributedRequestsMode()
+                        .tokenBucketRepository("myRepo").leaseSize(1).rejectExecution(true).id("orders")
+                        .to("mock:result");
+
+                from("direct:delayed")
+                        .throttle(3).timePeriodMillis(500).distributedRequestsMode()
+                        .tokenBucketRepository("myRepo").leaseSize(1).id("delayed")
+                        .to("mock:delayed");
+
+                from("direct:other")
+                        .throttle(3).timePeriodMillis(60000).distributedRequestsMode()
+                        .tokenBucketRepository("myRepo").rejectExecution(true).id("invoices")
+                        .to("mock:result");
+            }
+        };
+    }
+}
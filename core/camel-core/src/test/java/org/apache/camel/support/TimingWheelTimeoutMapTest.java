@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.TimeoutMap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimingWheelTimeoutMapTest {
+
+    private final ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(1);
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testPurge() {
+        ClockTimeoutMap<String, Integer> map = new ClockTimeoutMap<>(executor, 100, 8);
+        assertEquals(8, map.getWheelSize());
+
+        map.put("A", 123, 250);
+        assertEquals(1, map.size());
+        assertEquals(1, map.getOccupiedBuckets());
+
+        map.advance(200);
+        map.purge();
+        assertEquals(1, map.size());
+
+        map.advance(100);
+        map.purge();
+        assertEquals(0, map.size());
+        assertEquals(0, map.getOccupiedBuckets());
+        assertEquals(1, map.getExpiredCount());
+        assertTrue(map.getLastExpiryLag() < 100);
+    }
+
+    @Test
+    public void testTimeoutLongerThanWheel() {
+        ClockTimeoutMap<String, Integer> map = new ClockTimeoutMap<>(executor, 100, 4);
+
+        // more than two revolutions of the wheel
+        map.put("A", 1, 1050);
+        for (int i = 0; i < 10; i++) {
+            map.advance(100);
+            map.purge();
+            assertEquals(1, map.size(), "Should not be expired at tick " + i);
+        }
+
+        map.advance(100);
+        map.purge();
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void testGetExtendsTimeout() {
+        ClockTimeoutMap<String, Integer> map = new ClockTimeoutMap<>(executor, 100, 8);
+
+        map.put("A", 1, 200);
+        map.advance(150);
+        map.purge();
+        assertEquals(1, (int) map.get("A"));
+
+        map.advance(150);
+        map.purge();
+        assertEquals(1, map.size());
+
+        map.advance(100);
+        map.purge();
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void testRemoveAndReplace() {
+        ClockTimeoutMap<String, Integer> map = new ClockTimeoutMap<>(executor, 100, 8);
+
+        map.put("A", 1, 100);
+        map.put("B", 2, 100);
+        assertEquals(1, (int) map.remove("A"));
+        assertNull(map.remove("A"));
+
+        // replace with a longer timeout
+        assertEquals(2, (int) map.put("B", 3, 500));
+        assertEquals(3, (int) map.putIfAbsent("B", 4, 100));
+
+        map.advance(300);
+        map.purge();
+        assertEquals(1, map.size());
+        assertEquals(3, (int) map.get("B"));
+    }
+
+    @Test
+    public void testExpiredInCorrectOrder() {
+        final List<String> keys = new ArrayList<>();
+
+        ClockTimeoutMap<String, Integer> map = new ClockTimeoutMap<>(executor, 100, 8);
+        map.addListener((type, key, value) -> {
+            if (type == TimeoutMap.Listener.Type.Evict) {
+                keys.add(key);
+            }
+        });
+
+        map.put("A", 1, 150);
+        map.put("B", 2, 30);
+        map.put("C", 3, 40);
+        map.put("D", 4, 20);
+        map.put("E", 5, 45);
+        // is not expired
+        map.put("F", 6, 800);
+
+        // lagging behind so all the entries are expired in the same batch
+        map.advance(300);
+        map.purge();
+
+        assertEquals(List.of("D", "B", "C", "E", "A"), keys);
+        assertEquals(1, map.size());
+        assertEquals(5, map.getExpiredCount());
+        assertTrue(map.getMaxExpiryLag() >= 280);
+    }
+
+    @Test
+    public void testLaggingMoreThanRevolution() {
+        ClockTimeoutMap<String, Integer> map = new ClockTimeoutMap<>(executor, 100, 4);
+
+        for (int i = 0; i < 100; i++) {
+            map.put("K" + i, i, i * 10);
+        }
+        assertEquals(100, map.size());
+
+        map.advance(5000);
+        map.purge();
+        assertEquals(0, map.size());
+    }
+
+    private static final class ClockTimeoutMap<K, V> extends TimingWheelTimeoutMap<K, V> {
+
+        private long now = 1_000_000;
+
+        private ClockTimeoutMap(ScheduledExecutorService executor, long pollTime, int wheelSize) {
+            super(executor, pollTime, new ReentrantLock(), wheelSize);
+        }
+
+        private void advance(long millis) {
+            now += millis;
+        }
+
+        @Override
+        protected long currentTime() {
+            return now;
+        }
+    }
+
+}
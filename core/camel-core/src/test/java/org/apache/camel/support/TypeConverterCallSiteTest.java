@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.InvalidPayloadException;
+import org.apache.camel.NoTypeConversionAvailableException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TypeConverterCallSiteTest extends ContextTestSupport {
+
+    @Test
+    public void testCacheConverter() {
+        TypeConverterCallSite site = new TypeConverterCallSite();
+        assertNull(site.getCachedFromType());
+
+        assertEquals(Integer.valueOf(123), site.convertTo(context, Integer.class, null, "123"));
+        assertSame(String.class, site.getCachedFromType());
+        assertSame(Integer.class, site.getCachedToType());
+
+        // cached converter is used for the next conversions
+        assertEquals(Integer.valueOf(456), site.convertTo(context, Integer.class, null, "456"));
+        assertEquals(Integer.valueOf(789), site.convertTo(context, Integer.class, null, "789"));
+        assertSame(String.class, site.getCachedFromType());
+
+        // new source type replaces the cached converter
+        byte[] data = "Hello".getBytes();
+        InputStream is = site.convertTo(context, InputStream.class, null, data);
+        assertInstanceOf(ByteArrayInputStream.class, is);
+        assertSame(byte[].class, site.getCachedFromType());
+        assertSame(InputStream.class, site.getCachedToType());
+    }
+
+    @Test
+    public void testSameTypeNotConverted() {
+        TypeConverterCallSite site = new TypeConverterCallSite();
+        String s = "Hello";
+        assertSame(s, site.convertTo(context, String.class, null, s));
+        assertSame(s, site.convertTo(context, CharSequence.class, null, s));
+        assertNull(site.getCachedFromType());
+    }
+
+    @Test
+    public void testPrimitiveNotCached() {
+        TypeConverterCallSite site = new TypeConverterCallSite();
+        assertEquals(Boolean.TRUE, site.convertTo(context, boolean.class, null, "true"));
+        assertEquals(Integer.valueOf(5), site.convertTo(context, int.class, null, "5"));
+        assertNull(site.getCachedFromType());
+        // null to primitive is the default value
+        assertEquals(Integer.valueOf(0), site.convertTo(context, int.class, null, null));
+    }
+
+    @Test
+    public void testMandatoryConvert() throws Exception {
+        TypeConverterCallSite site = new TypeConverterCallSite();
+        assertEquals(Long.valueOf(123), site.mandatoryConvertTo(context, Long.class, null, "123"));
+        assertSame(String.class, site.getCachedFromType());
+
+        assertThrows(NoTypeConversionAvailableException.class,
+                () -> site.mandatoryConvertTo(context, TypeConverterCallSiteTest.class, null, "Hello"));
+    }
+
+    @Test
+    public void testMegamorphic() {
+        TypeConverterCallSite site = new TypeConverterCallSite();
+        for (int i = 0; i < 20; i++) {
+            assertEquals("123", site.convertTo(context, String.class, null, 123));
+            assertEquals("Hello", site.convertTo(context, String.class, null, "Hello".getBytes()));
+        }
+        assertTrue(site.isMegamorphic());
+        assertNull(site.getCachedFromType());
+
+        // still converts
+        assertEquals("456", site.convertTo(context, String.class, null, 456));
+    }
+
+    @Test
+    public void testStatisticsEnabledNotCached() {
+        context.setTypeConverterStatisticsEnabled(true);
+
+        TypeConverterCallSite site = new TypeConverterCallSite();
+        assertEquals(Integer.valueOf(123), site.convertTo(context, Integer.class, null, "123"));
+        assertNull(site.getCachedFromType());
+        assertFalse(site.isMegamorphic());
+    }
+
+    @Test
+    public void testMessageBody() throws Exception {
+        TypeConverterCallSite site = new TypeConverterCallSite();
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getMessage().setBody("123");
+
+        assertEquals(Integer.valueOf(123), site.getBody(exchange.getMessage(), Integer.class));
+        assertEquals(Integer.valueOf(123), site.getMandatoryBody(exchange.getMessage(), Integer.class));
+
+        exchange.getMessage().setBody("Hello");
+        assertThrows(InvalidPayloadException.class,
+                () -> site.getMandatoryBody(exchange.getMessage(), TypeConverterCallSiteTest.class));
+        assertNull(site.getBody(exchange.getMessage(), TypeConverterCallSiteTest.class));
+    }
+
+    @Test
+    public void testMessageBodyConvertedOnce() {
+        AtomicInteger calls = new AtomicInteger();
+        context.getTypeConverterRegistry().addTypeConverter(Order.class, Token.class, new TypeConverterSupport() {
+            @Override
+            public <T> T convertTo(Class<T> type, Exchange exchange, Object value) {
+                calls.incrementAndGet();
+                String id = ((Token) value).id();
+                return id.isEmpty() ? null : type.cast(new Order(id));
+            }
+        });
+
+        TypeConverterCallSite site = new TypeConverterCallSite();
+        Exchange exchange = new DefaultExchange(context);
+        Token token = new Token("");
+        assertNull(site.convertTo(context, Order.class, exchange, token));
+        int once = calls.getAndSet(0);
+
+        // the body is not converted again when falling back to convert the message
+        exchange.getMessage().setBody(token);
+        assertNull(site.getBody(exchange.getMessage(), Order.class));
+        assertEquals(once, calls.getAndSet(0));
+
+        // the converter resolved by the first lookup is cached and invoked directly
+        exchange.getMessage().setBody(new Token("123"));
+        assertEquals(new Order("123"), site.getBody(exchange.getMessage(), Order.class));
+        assertEquals(1, calls.get());
+        assertSame(Token.class, site.getCachedFromType());
+        assertSame(Order.class, site.getCachedToType());
+    }
+
+    private record Token(String id) {
+    }
+
+    private record Order(String id) {
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.support.service.ServiceSupport;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BloomFilterIdempotentRepositoryTest extends ContextTestSupport {
+
+    private final CountingRepository store = new CountingRepository();
+    private final BloomFilterIdempotentRepository repo = new BloomFilterIdempotentRepository(store);
+
+    {
+        // the store cannot list its keys but starts empty
+        repo.setAssumeComplete(true);
+    }
+
+    @Test
+    public void testNewKeysSkipLookup() {
+        repo.start();
+        assertTrue(repo.isWarm());
+
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(repo.contains("key" + i));
+            assertTrue(repo.add("key" + i));
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(repo.contains("key" + i));
+        }
+        assertFalse(repo.add("key1"));
+
+        assertEquals(2000, repo.getLookupCount());
+        // new keys should mostly be answered by the filter
+        assertTrue(repo.getSavedLookupCount() > 950, "Saved lookups: " + repo.getSavedLookupCount());
+        assertEquals(2000 - repo.getSavedLookupCount(), store.contains);
+        assertEquals(1000 - repo.getSavedLookupCount(), repo.getFalsePositiveCount());
+        assertEquals(1000, repo.getFilterSize());
+        repo.stop();
+    }
+
+    @Test
+    public void testRemove() {
+        repo.start();
+        repo.add("foo");
+        repo.add("bar");
+        assertTrue(repo.remove("foo"));
+        assertFalse(repo.contains("foo"));
+        assertTrue(repo.contains("bar"));
+        assertEquals(1, repo.getFilterSize());
+
+        repo.clear();
+        assertFalse(repo.contains("bar"));
+        assertEquals(0, repo.getFilterSize());
+        repo.stop();
+    }
+
+    @Test
+    public void testFalsePositiveRate() {
+        repo.setExpectedInsertions(10000);
+        repo.setFalsePositiveProbability(0.01);
+        repo.start();
+        for (int i = 0; i < 10000; i++) {
+            repo.add("key" + i);
+        }
+        for (int i = 0; i < 10000; i++) {
+            repo.contains("other" + i);
+        }
+        assertTrue(repo.getFalsePositiveRate() < 0.03, "False positive rate: " + repo.getFalsePositiveRate());
+        assertTrue(repo.getExpectedFalsePositiveProbability() < 0.03,
+                "Expected false positive probability: " + repo.getExpectedFalsePositiveProbability());
+        repo.stop();
+    }
+
+    @Test
+    public void testWarmFromMemoryRepository() {
+        MemoryIdempotentRepository memory = new MemoryIdempotentRepository();
+        memory.start();
+        memory.add("foo");
+        memory.add("bar");
+
+        BloomFilterIdempotentRepository bloom = new BloomFilterIdempotentRepository(memory);
+        bloom.start();
+        assertTrue(bloom.isWarm());
+        assertEquals(2, bloom.getFilterSize());
+        assertTrue(bloom.contains("foo"));
+        assertTrue(bloom.contains("bar"));
+        assertFalse(bloom.contains("baz"));
+        bloom.stop();
+    }
+
+    @Test
+    public void testWarmFromFileRepository() {
+        File file = testDirectory().resolve("idempotent.dat").toFile();
+        IdempotentRepository fileRepo = FileIdempotentRepository.fileIdempotentRepository(file);
+        fileRepo.start();
+        fileRepo.add("foo");
+        fileRepo.add("bar");
+        fileRepo.stop();
+
+        BloomFilterIdempotentRepository bloom = new BloomFilterIdempotentRepository(fileRepo);
+        bloom.start();
+        assertTrue(bloom.isWarm());
+        assertEquals(2, bloom.getFilterSize());
+        assertTrue(bloom.contains("foo"));
+        assertFalse(bloom.contains("baz"));
+        bloom.stop();
+    }
+
+    @Test
+    public void testNotWarmDelegatesAllLookups() {
+        store.keys.add("foo");
+        repo.setAssumeComplete(false);
+        repo.start();
+        assertFalse(repo.isWarm());
+
+        assertTrue(repo.contains("foo"));
+        assertFalse(repo.contains("bar"));
+        assertEquals(2, store.contains);
+        assertEquals(0, repo.getSavedLookupCount());
+        repo.stop();
+    }
+
+    @Test
+    public void testSnapshot() {
+        File snapshot = testDirectory().resolve("bloom.dat").toFile();
+        repo.setSnapshotFile(snapshot);
+        repo.start();
+        assertTrue(repo.isWarm());
+        repo.add("foo");
+        repo.add("bar");
+        repo.stop();
+        assertTrue(snapshot.exists());
+
+        // start again without trusting an empty filter
+        repo.setAssumeComplete(false);
+        repo.start();
+        assertTrue(repo.isWarm());
+        assertEquals(2, repo.getFilterSize());
+        assertTrue(repo.contains("foo"));
+        assertFalse(repo.contains("baz"));
+        repo.stop();
+
+        // a snapshot with different settings is ignored
+        BloomFilterIdempotentRepository other = new BloomFilterIdempotentRepository(store);
+        other.setExpectedInsertions(500);
+        other.setSnapshotFile(snapshot);
+        other.start();
+        assertFalse(other.isWarm());
+        other.stop();
+    }
+
+    @Test
+    public void testSnapshotNotUsedAfterCrash() {
+        File snapshot = testDirectory().resolve("bloom.dat").toFile();
+        repo.setSnapshotFile(snapshot);
+        repo.start();
+        repo.add("foo");
+        repo.stop();
+
+        repo.setAssumeComplete(false);
+        repo.start();
+        assertTrue(repo.isWarm());
+        repo.add("bar");
+        // crash without stopping, so the snapshot does not have the new key
+
+        BloomFilterIdempotentRepository restarted = new BloomFilterIdempotentRepository(store);
+        restarted.setSnapshotFile(snapshot);
+        restarted.setAssumeComplete(true);
+        restarted.start();
+        // the keys of the store cannot be loaded, so every check must go to the store
+        assertFalse(restarted.isWarm());
+        assertTrue(restarted.contains("foo"));
+        assertTrue(restarted.contains("bar"));
+        restarted.stop();
+
+        // the outdated snapshot is not used on next startup either
+        assertFalse(snapshot.exists());
+        restarted.start();
+        assertFalse(restarted.isWarm());
+        assertTrue(restarted.contains("bar"));
+        restarted.stop();
+    }
+
+    @Test
+    public void testIdempotentConsumer() throws Exception {
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:start").idempotentConsumer(header("messageId"), repo).eager(false).to("mock:result");
+            }
+        });
+
+        getMockEndpoint("mock:result").expectedBodiesReceived("one", "two", "three");
+
+        template.sendBodyAndHeader("direct:start", "one", "messageId", "1");
+        template.sendBodyAndHeader("direct:start", "two", "messageId", "2");
+        template.sendBodyAndHeader("direct:start", "one again", "messageId", "1");
+        template.sendBodyAndHeader("direct:start", "three", "messageId", "3");
+
+        assertMockEndpointsSatisfied();
+        assertTrue(repo.getSavedLookupCount() >= 2);
+    }
+
+    private static final class CountingRepository extends ServiceSupport implements IdempotentRepository {
+        private final Set<String> keys = new HashSet<>();
+        private int contains;
+
+        @Override
+        public boolean add(String key) {
+            return keys.add(key);
+        }
+
+        @Override
+        public boolean contains(String key) {
+            contains++;
+            return keys.contains(key);
+        }
+
+        @Override
+        public boolean remove(String key) {
+            return keys.remove(key);
+        }
+
+        @Override
+        public boolean confirm(String key) {
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            keys.clear();
+        }
+    }
+}
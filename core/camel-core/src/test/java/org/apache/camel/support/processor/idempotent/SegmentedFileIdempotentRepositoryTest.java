@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.io.File;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SegmentedFileIdempotentRepositoryTest extends ContextTestSupport {
+
+    private SegmentedFileIdempotentRepository repo;
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        File directory = testDirectory("idempotent").toFile();
+        repo = new SegmentedFileIdempotentRepository(directory);
+        repo.setCacheSize(2);
+        repo.setMaxSegmentSize(1024);
+
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:start").idempotentConsumer(header("messageId"), repo).to("mock:result");
+            }
+        };
+    }
+
+    @Test
+    public void testDuplicateMessagesAreFilteredOut() throws Exception {
+        MockEndpoint resultEndpoint = getMockEndpoint("mock:result");
+        resultEndpoint.expectedBodiesReceived("one", "two", "three", "four");
+
+        sendMessage("1", "one");
+        sendMessage("2", "two");
+        sendMessage("3", "three");
+        sendMessage("4", "four");
+        // the 1st-level cache only holds 2 keys so these are found in the store
+        sendMessage("1", "one");
+        sendMessage("2", "two");
+        sendMessage("4", "four");
+
+        resultEndpoint.assertIsSatisfied();
+        assertTrue(repo.contains("1"));
+        assertFalse(repo.contains("5"));
+    }
+
+    @Test
+    public void testRestartAndRemove() throws Exception {
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(repo.add("key" + i));
+        }
+        assertTrue(repo.getSegmentCount() > 1);
+
+        context.getRouteController().stopRoute(context.getRoutes().get(0).getId());
+        repo.stop();
+        repo.start();
+
+        assertEquals(1000, repo.getStoreSize());
+        assertFalse(repo.add("key500"));
+        assertTrue(repo.remove("key500"));
+        assertFalse(repo.contains("key500"));
+        assertTrue(repo.add("key500"));
+
+        repo.clear();
+        assertEquals(0, repo.getStoreSize());
+        assertFalse(repo.contains("key1"));
+        repo.stop();
+    }
+
+    protected void sendMessage(final Object messageId, final Object body) {
+        template.sendBodyAndHeader("direct:start", body, "messageId", messageId);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.state;
+
+import java.io.File;
+
+import org.apache.camel.TestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.apache.camel.support.processor.state.SegmentedFileStateRepository.segmentedFileStateRepository;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class SegmentedFileStateRepositoryTest extends TestSupport {
+
+    private File repositoryStore;
+
+    @BeforeEach
+    public void setUpTemporaryDirectory() {
+        repositoryStore = testDirectory("segmented-state-repository").toFile();
+    }
+
+    @Test
+    public void shouldSaveAndUpdateState() throws Exception {
+        // Given an empty SegmentedFileStateRepository
+        SegmentedFileStateRepository repository = createRepository();
+
+        // When saving and updating a state
+        repository.setState("key", "value");
+        repository.setState("other", "value");
+        repository.setState("key", "value2");
+
+        // Then the latest state should be retrieved afterwards
+        assertEquals("value2", repository.getState("key"));
+        assertEquals("value", repository.getState("other"));
+        assertNull(repository.getState("unknown"));
+        repository.stop();
+    }
+
+    @Test
+    public void shouldAllowAnyCharacters() throws Exception {
+        // Given an empty SegmentedFileStateRepository
+        SegmentedFileStateRepository repository = createRepository();
+
+        // When using delimiters in key and value
+        repository.setState("a=b\nc", "d\ne=f");
+
+        // Then it should be retrieved afterwards
+        assertEquals("d\ne=f", repository.getState("a=b\nc"));
+        repository.stop();
+    }
+
+    @Test
+    public void shouldStoreStateAcrossRestart() throws Exception {
+        // Given a SegmentedFileStateRepository with more states than the cache
+        SegmentedFileStateRepository repository = createRepository();
+        for (int i = 0; i < 100; i++) {
+            repository.setState("key" + i, "value" + i);
+        }
+        repository.setState("key1", "updated");
+
+        // When restarting the repository
+        repository.stop();
+        repository = createRepository();
+
+        // Then the states should be retrieved from the store
+        assertEquals(100, repository.getStoreSize());
+        assertEquals("updated", repository.getState("key1"));
+        assertEquals("value99", repository.getState("key99"));
+        repository.stop();
+    }
+
+    private SegmentedFileStateRepository createRepository() throws Exception {
+        SegmentedFileStateRepository repository = segmentedFileStateRepository(repositoryStore);
+        repository.setCacheSize(10);
+        repository.start();
+        return repository;
+    }
+}
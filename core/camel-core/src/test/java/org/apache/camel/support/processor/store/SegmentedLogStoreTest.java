@@ -0,0 +1,309 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.store;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.apache.camel.TestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SegmentedLogStoreTest extends TestSupport {
+
+    private File directory;
+
+    @BeforeEach
+    public void setUpDirectory() {
+        directory = testDirectory("store").toFile();
+    }
+
+    @Test
+    public void testPutGetRemove() throws Exception {
+        try (SegmentedLogStore store = createStore()) {
+            assertTrue(store.put("foo", "1"));
+            assertFalse(store.put("foo", "2"));
+            assertFalse(store.putIfAbsent("foo", "3"));
+            assertTrue(store.putIfAbsent("bar", "4"));
+            assertEquals("2", store.get("foo"));
+            assertEquals("4", store.get("bar"));
+            assertNull(store.get("baz"));
+            assertEquals(2, store.size());
+
+            assertTrue(store.remove("foo"));
+            assertFalse(store.remove("foo"));
+            assertFalse(store.containsKey("foo"));
+            assertTrue(store.containsKey("bar"));
+            assertEquals(1, store.size());
+
+            // any characters can be used
+            store.put("a=b\nc", "d\ne=f");
+            assertEquals("d\ne=f", store.get("a=b\nc"));
+        }
+    }
+
+    @Test
+    public void testReopenWithoutReplay() throws Exception {
+        try (SegmentedLogStore store = createStore()) {
+            fill(store);
+        }
+        try (SegmentedLogStore store = createStore()) {
+            // the index is up to date so nothing is replayed
+            assertEquals(0, store.getReplayCount());
+            assertFill(store);
+        }
+    }
+
+    @Test
+    public void testRebuildIndex() throws Exception {
+        try (SegmentedLogStore store = createStore()) {
+            fill(store);
+        }
+        assertTrue(new File(directory, "index.dat").delete());
+        try (SegmentedLogStore store = createStore()) {
+            assertTrue(store.getReplayCount() > 0);
+            assertFill(store);
+        }
+    }
+
+    @Test
+    public void testReopenWithStaleIndex() throws Exception {
+        Path indexFile = new File(directory, "index.dat").toPath();
+        Path staleFile = new File(directory, "index.stale").toPath();
+        try (SegmentedLogStore store = createStore()) {
+            for (int i = 0; i < 1000; i++) {
+                store.put("key" + i, "value" + i);
+            }
+        }
+        Files.copy(indexFile, staleFile);
+        try (SegmentedLogStore store = createStore()) {
+            for (int i = 1000; i < 2000; i++) {
+                store.put("key" + i, "value" + i);
+            }
+            for (int i = 0; i < 10; i++) {
+                store.remove("key" + i);
+            }
+            assertEquals(0, store.getCompactionCount());
+        }
+        // an index which has not been synced with the latest records, such as after a crash
+        Files.move(staleFile, indexFile, StandardCopyOption.REPLACE_EXISTING);
+        try (SegmentedLogStore store = createStore()) {
+            // the records after the position of the index are replayed
+            assertEquals(1010, store.getReplayCount());
+            assertEquals(1990, store.size());
+            for (int i = 0; i < 2000; i++) {
+                assertEquals(i < 10 ? null : "value" + i, store.get("key" + i));
+            }
+        }
+    }
+
+    @Test
+    public void testPositionNotAdvancedBeforeSync() throws Exception {
+        try (SegmentedLogStore store = createStore()) {
+            store.put("foo", "1");
+        }
+        SegmentedLogStore store = new SegmentedLogStore(directory);
+        store.setSyncInterval(60000);
+        store.open();
+        try {
+            long offset = readPositionOffset();
+            store.put("bar", "2");
+            // the record is not synced yet, so the index must not claim to contain it
+            assertEquals(offset, readPositionOffset());
+            store.sync();
+            assertTrue(readPositionOffset() > offset);
+        } finally {
+            store.close();
+        }
+    }
+
+    @Test
+    public void testTruncateTornWrite() throws Exception {
+        try (SegmentedLogStore store = createStore()) {
+            fill(store);
+        }
+        File[] segments = directory.listFiles((dir, name) -> name.startsWith("segment-"));
+        Arrays.sort(segments);
+        try (FileOutputStream fos = new FileOutputStream(segments[segments.length - 1], true)) {
+            fos.write(new byte[] { 1, 2, 3, 4, 5, 6, 7 });
+        }
+        try (SegmentedLogStore store = createStore()) {
+            assertFill(store);
+            // can continue appending after the truncated record
+            store.put("new", "value");
+        }
+        try (SegmentedLogStore store = createStore()) {
+            assertEquals("value", store.get("new"));
+        }
+    }
+
+    @Test
+    public void testCrashBeforeSync() throws Exception {
+        File crashed = testDirectory("crashed", true).toFile();
+        SegmentedLogStore store = new SegmentedLogStore(directory);
+        store.setSyncInterval(60000);
+        store.open();
+        try {
+            store.put("foo", "1");
+            store.put("baz", "3");
+            store.sync();
+            // changes which are not synced when the system crashes
+            store.put("foo", "2");
+            store.put("bar", "2");
+            store.remove("baz");
+
+            // the pages of the memory mapped index may have been written to disk, but the unsynced records are lost
+            long synced = readPositionOffset();
+            for (File file : directory.listFiles()) {
+                Files.copy(file.toPath(), new File(crashed, file.getName()).toPath());
+            }
+            File[] segments = crashed.listFiles((dir, name) -> name.startsWith("segment-"));
+            assertEquals(1, segments.length);
+            try (FileChannel channel = FileChannel.open(segments[0].toPath(), StandardOpenOption.WRITE)) {
+                channel.truncate(synced);
+            }
+        } finally {
+            store.close();
+        }
+
+        store = new SegmentedLogStore(crashed);
+        store.open();
+        try {
+            // the synced values must not be lost
+            assertEquals("1", store.get("foo"));
+            assertEquals("3", store.get("baz"));
+            assertNull(store.get("bar"));
+            assertEquals(2, store.size());
+        } finally {
+            store.close();
+        }
+    }
+
+    @Test
+    public void testCorruptSealedSegment() throws Exception {
+        try (SegmentedLogStore store = createStore()) {
+            fill(store);
+        }
+        assertTrue(new File(directory, "index.dat").delete());
+        File[] segments = directory.listFiles((dir, name) -> name.startsWith("segment-"));
+        Arrays.sort(segments);
+        assertTrue(segments.length > 1);
+        long size = segments[0].length();
+        try (FileChannel channel = FileChannel.open(segments[0].toPath(), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 0, 0, 0, 0 }), size / 2);
+        }
+
+        // only the active segment can have a torn write, so the store must not be opened by dropping records
+        SegmentedLogStore store = new SegmentedLogStore(directory);
+        assertThrows(IOException.class, store::open);
+        assertEquals(size, segments[0].length());
+    }
+
+    @Test
+    public void testCompaction() throws Exception {
+        try (SegmentedLogStore store = createStore()) {
+            for (int i = 0; i < 1000; i++) {
+                store.put("key" + i, "value" + i);
+            }
+            long size = store.getLogSize();
+            for (int i = 0; i < 1000; i++) {
+                if (i % 10 != 0) {
+                    store.remove("key" + i);
+                }
+            }
+            // write some more to roll the segments and compact the old segments
+            for (int i = 0; i < 1000; i++) {
+                store.put("key0", "value" + i);
+            }
+            assertTrue(store.getCompactionCount() > 0);
+            assertTrue(store.getLogSize() < size, "Log should have been compacted");
+            assertEquals(100, store.size());
+            for (int i = 0; i < 1000; i++) {
+                String expected = i == 0 ? "value999" : i % 10 == 0 ? "value" + i : null;
+                assertEquals(expected, store.get("key" + i));
+            }
+        }
+
+        // removed keys must stay removed when rebuilding the index
+        assertTrue(new File(directory, "index.dat").delete());
+        try (SegmentedLogStore store = createStore()) {
+            assertEquals(100, store.size());
+            assertNull(store.get("key1"));
+            assertEquals("value10", store.get("key10"));
+        }
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        try (SegmentedLogStore store = createStore()) {
+            fill(store);
+            store.clear();
+            assertEquals(0, store.size());
+            assertEquals(1, store.getSegmentCount());
+            assertNull(store.get("key1"));
+            store.put("foo", "bar");
+            assertEquals("bar", store.get("foo"));
+        }
+    }
+
+    private SegmentedLogStore createStore() throws Exception {
+        SegmentedLogStore store = new SegmentedLogStore(directory);
+        store.setMaxSegmentSize(4096);
+        store.setSyncInterval(0);
+        store.open();
+        return store;
+    }
+
+    private long readPositionOffset() throws Exception {
+        LogIndex index = LogIndex.open(new File(directory, "index.dat"));
+        try {
+            return index.positionOffset();
+        } finally {
+            index.close();
+        }
+    }
+
+    private static void fill(SegmentedLogStore store) {
+        for (int i = 0; i < 2000; i++) {
+            store.put("key" + i, "value" + i);
+        }
+        for (int i = 0; i < 2000; i += 2) {
+            store.remove("key" + i);
+        }
+    }
+
+    private static void assertFill(SegmentedLogStore store) {
+        assertEquals(1000, store.size());
+        for (int i = 0; i < 2000; i++) {
+            assertEquals(i % 2 == 0 ? null : "value" + i, store.get("key" + i));
+        }
+    }
+}
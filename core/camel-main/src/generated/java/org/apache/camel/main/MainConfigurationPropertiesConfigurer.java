@@ -64,12 +64,14 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         map.put("ExchangeFactory", java.lang.String.class);
         map.put("ExchangeFactoryCapacity", int.class);
         map.put("ExchangeFactoryStatisticsEnabled", boolean.class);
+        map.put("ExchangeLazyCopy", boolean.class);
         map.put("ExtraShutdownTimeout", int.class);
         map.put("FileConfigurations", java.lang.String.class);
         map.put("GlobalOptions", java.util.Map.class);
         map.put("GroovyPreloadCompiled", boolean.class);
         map.put("GroovyScriptPattern", java.lang.String.class);
         map.put("InflightRepositoryBrowseEnabled", boolean.class);
+        map.put("InflightRepositoryBrowseSampleRate", int.class);
         map.put("JavaRoutesExcludePattern", java.lang.String.class);
         map.put("JavaRoutesIncludePattern", java.lang.String.class);
         map.put("JmxEnabled", boolean.class);
@@ -95,6 +97,7 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         map.put("Name", java.lang.String.class);
         map.put("ProducerTemplateCacheSize", int.class);
         map.put("Profile", java.lang.String.class);
+        map.put("ReactiveExecutor", java.lang.String.class);
         map.put("RouteFilterExcludePattern", java.lang.String.class);
         map.put("RouteFilterIncludePattern", java.lang.String.class);
         map.put("RoutesBuilderClasses", java.lang.String.class);
@@ -127,6 +130,9 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         map.put("StreamCachingBufferSize", int.class);
         map.put("StreamCachingDenyClasses", java.lang.String.class);
         map.put("StreamCachingEnabled", boolean.class);
+        map.put("StreamCachingOffHeapBufferSize", int.class);
+        map.put("StreamCachingOffHeapEnabled", boolean.class);
+        map.put("StreamCachingOffHeapMaxMemory", long.class);
         map.put("StreamCachingRemoveSpoolDirectoryWhenStopping", boolean.class);
         map.put("StreamCachingSpoolCipher", java.lang.String.class);
         map.put("StreamCachingSpoolDirectory", java.lang.String.class);
@@ -235,6 +241,8 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "exchangeFactoryCapacity": target.setExchangeFactoryCapacity(property(camelContext, int.class, value)); return true;
         case "exchangefactorystatisticsenabled":
         case "exchangeFactoryStatisticsEnabled": target.setExchangeFactoryStatisticsEnabled(property(camelContext, boolean.class, value)); return true;
+        case "exchangelazycopy":
+        case "exchangeLazyCopy": target.setExchangeLazyCopy(property(camelContext, boolean.class, value)); return true;
         case "extrashutdowntimeout":
         case "extraShutdownTimeout": target.setExtraShutdownTimeout(property(camelContext, int.class, value)); return true;
         case "fileconfigurations":
@@ -247,6 +255,8 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "groovyScriptPattern": target.setGroovyScriptPattern(property(camelContext, java.lang.String.class, value)); return true;
         case "inflightrepositorybrowseenabled":
         case "inflightRepositoryBrowseEnabled": target.setInflightRepositoryBrowseEnabled(property(camelContext, boolean.class, value)); return true;
+        case "inflightrepositorybrowsesamplerate":
+        case "inflightRepositoryBrowseSampleRate": target.setInflightRepositoryBrowseSampleRate(property(camelContext, int.class, value)); return true;
         case "javaroutesexcludepattern":
         case "javaRoutesExcludePattern": target.setJavaRoutesExcludePattern(property(camelContext, java.lang.String.class, value)); return true;
         case "javaroutesincludepattern":
@@ -294,6 +304,8 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "producertemplatecachesize":
         case "producerTemplateCacheSize": target.setProducerTemplateCacheSize(property(camelContext, int.class, value)); return true;
         case "profile": target.setProfile(property(camelContext, java.lang.String.class, value)); return true;
+        case "reactiveexecutor":
+        case "reactiveExecutor": target.setReactiveExecutor(property(camelContext, java.lang.String.class, value)); return true;
         case "routefilterexcludepattern":
         case "routeFilterExcludePattern": target.setRouteFilterExcludePattern(property(camelContext, java.lang.String.class, value)); return true;
         case "routefilterincludepattern":
@@ -358,6 +370,12 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "streamCachingDenyClasses": target.setStreamCachingDenyClasses(property(camelContext, java.lang.String.class, value)); return true;
         case "streamcachingenabled":
         case "streamCachingEnabled": target.setStreamCachingEnabled(property(camelContext, boolean.class, value)); return true;
+        case "streamcachingoffheapbuffersize":
+        case "streamCachingOffHeapBufferSize": target.setStreamCachingOffHeapBufferSize(property(camelContext, int.class, value)); return true;
+        case "streamcachingoffheapenabled":
+        case "streamCachingOffHeapEnabled": target.setStreamCachingOffHeapEnabled(property(camelContext, boolean.class, value)); return true;
+        case "streamcachingoffheapmaxmemory":
+        case "streamCachingOffHeapMaxMemory": target.setStreamCachingOffHeapMaxMemory(property(camelContext, long.class, value)); return true;
         case "streamcachingremovespooldirectorywhenstopping":
         case "streamCachingRemoveSpoolDirectoryWhenStopping": target.setStreamCachingRemoveSpoolDirectoryWhenStopping(property(camelContext, boolean.class, value)); return true;
         case "streamcachingspoolcipher":
@@ -489,6 +507,8 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "exchangeFactoryCapacity": return int.class;
         case "exchangefactorystatisticsenabled":
         case "exchangeFactoryStatisticsEnabled": return boolean.class;
+        case "exchangelazycopy":
+        case "exchangeLazyCopy": return boolean.class;
         case "extrashutdowntimeout":
         case "extraShutdownTimeout": return int.class;
         case "fileconfigurations":
@@ -501,6 +521,8 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "groovyScriptPattern": return java.lang.String.class;
         case "inflightrepositorybrowseenabled":
         case "inflightRepositoryBrowseEnabled": return boolean.class;
+        case "inflightrepositorybrowsesamplerate":
+        case "inflightRepositoryBrowseSampleRate": return int.class;
         case "javaroutesexcludepattern":
         case "javaRoutesExcludePattern": return java.lang.String.class;
         case "javaroutesincludepattern":
@@ -548,6 +570,8 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "producertemplatecachesize":
         case "producerTemplateCacheSize": return int.class;
         case "profile": return java.lang.String.class;
+        case "reactiveexecutor":
+        case "reactiveExecutor": return java.lang.String.class;
         case "routefilterexcludepattern":
         case "routeFilterExcludePattern": return java.lang.String.class;
         case "routefilterincludepattern":
@@ -612,6 +636,12 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "streamCachingDenyClasses": return java.lang.String.class;
         case "streamcachingenabled":
         case "streamCachingEnabled": return boolean.class;
+        case "streamcachingoffheapbuffersize":
+        case "streamCachingOffHeapBufferSize": return int.class;
+        case "streamcachingoffheapenabled":
+        case "streamCachingOffHeapEnabled": return boolean.class;
+        case "streamcachingoffheapmaxmemory":
+        case "streamCachingOffHeapMaxMemory": return long.class;
         case "streamcachingremovespooldirectorywhenstopping":
         case "streamCachingRemoveSpoolDirectoryWhenStopping": return boolean.class;
         case "streamcachingspoolcipher":
@@ -739,6 +769,8 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "exchangeFactoryCapacity": return target.getExchangeFactoryCapacity();
         case "exchangefactorystatisticsenabled":
         case "exchangeFactoryStatisticsEnabled": return target.isExchangeFactoryStatisticsEnabled();
+        case "exchangelazycopy":
+        case "exchangeLazyCopy": return target.isExchangeLazyCopy();
         case "extrashutdowntimeout":
         case "extraShutdownTimeout": return target.getExtraShutdownTimeout();
         case "fileconfigurations":
@@ -751,6 +783,8 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "groovyScriptPattern": return target.getGroovyScriptPattern();
         case "inflightrepositorybrowseenabled":
         case "inflightRepositoryBrowseEnabled": return target.isInflightRepositoryBrowseEnabled();
+        case "inflightrepositorybrowsesamplerate":
+        case "inflightRepositoryBrowseSampleRate": return target.getInflightRepositoryBrowseSampleRate();
         case "javaroutesexcludepattern":
         case "javaRoutesExcludePattern": return target.getJavaRoutesExcludePattern();
         case "javaroutesincludepattern":
@@ -798,6 +832,8 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "producertemplatecachesize":
         case "producerTemplateCacheSize": return target.getProducerTemplateCacheSize();
         case "profile": return target.getProfile();
+        case "reactiveexecutor":
+        case "reactiveExecutor": return target.getReactiveExecutor();
         case "routefilterexcludepattern":
         case "routeFilterExcludePattern": return target.getRouteFilterExcludePattern();
         case "routefilterincludepattern":
@@ -862,6 +898,12 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "streamCachingDenyClasses": return target.getStreamCachingDenyClasses();
         case "streamcachingenabled":
         case "streamCachingEnabled": return target.isStreamCachingEnabled();
+        case "streamcachingoffheapbuffersize":
+        case "streamCachingOffHeapBufferSize": return target.getStreamCachingOffHeapBufferSize();
+        case "streamcachingoffheapenabled":
+        case "streamCachingOffHeapEnabled": return target.isStreamCachingOffHeapEnabled();
+        case "streamcachingoffheapmaxmemory":
+        case "streamCachingOffHeapMaxMemory": return target.getStreamCachingOffHeapMaxMemory();
         case "streamcachingremovespooldirectorywhenstopping":
         case "streamCachingRemoveSpoolDirectoryWhenStopping": return target.isStreamCachingRemoveSpoolDirectoryWhenStopping();
         case "streamcachingspoolcipher":
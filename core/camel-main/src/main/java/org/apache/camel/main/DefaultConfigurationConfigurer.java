@@ -43,6 +43,7 @@ import org.apache.camel.impl.engine.PooledExchangeFactory;
 import org.apache.camel.impl.engine.PooledProcessorExchangeFactory;
 import org.apache.camel.impl.engine.PrototypeExchangeFactory;
 import org.apache.camel.impl.engine.PrototypeProcessorExchangeFactory;
+import org.apache.camel.impl.engine.WorkStealingReactiveExecutor;
 import org.apache.camel.model.Model;
 import org.apache.camel.model.ModelCamelContext;
 import org.apache.camel.model.ModelLifecycleStrategy;
@@ -64,6 +65,7 @@ import org.apache.camel.spi.ExchangeFactory;
 import org.apache.camel.spi.ExecutorServiceManager;
 import org.apache.camel.spi.FactoryFinderResolver;
 import org.apache.camel.spi.GroovyScriptCompiler;
+import org.apache.camel.spi.HeadersMapFactory;
 import org.apache.camel.spi.InflightRepository;
 import org.apache.camel.spi.InterceptStrategy;
 import org.apache.camel.spi.LifecycleStrategy;
@@ -172,6 +174,11 @@ public final class DefaultConfigurationConfigurer {
         ecc.getProcessorExchangeFactory().setCapacity(config.getExchangeFactoryCapacity());
         ecc.getExchangeFactory().setStatisticsEnabled(config.isExchangeFactoryStatisticsEnabled());
         ecc.getProcessorExchangeFactory().setStatisticsEnabled(config.isExchangeFactoryStatisticsEnabled());
+        ecc.setExchangeLazyCopy(config.isExchangeLazyCopy());
+
+        if ("work-stealing".equals(config.getReactiveExecutor())) {
+            ecc.setReactiveExecutor(new WorkStealingReactiveExecutor());
+        }
 
         if (!config.isJmxEnabled()) {
             camelContext.disableJMX();
@@ -196,6 +203,9 @@ public final class DefaultConfigurationConfigurer {
         camelContext.getShutdownStrategy().setLogInflightExchangesOnTimeout(config.isShutdownLogInflightExchangesOnTimeout());
 
         camelContext.getInflightRepository().setInflightBrowseEnabled(config.isInflightRepositoryBrowseEnabled());
+        if (config.getInflightRepositoryBrowseSampleRate() > 1) {
+            camelContext.getInflightRepository().setInflightBrowseSampleRate(config.getInflightRepositoryBrowseSampleRate());
+        }
 
         if (config.getLogDebugMaxChars() != 0) {
             camelContext.getGlobalOptions().put(Exchange.LOG_DEBUG_BODY_MAX_CHARS,
@@ -212,6 +222,13 @@ public final class DefaultConfigurationConfigurer {
         camelContext.getStreamCachingStrategy()
                 .setRemoveSpoolDirectoryWhenStopping(config.isStreamCachingRemoveSpoolDirectoryWhenStopping());
         camelContext.getStreamCachingStrategy().setSpoolCipher(config.getStreamCachingSpoolCipher());
+        camelContext.getStreamCachingStrategy().setOffHeapEnabled(config.isStreamCachingOffHeapEnabled());
+        if (config.getStreamCachingOffHeapMaxMemory() > 0) {
+            camelContext.getStreamCachingStrategy().setOffHeapMaxMemory(config.getStreamCachingOffHeapMaxMemory());
+        }
+        if (config.getStreamCachingOffHeapBufferSize() > 0) {
+            camelContext.getStreamCachingStrategy().setOffHeapBufferSize(config.getStreamCachingOffHeapBufferSize());
+        }
         if (config.getStreamCachingSpoolDirectory() != null) {
             camelContext.getStreamCachingStrategy().setSpoolDirectory(config.getStreamCachingSpoolDirectory());
         }
@@ -503,6 +520,10 @@ public final class DefaultConfigurationConfigurer {
         if (exf != null) {
             camelContext.getCamelContextExtension().setExchangeFactory(exf);
         }
+        HeadersMapFactory hmf = getSingleBeanOfType(registry, HeadersMapFactory.class);
+        if (hmf != null) {
+            camelContext.getCamelContextExtension().setHeadersMapFactory(hmf);
+        }
         Set<TypeConverters> tcs = registry.findByType(TypeConverters.class);
         if (!tcs.isEmpty()) {
             tcs.forEach(t -> camelContext.getTypeConverterRegistry().addTypeConverters(t));
@@ -47,6 +47,7 @@ public abstract class DefaultConfigurationProperties<T> {
     private boolean shutdownRoutesInReverseOrder = true;
     private boolean shutdownLogInflightExchangesOnTimeout = true;
     private boolean inflightRepositoryBrowseEnabled;
+    private int inflightRepositoryBrowseSampleRate = 1;
     private String fileConfigurations;
     private boolean jmxEnabled = true;
     @Metadata(enums = "classic,default,short,simple,off", defaultValue = "default")
@@ -70,6 +71,9 @@ public abstract class DefaultConfigurationProperties<T> {
     private boolean streamCachingAnySpoolRules;
     private int streamCachingBufferSize;
     private boolean streamCachingRemoveSpoolDirectoryWhenStopping = true;
+    private boolean streamCachingOffHeapEnabled;
+    private long streamCachingOffHeapMaxMemory;
+    private int streamCachingOffHeapBufferSize;
     private boolean streamCachingStatisticsEnabled;
     private boolean typeConverterStatisticsEnabled;
     private boolean tracing;
@@ -136,6 +140,10 @@ public abstract class DefaultConfigurationProperties<T> {
     private String exchangeFactory = "default";
     private int exchangeFactoryCapacity = 100;
     private boolean exchangeFactoryStatisticsEnabled;
+    @Metadata(label = "advanced")
+    private boolean exchangeLazyCopy;
+    @Metadata(defaultValue = "default", enums = "default,work-stealing")
+    private String reactiveExecutor = "default";
     @Metadata(enums = "xml,yaml")
     private String dumpRoutes;
     private String dumpRoutesInclude = "routes";
@@ -317,6 +325,22 @@ public abstract class DefaultConfigurationProperties<T> {
         this.inflightRepositoryBrowseEnabled = inflightRepositoryBrowseEnabled;
     }
 
+    public int getInflightRepositoryBrowseSampleRate() {
+        return inflightRepositoryBrowseSampleRate;
+    }
+
+    /**
+     * Sets a sample rate when browsing inflight exchanges is enabled, to only track 1 out of every N exchanges for
+     * browsing, which reduces the overhead under high load. The browse operations then only return the sampled
+     * exchanges, and the oldest inflight exchange is only approximate as older exchanges may not have been sampled, but
+     * the number of inflight exchanges is always accurate.
+     *
+     * This is by default 1, which means all exchanges are tracked.
+     */
+    public void setInflightRepositoryBrowseSampleRate(int inflightRepositoryBrowseSampleRate) {
+        this.inflightRepositoryBrowseSampleRate = inflightRepositoryBrowseSampleRate;
+    }
+
     public String getFileConfigurations() {
         return fileConfigurations;
     }
@@ -607,6 +631,46 @@ public abstract class DefaultConfigurationProperties<T> {
         this.streamCachingRemoveSpoolDirectoryWhenStopping = streamCachingRemoveSpoolDirectoryWhenStopping;
     }
 
+    public boolean isStreamCachingOffHeapEnabled() {
+        return streamCachingOffHeapEnabled;
+    }
+
+    /**
+     * To enable stream caching overflow to off-heap memory. This means, for large stream messages (over 128 KB by
+     * default) will be moved to pooled direct buffers (outside the Java heap) instead of being kept in heap memory, as
+     * long as there is free off-heap memory within the budget. When the budget is exhausted then the stream is spooled
+     * to disk (if spooling to disk is enabled). The off-heap memory is released when the exchange is complete.
+     */
+    public void setStreamCachingOffHeapEnabled(boolean streamCachingOffHeapEnabled) {
+        this.streamCachingOffHeapEnabled = streamCachingOffHeapEnabled;
+    }
+
+    public long getStreamCachingOffHeapMaxMemory() {
+        return streamCachingOffHeapMaxMemory;
+    }
+
+    /**
+     * Sets the maximum number of bytes of off-heap memory the stream caches can use in total (for all exchanges).
+     *
+     * The default is 64mb.
+     */
+    public void setStreamCachingOffHeapMaxMemory(long streamCachingOffHeapMaxMemory) {
+        this.streamCachingOffHeapMaxMemory = streamCachingOffHeapMaxMemory;
+    }
+
+    public int getStreamCachingOffHeapBufferSize() {
+        return streamCachingOffHeapBufferSize;
+    }
+
+    /**
+     * Sets the size of the pooled direct buffers used for stream caching in off-heap memory.
+     *
+     * The default size is 64kb.
+     */
+    public void setStreamCachingOffHeapBufferSize(int streamCachingOffHeapBufferSize) {
+        this.streamCachingOffHeapBufferSize = streamCachingOffHeapBufferSize;
+    }
+
     public boolean isStreamCachingStatisticsEnabled() {
         return streamCachingStatisticsEnabled;
     }
@@ -1467,6 +1531,36 @@ public abstract class DefaultConfigurationProperties<T> {
         this.exchangeFactoryStatisticsEnabled = exchangeFactoryStatisticsEnabled;
     }
 
+    public boolean isExchangeLazyCopy() {
+        return exchangeLazyCopy;
+    }
+
+    /**
+     * Sets whether copies of an exchange (such as the sub exchanges of the Splitter and Multicast EIPs) share the
+     * headers, exchange properties and variables with the exchange they are copied from, until either exchange changes
+     * them (copy-on-write). This saves copying the maps for copies that never change them. The maps are not shared once
+     * they have been returned as a mutable map, such as by getHeaders(), as the caller can change them at any time.
+     *
+     * This is by default disabled.
+     */
+    public void setExchangeLazyCopy(boolean exchangeLazyCopy) {
+        this.exchangeLazyCopy = exchangeLazyCopy;
+    }
+
+    public String getReactiveExecutor() {
+        return reactiveExecutor;
+    }
+
+    /**
+     * Controls which reactive executor the Camel routing engine uses for scheduling continuations of asynchronous
+     * processing. The default executor runs continuations on the thread that completed the callback. The work-stealing
+     * executor allows idle Camel threads to run pending continuations left behind by other threads which are no longer
+     * running continuations, while the continuations of each thread still run one after another.
+     */
+    public void setReactiveExecutor(String reactiveExecutor) {
+        this.reactiveExecutor = reactiveExecutor;
+    }
+
     public String getDumpRoutes() {
         return dumpRoutes;
     }
@@ -1796,6 +1890,19 @@ public abstract class DefaultConfigurationProperties<T> {
         return (T) this;
     }
 
+    /**
+     * Sets a sample rate when browsing inflight exchanges is enabled, to only track 1 out of every N exchanges for
+     * browsing, which reduces the overhead under high load. The browse operations then only return the sampled
+     * exchanges, and the oldest inflight exchange is only approximate as older exchanges may not have been sampled, but
+     * the number of inflight exchanges is always accurate.
+     *
+     * This is by default 1, which means all exchanges are tracked.
+     */
+    public T withInflightRepositoryBrowseSampleRate(int inflightRepositoryBrowseSampleRate) {
+        this.inflightRepositoryBrowseSampleRate = inflightRepositoryBrowseSampleRate;
+        return (T) this;
+    }
+
     /**
      * Directory to load additional configuration files that contains configuration values that takes precedence over
      * any other configuration. This can be used to refer to files that may have secret configuration that has been
@@ -2004,6 +2111,37 @@ public abstract class DefaultConfigurationProperties<T> {
         return (T) this;
     }
 
+    /**
+     * To enable stream caching overflow to off-heap memory. This means, for large stream messages (over 128 KB by
+     * default) will be moved to pooled direct buffers (outside the Java heap) instead of being kept in heap memory, as
+     * long as there is free off-heap memory within the budget. When the budget is exhausted then the stream is spooled
+     * to disk (if spooling to disk is enabled). The off-heap memory is released when the exchange is complete.
+     */
+    public T withStreamCachingOffHeapEnabled(boolean streamCachingOffHeapEnabled) {
+        this.streamCachingOffHeapEnabled = streamCachingOffHeapEnabled;
+        return (T) this;
+    }
+
+    /**
+     * Sets the maximum number of bytes of off-heap memory the stream caches can use in total (for all exchanges).
+     *
+     * The default is 64mb.
+     */
+    public T withStreamCachingOffHeapMaxMemory(long streamCachingOffHeapMaxMemory) {
+        this.streamCachingOffHeapMaxMemory = streamCachingOffHeapMaxMemory;
+        return (T) this;
+    }
+
+    /**
+     * Sets the size of the pooled direct buffers used for stream caching in off-heap memory.
+     *
+     * The default size is 64kb.
+     */
+    public T withStreamCachingOffHeapBufferSize(int streamCachingOffHeapBufferSize) {
+        this.streamCachingOffHeapBufferSize = streamCachingOffHeapBufferSize;
+        return (T) this;
+    }
+
     /**
      * Sets whether stream caching statistics is enabled.
      */
@@ -2638,6 +2776,30 @@ public abstract class DefaultConfigurationProperties<T> {
         return (T) this;
     }
 
+    /**
+     * Sets whether copies of an exchange (such as the sub exchanges of the Splitter and Multicast EIPs) share the
+     * headers, exchange properties and variables with the exchange they are copied from, until either exchange changes
+     * them (copy-on-write). This saves copying the maps for copies that never change them. The maps are not shared once
+     * they have been returned as a mutable map, such as by getHeaders(), as the caller can change them at any time.
+     *
+     * This is by default disabled.
+     */
+    public T withExchangeLazyCopy(boolean exchangeLazyCopy) {
+        this.exchangeLazyCopy = exchangeLazyCopy;
+        return (T) this;
+    }
+
+    /**
+     * Controls which reactive executor the Camel routing engine uses for scheduling continuations of asynchronous
+     * processing. The default executor runs continuations on the thread that completed the callback. The work-stealing
+     * executor allows idle Camel threads to run pending continuations left behind by other threads which are no longer
+     * running continuations, while the continuations of each thread still run one after another.
+     */
+    public T withReactiveExecutor(String reactiveExecutor) {
+        this.reactiveExecutor = reactiveExecutor;
+        return (T) this;
+    }
+
     /**
      * If dumping is enabled then Camel will during startup dump all loaded routes (incl rests and route templates)
      * represented as XML/YAML DSL into the log. This is intended for trouble shooting or to assist during development.
@@ -220,6 +220,25 @@ public final class CamelOpenMBeanTypes {
                 new OpenType[] { SimpleType.STRING, SimpleType.LONG });
     }
 
+    public static TabularType loadbalancerLatencyTabularType() throws OpenDataException {
+        CompositeType ct = loadbalancerLatencyCompositeType();
+        return new TabularType("latency", "Latency statistics", ct, new String[] { "index" });
+    }
+
+    public static CompositeType loadbalancerLatencyCompositeType() throws OpenDataException {
+        return new CompositeType(
+                "processors", "Processors",
+                new String[] {
+                        "index", "processorId", "inflight", "completed", "failed", "averageResponseTime",
+                        "lastResponseTime" },
+                new String[] {
+                        "Index", "Processor Id", "Inflight", "Completed", "Failed", "Average Response Time",
+                        "Last Response Time" },
+                new OpenType[] {
+                        SimpleType.INTEGER, SimpleType.STRING, SimpleType.INTEGER, SimpleType.LONG, SimpleType.LONG,
+                        SimpleType.DOUBLE, SimpleType.LONG });
+    }
+
     public static TabularType endpointsUtilizationTabularType() throws OpenDataException {
         CompositeType ct = endpointsUtilizationCompositeType();
         return new TabularType("endpointsUtilization", "Endpoint utilization statistics", ct, new String[] { "url" });
@@ -69,6 +69,9 @@ public interface ManagedAggregateProcessorMBean extends ManagedProcessorMBean {
     @ManagedAttribute(description = "Optimistic locking")
     boolean isOptimisticLocking();
 
+    @ManagedAttribute(description = "Number of lock stripes used for aggregating different correlation keys in parallel")
+    int getLockStripes();
+
     @ManagedAttribute(description = "Whether or not to eager check for completion when a new incoming Exchange has been received")
     boolean isEagerCheckCompletion();
 
@@ -90,6 +93,12 @@ public interface ManagedAggregateProcessorMBean extends ManagedProcessorMBean {
     @ManagedAttribute(description = "Number of completed exchanges which are currently in-flight")
     int getInProgressCompleteExchanges();
 
+    @ManagedAttribute(description = "Current number of correlation keys tracked for completion timeout")
+    int getCompletionTimeoutEntries();
+
+    @ManagedAttribute(description = "The maximum time in millis a group has been completed by timeout later than its completion timeout")
+    long getCompletionTimeoutMaxExpiryLag();
+
     @ManagedOperation(description = "Number of groups currently in the aggregation repository")
     int aggregationRepositoryGroups();
 
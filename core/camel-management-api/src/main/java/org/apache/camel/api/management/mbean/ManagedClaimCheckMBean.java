@@ -29,4 +29,7 @@ public interface ManagedClaimCheckMBean extends ManagedProcessorMBean {
     @ManagedAttribute(description = "Specified a filter to control what data gets merging data back from the claim check repository")
     String getFilter();
 
+    @ManagedAttribute(description = "Whether large message bodies are spooled out of the heap while stored")
+    Boolean isSpool();
+
 }
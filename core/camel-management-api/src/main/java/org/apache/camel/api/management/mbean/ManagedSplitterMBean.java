@@ -26,4 +26,13 @@ public interface ManagedSplitterMBean extends ManagedMulticastMBean {
     @ManagedAttribute(description = "Expression of how to split the message body, such as as-is, using a tokenizer, or using an xpath.")
     String getExpression();
 
+    @ManagedAttribute(description = "The maximum number of split messages in-flight or waiting to be aggregated in order, when using parallel processing (0 = no limit)")
+    Integer getReorderWindow();
+
+    @ManagedAttribute(description = "Current number of split messages in the reorder window")
+    Integer getReorderWindowOccupancy();
+
+    @ManagedAttribute(description = "Total time in millis the splitter has been stalled because the reorder window was full")
+    Long getReorderWindowStallTime();
+
 }
@@ -83,6 +83,15 @@ public interface ManagedStreamCachingStrategyMBean extends ManagedServiceMBean {
     @ManagedAttribute(description = "Whether any or all spool rules determines whether to spool")
     boolean isAnySpoolRules();
 
+    @ManagedAttribute(description = "Whether overflow to off-heap memory is enabled")
+    boolean isOffHeapEnabled();
+
+    @ManagedAttribute(description = "Maximum number of bytes of off-heap memory the stream caches can use in total")
+    long getOffHeapMaxMemory();
+
+    @ManagedAttribute(description = "Size in bytes of the pooled off-heap buffers")
+    int getOffHeapBufferSize();
+
     @ManagedAttribute(description = "Number of in-memory StreamCache created")
     long getCacheMemoryCounter();
 
@@ -101,6 +110,21 @@ public interface ManagedStreamCachingStrategyMBean extends ManagedServiceMBean {
     @ManagedAttribute(description = "Average number of bytes per cached stream for spooled (not in-memory) stream caches.")
     long getCacheSpoolAverageSize();
 
+    @ManagedAttribute(description = "Number of off-heap StreamCache created")
+    long getCacheOffHeapCounter();
+
+    @ManagedAttribute(description = "Total accumulated number of bytes which has been stream cached for off-heap StreamCache")
+    long getCacheOffHeapSize();
+
+    @ManagedAttribute(description = "Average number of bytes per cached stream for off-heap stream caches.")
+    long getCacheOffHeapAverageSize();
+
+    @ManagedAttribute(description = "Number of bytes of off-heap memory currently in use by stream caches")
+    long getCacheOffHeapUsedMemory();
+
+    @ManagedAttribute(description = "Number of times the off-heap memory was exhausted")
+    long getCacheOffHeapExhaustedCounter();
+
     @ManagedAttribute(description = "Whether utilization statistics is enabled")
     boolean isStatisticsEnabled();
 
@@ -44,4 +44,19 @@ public interface ManagedThrottlerMBean extends ManagedProcessorMBean {
     @ManagedAttribute(description = "Whether or not throttler throws the ThrottlerRejectedExecutionException when the exchange exceeds the request limit")
     Boolean isRejectExecution();
 
+    @ManagedAttribute(description = "Number of tokens leased from the shared token bucket at a time (distributed mode only)")
+    int getLeaseSize();
+
+    @ManagedAttribute(description = "Number of tokens leased from the shared token bucket at a time (distributed mode only)")
+    void setLeaseSize(int leaseSize);
+
+    @ManagedAttribute(description = "Number of times a lease has been refilled from the shared token bucket (distributed mode only)")
+    long getLeaseRefillCount();
+
+    @ManagedAttribute(description = "Mean time in millis to refill a lease from the shared token bucket (distributed mode only)")
+    double getMeanLeaseRefillTime();
+
+    @ManagedAttribute(description = "Time in millis of the last lease refill from the shared token bucket (distributed mode only)")
+    double getLastLeaseRefillTime();
+
 }
@@ -145,6 +145,11 @@ public class ManagedAggregateProcessor extends ManagedProcessor implements Manag
         return getProcessor().isOptimisticLocking();
     }
 
+    @Override
+    public int getLockStripes() {
+        return getProcessor().getLockStripes();
+    }
+
     @Override
     public boolean isEagerCheckCompletion() {
         return getProcessor().isEagerCheckCompletion();
@@ -188,6 +193,16 @@ public class ManagedAggregateProcessor extends ManagedProcessor implements Manag
         return getProcessor().getInProgressCompleteExchanges();
     }
 
+    @Override
+    public int getCompletionTimeoutEntries() {
+        return getProcessor().getCompletionTimeoutEntries();
+    }
+
+    @Override
+    public long getCompletionTimeoutMaxExpiryLag() {
+        return getProcessor().getCompletionTimeoutMaxExpiryLag();
+    }
+
     @Override
     public int aggregationRepositoryGroups() {
         Set<String> keys = getProcessor().getAggregationRepository().getKeys();
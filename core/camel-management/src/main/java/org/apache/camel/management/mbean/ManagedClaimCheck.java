@@ -48,4 +48,9 @@ public class ManagedClaimCheck extends ManagedProcessor implements ManagedClaimC
     public String getFilter() {
         return getProcessor().getFilter();
     }
+
+    @Override
+    public Boolean isSpool() {
+        return getProcessor().isSpool();
+    }
 }
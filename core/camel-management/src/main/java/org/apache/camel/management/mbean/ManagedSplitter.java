@@ -29,6 +29,11 @@ public class ManagedSplitter extends ManagedMulticast implements ManagedSplitter
         super(context, processor, definition);
     }
 
+    @Override
+    public Splitter getProcessor() {
+        return (Splitter) super.getProcessor();
+    }
+
     @Override
     public SplitDefinition getDefinition() {
         return (SplitDefinition) super.getDefinition();
@@ -43,4 +48,19 @@ public class ManagedSplitter extends ManagedMulticast implements ManagedSplitter
     public String getExpression() {
         return getDefinition().getExpression().getExpression();
     }
+
+    @Override
+    public Integer getReorderWindow() {
+        return getProcessor().getReorderWindow();
+    }
+
+    @Override
+    public Integer getReorderWindowOccupancy() {
+        return getProcessor().getReorderWindowOccupancy();
+    }
+
+    @Override
+    public Long getReorderWindowStallTime() {
+        return getProcessor().getReorderWindowStallTime();
+    }
 }
@@ -168,6 +168,21 @@ public class ManagedStreamCachingStrategy extends ManagedService implements Mana
         return streamCachingStrategy.isAnySpoolRules();
     }
 
+    @Override
+    public boolean isOffHeapEnabled() {
+        return streamCachingStrategy.isOffHeapEnabled();
+    }
+
+    @Override
+    public long getOffHeapMaxMemory() {
+        return streamCachingStrategy.getOffHeapMaxMemory();
+    }
+
+    @Override
+    public int getOffHeapBufferSize() {
+        return streamCachingStrategy.getOffHeapBufferSize();
+    }
+
     @Override
     public long getCacheMemoryCounter() {
         return streamCachingStrategy.getStatistics().getCacheMemoryCounter();
@@ -198,6 +213,31 @@ public class ManagedStreamCachingStrategy extends ManagedService implements Mana
         return streamCachingStrategy.getStatistics().getCacheSpoolAverageSize();
     }
 
+    @Override
+    public long getCacheOffHeapCounter() {
+        return streamCachingStrategy.getStatistics().getCacheOffHeapCounter();
+    }
+
+    @Override
+    public long getCacheOffHeapSize() {
+        return streamCachingStrategy.getStatistics().getCacheOffHeapSize();
+    }
+
+    @Override
+    public long getCacheOffHeapAverageSize() {
+        return streamCachingStrategy.getStatistics().getCacheOffHeapAverageSize();
+    }
+
+    @Override
+    public long getCacheOffHeapUsedMemory() {
+        return streamCachingStrategy.getStatistics().getCacheOffHeapUsedMemory();
+    }
+
+    @Override
+    public long getCacheOffHeapExhaustedCounter() {
+        return streamCachingStrategy.getStatistics().getCacheOffHeapExhaustedCounter();
+    }
+
     @Override
     public boolean isStatisticsEnabled() {
         return streamCachingStrategy.getStatistics().isStatisticsEnabled();
@@ -20,6 +20,7 @@ import org.apache.camel.CamelContext;
 import org.apache.camel.api.management.ManagedResource;
 import org.apache.camel.api.management.mbean.ManagedThrottlerMBean;
 import org.apache.camel.model.ProcessorDefinition;
+import org.apache.camel.processor.DistributedRequestsThrottler;
 import org.apache.camel.processor.Throttler;
 import org.apache.camel.processor.TotalRequestsThrottler;
 
@@ -52,6 +53,8 @@ public class ManagedThrottler extends ManagedProcessor implements ManagedThrottl
     public long getTimePeriodMillis() {
         if (getProcessor() instanceof TotalRequestsThrottler t) {
             return t.getTimePeriodMillis();
+        } else if (getProcessor() instanceof DistributedRequestsThrottler t) {
+            return t.getTimePeriodMillis();
         }
 
         return 0;
@@ -83,4 +86,43 @@ public class ManagedThrottler extends ManagedProcessor implements ManagedThrottl
     public Boolean isRejectExecution() {
         return getProcessor().isRejectExecution();
     }
+
+    @Override
+    public int getLeaseSize() {
+        if (getProcessor() instanceof DistributedRequestsThrottler t) {
+            return t.getLeaseSize();
+        }
+        return 0;
+    }
+
+    @Override
+    public void setLeaseSize(int leaseSize) {
+        if (getProcessor() instanceof DistributedRequestsThrottler t) {
+            t.setLeaseSize(leaseSize);
+        }
+    }
+
+    @Override
+    public long getLeaseRefillCount() {
+        if (getProcessor() instanceof DistributedRequestsThrottler t) {
+            return t.getLeaseRefillCount();
+        }
+        return 0;
+    }
+
+    @Override
+    public double getMeanLeaseRefillTime() {
+        if (getProcessor() instanceof DistributedRequestsThrottler t) {
+            return t.getMeanLeaseRefillTime();
+        }
+        return 0;
+    }
+
+    @Override
+    public double getLastLeaseRefillTime() {
+        if (getProcessor() instanceof DistributedRequestsThrottler t) {
+            return t.getLastLeaseRefillTime();
+        }
+        return 0;
+    }
 }
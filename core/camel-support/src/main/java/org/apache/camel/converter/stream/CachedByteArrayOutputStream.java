@@ -36,4 +36,13 @@ public final class CachedByteArrayOutputStream extends ByteArrayOutputStream {
     public InputStreamCache newInputStreamCache() {
         return new InputStreamCache(buf, count);
     }
+
+    /**
+     * Writes the content of the byte array to the off-heap buffers
+     *
+     * @return the number of bytes written, which is less than the size if the off-heap memory budget is exhausted
+     */
+    int writeTo(OffHeapInputStreamCache.OffHeapBuffers buffers) {
+        return buffers.write(buf, 0, count);
+    }
 }
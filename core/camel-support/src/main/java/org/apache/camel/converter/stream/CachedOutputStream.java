@@ -39,6 +39,10 @@ import org.apache.camel.util.IOHelper;
  * You can get a cached input stream of this stream. The temp file which is created with this output stream will be
  * deleted when you close this output stream or the cached fileInputStream(s) is/are closed after all the exchanges
  * using the temp file are completed.
+ * <p/>
+ * If the off-heap tier is enabled, then the content is moved to pooled direct buffers instead of a temp file, as long
+ * as the off-heap memory budget is not exhausted. The buffers are released back to the pool in the same way as the temp
+ * file is deleted.
  */
 public class CachedOutputStream extends OutputStream {
 
@@ -48,6 +52,9 @@ public class CachedOutputStream extends OutputStream {
     private int totalLength;
     private final TempFileManager tempFileManager;
     private final boolean closedOnCompletion;
+    private final OffHeapBufferPool offHeapBufferPool;
+    private OffHeapInputStreamCache.OffHeapBuffers offHeapBuffers;
+    private boolean heapOnly;
 
     public CachedOutputStream(Exchange exchange) {
         this(exchange, true);
@@ -59,6 +66,8 @@ public class CachedOutputStream extends OutputStream {
         this.tempFileManager.addExchange(exchange);
         this.strategy = exchange.getContext().getStreamCachingStrategy();
         this.currentStream = new CachedByteArrayOutputStream(strategy.getBufferSize());
+        this.offHeapBufferPool = strategy.isOffHeapEnabled()
+                ? exchange.getContext().getCamelContextExtension().getContextPlugin(OffHeapBufferPool.class) : null;
     }
 
     @Override
@@ -72,6 +81,7 @@ public class CachedOutputStream extends OutputStream {
         // need to clean up the temp file this time
         if (!closedOnCompletion) {
             tempFileManager.closeFileInputStreams();
+            tempFileManager.releaseOffHeapBuffers();
             tempFileManager.cleanUpTempFile();
         }
     }
@@ -102,26 +112,41 @@ public class CachedOutputStream extends OutputStream {
     @Override
     public void write(byte[] b, int off, int len) throws IOException {
         this.totalLength += len;
-        if (inMemory && currentStream instanceof ByteArrayOutputStream && strategy.shouldSpoolCache(totalLength)) {
-            pageToFileStream();
+        if (inMemory && !heapOnly && currentStream instanceof ByteArrayOutputStream
+                && strategy.shouldSpoolCache(totalLength)) {
+            pageToSpool();
+        }
+        if (offHeapBuffers != null) {
+            int n = offHeapBuffers.write(b, off, len);
+            if (n == len) {
+                return;
+            }
+            // off-heap memory exhausted so write the remainder to the next tier
+            pageOffHeapToNextTier();
+            off += n;
+            len -= n;
         }
         currentStream.write(b, off, len);
     }
 
     @Override
     public void write(byte[] b) throws IOException {
-        this.totalLength += b.length;
-        if (inMemory && currentStream instanceof ByteArrayOutputStream && strategy.shouldSpoolCache(totalLength)) {
-            pageToFileStream();
-        }
-        currentStream.write(b);
+        write(b, 0, b.length);
     }
 
     @Override
     public void write(int b) throws IOException {
         this.totalLength++;
-        if (inMemory && currentStream instanceof ByteArrayOutputStream && strategy.shouldSpoolCache(totalLength)) {
-            pageToFileStream();
+        if (inMemory && !heapOnly && currentStream instanceof ByteArrayOutputStream
+                && strategy.shouldSpoolCache(totalLength)) {
+            pageToSpool();
+        }
+        if (offHeapBuffers != null) {
+            if (offHeapBuffers.write(b)) {
+                return;
+            }
+            // off-heap memory exhausted so write to the next tier
+            pageOffHeapToNextTier();
         }
         currentStream.write(b);
     }
@@ -149,11 +174,64 @@ public class CachedOutputStream extends OutputStream {
                         "CurrentStream should be an instance of CachedByteArrayOutputStream but is: "
                                                 + currentStream.getClass().getName());
             }
+        } else if (offHeapBuffers != null) {
+            return new OffHeapInputStreamCache(tempFileManager, offHeapBuffers);
         } else {
             return tempFileManager.newStreamCache();
         }
     }
 
+    private void pageToSpool() throws IOException {
+        if (offHeapBufferPool != null) {
+            if (pageToOffHeap()) {
+                return;
+            }
+            if (!strategy.isSpoolEnabled()) {
+                // off-heap memory exhausted, and no overflow to disk, so keep in heap memory
+                heapOnly = true;
+                return;
+            }
+        }
+        pageToFileStream();
+    }
+
+    private boolean pageToOffHeap() throws IOException {
+        if (tempFileManager.isCompleted()) {
+            // the buffers would never be released
+            return false;
+        }
+        flush();
+        CachedByteArrayOutputStream bout = (CachedByteArrayOutputStream) currentStream;
+        OffHeapInputStreamCache.OffHeapBuffers buffers = new OffHeapInputStreamCache.OffHeapBuffers(offHeapBufferPool);
+        if (bout.writeTo(buffers) < bout.size()) {
+            buffers.release();
+            return false;
+        }
+        offHeapBuffers = buffers;
+        tempFileManager.setOffHeapBuffers(buffers);
+        currentStream = OutputStream.nullOutputStream();
+        inMemory = false;
+        return true;
+    }
+
+    private void pageOffHeapToNextTier() throws IOException {
+        OffHeapInputStreamCache cache = new OffHeapInputStreamCache(tempFileManager, offHeapBuffers);
+        offHeapBuffers = null;
+        try {
+            if (strategy.isSpoolEnabled()) {
+                currentStream = tempFileManager.createOutputStream(strategy);
+            } else {
+                // no overflow to disk, so move back to heap memory
+                currentStream = new CachedByteArrayOutputStream((int) Math.max(strategy.getBufferSize(), cache.length()));
+                inMemory = true;
+                heapOnly = true;
+            }
+            cache.writeTo(currentStream);
+        } finally {
+            tempFileManager.releaseOffHeapBuffers();
+        }
+    }
+
     private void pageToFileStream() throws IOException {
         flush();
         CachedByteArrayOutputStream bout = (CachedByteArrayOutputStream) currentStream;
@@ -218,7 +296,7 @@ public class CachedOutputStream extends OutputStream {
 
         @Override
         public boolean inMemory() {
-            return cachedOutputStream.inMemory;
+            return cachedOutputStream.inMemory || cachedOutputStream.offHeapBuffers != null;
         }
 
         @Override
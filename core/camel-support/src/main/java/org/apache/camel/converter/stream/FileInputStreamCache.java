@@ -22,6 +22,9 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.StandardOpenOption;
 import java.security.GeneralSecurityException;
@@ -110,6 +113,25 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
         }
     }
 
+    /**
+     * Writes the cached content to the given channel. When the cache has not been read from and is not encrypted, then
+     * the content is transferred from the temporary file by the operating system (zero copy), without copying it onto
+     * the heap.
+     *
+     * @param  channel     the channel to write to
+     * @return             the number of bytes written
+     * @throws IOException is thrown if an I/O error occurs
+     */
+    public long writeTo(WritableByteChannel channel) throws IOException {
+        if (stream == null && ciphers == null) {
+            try (FileChannel in = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                return IOHelper.transfer(in, 0, in.size(), channel);
+            }
+        } else {
+            return getInputStream().transferTo(Channels.newOutputStream(channel));
+        }
+    }
+
     @Override
     public StreamCache copy(Exchange exchange) throws IOException {
         tempFileManager.addExchange(exchange);
@@ -207,6 +229,8 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
      * Collects all FileInputStreamCache instances of the temporary file. Counts the number of exchanges which have a
      * FileInputStreamCache instance of the temporary file. Deletes the temporary file, if all exchanges are done.
      *
+     * Likewise, releases the off-heap buffers of an {@link OffHeapInputStreamCache}, if all exchanges are done.
+     *
      * @see CachedOutputStream
      */
     static class TempFileManager {
@@ -221,6 +245,7 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
         private File tempFile;
         private OutputStream outputStream; // file output stream
         private CipherPair ciphers;
+        private OffHeapInputStreamCache.OffHeapBuffers offHeapBuffers;
 
         // there can be several input streams, for example in the multi-cast, or wiretap parallel processing
         private List<FileInputStreamCache> fileInputStreamCaches;
@@ -270,6 +295,7 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
                             } catch (Exception e) {
                                 LOG.warn("Error closing streams. This exception will be ignored.", e);
                             }
+                            releaseOffHeapBuffers();
                             try {
                                 cleanUpTempFile();
                             } catch (Exception e) {
@@ -350,6 +376,25 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
             return out;
         }
 
+        /**
+         * Whether the exchanges using the stream cache are all done, in which case no new resources must be allocated,
+         * as they would never be released.
+         */
+        boolean isCompleted() {
+            return closedOnCompletion && exchangeCounter.get() == 0;
+        }
+
+        void setOffHeapBuffers(OffHeapInputStreamCache.OffHeapBuffers offHeapBuffers) {
+            this.offHeapBuffers = offHeapBuffers;
+        }
+
+        void releaseOffHeapBuffers() {
+            if (offHeapBuffers != null) {
+                offHeapBuffers.release();
+                offHeapBuffers = null;
+            }
+        }
+
         FileInputStreamCache newStreamCache() {
             return new FileInputStreamCache(this);
         }
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A pool of direct {@link ByteBuffer}s (fixed size chunks) used by the off-heap tier of
+ * <a href="https://camel.apache.org/manual/stream-caching.html">stream-caching</a>.
+ * <p/>
+ * The pool allocates new buffers lazily until the budget (max memory) has been reached, after which
+ * {@link #acquire()} returns <tt>null</tt> until buffers are released back to the pool. Buffers are never freed
+ * explicitly, but are reused, which avoids the cost of allocating and zeroing direct memory for every stream cache.
+ * <p/>
+ * There is one pool per {@link org.apache.camel.CamelContext} which is managed by the
+ * {@link org.apache.camel.spi.StreamCachingStrategy} and registered as a context plugin.
+ */
+public final class OffHeapBufferPool {
+
+    private final int bufferSize;
+    private final long maxMemory;
+    private final Queue<ByteBuffer> free = new ConcurrentLinkedQueue<>();
+    private final AtomicLong allocated = new AtomicLong();
+    private final AtomicLong used = new AtomicLong();
+    private final LongAdder exhausted = new LongAdder();
+
+    public OffHeapBufferPool(int bufferSize, long maxMemory) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("BufferSize must be positive, was: " + bufferSize);
+        }
+        this.bufferSize = bufferSize;
+        this.maxMemory = maxMemory;
+    }
+
+    /**
+     * Acquires a cleared buffer from the pool.
+     *
+     * @return the buffer, or <tt>null</tt> if the off-heap memory budget is exhausted
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer answer = free.poll();
+        if (answer == null) {
+            long current;
+            do {
+                current = allocated.get();
+                if (current + bufferSize > maxMemory) {
+                    exhausted.increment();
+                    return null;
+                }
+            } while (!allocated.compareAndSet(current, current + bufferSize));
+            answer = ByteBuffer.allocateDirect(bufferSize);
+        }
+        used.addAndGet(bufferSize);
+        return answer;
+    }
+
+    /**
+     * Releases the buffer back to the pool.
+     */
+    public void release(ByteBuffer buffer) {
+        used.addAndGet(-bufferSize);
+        buffer.clear();
+        free.offer(buffer);
+    }
+
+    /**
+     * Drops the free buffers from the pool so the direct memory can be reclaimed. Buffers in use are not affected and
+     * are returned to the pool when they are released.
+     */
+    public void clear() {
+        ByteBuffer buffer;
+        while ((buffer = free.poll()) != null) {
+            allocated.addAndGet(-buffer.capacity());
+        }
+    }
+
+    /**
+     * The size of each buffer in the pool
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * The maximum number of bytes the pool can allocate
+     */
+    public long getMaxMemory() {
+        return maxMemory;
+    }
+
+    /**
+     * Number of bytes allocated by the pool (in use or free)
+     */
+    public long getAllocatedMemory() {
+        return allocated.get();
+    }
+
+    /**
+     * Number of bytes currently in use
+     */
+    public long getUsedMemory() {
+        return used.get();
+    }
+
+    /**
+     * Number of times a buffer could not be acquired because the budget was exhausted
+     */
+    public long getExhaustedCounter() {
+        return exhausted.sum();
+    }
+
+    /**
+     * Resets the exhausted counter
+     */
+    public void resetExhaustedCounter() {
+        exhausted.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeapBufferPool[bufferSize=" + bufferSize + ", maxMemory=" + maxMemory + ", allocated=" + allocated
+               + ", used=" + used + "]";
+    }
+}
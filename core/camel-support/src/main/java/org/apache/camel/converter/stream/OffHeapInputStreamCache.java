@@ -0,0 +1,314 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.StreamCache;
+import org.apache.camel.converter.stream.FileInputStreamCache.TempFileManager;
+
+/**
+ * A {@link StreamCache} for caching using off-heap memory (pooled direct {@link ByteBuffer}s).
+ * <p/>
+ * The buffers are reference counted, and returned to the {@link OffHeapBufferPool} when the exchange(s) using the
+ * stream cache are complete. Consumers that hand off the buffers to NIO (such as writing to a file channel or a network
+ * socket) can use {@link #writeTo(WritableByteChannel)} or {@link #getByteBuffers()} to avoid copying the content onto
+ * the heap. If the buffers must outlive the exchange, for example with asynchronous writes, then the consumer must call
+ * {@link #retain()} and {@link #release()} when done.
+ * <p/>
+ * <b>Important:</b> All the classes from the Camel release that implements {@link StreamCache} is NOT intended for end
+ * users to create as instances, but they are part of Camels
+ * <a href="https://camel.apache.org/manual/stream-caching.html">stream-caching</a> functionality.
+ */
+public final class OffHeapInputStreamCache extends InputStream implements StreamCache {
+
+    private final OffHeapBuffers buffers;
+    private final TempFileManager tempFileManager;
+    private long pos;
+    private long mark;
+
+    OffHeapInputStreamCache(TempFileManager tempFileManager, OffHeapBuffers buffers) {
+        this.tempFileManager = tempFileManager;
+        this.buffers = buffers;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (pos >= buffers.length) {
+            return -1;
+        }
+        ByteBuffer buf = buffers.chunk(pos);
+        int answer = buf.get((int) (pos % buffers.chunkSize)) & 0xff;
+        pos++;
+        return answer;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        long remaining = buffers.length - pos;
+        if (remaining <= 0) {
+            return -1;
+        }
+        int total = (int) Math.min(len, remaining);
+        int n = 0;
+        while (n < total) {
+            ByteBuffer buf = buffers.chunk(pos);
+            int index = (int) (pos % buffers.chunkSize);
+            int count = Math.min(total - n, buffers.chunkSize - index);
+            buf.get(index, b, off + n, count);
+            n += count;
+            pos += count;
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) {
+        long answer = Math.max(0, Math.min(n, buffers.length - pos));
+        pos += answer;
+        return answer;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(Integer.MAX_VALUE, buffers.length - pos);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    @Override
+    public void mark(int readLimit) {
+        mark = pos;
+    }
+
+    @Override
+    public void reset() {
+        pos = mark;
+    }
+
+    @Override
+    public void close() {
+        // noop as the buffers are released when the exchange is complete
+    }
+
+    @Override
+    public void writeTo(OutputStream os) throws IOException {
+        byte[] data = new byte[(int) Math.min(buffers.chunkSize, Math.max(1, buffers.length - pos))];
+        long index = pos;
+        while (index < buffers.length) {
+            ByteBuffer buf = buffers.chunk(index);
+            int offset = (int) (index % buffers.chunkSize);
+            int count = (int) Math.min(data.length, Math.min(buffers.chunkSize - offset, buffers.length - index));
+            buf.get(offset, data, 0, count);
+            os.write(data, 0, count);
+            index += count;
+        }
+    }
+
+    /**
+     * Writes the remainder of the content (from the current position) directly from the off-heap buffers to the given
+     * channel without copying the content onto the heap.
+     *
+     * @return the number of bytes written
+     */
+    public long writeTo(WritableByteChannel channel) throws IOException {
+        ByteBuffer[] array = getByteBuffers();
+        long total = 0;
+        if (channel instanceof GatheringByteChannel gathering) {
+            int offset = 0;
+            while (offset < array.length) {
+                total += gathering.write(array, offset, array.length - offset);
+                while (offset < array.length && !array[offset].hasRemaining()) {
+                    offset++;
+                }
+            }
+        } else {
+            for (ByteBuffer buf : array) {
+                while (buf.hasRemaining()) {
+                    total += channel.write(buf);
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Gets read-only views of the off-heap buffers holding the remainder of the content (from the current position).
+     * <p/>
+     * The views are only valid until the exchange is complete, unless {@link #retain()} has been called.
+     */
+    public ByteBuffer[] getByteBuffers() throws IOException {
+        List<ByteBuffer> answer = new ArrayList<>();
+        long index = pos;
+        while (index < buffers.length) {
+            ByteBuffer buf = buffers.chunk(index).asReadOnlyBuffer();
+            int offset = (int) (index % buffers.chunkSize);
+            int count = (int) Math.min(buffers.chunkSize - offset, buffers.length - index);
+            buf.limit(offset + count).position(offset);
+            answer.add(buf);
+            index += count;
+        }
+        return answer.toArray(new ByteBuffer[0]);
+    }
+
+    /**
+     * Increases the reference count of the off-heap buffers, which prevents the buffers from being returned to the pool
+     * when the exchange is complete. Must be paired with {@link #release()}.
+     */
+    public void retain() {
+        buffers.retain();
+    }
+
+    /**
+     * Decreases the reference count of the off-heap buffers, which are returned to the pool when the count reaches zero.
+     */
+    public void release() {
+        buffers.release();
+    }
+
+    @Override
+    public StreamCache copy(Exchange exchange) throws IOException {
+        tempFileManager.addExchange(exchange);
+        return new OffHeapInputStreamCache(tempFileManager, buffers);
+    }
+
+    @Override
+    public boolean inMemory() {
+        return true;
+    }
+
+    @Override
+    public long length() {
+        return buffers.length;
+    }
+
+    @Override
+    public long position() {
+        return pos;
+    }
+
+    /**
+     * The off-heap buffers holding the content of a stream cache, which can be shared by several
+     * {@link OffHeapInputStreamCache}s, for example in the multi-cast, or wiretap parallel processing.
+     * <p/>
+     * The buffers are written by a single thread (the {@link CachedOutputStream}) and are read-only after that.
+     */
+    static final class OffHeapBuffers {
+
+        private final OffHeapBufferPool pool;
+        private final int chunkSize;
+        private final AtomicInteger refCount = new AtomicInteger(1);
+        private final List<ByteBuffer> chunks = new ArrayList<>();
+        private ByteBuffer current;
+        private long length;
+
+        OffHeapBuffers(OffHeapBufferPool pool) {
+            this.pool = pool;
+            this.chunkSize = pool.getBufferSize();
+        }
+
+        /**
+         * Writes as many bytes as possible within the off-heap memory budget.
+         *
+         * @return the number of bytes written, which is less than <tt>len</tt> if the budget is exhausted
+         */
+        int write(byte[] b, int off, int len) {
+            int n = 0;
+            while (n < len) {
+                if ((current == null || !current.hasRemaining()) && !nextChunk()) {
+                    break;
+                }
+                int count = Math.min(len - n, current.remaining());
+                current.put(b, off + n, count);
+                n += count;
+            }
+            length += n;
+            return n;
+        }
+
+        /**
+         * Writes the byte if possible within the off-heap memory budget.
+         *
+         * @return <tt>false</tt> if the budget is exhausted
+         */
+        boolean write(int b) {
+            if ((current == null || !current.hasRemaining()) && !nextChunk()) {
+                return false;
+            }
+            current.put((byte) b);
+            length++;
+            return true;
+        }
+
+        private boolean nextChunk() {
+            ByteBuffer buf = pool.acquire();
+            if (buf == null) {
+                return false;
+            }
+            chunks.add(buf);
+            current = buf;
+            return true;
+        }
+
+        ByteBuffer chunk(long index) throws IOException {
+            if (refCount.get() <= 0) {
+                throw new IOException("Off-heap stream cache has already been released");
+            }
+            return chunks.get((int) (index / chunkSize));
+        }
+
+        long length() {
+            return length;
+        }
+
+        void retain() {
+            int count;
+            do {
+                count = refCount.get();
+                if (count <= 0) {
+                    throw new IllegalStateException("Off-heap stream cache has already been released");
+                }
+            } while (!refCount.compareAndSet(count, count + 1));
+        }
+
+        void release() {
+            if (refCount.decrementAndGet() == 0) {
+                for (ByteBuffer buf : chunks) {
+                    pool.release(buf);
+                }
+                chunks.clear();
+                current = null;
+            }
+        }
+    }
+
+}
@@ -56,6 +56,14 @@ abstract class AbstractExchange implements Exchange {
     protected Map<String, Object> properties; // create properties on-demand as we use internal properties mostly
     protected Map<String, SafeCopyProperty> safeCopyProperties;
     protected ExchangeVariableRepository variableRepository;
+    // whether the properties and variables are shared with a copy of this exchange (copy-on-write when lazy copy is
+    // enabled), and whether they have been returned as mutable maps, which means they cannot be shared. The exchange is
+    // not thread-safe, and a copy is handed over to another thread with a happens-before relationship, so no locking
+    // is needed, as the shared maps are only read
+    private boolean propertiesShared;
+    private boolean propertiesExposed;
+    private boolean variablesShared;
+    private boolean variablesExposed;
     protected Message in;
     protected Message out;
     protected Exception exception;
@@ -117,14 +125,29 @@ abstract class AbstractExchange implements Exchange {
         privateExtension.setRollbackOnlyLast(parent.getExchangeExtension().isRollbackOnlyLast());
         privateExtension.setRouteStop(parent.getExchangeExtension().isRouteStop());
 
+        // with lazy copy then share the variables and properties until either exchange changes them (copy-on-write),
+        // unless they have been returned as mutable maps that can be changed at any time
+        boolean lazy = parent.getContext().getCamelContextExtension().isExchangeLazyCopy();
         if (parent.hasVariables()) {
-            if (this.variableRepository == null) {
-                this.variableRepository = new ExchangeVariableRepository(getContext());
+            if (lazy && !parent.variablesExposed) {
+                parent.variablesShared = true;
+                this.variableRepository = parent.variableRepository;
+                this.variablesShared = true;
+            } else {
+                if (this.variableRepository == null) {
+                    this.variableRepository = new ExchangeVariableRepository(getContext());
+                }
+                this.variableRepository.copyFrom(parent.variableRepository);
             }
-            this.variableRepository.copyFrom(parent.variableRepository);
         }
         if (parent.hasProperties()) {
-            this.properties = safeCopyProperties(parent.properties);
+            if (lazy && !parent.propertiesExposed) {
+                parent.propertiesShared = true;
+                this.properties = parent.properties;
+                this.propertiesShared = true;
+            } else {
+                this.properties = safeCopyProperties(parent.properties);
+            }
         }
         if (parent.hasSafeCopyProperties()) {
             this.safeCopyProperties = parent.copySafeCopyProperties();
@@ -257,23 +280,16 @@ abstract class AbstractExchange implements Exchange {
             setProperty(key, value);
         } else if (value != null) {
             // avoid the NullPointException
-            if (properties == null) {
-                this.properties = new ConcurrentHashMap<>(8);
-            }
-            properties.put(name, value);
-        } else if (properties != null) {
+            writableProperties().put(name, value);
+        } else if (properties != null && properties.containsKey(name)) {
             // if the value is null, we just remove the key from the map
-            properties.remove(name);
+            writableProperties().remove(name);
         }
     }
 
     void setProperties(Map<String, Object> properties) {
-        if (this.properties == null) {
-            this.properties = new ConcurrentHashMap<>(8);
-        } else {
-            this.properties.clear();
-        }
-        this.properties.putAll(properties);
+        clearProperties();
+        writableProperties().putAll(properties);
     }
 
     @Override
@@ -282,10 +298,10 @@ abstract class AbstractExchange implements Exchange {
         if (key != null) {
             return removeProperty(key);
         }
-        if (!hasProperties()) {
+        if (!hasProperties() || !properties.containsKey(name)) {
             return null;
         }
-        return properties.remove(name);
+        return writableProperties().remove(name);
     }
 
     @Override
@@ -297,9 +313,7 @@ abstract class AbstractExchange implements Exchange {
     public boolean removeProperties(String pattern, String... excludePatterns) {
         // special optimized
         if (excludePatterns == null && "*".equals(pattern)) {
-            if (properties != null) {
-                properties.clear();
-            }
+            clearProperties();
             internalProperties.clear();
             return true;
         }
@@ -324,10 +338,11 @@ abstract class AbstractExchange implements Exchange {
                 matches = true;
                 if (toBeRemoved.size() == properties.size()) {
                     // special optimization when all should be removed
-                    properties.clear();
+                    clearProperties();
                 } else {
+                    Map<String, Object> map = writableProperties();
                     for (String key : toBeRemoved) {
-                        properties.remove(key);
+                        map.remove(key);
                     }
                 }
             }
@@ -338,12 +353,37 @@ abstract class AbstractExchange implements Exchange {
 
     @Override
     public Map<String, Object> getProperties() {
-        if (properties == null) {
+        // the properties can be changed by the caller, so they must be copied if shared, and cannot be shared anymore
+        Map<String, Object> answer = writableProperties();
+        propertiesExposed = true;
+        return answer;
+    }
+
+    /**
+     * Gets the properties to be changed, which are copied first if the properties are shared with a copy of this
+     * exchange.
+     */
+    private Map<String, Object> writableProperties() {
+        if (propertiesShared) {
+            this.properties = new ConcurrentHashMap<>(properties);
+            this.propertiesShared = false;
+            this.propertiesExposed = false;
+        } else if (properties == null) {
             this.properties = new ConcurrentHashMap<>(8);
         }
         return properties;
     }
 
+    void clearProperties() {
+        if (propertiesShared) {
+            this.properties = null;
+            this.propertiesShared = false;
+            this.propertiesExposed = false;
+        } else if (properties != null) {
+            properties.clear();
+        }
+    }
+
     private Map<String, SafeCopyProperty> copySafeCopyProperties() {
         Map<String, SafeCopyProperty> copy = new ConcurrentHashMap<>();
         for (Map.Entry<String, SafeCopyProperty> entry : this.safeCopyProperties.entrySet()) {
@@ -411,10 +451,7 @@ abstract class AbstractExchange implements Exchange {
         if (repo != null) {
             repo.setVariable(name, value);
         } else {
-            if (variableRepository == null) {
-                variableRepository = new ExchangeVariableRepository(getContext());
-            }
-            variableRepository.setVariable(name, value);
+            writableVariables().setVariable(name, value);
         }
     }
 
@@ -430,21 +467,47 @@ abstract class AbstractExchange implements Exchange {
             return repo.removeVariable(name);
         } else if (variableRepository != null) {
             if ("*".equals(name)) {
-                variableRepository.clear();
+                clearVariables();
                 return null;
             }
-            return variableRepository.removeVariable(name);
+            return writableVariables().removeVariable(name);
         }
         return null;
     }
 
     @Override
     public Map<String, Object> getVariables() {
-        if (variableRepository == null) {
-            // force creating variables
-            variableRepository = new ExchangeVariableRepository(getContext());
+        // force creating variables (which can be changed by the caller, so they cannot be shared anymore)
+        Map<String, Object> answer = writableVariables().getVariables();
+        variablesExposed = true;
+        return answer;
+    }
+
+    /**
+     * Gets the variable repository to be changed, which is copied first if the variables are shared with a copy of
+     * this exchange.
+     */
+    private ExchangeVariableRepository writableVariables() {
+        if (variablesShared) {
+            ExchangeVariableRepository repo = new ExchangeVariableRepository(getContext());
+            repo.copyFrom(variableRepository);
+            this.variableRepository = repo;
+            this.variablesShared = false;
+            this.variablesExposed = false;
+        } else if (variableRepository == null) {
+            this.variableRepository = new ExchangeVariableRepository(getContext());
+        }
+        return variableRepository;
+    }
+
+    void clearVariables() {
+        if (variablesShared) {
+            this.variableRepository = null;
+            this.variablesShared = false;
+            this.variablesExposed = false;
+        } else if (variableRepository != null) {
+            variableRepository.clear();
         }
-        return variableRepository.getVariables();
     }
 
     @Override
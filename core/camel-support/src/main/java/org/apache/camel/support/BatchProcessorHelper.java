@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.List;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.AsyncProcessor;
+import org.apache.camel.BatchProcessor;
+import org.apache.camel.Exchange;
+import org.apache.camel.spi.AsyncProcessorAwaitManager;
+
+/**
+ * Helper for processing a batch of exchanges with a {@link BatchProcessor}, or one by one with a regular
+ * {@link AsyncProcessor}.
+ */
+public final class BatchProcessorHelper {
+
+    private BatchProcessorHelper() {
+        // utility class
+    }
+
+    /**
+     * Processes the batch of exchanges. If the processor is a {@link BatchProcessor} then the batch is processed in one
+     * call, otherwise the exchanges are processed one by one.
+     *
+     * @param  processor the processor
+     * @param  exchanges the exchanges
+     * @param  callback  the callback to invoke when all the exchanges are done
+     * @return           (doneSync) <tt>true</tt> to continue execute synchronously, <tt>false</tt> to continue being
+     *                   executed asynchronously
+     */
+    public static boolean process(AsyncProcessor processor, List<Exchange> exchanges, AsyncCallback callback) {
+        if (exchanges.isEmpty()) {
+            callback.done(true);
+            return true;
+        }
+        if (processor instanceof BatchProcessor batch) {
+            return batch.processBatch(exchanges, callback);
+        }
+        return processEach(processor, exchanges, callback);
+    }
+
+    /**
+     * Processes the exchanges one by one (in sequence) and invokes the callback when all the exchanges are done.
+     *
+     * @param  processor the processor
+     * @param  exchanges the exchanges
+     * @param  callback  the callback to invoke when all the exchanges are done
+     * @return           (doneSync) <tt>true</tt> to continue execute synchronously, <tt>false</tt> to continue being
+     *                   executed asynchronously
+     */
+    public static boolean processEach(AsyncProcessor processor, List<Exchange> exchanges, AsyncCallback callback) {
+        return new ProcessEachTask(processor, exchanges, callback).next();
+    }
+
+    /**
+     * Processes the batch of exchanges and waits for all the exchanges to be done before returning.
+     *
+     * @param processor the processor
+     * @param exchanges the exchanges
+     */
+    public static void process(AsyncProcessor processor, List<Exchange> exchanges) {
+        if (exchanges.isEmpty()) {
+            return;
+        }
+        // track the batch by its first exchange while waiting
+        Exchange first = exchanges.get(0);
+        AsyncProcessorAwaitManager awaitManager = PluginHelper.getAsyncProcessorAwaitManager(first.getContext());
+        awaitManager.process(new AsyncProcessorSupport() {
+            @Override
+            public boolean process(Exchange exchange, AsyncCallback callback) {
+                return BatchProcessorHelper.process(processor, exchanges, callback);
+            }
+        }, first);
+    }
+
+    private static final class ProcessEachTask implements AsyncCallback {
+
+        private final AsyncProcessor processor;
+        private final List<Exchange> exchanges;
+        private final AsyncCallback callback;
+        private int index;
+        private boolean sync = true;
+
+        private ProcessEachTask(AsyncProcessor processor, List<Exchange> exchanges, AsyncCallback callback) {
+            this.processor = processor;
+            this.exchanges = exchanges;
+            this.callback = callback;
+        }
+
+        private boolean next() {
+            while (index < exchanges.size()) {
+                Exchange exchange = exchanges.get(index++);
+                if (!processor.process(exchange, this)) {
+                    // continue from the callback when the exchange is done
+                    return false;
+                }
+            }
+            callback.done(sync);
+            return sync;
+        }
+
+        @Override
+        public void done(boolean doneSync) {
+            if (!doneSync) {
+                sync = false;
+                next();
+            }
+        }
+    }
+}
@@ -23,6 +23,7 @@ import java.util.function.Supplier;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
+import org.apache.camel.Message;
 import org.apache.camel.spi.HeadersMapFactory;
 import org.apache.camel.trait.message.MessageTrait;
 
@@ -34,9 +35,18 @@ import org.apache.camel.trait.message.MessageTrait;
  * about using exact keys. See more details at {@link org.apache.camel.util.CaseInsensitiveMap}. The implementation of
  * the map can be configured by the {@link HeadersMapFactory} which can be set on the {@link CamelContext}. The default
  * implementation uses the {@link org.apache.camel.util.CaseInsensitiveMap CaseInsensitiveMap}.
+ * <p/>
+ * When lazy copy is enabled (see {@link org.apache.camel.ExtendedCamelContext#setExchangeLazyCopy(boolean)}) and a
+ * message is copied, then the headers are shared between the two messages (copy-on-write), and the headers are only
+ * copied when either message changes the headers. Headers that have been returned by {@link #getHeaders()} are never
+ * shared, as the caller can change the returned map at any time.
  */
 public class DefaultMessage extends MessageSupport {
     private Map<String, Object> headers;
+    // whether the headers are shared with a copy of this message and must be copied before changing (lazy copy)
+    private boolean headersShared;
+    // whether the headers have been returned as a mutable map, which means they cannot be shared
+    private boolean headersExposed;
 
     public DefaultMessage(Exchange exchange) {
         setExchange(exchange);
@@ -53,7 +63,11 @@ public class DefaultMessage extends MessageSupport {
     @Override
     public void reset() {
         super.reset();
-        if (headers != null) {
+        if (headersShared) {
+            headers = null;
+            headersShared = false;
+            headersExposed = false;
+        } else if (headers != null) {
             headers.clear();
         }
         removeTrait(MessageTrait.ATTACHMENTS);
@@ -204,10 +218,7 @@ public class DefaultMessage extends MessageSupport {
 
     @Override
     public void setHeader(String name, Object value) {
-        if (headers == null) {
-            headers = createHeaders();
-        }
-        headers.put(name, value);
+        writableHeaders().put(name, value);
     }
 
     @Override
@@ -216,10 +227,10 @@ public class DefaultMessage extends MessageSupport {
             // force creating headers
             headers = createHeaders();
         }
-        if (headers.isEmpty()) {
+        if (headers.isEmpty() || headersShared && !headers.containsKey(name)) {
             return null;
         }
-        return headers.remove(name);
+        return writableHeaders().remove(name);
     }
 
     @Override
@@ -239,7 +250,7 @@ public class DefaultMessage extends MessageSupport {
 
         // special optimized
         if (excludePatterns == null && "*".equals(pattern)) {
-            headers.clear();
+            clearHeaders();
             return true;
         }
 
@@ -248,10 +259,11 @@ public class DefaultMessage extends MessageSupport {
         if (toBeRemoved != null) {
             if (toBeRemoved.size() == headers.size()) {
                 // special optimization when all should be removed
-                headers.clear();
+                clearHeaders();
             } else {
+                Map<String, Object> map = writableHeaders();
                 for (String key : toBeRemoved) {
-                    headers.remove(key);
+                    map.remove(key);
                 }
             }
 
@@ -263,10 +275,10 @@ public class DefaultMessage extends MessageSupport {
 
     @Override
     public Map<String, Object> getHeaders() {
-        if (headers == null) {
-            headers = createHeaders();
-        }
-        return headers;
+        // the headers can be changed by the caller, so they must be copied if shared, and cannot be shared anymore
+        Map<String, Object> answer = writableHeaders();
+        headersExposed = true;
+        return answer;
     }
 
     @Override
@@ -283,6 +295,9 @@ public class DefaultMessage extends MessageSupport {
             // should not really happen but some tests rely on using camel context that is not started
             this.headers = new HashMap<>(headers);
         }
+        this.headersShared = false;
+        // the caller has the map if it is used as is, so the headers cannot be shared
+        this.headersExposed = this.headers == headers;
     }
 
     @Override
@@ -294,6 +309,23 @@ public class DefaultMessage extends MessageSupport {
         return !headers.isEmpty();
     }
 
+    @Override
+    protected void copyHeadersFrom(Message that) {
+        // only share with plain messages, as subclasses may populate their headers lazily
+        if (that.getClass() == DefaultMessage.class && that != this && isLazyCopy()) {
+            DefaultMessage other = (DefaultMessage) that;
+            if (other.headers != null && other.headers != headers && !other.headersExposed) {
+                // share the headers until either message changes them (copy-on-write)
+                other.headersShared = true;
+                this.headers = other.headers;
+                this.headersShared = true;
+                this.headersExposed = false;
+                return;
+            }
+        }
+        super.copyHeadersFrom(that);
+    }
+
     @Override
     public DefaultMessage newInstance() {
         return new DefaultMessage(camelContext);
@@ -319,6 +351,36 @@ public class DefaultMessage extends MessageSupport {
         return map;
     }
 
+    /**
+     * Gets the headers to be changed, which are copied first if the headers are shared with a copy of this message.
+     */
+    private Map<String, Object> writableHeaders() {
+        if (headers == null) {
+            headers = createHeaders();
+        } else if (headersShared) {
+            HeadersMapFactory factory = camelContext.getCamelContextExtension().getHeadersMapFactory();
+            headers = factory != null ? factory.newMap(headers) : new HashMap<>(headers);
+            headersShared = false;
+            headersExposed = false;
+        }
+        return headers;
+    }
+
+    private void clearHeaders() {
+        if (headersShared) {
+            HeadersMapFactory factory = camelContext.getCamelContextExtension().getHeadersMapFactory();
+            headers = factory != null ? factory.newMap() : new HashMap<>();
+            headersShared = false;
+            headersExposed = false;
+        } else {
+            headers.clear();
+        }
+    }
+
+    private boolean isLazyCopy() {
+        return camelContext != null && camelContext.getCamelContextExtension().isExchangeLazyCopy();
+    }
+
     /**
      * A strategy method populate the initial set of headers on an inbound message from an underlying binding
      *
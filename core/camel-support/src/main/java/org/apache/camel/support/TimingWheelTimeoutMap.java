@@ -0,0 +1,435 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.TimeoutMap;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Comparator.comparing;
+import static org.apache.camel.TimeoutMap.Listener.Type.Evict;
+import static org.apache.camel.TimeoutMap.Listener.Type.Put;
+import static org.apache.camel.TimeoutMap.Listener.Type.Remove;
+
+/**
+ * A hashed timing wheel implementation of the {@link TimeoutMap}.
+ * <p/>
+ * The entries are hashed by their expire time into a fixed number of buckets (the wheel), where each bucket covers one
+ * purge poll interval (a tick). Adding, updating and removing an entry is O(1), and the background task only visits the
+ * buckets for the ticks that have passed since the last run, instead of scanning all the entries as
+ * {@link DefaultTimeoutMap} does. Entries which expire more than one revolution of the wheel into the future stay in
+ * their bucket until a later revolution. The timeouts have the same precision as {@link DefaultTimeoutMap}, that is the
+ * purge poll time.
+ * <p/>
+ * This implementation supports thread safe and non thread safe, in the manner you can enable locking or not. By default
+ * locking is enabled and thus we are thread safe.
+ * <p/>
+ * You must provide a {@link java.util.concurrent.ScheduledExecutorService} in the constructor which is used to schedule
+ * a background task which advances the wheel. You must also invoke {@link #start()} to startup the timeout map, before
+ * its ready to be used. And you must invoke {@link #stop()} to stop the map when no longer in use.
+ */
+public class TimingWheelTimeoutMap<K, V> extends ServiceSupport implements TimeoutMap<K, V> {
+
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    protected final Logger log = LoggerFactory.getLogger(getClass());
+
+    private final ConcurrentMap<K, WheelEntry<K, V>> map = new ConcurrentHashMap<>();
+    private final List<Set<WheelEntry<K, V>>> wheel;
+    private final int mask;
+    private final ScheduledExecutorService executor;
+    private volatile ScheduledFuture<?> future;
+    private final long purgePollTime;
+    private final Lock lock;
+    private volatile long lastTick = -1;
+
+    private final LongAdder expired = new LongAdder();
+    private volatile long lastExpiryLag;
+    private volatile long maxExpiryLag;
+
+    private final List<Listener<K, V>> listeners = new ArrayList<>(2);
+
+    public TimingWheelTimeoutMap(ScheduledExecutorService executor) {
+        this(executor, 1000);
+    }
+
+    public TimingWheelTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis) {
+        this(executor, requestMapPollTimeMillis, true);
+    }
+
+    public TimingWheelTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis, boolean useLock) {
+        this(executor, requestMapPollTimeMillis, useLock ? new ReentrantLock() : NoLock.INSTANCE);
+    }
+
+    public TimingWheelTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis, Lock lock) {
+        this(executor, requestMapPollTimeMillis, lock, DEFAULT_WHEEL_SIZE);
+    }
+
+    public TimingWheelTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis, Lock lock,
+                                 int wheelSize) {
+        ObjectHelper.notNull(executor, "ScheduledExecutorService");
+        if (requestMapPollTimeMillis <= 0) {
+            throw new IllegalArgumentException("The purge poll time must be positive, was: " + requestMapPollTimeMillis);
+        }
+        if (wheelSize <= 0) {
+            throw new IllegalArgumentException("The wheel size must be positive, was: " + wheelSize);
+        }
+        this.executor = executor;
+        this.purgePollTime = requestMapPollTimeMillis;
+        this.lock = lock;
+        // round up to power of two so the bucket can be selected by masking the tick
+        int size = Integer.highestOneBit(wheelSize);
+        if (size < wheelSize) {
+            size = size << 1;
+        }
+        this.wheel = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            this.wheel.add(ConcurrentHashMap.newKeySet());
+        }
+        this.mask = size - 1;
+    }
+
+    @Override
+    public V get(K key) {
+        WheelEntry<K, V> entry;
+        // if no contains, the lock is not necessary
+        if (!map.containsKey(key)) {
+            return null;
+        }
+        lock.lock();
+        try {
+            entry = map.get(key);
+            if (entry == null) {
+                return null;
+            }
+            updateExpireTime(entry);
+            schedule(entry);
+        } finally {
+            lock.unlock();
+        }
+        return entry.getValue();
+    }
+
+    @Override
+    public V put(K key, V value, long timeoutMillis) {
+        WheelEntry<K, V> entry = new WheelEntry<>(key, value, timeoutMillis);
+        lock.lock();
+        try {
+            updateExpireTime(entry);
+            WheelEntry<K, V> result = map.put(key, entry);
+            unschedule(result);
+            schedule(entry);
+            return unwrap(result);
+        } finally {
+            lock.unlock();
+            emitEvent(Put, key, value);
+        }
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value, long timeoutMillis) {
+        WheelEntry<K, V> entry = new WheelEntry<>(key, value, timeoutMillis);
+        WheelEntry<K, V> result = null;
+        lock.lock();
+        try {
+            updateExpireTime(entry);
+            //Just make sure we don't override the old entry
+            result = map.putIfAbsent(key, entry);
+            if (result == null) {
+                schedule(entry);
+            }
+            return unwrap(result);
+        } finally {
+            lock.unlock();
+            if (result == null) {
+                emitEvent(Put, key, value); // conditional on map being changed
+            }
+        }
+    }
+
+    @Override
+    public V remove(K key) {
+        // if no contains, the lock is not necessary
+        if (!map.containsKey(key)) {
+            return null;
+        }
+
+        V value = null;
+        lock.lock();
+        try {
+            WheelEntry<K, V> entry = map.remove(key);
+            unschedule(entry);
+            value = unwrap(entry);
+            return value;
+        } finally {
+            lock.unlock();
+            if (value != null) {
+                emitEvent(Remove, key, value); // conditional on map being changed
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * The timer task which advances the wheel and schedules another poll
+     */
+    private void purgeTask() {
+        // only purge if allowed
+        if (!isRunAllowed()) {
+            log.trace("Purge task not allowed to run");
+            return;
+        }
+
+        log.trace("Running purge task to see if any entries have been timed out");
+        try {
+            purge();
+        } catch (Exception t) {
+            // must catch and log exception otherwise the executor will now schedule next purgeTask
+            log.warn("Exception occurred during purge task. This exception will be ignored.", t);
+        }
+    }
+
+    /**
+     * Advances the wheel to the current time, and evicts the expired entries from the buckets of the ticks that has
+     * passed since last time.
+     */
+    protected void purge() {
+        log.trace("There are {} in the timeout map", map.size());
+
+        long now = currentTime();
+        long tick = now / purgePollTime;
+
+        List<WheelEntry<K, V>> expiredEntries = null;
+        lock.lock();
+        try {
+            long from = lastTick + 1;
+            // visit each bucket at most once even if we are lagging behind more than a full revolution
+            if (lastTick < 0 || tick - from > mask) {
+                from = tick - mask;
+            }
+            lastTick = Math.max(lastTick, tick);
+            if (map.isEmpty()) {
+                return;
+            }
+            for (long t = from; t <= tick; t++) {
+                Set<WheelEntry<K, V>> bucket = wheel.get((int) (t & mask));
+                if (bucket.isEmpty()) {
+                    continue;
+                }
+                for (WheelEntry<K, V> entry : bucket) {
+                    if (entry.getExpireTime() < now && isValidForEviction(entry)) {
+                        log.debug("Evicting inactive entry ID: {}", entry);
+                        if (expiredEntries == null) {
+                            expiredEntries = new ArrayList<>();
+                        }
+                        expiredEntries.add(entry);
+                    }
+                }
+            }
+
+            // if we found any expired then we need to sort, onEviction and remove
+            if (expiredEntries != null) {
+                // sort according to the expired time so we got the first expired first
+                expiredEntries.sort(comparing(TimeoutMapEntry::getExpireTime));
+
+                long lag = 0;
+                for (WheelEntry<K, V> entry : expiredEntries) {
+                    map.remove(entry.getKey(), entry);
+                    unschedule(entry);
+                    lag = Math.max(lag, now - entry.getExpireTime());
+                }
+                expired.add(expiredEntries.size());
+                lastExpiryLag = lag;
+                if (lag > maxExpiryLag) {
+                    maxExpiryLag = lag;
+                }
+            }
+        } finally {
+            lock.unlock();
+            if (expiredEntries != null) {
+                for (WheelEntry<K, V> entry : expiredEntries) {
+                    emitEvent(Evict, entry.getKey(), entry.getValue());
+                }
+            }
+        }
+    }
+
+    // Properties
+    // -------------------------------------------------------------------------
+
+    public long getPurgePollTime() {
+        return purgePollTime;
+    }
+
+    public ScheduledExecutorService getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Number of buckets in the wheel (rounded up to a power of two)
+     */
+    public int getWheelSize() {
+        return wheel.size();
+    }
+
+    /**
+     * Number of buckets in the wheel which currently holds one or more entries
+     */
+    public int getOccupiedBuckets() {
+        int answer = 0;
+        for (Set<WheelEntry<K, V>> bucket : wheel) {
+            if (!bucket.isEmpty()) {
+                answer++;
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * Total number of entries which has been evicted because they timed out
+     */
+    public long getExpiredCount() {
+        return expired.sum();
+    }
+
+    /**
+     * The time in millis the most overdue entry was evicted after its expire time, at the last eviction
+     */
+    public long getLastExpiryLag() {
+        return lastExpiryLag;
+    }
+
+    /**
+     * The maximum time in millis an entry has been evicted after its expire time
+     */
+    public long getMaxExpiryLag() {
+        return maxExpiryLag;
+    }
+
+    // Implementation methods
+    // -------------------------------------------------------------------------
+
+    private static <K, V> V unwrap(TimeoutMapEntry<K, V> entry) {
+        return entry == null ? null : entry.getValue();
+    }
+
+    private void schedule(WheelEntry<K, V> entry) {
+        // the bucket of the first tick after the entry expires (but never a tick which has already been visited)
+        long tick = Math.max(entry.getExpireTime() / purgePollTime + 1, lastTick + 1);
+        int index = (int) (tick & mask);
+        if (entry.bucket != index) {
+            unschedule(entry);
+            entry.bucket = index;
+            wheel.get(index).add(entry);
+        }
+    }
+
+    private void unschedule(WheelEntry<K, V> entry) {
+        if (entry != null && entry.bucket >= 0) {
+            wheel.get(entry.bucket).remove(entry);
+            entry.bucket = -1;
+        }
+    }
+
+    @Override
+    public void addListener(Listener<K, V> listener) {
+        this.listeners.add(listener);
+    }
+
+    private void emitEvent(Listener.Type type, K key, V value) {
+        for (Listener<K, V> listener : listeners) {
+            try {
+                listener.timeoutMapEvent(type, key, value);
+            } catch (Exception t) {
+                // Ignore
+            }
+        }
+    }
+
+    /**
+     * lets schedule each time to allow folks to change the time at runtime
+     */
+    protected void schedulePoll() {
+        future = executor.scheduleWithFixedDelay(this::purgeTask, 0, purgePollTime, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * A hook to allow derivations to avoid evicting the current entry
+     */
+    protected boolean isValidForEviction(TimeoutMapEntry<K, V> entry) {
+        return true;
+    }
+
+    protected void updateExpireTime(TimeoutMapEntry<K, V> entry) {
+        long now = currentTime();
+        entry.setExpireTime(entry.getTimeout() + now);
+    }
+
+    protected long currentTime() {
+        return System.currentTimeMillis();
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (executor.isShutdown()) {
+            throw new IllegalStateException("The ScheduledExecutorService is shutdown");
+        }
+        schedulePoll();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (future != null) {
+            future.cancel(false);
+            future = null;
+        }
+        // clear map if we stop
+        map.clear();
+        for (Set<WheelEntry<K, V>> bucket : wheel) {
+            bucket.clear();
+        }
+    }
+
+    private static final class WheelEntry<K, V> extends TimeoutMapEntry<K, V> {
+
+        // the index of the bucket in the wheel which holds this entry, or -1 if not scheduled
+        private volatile int bucket = -1;
+
+        private WheelEntry(K id, V handler, long timeout) {
+            super(id, handler, timeout);
+        }
+    }
+
+}
@@ -0,0 +1,249 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.InvalidPayloadException;
+import org.apache.camel.Message;
+import org.apache.camel.NoTypeConversionAvailableException;
+import org.apache.camel.TypeConversionException;
+import org.apache.camel.TypeConverter;
+
+/**
+ * A per call-site inline cache for type conversions.
+ * <p/>
+ * Processors, expressions and bean parameter bindings typically convert values of the same source type to the same
+ * target type over and over again. Instead of resolving the {@link TypeConverter} from the registry on each
+ * conversion, this call site remembers the converter that was resolved for the last seen source and target type pair,
+ * and invokes it directly as long as the pair does not change. If there is no converter for the pair in the registry
+ * (such as when fallback converters are needed), or the cached converter cannot convert the value, then the
+ * conversion is delegated to the {@link CamelContext#getTypeConverter()} as usual.
+ * <p/>
+ * A call site that keeps seeing different source types is regarded as megamorphic, and then stops caching and always
+ * delegates to the registry. Conversions to primitive, boolean and enum types are never cached as the registry has
+ * special handling for those. Caching is also disabled when type converter statistics is enabled, so the statistics
+ * remains accurate.
+ * <p/>
+ * This class is thread-safe. A call site is meant to be used by a single processor or expression, and not shared.
+ */
+public final class TypeConverterCallSite {
+
+    /**
+     * The number of times the cached entry can be replaced before the call site is regarded as megamorphic.
+     */
+    private static final int MEGAMORPHIC_THRESHOLD = 16;
+
+    private volatile Entry entry;
+    private volatile boolean megamorphic;
+    private int misses;
+
+    // the converter is null if the registry has no converter for the pair
+    private record Entry(Class<?> from, Class<?> to, TypeConverter converter) {
+    }
+
+    /**
+     * Converts the value to the specified type.
+     *
+     * @param  camelContext the camel context
+     * @param  type         the requested type
+     * @param  exchange     the current exchange (can be null)
+     * @param  value        the value to be converted
+     * @return              the converted value, or <tt>null</tt> if not possible to convert
+     * @see                 TypeConverter#convertTo(Class, Exchange, Object)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T convertTo(CamelContext camelContext, Class<T> type, Exchange exchange, Object value) {
+        if (type.isInstance(value)) {
+            return (T) value;
+        }
+        Object answer = tryCached(camelContext, type, exchange, value);
+        if (answer == Void.class) {
+            // the value was converted to null
+            return null;
+        } else if (answer != null) {
+            return (T) answer;
+        }
+        return camelContext.getTypeConverter().convertTo(type, exchange, value);
+    }
+
+    /**
+     * Converts the value to the specified type, and throws an exception if not possible.
+     *
+     * @param  camelContext                      the camel context
+     * @param  type                              the requested type
+     * @param  exchange                          the current exchange (can be null)
+     * @param  value                             the value to be converted
+     * @return                                   the converted value
+     * @throws NoTypeConversionAvailableException if conversion not possible
+     * @see                                      TypeConverter#mandatoryConvertTo(Class, Exchange, Object)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T mandatoryConvertTo(CamelContext camelContext, Class<T> type, Exchange exchange, Object value)
+            throws NoTypeConversionAvailableException {
+        if (type.isInstance(value)) {
+            return (T) value;
+        }
+        Object answer = tryCached(camelContext, type, exchange, value);
+        if (answer == Void.class) {
+            // the value was converted to null
+            return null;
+        } else if (answer != null) {
+            return (T) answer;
+        }
+        return camelContext.getTypeConverter().mandatoryConvertTo(type, exchange, value);
+    }
+
+    /**
+     * Returns the body of the message converted to the specified type, in the same way as
+     * {@link Message#getBody(Class)}.
+     *
+     * @param  message the message
+     * @param  type    the requested type
+     * @return         the body converted to the type, or <tt>null</tt> if not possible to convert
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getBody(Message message, Class<T> type) {
+        Object body = message.getBody();
+        if (type.isInstance(body)) {
+            return (T) body;
+        }
+        Exchange exchange = message.getExchange();
+        if (exchange == null) {
+            return message.getBody(type);
+        }
+        T answer = convertTo(exchange.getContext(), type, exchange, body);
+        if (answer == null) {
+            // fallback and try the message itself (the body has already been tried, so do not convert it again)
+            answer = exchange.getContext().getTypeConverter().tryConvertTo(type, exchange, message);
+        }
+        return answer;
+    }
+
+    /**
+     * Returns the body of the message converted to the specified type, in the same way as
+     * {@link Message#getMandatoryBody(Class)}.
+     *
+     * @param  message                 the message
+     * @param  type                    the requested type
+     * @return                         the body converted to the type
+     * @throws InvalidPayloadException is thrown if the body is not possible to convert
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getMandatoryBody(Message message, Class<T> type) throws InvalidPayloadException {
+        Object body = message.getBody();
+        if (type.isInstance(body)) {
+            return (T) body;
+        }
+        Exchange exchange = message.getExchange();
+        if (exchange == null) {
+            return message.getMandatoryBody(type);
+        }
+        try {
+            return mandatoryConvertTo(exchange.getContext(), type, exchange, body);
+        } catch (Exception cause) {
+            throw new InvalidPayloadException(exchange, type, message, cause);
+        }
+    }
+
+    /**
+     * The source type of the currently cached converter, or <tt>null</tt> if none is cached
+     */
+    public Class<?> getCachedFromType() {
+        Entry e = entry;
+        return e != null ? e.from : null;
+    }
+
+    /**
+     * The target type of the currently cached converter, or <tt>null</tt> if none is cached
+     */
+    public Class<?> getCachedToType() {
+        Entry e = entry;
+        return e != null ? e.to : null;
+    }
+
+    /**
+     * Whether this call site has seen too many different types and no longer caches converters
+     */
+    public boolean isMegamorphic() {
+        return megamorphic;
+    }
+
+    /**
+     * Converts the value using the cached converter, which is looked up from the registry (only once) when the source
+     * or target type is not the cached pair.
+     *
+     * @return the converted value ({@link Void} if converted to null), or <tt>null</tt> if the conversion must be
+     *         delegated to the type converter
+     */
+    private Object tryCached(CamelContext camelContext, Class<?> type, Exchange exchange, Object value) {
+        if (value == null) {
+            return null;
+        }
+        Entry e = entry;
+        if (e == null || e.from != value.getClass() || e.to != type) {
+            e = resolve(camelContext, type, value.getClass());
+            if (e == null) {
+                return null;
+            }
+        }
+        if (e.converter == null) {
+            return null;
+        }
+        Object answer;
+        try {
+            answer = e.converter.convertTo(type, exchange, value);
+        } catch (TypeConversionException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new TypeConversionException(value, type, ex);
+        }
+        if (answer == TypeConverter.MISS_VALUE) {
+            return null;
+        }
+        return answer;
+    }
+
+    private Entry resolve(CamelContext camelContext, Class<?> type, Class<?> from) {
+        if (megamorphic || type.isPrimitive() || type == Boolean.class || type.isEnum()) {
+            return null;
+        }
+        if (Boolean.TRUE.equals(camelContext.isTypeConverterStatisticsEnabled())) {
+            return null;
+        }
+        if (entry != null && ++misses > MEGAMORPHIC_THRESHOLD) {
+            megamorphic = true;
+            entry = null;
+            return null;
+        }
+        Entry e = new Entry(from, type, camelContext.getTypeConverterRegistry().lookup(type, from));
+        entry = e;
+        return e;
+    }
+
+    @Override
+    public String toString() {
+        Entry e = entry;
+        if (megamorphic) {
+            return "TypeConverterCallSite[megamorphic]";
+        } else if (e != null) {
+            return "TypeConverterCallSite[" + e.from.getName() + " -> " + e.to.getName() + "]";
+        } else {
+            return "TypeConverterCallSite[uninitialized]";
+        }
+    }
+}
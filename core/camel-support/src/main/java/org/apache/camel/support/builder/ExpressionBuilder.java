@@ -58,6 +58,7 @@ import org.apache.camel.support.LanguageHelper;
 import org.apache.camel.support.LanguageSupport;
 import org.apache.camel.support.PropertyBindingSupport;
 import org.apache.camel.support.SingleInputTypedLanguageSupport;
+import org.apache.camel.support.TypeConverterCallSite;
 import org.apache.camel.util.InetAddressUtil;
 import org.apache.camel.util.ObjectHelper;
 import org.apache.camel.util.StringHelper;
@@ -1292,9 +1293,11 @@ public class ExpressionBuilder {
      */
     public static <T> Expression bodyExpression(final Class<T> type) {
         return new ExpressionAdapter() {
+            private final TypeConverterCallSite callSite = new TypeConverterCallSite();
+
             @Override
             public Object evaluate(Exchange exchange) {
-                return exchange.getIn().getBody(type);
+                return callSite.getBody(exchange.getIn(), type);
             }
 
             @Override
@@ -1316,6 +1319,7 @@ public class ExpressionBuilder {
      */
     public static Expression bodyExpression(final Expression name) {
         return new ExpressionAdapter() {
+            private final TypeConverterCallSite callSite = new TypeConverterCallSite();
             private ClassResolver classResolver;
 
             @Override
@@ -1327,7 +1331,7 @@ public class ExpressionBuilder {
                 } catch (ClassNotFoundException e) {
                     throw CamelExecutionException.wrapCamelExecutionException(exchange, e);
                 }
-                return exchange.getIn().getBody(type);
+                return callSite.getBody(exchange.getIn(), type);
             }
 
             @Override
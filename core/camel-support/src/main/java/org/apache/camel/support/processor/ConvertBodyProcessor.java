@@ -29,6 +29,7 @@ import org.apache.camel.spi.RouteIdAware;
 import org.apache.camel.support.AsyncCallbackToCompletableFutureAdapter;
 import org.apache.camel.support.DefaultMessage;
 import org.apache.camel.support.ExchangeHelper;
+import org.apache.camel.support.TypeConverterCallSite;
 import org.apache.camel.support.service.ServiceSupport;
 import org.apache.camel.util.IOHelper;
 import org.apache.camel.util.ObjectHelper;
@@ -45,6 +46,7 @@ public class ConvertBodyProcessor extends ServiceSupport implements AsyncProcess
     private final Class<?> type;
     private final String charset;
     private final boolean mandatory;
+    private final TypeConverterCallSite callSite = new TypeConverterCallSite();
 
     public ConvertBodyProcessor(Class<?> type) {
         ObjectHelper.notNull(type, "type", this);
@@ -124,12 +126,12 @@ public class ConvertBodyProcessor extends ServiceSupport implements AsyncProcess
             // have explicit configured and expects to be used
             exchange.setProperty(ExchangePropertyKey.CHARSET_NAME, charset);
         }
-        // use mandatory conversion
+        // use mandatory conversion (the call site remembers the type converter for the last seen body type)
         Object value;
         if (mandatory) {
-            value = old.getMandatoryBody(type);
+            value = callSite.getMandatoryBody(old, type);
         } else {
-            value = old.getBody(type);
+            value = callSite.getBody(old, type);
         }
 
         // create a new message container so we do not drag specialized message objects along
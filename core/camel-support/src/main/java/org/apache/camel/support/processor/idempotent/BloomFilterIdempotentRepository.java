@@ -0,0 +1,426 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.Configurer;
+import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.spi.Metadata;
+import org.apache.camel.support.service.ServiceHelper;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.Scanner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An {@link org.apache.camel.spi.IdempotentRepository} which keeps a counting Bloom filter in front of another
+ * repository, so that keys that are definitely new do not cause a lookup in the (often remote) repository.
+ * <p/>
+ * A {@link #contains(String)} check for a key that is not in the filter returns <tt>false</tt> immediately, and only
+ * keys that may have been seen before are checked against the repository. As most keys are new in a typical
+ * idempotent consumer, this saves most of the lookups. Adding, removing and confirming keys is always done in the
+ * repository, and kept in sync in the filter.
+ * <p/>
+ * The filter must know all the keys in the repository to be trusted, so on startup it is warmed from the snapshot file
+ * (if configured and present), or from the keys of the repository. The snapshot is written when stopping, and is only
+ * used if the repository was stopped cleanly, which is tracked by a marker file next to the snapshot while running. The
+ * keys can be loaded from a {@link MemoryIdempotentRepository} and a {@link FileIdempotentRepository}; for other
+ * repositories the {@link #loadKeys(Consumer)} method can be overridden, or {@link #setAssumeComplete(boolean)} can be
+ * set when the repository is known to be empty. Until the filter has been warmed every check goes to the repository.
+ * Likewise, the filter only knows the keys that are added through this repository, so when the repository is shared
+ * with other nodes then every node must use a Bloom filter repository in front of it, or the filter should not be used.
+ */
+@Metadata(label = "bean",
+          description = "An IdempotentRepository which keeps a Bloom filter in front of another repository to skip"
+                        + " lookups for keys that are definitely new.",
+          annotations = { "interfaceName=org.apache.camel.spi.IdempotentRepository" })
+@Configurer(metadataOnly = true)
+@ManagedResource(description = "Bloom filter idempotent repository")
+public class BloomFilterIdempotentRepository extends ServiceSupport implements IdempotentRepository {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BloomFilterIdempotentRepository.class);
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder savedLookups = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private CountingBloomFilter filter;
+    private volatile boolean warm;
+
+    @Metadata(description = "The idempotent repository to keep the Bloom filter in front of", required = true)
+    private IdempotentRepository repository;
+    @Metadata(description = "The expected number of keys in the repository. The filter is sized to have the given"
+                            + " false positive probability at this number of keys, and the probability increases if"
+                            + " more keys are added.",
+              defaultValue = "100000")
+    private long expectedInsertions = 100000;
+    @Metadata(description = "The desired false positive probability of the filter, which is the probability that a"
+                            + " new key still has to be checked against the repository.",
+              defaultValue = "0.01")
+    private double falsePositiveProbability = 0.01;
+    @Metadata(description = "File to store a snapshot of the filter when stopping, which is used to warm the filter"
+                            + " on startup instead of loading all the keys from the repository. The snapshot is only"
+                            + " used if the repository was stopped cleanly.")
+    private File snapshotFile;
+    @Metadata(description = "Whether to trust the filter even when it could not be warmed from the snapshot file or"
+                            + " from the keys of the repository, such as when the repository is known to be empty. The"
+                            + " filter is then written to the snapshot file (if configured) when stopping, and can be"
+                            + " used to warm the filter on next startup.",
+              defaultValue = "false")
+    private boolean assumeComplete;
+
+    public BloomFilterIdempotentRepository() {
+    }
+
+    public BloomFilterIdempotentRepository(IdempotentRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Creates a new Bloom filter repository in front of the given repository.
+     *
+     * @param repository the repository
+     */
+    public static IdempotentRepository bloomFilterIdempotentRepository(IdempotentRepository repository) {
+        return new BloomFilterIdempotentRepository(repository);
+    }
+
+    /**
+     * Creates a new Bloom filter repository in front of the given repository.
+     *
+     * @param repository               the repository
+     * @param expectedInsertions       the expected number of keys
+     * @param falsePositiveProbability the desired false positive probability
+     */
+    public static IdempotentRepository bloomFilterIdempotentRepository(
+            IdempotentRepository repository, long expectedInsertions, double falsePositiveProbability) {
+        BloomFilterIdempotentRepository answer = new BloomFilterIdempotentRepository(repository);
+        answer.setExpectedInsertions(expectedInsertions);
+        answer.setFalsePositiveProbability(falsePositiveProbability);
+        return answer;
+    }
+
+    @Override
+    @ManagedOperation(description = "Adds the key to the store")
+    public boolean add(String key) {
+        return doAdd(null, key);
+    }
+
+    @Override
+    public boolean add(Exchange exchange, String key) {
+        return doAdd(exchange, key);
+    }
+
+    @Override
+    @ManagedOperation(description = "Does the store contain the given key")
+    public boolean contains(String key) {
+        return doContains(null, key);
+    }
+
+    @Override
+    public boolean contains(Exchange exchange, String key) {
+        return doContains(exchange, key);
+    }
+
+    @Override
+    @ManagedOperation(description = "Remove the key from the store")
+    public boolean remove(String key) {
+        return doRemove(null, key);
+    }
+
+    @Override
+    public boolean remove(Exchange exchange, String key) {
+        return doRemove(exchange, key);
+    }
+
+    @Override
+    public boolean confirm(String key) {
+        return repository.confirm(key);
+    }
+
+    @Override
+    public boolean confirm(Exchange exchange, String key) {
+        return repository.confirm(exchange, key);
+    }
+
+    @Override
+    @ManagedOperation(description = "Clear the store")
+    public void clear() {
+        repository.clear();
+        if (filter != null) {
+            filter.clear();
+            // the repository is empty so the filter knows all the keys
+            warm = true;
+        }
+    }
+
+    private boolean doAdd(Exchange exchange, String key) {
+        boolean answer = exchange != null ? repository.add(exchange, key) : repository.add(key);
+        if (answer || !filter.mightContain(key)) {
+            filter.put(key);
+        }
+        return answer;
+    }
+
+    private boolean doContains(Exchange exchange, String key) {
+        lookups.increment();
+        boolean known = filter.mightContain(key);
+        if (!known && warm) {
+            savedLookups.increment();
+            return false;
+        }
+        boolean answer = exchange != null ? repository.contains(exchange, key) : repository.contains(key);
+        if (answer && !known) {
+            filter.put(key);
+        } else if (!answer && known) {
+            falsePositives.increment();
+        }
+        return answer;
+    }
+
+    private boolean doRemove(Exchange exchange, String key) {
+        boolean answer = exchange != null ? repository.remove(exchange, key) : repository.remove(key);
+        if (answer && filter.mightContain(key)) {
+            filter.remove(key);
+        }
+        return answer;
+    }
+
+    public IdempotentRepository getRepository() {
+        return repository;
+    }
+
+    public void setRepository(IdempotentRepository repository) {
+        this.repository = repository;
+    }
+
+    @ManagedAttribute(description = "The expected number of keys in the repository")
+    public long getExpectedInsertions() {
+        return expectedInsertions;
+    }
+
+    public void setExpectedInsertions(long expectedInsertions) {
+        this.expectedInsertions = expectedInsertions;
+    }
+
+    @ManagedAttribute(description = "The desired false positive probability of the filter")
+    public double getFalsePositiveProbability() {
+        return falsePositiveProbability;
+    }
+
+    public void setFalsePositiveProbability(double falsePositiveProbability) {
+        this.falsePositiveProbability = falsePositiveProbability;
+    }
+
+    public File getSnapshotFile() {
+        return snapshotFile;
+    }
+
+    public void setSnapshotFile(File snapshotFile) {
+        this.snapshotFile = snapshotFile;
+    }
+
+    public boolean isAssumeComplete() {
+        return assumeComplete;
+    }
+
+    public void setAssumeComplete(boolean assumeComplete) {
+        this.assumeComplete = assumeComplete;
+    }
+
+    @ManagedAttribute(description = "Whether the filter has been warmed with the keys of the repository")
+    public boolean isWarm() {
+        return warm;
+    }
+
+    @ManagedAttribute(description = "The number of keys in the filter")
+    public long getFilterSize() {
+        return filter != null ? filter.size() : 0;
+    }
+
+    @ManagedAttribute(description = "The memory used by the filter in bytes")
+    public long getFilterSizeInBytes() {
+        return filter != null ? filter.getSizeInBytes() : 0;
+    }
+
+    @ManagedAttribute(description = "The estimated false positive probability of the filter with its current keys")
+    public double getExpectedFalsePositiveProbability() {
+        return filter != null ? filter.expectedFalsePositiveProbability() : 0;
+    }
+
+    @ManagedAttribute(description = "Number of contains checks")
+    public long getLookupCount() {
+        return lookups.sum();
+    }
+
+    @ManagedAttribute(description = "Number of contains checks answered without a lookup in the repository")
+    public long getSavedLookupCount() {
+        return savedLookups.sum();
+    }
+
+    @ManagedAttribute(description = "Number of contains checks where the key was not in the repository after all")
+    public long getFalsePositiveCount() {
+        return falsePositives.sum();
+    }
+
+    @ManagedAttribute(description = "The observed false positive rate, which is the ratio of new keys that had to be"
+                                    + " checked against the repository")
+    public double getFalsePositiveRate() {
+        long fp = falsePositives.sum();
+        long total = fp + savedLookups.sum();
+        return total > 0 ? (double) fp / total : 0;
+    }
+
+    @ManagedOperation(description = "Reset the statistics")
+    public void resetStatistics() {
+        lookups.reset();
+        savedLookups.reset();
+        falsePositives.reset();
+    }
+
+    /**
+     * Loads all the keys of the repository, used for warming the filter on startup when there is no snapshot.
+     *
+     * @param  keys        consumer to call with each key
+     * @return             <tt>true</tt> if the keys were loaded, or <tt>false</tt> if the repository does not support
+     *                     loading its keys
+     * @throws IOException is thrown if error loading the keys
+     */
+    protected boolean loadKeys(Consumer<String> keys) throws IOException {
+        if (repository instanceof MemoryIdempotentRepository memory) {
+            memory.getCache().keySet().forEach(keys);
+            return true;
+        } else if (repository instanceof FileIdempotentRepository file) {
+            try (Scanner scanner = new Scanner(file.getFileStore(), null, "\n")) {
+                while (scanner.hasNext()) {
+                    keys.accept(scanner.next());
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Loads the filter from the snapshot file
+     *
+     * @return <tt>true</tt> if the filter was loaded
+     */
+    protected boolean loadSnapshot() throws IOException {
+        if (snapshotFile == null || !snapshotFile.isFile()) {
+            return false;
+        }
+        boolean answer;
+        try (DataInputStream in
+                = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile.toPath())))) {
+            answer = filter.readFrom(in);
+        }
+        if (!answer) {
+            LOG.info("Ignoring Bloom filter snapshot: {} as it was created with different settings", snapshotFile);
+        }
+        return answer;
+    }
+
+    /**
+     * Writes the filter to the snapshot file
+     */
+    protected void writeSnapshot() throws IOException {
+        // write to a temporary file first so a crash does not leave a broken snapshot
+        File tmp = new File(snapshotFile.getPath() + ".tmp");
+        try (DataOutputStream out
+                = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp.toPath())))) {
+            filter.writeTo(out);
+        }
+        Files.move(tmp.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private File getMarkerFile() {
+        return new File(snapshotFile.getPath() + ".running");
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ObjectHelper.notNull(repository, "repository", this);
+        ServiceHelper.startService(repository);
+
+        if (filter == null) {
+            filter = new CountingBloomFilter(expectedInsertions, falsePositiveProbability);
+        }
+        if (!warm) {
+            // the marker is only removed on a clean stop, so if it is present then keys may have been added to the
+            // repository after the snapshot was written, and the filter cannot be trusted without loading the keys
+            boolean clean = snapshotFile == null || !getMarkerFile().exists();
+            if (!clean) {
+                LOG.info("Ignoring Bloom filter snapshot: {} as the repository was not stopped cleanly", snapshotFile);
+            }
+            if (clean && loadSnapshot()) {
+                warm = true;
+                LOG.debug("Loaded Bloom filter with {} keys from snapshot: {}", filter.size(), snapshotFile);
+            } else {
+                filter.clear();
+                warm = loadKeys(filter::put);
+                if (warm) {
+                    LOG.debug("Loaded Bloom filter with {} keys from repository: {}", filter.size(), repository);
+                } else if (assumeComplete && clean) {
+                    warm = true;
+                    LOG.debug("Assuming the Bloom filter knows all the keys in repository: {}", repository);
+                } else {
+                    LOG.warn("Cannot load the keys from repository: {} to warm the Bloom filter."
+                             + " All checks will be done in the repository.",
+                            repository);
+                }
+            }
+        }
+        if (snapshotFile != null) {
+            File parent = snapshotFile.getAbsoluteFile().getParentFile();
+            if (parent != null && !parent.exists() && !parent.mkdirs()) {
+                LOG.warn("Cannot create the snapshot directory at: {}", parent);
+            }
+            Files.write(getMarkerFile().toPath(), new byte[0]);
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (snapshotFile != null) {
+            // only a warm filter knows all the keys and can be used on next startup, otherwise the marker is kept
+            // so the filter is not assumed to be complete on next startup either
+            if (warm) {
+                writeSnapshot();
+                Files.deleteIfExists(getMarkerFile().toPath());
+            } else {
+                Files.deleteIfExists(snapshotFile.toPath());
+            }
+        }
+        ServiceHelper.stopService(repository);
+        warm = false;
+    }
+}
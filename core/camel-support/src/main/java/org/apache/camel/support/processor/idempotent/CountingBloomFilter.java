@@ -0,0 +1,252 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A counting Bloom filter with 4-bit counters packed into longs, which supports removal of keys.
+ * <p/>
+ * The counters are updated with CAS so the filter is thread-safe without locking. A counter that reaches its maximum
+ * value stays at the maximum, which means the keys mapping to it can never be removed from the filter again, but it
+ * never causes a key to be reported as absent when it was added (no false negatives).
+ */
+final class CountingBloomFilter {
+
+    private static final int COUNTERS_PER_WORD = 16;
+    private static final long COUNTER_MASK = 0xFL;
+    private static final int MAGIC = 0x43424631; // CBF1
+
+    private final AtomicLongArray counters;
+    private final int numCounters;
+    private final int numHashFunctions;
+    private final LongAdder size = new LongAdder();
+
+    CountingBloomFilter(long expectedInsertions, double falsePositiveProbability) {
+        this(optimalNumOfCounters(expectedInsertions, falsePositiveProbability),
+             optimalNumOfHashFunctions(expectedInsertions,
+                     optimalNumOfCounters(expectedInsertions, falsePositiveProbability)));
+    }
+
+    CountingBloomFilter(int numCounters, int numHashFunctions) {
+        this.numCounters = numCounters;
+        this.numHashFunctions = numHashFunctions;
+        this.counters = new AtomicLongArray((numCounters + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD);
+    }
+
+    static int optimalNumOfCounters(long expectedInsertions, double falsePositiveProbability) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("ExpectedInsertions must be positive, was: " + expectedInsertions);
+        }
+        if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException(
+                    "FalsePositiveProbability must be between 0 and 1, was: " + falsePositiveProbability);
+        }
+        double m = -expectedInsertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2));
+        return (int) Math.min(Integer.MAX_VALUE - COUNTERS_PER_WORD, Math.max(COUNTERS_PER_WORD, Math.ceil(m)));
+    }
+
+    static int optimalNumOfHashFunctions(long expectedInsertions, int numCounters) {
+        return Math.max(1, (int) Math.round((double) numCounters / expectedInsertions * Math.log(2)));
+    }
+
+    /**
+     * Adds the key to the filter
+     */
+    void put(String key) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numHashFunctions; i++) {
+            increment(index(h1, h2, i));
+        }
+        size.increment();
+    }
+
+    /**
+     * Whether the key may have been added to the filter. A <tt>false</tt> answer means the key has definitely not been
+     * added.
+     */
+    boolean mightContain(String key) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numHashFunctions; i++) {
+            if (get(index(h1, h2, i)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes the key from the filter. The key must have been added before, otherwise keys sharing counters with it
+     * may be reported as absent.
+     */
+    void remove(String key) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numHashFunctions; i++) {
+            decrement(index(h1, h2, i));
+        }
+        size.decrement();
+    }
+
+    void clear() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+        size.reset();
+    }
+
+    /**
+     * The number of keys added (and not removed) to the filter
+     */
+    long size() {
+        return size.sum();
+    }
+
+    int getNumCounters() {
+        return numCounters;
+    }
+
+    int getNumHashFunctions() {
+        return numHashFunctions;
+    }
+
+    /**
+     * The memory used by the counters in bytes
+     */
+    long getSizeInBytes() {
+        return (long) counters.length() * Long.BYTES;
+    }
+
+    /**
+     * Estimates the current false positive probability from the number of counters in use.
+     */
+    double expectedFalsePositiveProbability() {
+        long used = 0;
+        for (int i = 0; i < counters.length(); i++) {
+            long word = counters.get(i);
+            while (word != 0) {
+                if ((word & COUNTER_MASK) != 0) {
+                    used++;
+                }
+                word >>>= 4;
+            }
+        }
+        return Math.pow((double) used / numCounters, numHashFunctions);
+    }
+
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(numCounters);
+        out.writeInt(numHashFunctions);
+        out.writeLong(size());
+        for (int i = 0; i < counters.length(); i++) {
+            out.writeLong(counters.get(i));
+        }
+    }
+
+    /**
+     * Reads the counters written by {@link #writeTo(DataOutputStream)} into this filter.
+     *
+     * @return <tt>false</tt> if the data was written by a filter with a different layout, and this filter is unchanged
+     */
+    boolean readFrom(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != numCounters || in.readInt() != numHashFunctions) {
+            return false;
+        }
+        long keys = in.readLong();
+        long[] words = new long[counters.length()];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = in.readLong();
+        }
+        for (int i = 0; i < words.length; i++) {
+            counters.set(i, words[i]);
+        }
+        size.reset();
+        size.add(keys);
+        return true;
+    }
+
+    private int index(int h1, int h2, int i) {
+        int combined = h1 + i * h2;
+        if (combined < 0) {
+            combined = ~combined;
+        }
+        return combined % numCounters;
+    }
+
+    private long get(int index) {
+        long word = counters.get(index / COUNTERS_PER_WORD);
+        return (word >>> shift(index)) & COUNTER_MASK;
+    }
+
+    private void increment(int index) {
+        int pos = index / COUNTERS_PER_WORD;
+        int shift = shift(index);
+        long word;
+        do {
+            word = counters.get(pos);
+            if (((word >>> shift) & COUNTER_MASK) == COUNTER_MASK) {
+                // saturated
+                return;
+            }
+        } while (!counters.compareAndSet(pos, word, word + (1L << shift)));
+    }
+
+    private void decrement(int index) {
+        int pos = index / COUNTERS_PER_WORD;
+        int shift = shift(index);
+        long word;
+        do {
+            word = counters.get(pos);
+            long count = (word >>> shift) & COUNTER_MASK;
+            if (count == 0 || count == COUNTER_MASK) {
+                // not present or saturated (which cannot be safely decremented)
+                return;
+            }
+        } while (!counters.compareAndSet(pos, word, word - (1L << shift)));
+    }
+
+    private static int shift(int index) {
+        return (index % COUNTERS_PER_WORD) * 4;
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the key with a final avalanche, which is split into two 32-bit hashes for double hashing.
+     */
+    private static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,326 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.Configurer;
+import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.spi.Metadata;
+import org.apache.camel.support.LRUCacheFactory;
+import org.apache.camel.support.processor.store.SegmentedLogStore;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A file based implementation of {@link org.apache.camel.spi.IdempotentRepository} for large stores.
+ * <p/>
+ * Unlike {@link FileIdempotentRepository}, which rewrites or scans the whole file store, the keys are stored in a
+ * {@link SegmentedLogStore} in the given directory: keys are appended to log segments (removed keys as tombstones),
+ * and looked up using a memory mapped hash index. Starting the repository only needs to open the index, and keys
+ * that are not in the 1st-level in-memory cache are found with a single read from disk. Sealed segments with mostly
+ * removed keys are compacted in the background, and the changes are synced to disk in batches.
+ */
+@Metadata(label = "bean",
+          description = "A file based idempotent repository for large stores, which appends the keys to log"
+                        + " segments and looks them up using a memory mapped index.",
+          annotations = { "interfaceName=org.apache.camel.spi.IdempotentRepository" })
+@Configurer(metadataOnly = true)
+@ManagedResource(description = "Segmented file based idempotent repository")
+public class SegmentedFileIdempotentRepository extends ServiceSupport
+        implements IdempotentRepository, CamelContextAware {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SegmentedFileIdempotentRepository.class);
+
+    private final Lock cacheAndStoreLock = new ReentrantLock();
+    private CamelContext camelContext;
+    private Map<String, Object> cache;
+    private SegmentedLogStore store;
+    private ScheduledExecutorService executorService;
+
+    @Metadata(description = "The directory of the log segments and index", required = true)
+    private File directory;
+    @Metadata(description = "The maximum size of the 1st-level in-memory cache", defaultValue = "1000")
+    private int cacheSize;
+    @Metadata(description = "The maximum size in bytes of a log segment before a new segment is started."
+                            + " The default value is 64mb",
+              defaultValue = "67108864")
+    private long maxSegmentSize = 64 * 1024 * 1024L;
+    @Metadata(description = "The maximum time in millis changes may be kept before being synced to disk."
+                            + " Changes are synced in batches, and 0 syncs on every change.",
+              defaultValue = "1000")
+    private long syncInterval = 1000;
+    @Metadata(description = "A log segment is compacted when the ratio of live keys in the segment is below this"
+                            + " threshold",
+              defaultValue = "0.5")
+    private double compactionThreshold = 0.5;
+
+    public SegmentedFileIdempotentRepository() {
+    }
+
+    public SegmentedFileIdempotentRepository(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Creates a new segmented file based repository using a {@link org.apache.camel.support.LRUCache} as 1st level
+     * cache with a default of 1000 entries in the cache.
+     *
+     * @param directory the directory of the store
+     */
+    public static IdempotentRepository segmentedFileIdempotentRepository(File directory) {
+        return new SegmentedFileIdempotentRepository(directory);
+    }
+
+    @Override
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    @Override
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    @Override
+    @ManagedOperation(description = "Adds the key to the store")
+    public boolean add(String key) {
+        cacheAndStoreLock.lock();
+        try {
+            if (cache.containsKey(key)) {
+                return false;
+            }
+            // always register the most used keys in the LRUCache
+            cache.put(key, key);
+            return store.putIfAbsent(key, "");
+        } finally {
+            cacheAndStoreLock.unlock();
+        }
+    }
+
+    @Override
+    @ManagedOperation(description = "Does the store contain the given key")
+    public boolean contains(String key) {
+        cacheAndStoreLock.lock();
+        try {
+            // check 1st-level first and then fallback to check the store
+            return cache.containsKey(key) || store.containsKey(key);
+        } finally {
+            cacheAndStoreLock.unlock();
+        }
+    }
+
+    @Override
+    @ManagedOperation(description = "Remove the key from the store")
+    public boolean remove(String key) {
+        cacheAndStoreLock.lock();
+        try {
+            cache.remove(key);
+            return store.remove(key);
+        } finally {
+            cacheAndStoreLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean confirm(String key) {
+        // noop
+        return true;
+    }
+
+    @Override
+    @ManagedOperation(description = "Clear the store (danger this removes all entries)")
+    public void clear() {
+        cacheAndStoreLock.lock();
+        try {
+            cache.clear();
+            store.clear();
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        } finally {
+            cacheAndStoreLock.unlock();
+        }
+    }
+
+    /**
+     * Compacts the log segments with mostly removed keys
+     */
+    @ManagedOperation(description = "Compacts the log segments with mostly removed keys")
+    public int compact() throws IOException {
+        return store.compact();
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(File directory) {
+        this.directory = directory;
+    }
+
+    @ManagedAttribute(description = "The directory of the store")
+    public String getDirectoryPath() {
+        return directory.getPath();
+    }
+
+    @ManagedAttribute(description = "The current 1st-level cache size (elements in cache)")
+    public int getCacheSize() {
+        if (cache != null) {
+            return cache.size();
+        }
+        return 0;
+    }
+
+    /**
+     * Sets the 1st-level maximum cache size.
+     */
+    public void setCacheSize(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    @ManagedAttribute(description = "The 1st-level maximum cache size")
+    public int getMaxCacheSize() {
+        return cacheSize;
+    }
+
+    @ManagedAttribute(description = "The maximum size in bytes of a log segment")
+    public long getMaxSegmentSize() {
+        return maxSegmentSize;
+    }
+
+    /**
+     * Sets the maximum size in bytes of a log segment before a new segment is started.
+     * <p/>
+     * The default is 64mb.
+     */
+    public void setMaxSegmentSize(long maxSegmentSize) {
+        this.maxSegmentSize = maxSegmentSize;
+    }
+
+    @ManagedAttribute(description = "The maximum time in millis changes may be kept before being synced to disk")
+    public long getSyncInterval() {
+        return syncInterval;
+    }
+
+    /**
+     * Sets the maximum time in millis changes may be kept before being synced to disk. Changes are synced in batches,
+     * and 0 syncs on every change.
+     * <p/>
+     * The default is 1000 millis.
+     */
+    public void setSyncInterval(long syncInterval) {
+        this.syncInterval = syncInterval;
+    }
+
+    @ManagedAttribute(description = "The ratio of live keys in a log segment below which the segment is compacted")
+    public double getCompactionThreshold() {
+        return compactionThreshold;
+    }
+
+    /**
+     * Sets the ratio of live keys in a log segment below which the segment is compacted.
+     * <p/>
+     * The default is 0.5.
+     */
+    public void setCompactionThreshold(double compactionThreshold) {
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    @ManagedAttribute(description = "The number of keys in the store")
+    public long getStoreSize() {
+        return store != null ? store.size() : 0;
+    }
+
+    @ManagedAttribute(description = "The number of log segments")
+    public int getSegmentCount() {
+        return store != null ? store.getSegmentCount() : 0;
+    }
+
+    @ManagedAttribute(description = "The total size in bytes of the log segments")
+    public long getLogSize() {
+        return store != null ? store.getLogSize() : 0;
+    }
+
+    @ManagedAttribute(description = "The number of log segments compacted")
+    public long getCompactionCount() {
+        return store != null ? store.getCompactionCount() : 0;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ObjectHelper.notNull(directory, "directory", this);
+
+        if (cache == null) {
+            // default use a 1st level cache
+            cache = LRUCacheFactory.newLRUCache(cacheSize <= 0 ? 1000 : cacheSize);
+        }
+
+        store = new SegmentedLogStore(directory);
+        store.setMaxSegmentSize(maxSegmentSize);
+        store.setSyncInterval(syncInterval);
+        store.setCompactionThreshold(compactionThreshold);
+        store.setCompactOnRoll(camelContext == null);
+        store.open();
+        LOG.debug("Loaded idempotent store: {} with {} keys", directory, store.size());
+
+        if (camelContext != null) {
+            // sync and compact in the background
+            SegmentedLogStore target = store;
+            executorService = camelContext.getExecutorServiceManager().newSingleThreadScheduledExecutor(this,
+                    "SegmentedFileIdempotentRepository");
+            long delay = syncInterval > 0 ? syncInterval : 1000;
+            executorService.scheduleWithFixedDelay(() -> maintenance(target), delay, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (executorService != null) {
+            camelContext.getExecutorServiceManager().shutdown(executorService);
+            executorService = null;
+        }
+        if (store != null) {
+            store.close();
+            store = null;
+        }
+        cache.clear();
+    }
+
+    private void maintenance(SegmentedLogStore store) {
+        try {
+            store.sync();
+            store.compact();
+        } catch (Exception e) {
+            LOG.warn("Error syncing or compacting idempotent store: {} due to {}. This exception is ignored.",
+                    directory, e.getMessage(), e);
+        }
+    }
+}
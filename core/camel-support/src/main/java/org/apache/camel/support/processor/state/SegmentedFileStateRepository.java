@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.state;
+
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.StateRepository;
+import org.apache.camel.support.LRUCacheFactory;
+import org.apache.camel.support.processor.store.SegmentedLogStore;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This {@link SegmentedFileStateRepository} class is a file-based implementation of a {@link StateRepository} for
+ * large stores.
+ * <p/>
+ * Unlike {@link FileStateRepository}, which keeps all the state in memory and rewrites the file store, each change is
+ * appended to the log segments of a {@link SegmentedLogStore} in the given directory, and the state is looked up using
+ * a memory mapped hash index, with a 1st-level in-memory cache of the most recently used keys. Keys and values may
+ * contain any character.
+ */
+@ManagedResource(description = "Segmented file based state repository")
+public class SegmentedFileStateRepository extends ServiceSupport
+        implements StateRepository<String, String>, CamelContextAware {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SegmentedFileStateRepository.class);
+
+    private final Lock cacheAndStoreLock = new ReentrantLock();
+    private CamelContext camelContext;
+    private Map<String, String> cache;
+    private SegmentedLogStore store;
+    private ScheduledExecutorService executorService;
+    private File directory;
+    private int cacheSize;
+    private long maxSegmentSize = 64 * 1024 * 1024L;
+    private long syncInterval = 1000;
+    private double compactionThreshold = 0.5;
+
+    public SegmentedFileStateRepository() {
+    }
+
+    public SegmentedFileStateRepository(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Creates a new segmented file based repository using a {@link org.apache.camel.support.LRUCache} with a default
+     * of 1000 entries as 1st level cache.
+     *
+     * @param directory the directory of the store
+     */
+    public static SegmentedFileStateRepository segmentedFileStateRepository(File directory) {
+        return new SegmentedFileStateRepository(directory);
+    }
+
+    @Override
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    @Override
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    @Override
+    @ManagedOperation(description = "Adds the value of the given key to the store")
+    public void setState(String key, String value) {
+        cacheAndStoreLock.lock();
+        try {
+            store.put(key, value);
+            cache.put(key, value);
+        } finally {
+            cacheAndStoreLock.unlock();
+        }
+    }
+
+    @Override
+    @ManagedOperation(description = "Gets the value of the given key from store")
+    public String getState(String key) {
+        cacheAndStoreLock.lock();
+        try {
+            String answer = cache.get(key);
+            if (answer == null) {
+                answer = store.get(key);
+                if (answer != null) {
+                    cache.put(key, answer);
+                }
+            }
+            return answer;
+        } finally {
+            cacheAndStoreLock.unlock();
+        }
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(File directory) {
+        this.directory = directory;
+    }
+
+    @ManagedAttribute(description = "The directory of the store")
+    public String getDirectoryPath() {
+        return directory.getPath();
+    }
+
+    @ManagedAttribute(description = "The current 1st-level cache size (elements in cache)")
+    public int getCacheSize() {
+        if (cache != null) {
+            return cache.size();
+        }
+        return 0;
+    }
+
+    /**
+     * Sets the 1st-level maximum cache size.
+     * <p/>
+     * The default is 1000.
+     */
+    public void setCacheSize(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    @ManagedAttribute(description = "The maximum size in bytes of a log segment")
+    public long getMaxSegmentSize() {
+        return maxSegmentSize;
+    }
+
+    /**
+     * Sets the maximum size in bytes of a log segment before a new segment is started.
+     * <p/>
+     * The default is 64mb.
+     */
+    public void setMaxSegmentSize(long maxSegmentSize) {
+        this.maxSegmentSize = maxSegmentSize;
+    }
+
+    @ManagedAttribute(description = "The maximum time in millis changes may be kept before being synced to disk")
+    public long getSyncInterval() {
+        return syncInterval;
+    }
+
+    /**
+     * Sets the maximum time in millis changes may be kept before being synced to disk. Changes are synced in batches,
+     * and 0 syncs on every change.
+     * <p/>
+     * The default is 1000 millis.
+     */
+    public void setSyncInterval(long syncInterval) {
+        this.syncInterval = syncInterval;
+    }
+
+    @ManagedAttribute(description = "The ratio of live keys in a log segment below which the segment is compacted")
+    public double getCompactionThreshold() {
+        return compactionThreshold;
+    }
+
+    /**
+     * Sets the ratio of live keys in a log segment below which the segment is compacted.
+     * <p/>
+     * The default is 0.5.
+     */
+    public void setCompactionThreshold(double compactionThreshold) {
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    @ManagedAttribute(description = "The number of keys in the store")
+    public long getStoreSize() {
+        return store != null ? store.size() : 0;
+    }
+
+    @ManagedAttribute(description = "The number of log segments")
+    public int getSegmentCount() {
+        return store != null ? store.getSegmentCount() : 0;
+    }
+
+    @ManagedAttribute(description = "The total size in bytes of the log segments")
+    public long getLogSize() {
+        return store != null ? store.getLogSize() : 0;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ObjectHelper.notNull(directory, "directory", this);
+
+        if (cache == null) {
+            // default use a 1st level cache
+            cache = LRUCacheFactory.newLRUCache(cacheSize <= 0 ? 1000 : cacheSize);
+        }
+
+        store = new SegmentedLogStore(directory);
+        store.setMaxSegmentSize(maxSegmentSize);
+        store.setSyncInterval(syncInterval);
+        store.setCompactionThreshold(compactionThreshold);
+        store.setCompactOnRoll(camelContext == null);
+        store.open();
+        LOG.debug("Loaded state store: {} with {} keys", directory, store.size());
+
+        if (camelContext != null) {
+            // sync and compact in the background
+            SegmentedLogStore target = store;
+            executorService = camelContext.getExecutorServiceManager().newSingleThreadScheduledExecutor(this,
+                    "SegmentedFileStateRepository");
+            long delay = syncInterval > 0 ? syncInterval : 1000;
+            executorService.scheduleWithFixedDelay(() -> maintenance(target), delay, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (executorService != null) {
+            camelContext.getExecutorServiceManager().shutdown(executorService);
+            executorService = null;
+        }
+        if (store != null) {
+            store.close();
+            store = null;
+        }
+        cache.clear();
+    }
+
+    private void maintenance(SegmentedLogStore store) {
+        try {
+            store.sync();
+            store.compact();
+        } catch (Exception e) {
+            LOG.warn("Error syncing or compacting state store: {} due to {}. This exception is ignored.", directory,
+                    e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.store;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A memory mapped open addressing hash index of the records in a {@link SegmentedLogStore}.
+ * <p/>
+ * Each slot holds the 64-bit hash of the key and the location (segment, offset and length) of the latest record for
+ * the key, so a lookup costs a probe in the mapped index and a single read of the record to verify the key. The header
+ * holds the position in the log up to which the index is complete, so on restart only the records after that position
+ * need to be replayed.
+ * <p/>
+ * The pages of the mapped file can be written to disk by the OS at any time, so changes to the slots are kept in memory
+ * until {@link #forceSlots()} is called after the records they point to have been synced. Otherwise after a crash a
+ * slot could point to a record which was never written to disk, losing the previous record of the key.
+ */
+final class LogIndex implements Closeable {
+
+    static final int EMPTY = 0;
+    static final int DELETED = -1;
+
+    private static final int MAGIC = 0x434c4958;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4096;
+    private static final int SLOT_SIZE = 24;
+    private static final int SLOTS_PER_CHUNK = 1 << 25;
+
+    private static final int H_MAGIC = 0;
+    private static final int H_VERSION = 4;
+    private static final int H_CAPACITY = 8;
+    private static final int H_SIZE = 16;
+    private static final int H_USED = 24;
+    private static final int H_SEGMENT = 32;
+    private static final int H_OFFSET = 40;
+
+    private final File file;
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final MappedByteBuffer[] chunks;
+    private final long capacity;
+    // the slots changed since the last flush, which must not be written to the mapped file yet
+    private final Map<Long, long[]> pending = new HashMap<>();
+    private long size;
+    private long used;
+
+    private LogIndex(File file, FileChannel channel, long capacity) throws IOException {
+        this.file = file;
+        this.channel = channel;
+        this.capacity = capacity;
+        this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+        int count = (int) ((capacity + SLOTS_PER_CHUNK - 1) / SLOTS_PER_CHUNK);
+        this.chunks = new MappedByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            long slots = Math.min(SLOTS_PER_CHUNK, capacity - (long) i * SLOTS_PER_CHUNK);
+            chunks[i] = channel.map(FileChannel.MapMode.READ_WRITE,
+                    HEADER_SIZE + (long) i * SLOTS_PER_CHUNK * SLOT_SIZE, slots * SLOT_SIZE);
+        }
+    }
+
+    /**
+     * Creates a new empty index, replacing any existing file.
+     *
+     * @param file     the index file
+     * @param capacity the number of slots, must be a power of two
+     */
+    static LogIndex create(File file, long capacity) throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            LogIndex answer = new LogIndex(file, channel, capacity);
+            answer.header.putInt(H_MAGIC, MAGIC);
+            answer.header.putInt(H_VERSION, VERSION);
+            answer.header.putLong(H_CAPACITY, capacity);
+            answer.setPosition(0, 0);
+            answer.writeCounters();
+            return answer;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens an existing index.
+     *
+     * @return the index, or <tt>null</tt> if the file does not exist or is not a valid index
+     */
+    static LogIndex open(File file) throws IOException {
+        if (!file.isFile() || file.length() < HEADER_SIZE) {
+            return null;
+        }
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            long capacity = header.getLong(H_CAPACITY);
+            if (header.getInt(H_MAGIC) != MAGIC || header.getInt(H_VERSION) != VERSION || capacity <= 0
+                    || Long.bitCount(capacity) != 1 || channel.size() != HEADER_SIZE + capacity * SLOT_SIZE) {
+                channel.close();
+                return null;
+            }
+            LogIndex answer = new LogIndex(file, channel, capacity);
+            answer.size = answer.header.getLong(H_SIZE);
+            answer.used = answer.header.getLong(H_USED);
+            return answer;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    File getFile() {
+        return file;
+    }
+
+    long capacity() {
+        return capacity;
+    }
+
+    /**
+     * Number of slots with a live key
+     */
+    long size() {
+        return size;
+    }
+
+    /**
+     * Number of slots that are not empty (live or deleted)
+     */
+    long used() {
+        return used;
+    }
+
+    int positionSegment() {
+        return header.getInt(H_SEGMENT);
+    }
+
+    long positionOffset() {
+        return header.getLong(H_OFFSET);
+    }
+
+    /**
+     * Records the position in the log up to which the index is complete
+     */
+    void setPosition(int segment, long offset) {
+        header.putInt(H_SEGMENT, segment);
+        header.putLong(H_OFFSET, offset);
+    }
+
+    long hash(long slot) {
+        long[] changed = changed(slot);
+        return changed != null ? changed[0] : chunk(slot).getLong(pos(slot));
+    }
+
+    int segment(long slot) {
+        long[] changed = changed(slot);
+        return changed != null ? (int) changed[1] : chunk(slot).getInt(pos(slot) + 8);
+    }
+
+    int offset(long slot) {
+        long[] changed = changed(slot);
+        return changed != null ? (int) changed[2] : chunk(slot).getInt(pos(slot) + 12);
+    }
+
+    int length(long slot) {
+        long[] changed = changed(slot);
+        return changed != null ? (int) changed[3] : chunk(slot).getInt(pos(slot) + 16);
+    }
+
+    void put(long slot, long hash, int segment, int offset, int length) {
+        int old = segment(slot);
+        pending.put(slot, new long[] { hash, segment, offset, length });
+        if (old == EMPTY) {
+            used++;
+            size++;
+        } else if (old == DELETED) {
+            size++;
+        }
+    }
+
+    void delete(long slot) {
+        if (segment(slot) > 0) {
+            pending.put(slot, new long[] { hash(slot), DELETED, offset(slot), length(slot) });
+            size--;
+        }
+    }
+
+    /**
+     * Flushes the changes to disk
+     */
+    void force() {
+        forceSlots();
+        forceHeader();
+    }
+
+    /**
+     * Writes the changes of the slots to the mapped file and flushes them to disk. This must only be called when the
+     * records the changed slots point to are on disk.
+     */
+    void forceSlots() {
+        if (!pending.isEmpty()) {
+            for (Map.Entry<Long, long[]> entry : pending.entrySet()) {
+                long slot = entry.getKey();
+                long[] changed = entry.getValue();
+                MappedByteBuffer chunk = chunk(slot);
+                int pos = pos(slot);
+                chunk.putLong(pos, changed[0]);
+                chunk.putInt(pos + 8, (int) changed[1]);
+                chunk.putInt(pos + 12, (int) changed[2]);
+                chunk.putInt(pos + 16, (int) changed[3]);
+            }
+            pending.clear();
+            writeCounters();
+        }
+        for (MappedByteBuffer chunk : chunks) {
+            chunk.force();
+        }
+    }
+
+    /**
+     * Flushes the changes of the header, such as the position, to disk
+     */
+    void forceHeader() {
+        header.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void writeCounters() {
+        header.putLong(H_SIZE, size);
+        header.putLong(H_USED, used);
+    }
+
+    private long[] changed(long slot) {
+        return pending.isEmpty() ? null : pending.get(slot);
+    }
+
+    private MappedByteBuffer chunk(long slot) {
+        return chunks[(int) (slot / SLOTS_PER_CHUNK)];
+    }
+
+    private static int pos(long slot) {
+        return (int) (slot % SLOTS_PER_CHUNK) * SLOT_SIZE;
+    }
+}
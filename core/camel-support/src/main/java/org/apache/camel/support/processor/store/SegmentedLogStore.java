@@ -0,0 +1,882 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.store;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.util.FileUtil;
+import org.apache.camel.util.IOHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An append-only key value store on disk, made of log segments and a memory mapped hash index.
+ * <p/>
+ * Every change is appended to the active segment as a record, and a removal is appended as a tombstone record, so no
+ * change ever rewrites a file. When the active segment reaches {@link #setMaxSegmentSize(long) the maximum size} a new
+ * segment is started. Sealed segments where most records have been superseded or removed are compacted by copying the
+ * live records to the active segment and deleting the segment file, see {@link #compact()}.
+ * <p/>
+ * The keys are looked up using a hash index in a memory mapped file, which holds the location of the latest record of
+ * each key, so lookups do not need the keys in memory. The index records up to which position in the log it is
+ * complete, so opening the store only replays the records written after that position (normally none, after a crash
+ * the last records). The changes to the index are only written to the mapped file when syncing, after the records
+ * have been flushed to disk, and then the position is advanced. The index is rebuilt from all the segments if it is
+ * missing or corrupt.
+ * <p/>
+ * The segments are synced to disk in batches, at most every {@link #setSyncInterval(long) sync interval}, or on every
+ * change if the interval is 0.
+ * <p/>
+ * This store is thread-safe.
+ */
+public class SegmentedLogStore implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SegmentedLogStore.class);
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String INDEX_FILE = "index.dat";
+    private static final String STATS_FILE = "segments.dat";
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    // crc + type + key length + value length
+    private static final int RECORD_HEADER = 4 + 1 + 4 + 4;
+    private static final long MIN_CAPACITY = 1024;
+
+    private final Lock lock = new ReentrantLock();
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private final TreeMap<Integer, Segment> segments = new TreeMap<>();
+    private final File directory;
+    private long maxSegmentSize = 64 * 1024 * 1024L;
+    private long syncInterval = 1000;
+    private double compactionThreshold = 0.5;
+    private boolean compactOnRoll = true;
+    private LogIndex index;
+    private Segment active;
+    private boolean dirty;
+    private long lastSync;
+    private long syncCount;
+    private long compactionCount;
+    private long replayCount;
+
+    private static final class Segment {
+        private final int id;
+        private final File file;
+        private final FileChannel channel;
+        private long size;
+        private long liveBytes;
+        private long tombstoneBytes;
+
+        Segment(int id, File file, FileChannel channel, long size) {
+            this.id = id;
+            this.file = file;
+            this.channel = channel;
+            this.size = size;
+        }
+    }
+
+    private record Record(byte type, String key, String value, int length) {
+    }
+
+    public SegmentedLogStore(File directory) {
+        this.directory = directory;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    public long getMaxSegmentSize() {
+        return maxSegmentSize;
+    }
+
+    /**
+     * The maximum size in bytes of a segment file before a new segment is started. The default is 64mb.
+     */
+    public void setMaxSegmentSize(long maxSegmentSize) {
+        if (maxSegmentSize <= 0 || maxSegmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("MaxSegmentSize must be between 1 and 2gb, was: " + maxSegmentSize);
+        }
+        this.maxSegmentSize = maxSegmentSize;
+    }
+
+    public long getSyncInterval() {
+        return syncInterval;
+    }
+
+    /**
+     * The maximum time in millis changes may be kept before being synced to disk. Changes are synced in batches, and 0
+     * syncs on every change. The default is 1000 millis.
+     */
+    public void setSyncInterval(long syncInterval) {
+        this.syncInterval = syncInterval;
+    }
+
+    public double getCompactionThreshold() {
+        return compactionThreshold;
+    }
+
+    /**
+     * A sealed segment is compacted when the ratio of live records in the segment is below this threshold. The default
+     * is 0.5.
+     */
+    public void setCompactionThreshold(double compactionThreshold) {
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    public boolean isCompactOnRoll() {
+        return compactOnRoll;
+    }
+
+    /**
+     * Whether to compact when a new segment is started. This should be turned off when {@link #compact()} is called by
+     * a background task instead. The default is true.
+     */
+    public void setCompactOnRoll(boolean compactOnRoll) {
+        this.compactOnRoll = compactOnRoll;
+    }
+
+    /**
+     * Opens the store, creating the directory if needed, and brings the index up to date with the log.
+     */
+    public void open() throws IOException {
+        lock.lock();
+        try {
+            if (index != null) {
+                return;
+            }
+            if (!directory.exists() && !directory.mkdirs()) {
+                throw new IOException("Cannot create directory: " + directory);
+            }
+            File[] files = directory.listFiles(
+                    (dir, name) -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX));
+            if (files != null) {
+                Arrays.sort(files);
+                for (File file : files) {
+                    int id = segmentId(file);
+                    FileChannel channel
+                            = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+                    segments.put(id, new Segment(id, file, channel, channel.size()));
+                }
+            }
+            if (segments.isEmpty()) {
+                active = newSegment(1);
+            } else {
+                active = segments.lastEntry().getValue();
+            }
+
+            File indexFile = new File(directory, INDEX_FILE);
+            index = LogIndex.open(indexFile);
+            int fromSegment = segments.firstKey();
+            long fromOffset = 0;
+            if (index != null && segments.containsKey(index.positionSegment())) {
+                fromSegment = index.positionSegment();
+                fromOffset = index.positionOffset();
+            } else {
+                if (index != null) {
+                    index.close();
+                    LOG.info("Rebuilding index: {} as it is out of sync with the log segments", indexFile);
+                } else if (indexFile.exists()) {
+                    LOG.info("Rebuilding index: {} as it is not a valid index file", indexFile);
+                }
+                index = LogIndex.create(indexFile, MIN_CAPACITY);
+            }
+            replay(fromSegment, fromOffset);
+            // the replayed records are now in the index, so sync to advance the position
+            doSync();
+            computeLiveBytes();
+            readStats();
+            lastSync = System.nanoTime();
+            LOG.debug("Opened store: {} with {} keys in {} segments (replayed {} records)", directory, index.size(),
+                    segments.size(), replayCount);
+        } catch (IOException | RuntimeException e) {
+            // do not keep the files open when the store cannot be opened
+            IOHelper.close(index);
+            for (Segment segment : segments.values()) {
+                IOHelper.close(segment.channel);
+            }
+            index = null;
+            active = null;
+            segments.clear();
+            throw e;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the value of the key
+     *
+     * @return the value, or <tt>null</tt> if the store does not contain the key
+     */
+    public String get(String key) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        lock.lock();
+        try {
+            long slot = findSlot(keyBytes, hash(keyBytes));
+            if (slot < 0) {
+                return null;
+            }
+            Record record = read(segments.get(index.segment(slot)), index.offset(slot), index.length(slot));
+            return record != null ? record.value : null;
+        } catch (IOException e) {
+            throw new RuntimeCamelException("Error reading key: " + key + " from store: " + directory, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Whether the store contains the key
+     */
+    public boolean containsKey(String key) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        lock.lock();
+        try {
+            return findSlot(keyBytes, hash(keyBytes)) >= 0;
+        } catch (IOException e) {
+            throw new RuntimeCamelException("Error reading key: " + key + " from store: " + directory, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sets the value of the key
+     *
+     * @return <tt>true</tt> if the store did not already contain the key
+     */
+    public boolean put(String key, String value) {
+        return put(key, value, true);
+    }
+
+    /**
+     * Adds the key with the value if the store does not already contain the key
+     *
+     * @return <tt>true</tt> if the key was added
+     */
+    public boolean putIfAbsent(String key, String value) {
+        return put(key, value, false);
+    }
+
+    private boolean put(String key, String value, boolean replace) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] valueBytes = value.getBytes(StandardCharsets.UTF_8);
+        long hash = hash(keyBytes);
+        lock.lock();
+        try {
+            long slot = findSlot(keyBytes, hash);
+            if (slot >= 0 && !replace) {
+                return false;
+            }
+            ByteBuffer record = encode(PUT, keyBytes, valueBytes);
+            int length = record.remaining();
+            int offset = append(record);
+            if (slot >= 0) {
+                release(slot);
+                index.put(slot, hash, active.id, offset, length);
+            } else {
+                insert(hash, active.id, offset, length);
+            }
+            active.liveBytes += length;
+            afterAppend();
+            return slot < 0;
+        } catch (IOException e) {
+            throw new RuntimeCamelException("Error writing key: " + key + " to store: " + directory, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the key
+     *
+     * @return <tt>true</tt> if the store contained the key
+     */
+    public boolean remove(String key) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        lock.lock();
+        try {
+            long slot = findSlot(keyBytes, hash(keyBytes));
+            if (slot < 0) {
+                return false;
+            }
+            ByteBuffer record = encode(DELETE, keyBytes, new byte[0]);
+            int length = record.remaining();
+            append(record);
+            active.tombstoneBytes += length;
+            release(slot);
+            index.delete(slot);
+            afterAppend();
+            return true;
+        } catch (IOException e) {
+            throw new RuntimeCamelException("Error removing key: " + key + " from store: " + directory, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all the keys by deleting all the segments and the index.
+     */
+    public void clear() throws IOException {
+        lock.lock();
+        try {
+            File indexFile = index.getFile();
+            closeFiles();
+            for (Segment segment : segments.values()) {
+                FileUtil.deleteFile(segment.file);
+            }
+            segments.clear();
+            FileUtil.deleteFile(indexFile);
+            open();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The number of keys in the store
+     */
+    public long size() {
+        lock.lock();
+        try {
+            return index != null ? index.size() : 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Syncs the changes to disk, if there are any.
+     */
+    public void sync() throws IOException {
+        lock.lock();
+        try {
+            if (dirty) {
+                doSync();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Compacts the sealed segments where the ratio of live records is below the compaction threshold, by copying the
+     * live records to the active segment and deleting the segment.
+     *
+     * @return the number of segments compacted
+     */
+    public int compact() throws IOException {
+        // only one compaction at a time
+        if (!compacting.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            int answer = 0;
+            for (Segment segment : compactionCandidates()) {
+                if (compact(segment)) {
+                    answer++;
+                }
+            }
+            return answer;
+        } finally {
+            compacting.set(false);
+        }
+    }
+
+    private List<Segment> compactionCandidates() {
+        lock.lock();
+        try {
+            List<Segment> answer = new ArrayList<>();
+            int oldest = segments.firstKey();
+            for (Segment segment : segments.values()) {
+                // tombstones are only dropped from the oldest segment, otherwise they are copied forward as well
+                long keep = segment.liveBytes + (segment.id == oldest ? 0 : segment.tombstoneBytes);
+                if (segment != active && keep < segment.size * compactionThreshold) {
+                    answer.add(segment);
+                }
+            }
+            return answer;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean compact(Segment segment) throws IOException {
+        // sealed segments are immutable so they can be read without holding the lock
+        long offset = 0;
+        long copied = 0;
+        while (offset < segment.size) {
+            Record record = read(segment, offset, -1);
+            if (record == null) {
+                break;
+            }
+            if (copyForward(segment, (int) offset, record)) {
+                copied++;
+            }
+            offset += record.length;
+        }
+
+        lock.lock();
+        try {
+            if (segments.get(segment.id) != segment) {
+                // the store has been cleared
+                return false;
+            }
+            segments.remove(segment.id);
+            segment.channel.close();
+            // make sure the copied records are on disk before the segment is deleted
+            doSync();
+            FileUtil.deleteFile(segment.file);
+            writeStats();
+            compactionCount++;
+            LOG.debug("Compacted segment: {} with {} records copied to the active segment", segment.file, copied);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean copyForward(Segment segment, int offset, Record record) throws IOException {
+        byte[] keyBytes = record.key.getBytes(StandardCharsets.UTF_8);
+        long hash = hash(keyBytes);
+        lock.lock();
+        try {
+            long slot = findSlot(keyBytes, hash);
+            if (record.type == PUT) {
+                // only the latest record of a key is live
+                if (slot < 0 || index.segment(slot) != segment.id || index.offset(slot) != offset) {
+                    return false;
+                }
+                ByteBuffer buffer = encode(PUT, keyBytes, record.value.getBytes(StandardCharsets.UTF_8));
+                int length = buffer.remaining();
+                int newOffset = append(buffer);
+                index.put(slot, hash, active.id, newOffset, length);
+                active.liveBytes += length;
+            } else {
+                // a tombstone must be kept while older segments may have a record for the key
+                if (slot >= 0 || segment.id == segments.firstKey()) {
+                    return false;
+                }
+                ByteBuffer buffer = encode(DELETE, keyBytes, new byte[0]);
+                int length = buffer.remaining();
+                append(buffer);
+                active.tombstoneBytes += length;
+            }
+            afterAppend();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getSegmentCount() {
+        lock.lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The total size in bytes of the segments
+     */
+    public long getLogSize() {
+        lock.lock();
+        try {
+            long answer = 0;
+            for (Segment segment : segments.values()) {
+                answer += segment.size;
+            }
+            return answer;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getSyncCount() {
+        return syncCount;
+    }
+
+    public long getCompactionCount() {
+        return compactionCount;
+    }
+
+    /**
+     * The number of records replayed into the index when the store was opened
+     */
+    public long getReplayCount() {
+        return replayCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (index == null) {
+                return;
+            }
+            if (dirty) {
+                doSync();
+            }
+            writeStats();
+            closeFiles();
+            segments.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void closeFiles() throws IOException {
+        index.force();
+        index.close();
+        index = null;
+        active = null;
+        for (Segment segment : segments.values()) {
+            segment.channel.close();
+        }
+    }
+
+    private void replay(int fromSegment, long fromOffset) throws IOException {
+        replayCount = 0;
+        for (Segment segment : new ArrayList<>(segments.tailMap(fromSegment, true).values())) {
+            long offset = segment.id == fromSegment ? fromOffset : 0;
+            while (offset < segment.size) {
+                Record record = read(segment, offset, -1);
+                if (record == null) {
+                    if (segment != active) {
+                        // sealed segments were synced before the next segment was started, so this is not a torn write
+                        throw new IOException(
+                                "Corrupt record in sealed segment: " + segment.file + " at offset: " + offset);
+                    }
+                    // a torn write at the end of the log, which was never acknowledged
+                    LOG.warn("Truncating segment: {} at offset: {} due to incomplete or corrupt record", segment.file,
+                            offset);
+                    segment.channel.truncate(offset);
+                    segment.size = offset;
+                    break;
+                }
+                byte[] keyBytes = record.key.getBytes(StandardCharsets.UTF_8);
+                long hash = hash(keyBytes);
+                long slot = findSlot(keyBytes, hash);
+                if (record.type == PUT) {
+                    if (slot >= 0) {
+                        index.put(slot, hash, segment.id, (int) offset, record.length);
+                    } else {
+                        insert(hash, segment.id, (int) offset, record.length);
+                    }
+                } else if (slot >= 0) {
+                    index.delete(slot);
+                }
+                offset += record.length;
+                replayCount++;
+            }
+        }
+    }
+
+    private void computeLiveBytes() {
+        for (Segment segment : segments.values()) {
+            segment.liveBytes = 0;
+        }
+        for (long slot = 0; slot < index.capacity(); slot++) {
+            int id = index.segment(slot);
+            if (id > 0) {
+                Segment segment = segments.get(id);
+                if (segment != null) {
+                    segment.liveBytes += index.length(slot);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the size of the tombstones in each segment, which cannot be computed from the index
+     */
+    private void writeStats() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (Segment segment : segments.values()) {
+            sb.append(segment.id).append(' ').append(segment.size).append(' ').append(segment.tombstoneBytes)
+                    .append('\n');
+        }
+        File tmp = new File(directory, STATS_FILE + ".tmp");
+        Files.writeString(tmp.toPath(), sb.toString());
+        Files.move(tmp.toPath(), new File(directory, STATS_FILE).toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void readStats() throws IOException {
+        Map<Integer, long[]> stats = new HashMap<>();
+        File file = new File(directory, STATS_FILE);
+        if (file.isFile()) {
+            for (String line : Files.readAllLines(file.toPath())) {
+                String[] parts = line.split(" ");
+                if (parts.length == 3) {
+                    stats.put(Integer.parseInt(parts[0]),
+                            new long[] { Long.parseLong(parts[1]), Long.parseLong(parts[2]) });
+                }
+            }
+        }
+        for (Segment segment : segments.values()) {
+            long[] stat = stats.get(segment.id);
+            if (stat != null && stat[0] == segment.size) {
+                segment.tombstoneBytes = stat[1];
+            } else {
+                // not known (such as after a crash) so assume all the records that are not live are tombstones
+                segment.tombstoneBytes = Math.max(0, segment.size - segment.liveBytes);
+            }
+        }
+    }
+
+    /**
+     * Finds the slot of the key
+     *
+     * @return the slot, or -1 if the store does not contain the key
+     */
+    private long findSlot(byte[] keyBytes, long hash) throws IOException {
+        long mask = index.capacity() - 1;
+        long slot = hash & mask;
+        while (true) {
+            int id = index.segment(slot);
+            if (id == LogIndex.EMPTY) {
+                return -1;
+            }
+            if (id > 0 && index.hash(slot) == hash) {
+                Record record = read(segments.get(id), index.offset(slot), index.length(slot));
+                if (record != null && Arrays.equals(record.key.getBytes(StandardCharsets.UTF_8), keyBytes)) {
+                    return slot;
+                }
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void insert(long hash, int segment, int offset, int length) throws IOException {
+        if ((index.used() + 1) * 4 > index.capacity() * 3) {
+            resize();
+        }
+        long mask = index.capacity() - 1;
+        long slot = hash & mask;
+        while (index.segment(slot) > 0) {
+            slot = (slot + 1) & mask;
+        }
+        index.put(slot, hash, segment, offset, length);
+    }
+
+    /**
+     * Rebuilds the index with room for twice the number of live keys, which also drops the deleted slots.
+     */
+    private void resize() throws IOException {
+        long capacity = Math.max(MIN_CAPACITY, Long.highestOneBit(Math.max(1, index.size() * 4 - 1)) * 2);
+        // the new index is written with the slots of the records which are not synced yet, so sync these records first
+        active.channel.force(false);
+        File file = index.getFile();
+        File tmp = new File(directory, INDEX_FILE + ".tmp");
+        LogIndex target = LogIndex.create(tmp, capacity);
+        long mask = capacity - 1;
+        for (long slot = 0; slot < index.capacity(); slot++) {
+            if (index.segment(slot) > 0) {
+                long hash = index.hash(slot);
+                long pos = hash & mask;
+                while (target.segment(pos) != LogIndex.EMPTY) {
+                    pos = (pos + 1) & mask;
+                }
+                target.put(pos, hash, index.segment(slot), index.offset(slot), index.length(slot));
+            }
+        }
+        target.setPosition(index.positionSegment(), index.positionOffset());
+        target.force();
+        target.close();
+        index.close();
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        index = LogIndex.open(file);
+        LOG.debug("Resized index: {} to {} slots", file, capacity);
+    }
+
+    /**
+     * Marks the record in the slot as no longer live
+     */
+    private void release(long slot) {
+        Segment segment = segments.get(index.segment(slot));
+        if (segment != null) {
+            segment.liveBytes -= index.length(slot);
+        }
+    }
+
+    private int append(ByteBuffer record) throws IOException {
+        if (active.size > 0 && active.size + record.remaining() > maxSegmentSize) {
+            roll();
+        }
+        int offset = (int) active.size;
+        long pos = active.size;
+        while (record.hasRemaining()) {
+            pos += active.channel.write(record, pos);
+        }
+        active.size = pos;
+        dirty = true;
+        return offset;
+    }
+
+    private void afterAppend() throws IOException {
+        if (syncInterval <= 0 || System.nanoTime() - lastSync >= TimeUnit.MILLISECONDS.toNanos(syncInterval)) {
+            doSync();
+        }
+    }
+
+    private void roll() throws IOException {
+        doSync();
+        Segment previous = active;
+        active = newSegment(previous.id + 1);
+        writeStats();
+        LOG.debug("Rolled to new segment: {}", active.file);
+        if (compactOnRoll) {
+            compact();
+        }
+    }
+
+    private Segment newSegment(int id) throws IOException {
+        File file = new File(directory, String.format("%s%010d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        Segment answer = new Segment(id, file, channel, channel.size());
+        segments.put(id, answer);
+        return answer;
+    }
+
+    private void doSync() throws IOException {
+        if (active != null) {
+            // the changed slots must only be written to the memory mapped index when the records are on disk, as its
+            // pages can be written to disk at any time, and the position must only be advanced after both are on disk
+            active.channel.force(false);
+            index.forceSlots();
+            index.setPosition(active.id, active.size);
+            index.forceHeader();
+        }
+        dirty = false;
+        lastSync = System.nanoTime();
+        syncCount++;
+    }
+
+    /**
+     * Reads the record at the offset
+     *
+     * @param  length the length of the record, or -1 if not known
+     * @return        the record, or <tt>null</tt> if there is no valid record at the offset
+     */
+    private static Record read(Segment segment, long offset, int length) throws IOException {
+        if (segment == null) {
+            return null;
+        }
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER);
+        if (!readFully(segment.channel, header, offset)) {
+            return null;
+        }
+        header.flip();
+        int crc = header.getInt();
+        byte type = header.get();
+        int keyLength = header.getInt();
+        int valueLength = header.getInt();
+        if (type != PUT && type != DELETE || keyLength < 0 || valueLength < 0
+                || (long) RECORD_HEADER + keyLength + valueLength > segment.size - offset
+                || length >= 0 && length != RECORD_HEADER + keyLength + valueLength) {
+            return null;
+        }
+        ByteBuffer data = ByteBuffer.allocate(keyLength + valueLength);
+        if (!readFully(segment.channel, data, offset + RECORD_HEADER)) {
+            return null;
+        }
+        CRC32 checksum = new CRC32();
+        checksum.update(header.array(), 4, RECORD_HEADER - 4);
+        checksum.update(data.array());
+        if ((int) checksum.getValue() != crc) {
+            return null;
+        }
+        String key = new String(data.array(), 0, keyLength, StandardCharsets.UTF_8);
+        String value = new String(data.array(), keyLength, valueLength, StandardCharsets.UTF_8);
+        return new Record(type, key, value, RECORD_HEADER + keyLength + valueLength);
+    }
+
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer, long offset) throws IOException {
+        long pos = offset;
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, pos);
+            if (n < 0) {
+                return false;
+            }
+            pos += n;
+        }
+        return true;
+    }
+
+    private static ByteBuffer encode(byte type, byte[] key, byte[] value) {
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER + key.length + value.length);
+        buffer.putInt(0);
+        buffer.put(type);
+        buffer.putInt(key.length);
+        buffer.putInt(value.length);
+        buffer.put(key);
+        buffer.put(value);
+        CRC32 checksum = new CRC32();
+        checksum.update(buffer.array(), 4, buffer.capacity() - 4);
+        buffer.putInt(0, (int) checksum.getValue());
+        buffer.flip();
+        return buffer;
+    }
+
+    private static int segmentId(File file) {
+        String name = file.getName();
+        return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the key with a final avalanche
+     */
+    private static long hash(byte[] key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
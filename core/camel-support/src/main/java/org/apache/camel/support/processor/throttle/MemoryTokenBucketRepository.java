@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.throttle;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.Configurer;
+import org.apache.camel.spi.Metadata;
+import org.apache.camel.spi.TokenBucketRepository;
+import org.apache.camel.support.service.ServiceSupport;
+
+/**
+ * A memory based implementation of {@link org.apache.camel.spi.TokenBucketRepository}.
+ * <p/>
+ * The buckets are only shared within the JVM, so this is intended for testing, or as a stand-in for a clustered
+ * repository when running a single node.
+ */
+@Metadata(label = "bean",
+          description = "A memory based TokenBucketRepository.",
+          annotations = { "interfaceName=org.apache.camel.spi.TokenBucketRepository" })
+@Configurer(metadataOnly = true)
+@ManagedResource(description = "Memory based token bucket repository")
+public class MemoryTokenBucketRepository extends ServiceSupport implements TokenBucketRepository {
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    private static final class Bucket {
+        private final Lock lock = new ReentrantLock();
+        private double tokens;
+        private long lastRefill;
+
+        Bucket(long capacity) {
+            this.tokens = capacity;
+            this.lastRefill = System.nanoTime();
+        }
+
+        void refill(long capacity, long periodMillis) {
+            long now = System.nanoTime();
+            long elapsed = now - lastRefill;
+            if (elapsed > 0) {
+                double rate = (double) capacity / TimeUnit.MILLISECONDS.toNanos(periodMillis);
+                tokens = Math.min(capacity, tokens + elapsed * rate);
+                lastRefill = now;
+            }
+        }
+    }
+
+    /**
+     * Creates a new memory based repository.
+     */
+    public static TokenBucketRepository memoryTokenBucketRepository() {
+        return new MemoryTokenBucketRepository();
+    }
+
+    @Override
+    public long acquire(String key, long tokens, long capacity, long periodMillis) {
+        Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket(capacity));
+        bucket.lock.lock();
+        try {
+            bucket.refill(capacity, periodMillis);
+            long answer = Math.min(tokens, (long) bucket.tokens);
+            if (answer > 0) {
+                bucket.tokens -= answer;
+            }
+            return Math.max(answer, 0);
+        } finally {
+            bucket.lock.unlock();
+        }
+    }
+
+    @Override
+    public void release(String key, long tokens, long capacity) {
+        Bucket bucket = buckets.get(key);
+        if (bucket != null && tokens > 0) {
+            bucket.lock.lock();
+            try {
+                bucket.tokens = Math.min(capacity, bucket.tokens + tokens);
+            } finally {
+                bucket.lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    @ManagedOperation(description = "Clear the store")
+    public void clear() {
+        buckets.clear();
+    }
+
+    @ManagedAttribute(description = "The current number of buckets")
+    public int getSize() {
+        return buckets.size();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        buckets.clear();
+    }
+}
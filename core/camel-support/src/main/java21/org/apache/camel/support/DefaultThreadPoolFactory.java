@@ -37,7 +37,6 @@ import org.apache.camel.support.service.ServiceSupport;
 import org.apache.camel.util.concurrent.RejectableScheduledThreadPoolExecutor;
 import org.apache.camel.util.concurrent.RejectableThreadPoolExecutor;
 import org.apache.camel.util.concurrent.SizedScheduledExecutorService;
-import org.apache.camel.util.concurrent.ThreadType;
 import org.apache.camel.util.concurrent.ThreadFactoryTypeAware;
 
 /**
@@ -188,9 +187,8 @@ public class DefaultThreadPoolFactory extends ServiceSupport implements CamelCon
         }
 
         static ThreadPoolFactoryType from(ThreadFactory threadFactory, int maxPoolSize) {
-            if (ThreadType.current() == ThreadType.PLATFORM) {
-                return ThreadPoolFactoryType.PLATFORM;
-            }
+            // the thread factory is virtual if enabled globally (camel.threads.virtual.enabled)
+            // or explicit requested by the thread pool profile
             return maxPoolSize > 1 && threadFactory instanceof ThreadFactoryTypeAware factoryTypeAware && factoryTypeAware.isVirtual() ?
                     ThreadPoolFactoryType.VIRTUAL : ThreadPoolFactoryType.PLATFORM;
         }
@@ -320,6 +320,31 @@ public final class IOHelper {
         }
     }
 
+    /**
+     * Transfers the bytes from the file channel to the output channel using {@link FileChannel#transferTo}, which lets
+     * the operating system copy the bytes directly (zero copy) without copying them onto the heap.
+     *
+     * @param  input       the file channel to read from
+     * @param  position    the position in the file channel to start from
+     * @param  count       the number of bytes to transfer
+     * @param  output      the channel to write to
+     * @return             the number of bytes transferred, which is less than count if the end of the file was reached
+     * @throws IOException is thrown if an I/O error occurs
+     */
+    public static long transfer(FileChannel input, long position, long count, WritableByteChannel output)
+            throws IOException {
+        long total = 0;
+        while (total < count) {
+            long n = input.transferTo(position + total, count - total, output);
+            if (n <= 0) {
+                // end of file
+                break;
+            }
+            total += n;
+        }
+        return total;
+    }
+
     /**
      * Forces any updates to this channel's file to be written to the storage device that contains it.
      *
@@ -22,7 +22,7 @@ import org.slf4j.LoggerFactory;
 /**
  * Thread factory which creates threads supporting a naming pattern.
  * The factory creates virtual threads in case the System property {@code camel.threads.virtual.enabled} set to
- * {@code true}.
+ * {@code true}, or when virtual threads has been explicit requested (such as from a thread pool profile).
  */
 public final class CamelThreadFactory implements ThreadFactoryTypeAware {
     private static final Logger LOG = LoggerFactory.getLogger(CamelThreadFactory.class);
@@ -35,10 +35,27 @@ public final class CamelThreadFactory implements ThreadFactoryTypeAware {
     private final ThreadFactoryType threadType;
 
     public CamelThreadFactory(String pattern, String name, boolean daemon) {
+        this(pattern, name, daemon, false);
+    }
+
+    /**
+     * Creates a thread factory.
+     *
+     * @param pattern the thread name pattern
+     * @param name    the thread name
+     * @param daemon  whether to create daemon threads (virtual threads are always daemons)
+     * @param virtual whether to create virtual threads, regardless of the {@code camel.threads.virtual.enabled}
+     *                system property
+     */
+    public CamelThreadFactory(String pattern, String name, boolean daemon, boolean virtual) {
         this.pattern = pattern;
         this.name = name;
         this.daemon = daemon;
-        this.threadType = daemon ? TYPE : ThreadFactoryType.PLATFORM;
+        if (!daemon) {
+            this.threadType = ThreadFactoryType.PLATFORM;
+        } else {
+            this.threadType = virtual ? ThreadFactoryType.VIRTUAL : TYPE;
+        }
     }
 
     @Override
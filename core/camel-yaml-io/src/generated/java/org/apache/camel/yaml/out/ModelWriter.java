@@ -688,6 +688,9 @@ public class ModelWriter extends BaseWriter {
     public void writeFailoverLoadBalancerDefinition(FailoverLoadBalancerDefinition def) throws IOException {
         doWriteFailoverLoadBalancerDefinition("failoverLoadBalancer", def);
     }
+    public void writeLatencyAwareLoadBalancerDefinition(LatencyAwareLoadBalancerDefinition def) throws IOException {
+        doWriteLatencyAwareLoadBalancerDefinition("latencyAwareLoadBalancer", def);
+    }
     public void writeRandomLoadBalancerDefinition(RandomLoadBalancerDefinition def) throws IOException {
         doWriteRandomLoadBalancerDefinition("randomLoadBalancer", def);
     }
@@ -841,6 +844,7 @@ public class ModelWriter extends BaseWriter {
         doWriteAttribute("aggregateController", def.getAggregateController(), null);
         doWriteAttribute("completionTimeout", def.getCompletionTimeout(), null);
         doWriteAttribute("ignoreInvalidCorrelationKeys", def.getIgnoreInvalidCorrelationKeys(), null);
+        doWriteAttribute("lockStripes", def.getLockStripes(), "1");
         doWriteAttribute("discardOnCompletionTimeout", def.getDiscardOnCompletionTimeout(), null);
         doWriteAttribute("completionTimeoutCheckerInterval", def.getCompletionTimeoutCheckerInterval(), "1000");
         doWriteAttribute("optimisticLocking", def.getOptimisticLocking(), null);
@@ -931,6 +935,7 @@ public class ModelWriter extends BaseWriter {
         doWriteAttribute("aggregationStrategy", def.getAggregationStrategy(), null);
         doWriteAttribute("aggregationStrategyMethodName", def.getAggregationStrategyMethodName(), null);
         doWriteAttribute("operation", def.getOperation(), null);
+        doWriteAttribute("spool", def.getSpool(), "false");
         doWriteAttribute("key", def.getKey(), null);
         endElement(name);
     }
@@ -1161,6 +1166,7 @@ public class ModelWriter extends BaseWriter {
             switch (v.getClass().getSimpleName()) {
                 case "CustomLoadBalancerDefinition" -> doWriteCustomLoadBalancerDefinition("customLoadBalancer", (CustomLoadBalancerDefinition) v);
                 case "FailoverLoadBalancerDefinition" -> doWriteFailoverLoadBalancerDefinition("failoverLoadBalancer", (FailoverLoadBalancerDefinition) v);
+                case "LatencyAwareLoadBalancerDefinition" -> doWriteLatencyAwareLoadBalancerDefinition("latencyAwareLoadBalancer", (LatencyAwareLoadBalancerDefinition) v);
                 case "RandomLoadBalancerDefinition" -> doWriteRandomLoadBalancerDefinition("randomLoadBalancer", (RandomLoadBalancerDefinition) v);
                 case "RoundRobinLoadBalancerDefinition" -> doWriteRoundRobinLoadBalancerDefinition("roundRobinLoadBalancer", (RoundRobinLoadBalancerDefinition) v);
                 case "StickyLoadBalancerDefinition" -> doWriteStickyLoadBalancerDefinition("stickyLoadBalancer", (StickyLoadBalancerDefinition) v);
@@ -1802,6 +1808,7 @@ public class ModelWriter extends BaseWriter {
         doWriteAttribute("aggregationStrategyMethodName", def.getAggregationStrategyMethodName(), null);
         doWriteAttribute("timeout", def.getTimeout(), "0");
         doWriteAttribute("streaming", def.getStreaming(), null);
+        doWriteAttribute("reorderWindow", def.getReorderWindow(), null);
         doWriteAttribute("stopOnException", def.getStopOnException(), null);
         doWriteAttribute("delimiter", def.getDelimiter(), ",");
         doWriteAttribute("parallelProcessing", def.getParallelProcessing(), null);
@@ -1877,6 +1884,8 @@ public class ModelWriter extends BaseWriter {
         doWriteProcessorDefinitionAttributes(def);
         doWriteAttribute("mode", def.getMode(), "TotalRequests");
         doWriteAttribute("timePeriodMillis", def.getTimePeriodMillis(), "1000");
+        doWriteAttribute("tokenBucketRepository", def.getTokenBucketRepository(), null);
+        doWriteAttribute("leaseSize", def.getLeaseSize(), "10");
         doWriteAttribute("rejectExecution", def.getRejectExecution(), null);
         doWriteAttribute("callerRunsWhenRejected", def.getCallerRunsWhenRejected(), "true");
         doWriteAttribute("executorService", def.getExecutorService(), null);
@@ -3326,6 +3335,13 @@ public class ModelWriter extends BaseWriter {
         doWriteList(null, "exception", def.getExceptions(), this::doWriteString);
         endElement(name);
     }
+    protected void doWriteLatencyAwareLoadBalancerDefinition(String name, LatencyAwareLoadBalancerDefinition def) throws IOException {
+        startElement(name);
+        doWriteIdentifiedTypeAttributes(def);
+        doWriteAttribute("decayWindow", def.getDecayWindow(), "10000");
+        doWriteAttribute("strategy", def.getStrategy(), "powerOfTwoChoices");
+        endElement(name);
+    }
     protected void doWriteRandomLoadBalancerDefinition(String name, RandomLoadBalancerDefinition def) throws IOException {
         startElement(name);
         doWriteIdentifiedTypeAttributes(def);
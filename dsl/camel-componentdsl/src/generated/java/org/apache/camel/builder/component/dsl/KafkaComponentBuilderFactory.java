@@ -644,6 +644,31 @@ public interface KafkaComponentBuilderFactory {
         }
     
         
+        /**
+         * The number of threads each consumer uses to process the polled
+         * records concurrently. Records with the same key are always processed
+         * in order by the same thread, while records with different keys are
+         * processed in parallel, which allows to scale processing beyond the
+         * number of partitions. Offsets are only committed up to the last
+         * record of each partition for which all previous records have been
+         * processed. The default value 1 processes the records of each
+         * partition sequentially. This option cannot be used together with
+         * batching or allowManualCommit.
+         * 
+         * The option is a: &lt;code&gt;int&lt;/code&gt; type.
+         * 
+         * Default: 1
+         * Group: consumer
+         * 
+         * @param keyOrderedConcurrency the value to set
+         * @return the dsl builder
+         */
+        default KafkaComponentBuilder keyOrderedConcurrency(int keyOrderedConcurrency) {
+            doSetProperty("keyOrderedConcurrency", keyOrderedConcurrency);
+            return this;
+        }
+    
+        
         /**
          * The maximum amount of data per-partition the server will return. The
          * maximum total memory used for a request will be #partitions
@@ -2505,6 +2530,7 @@ public interface KafkaComponentBuilderFactory {
             case "headerDeserializer": getOrCreateConfiguration((KafkaComponent) component).setHeaderDeserializer((org.apache.camel.component.kafka.serde.KafkaHeaderDeserializer) value); return true;
             case "heartbeatIntervalMs": getOrCreateConfiguration((KafkaComponent) component).setHeartbeatIntervalMs((java.lang.Integer) value); return true;
             case "keyDeserializer": getOrCreateConfiguration((KafkaComponent) component).setKeyDeserializer((java.lang.String) value); return true;
+            case "keyOrderedConcurrency": getOrCreateConfiguration((KafkaComponent) component).setKeyOrderedConcurrency((int) value); return true;
             case "maxPartitionFetchBytes": getOrCreateConfiguration((KafkaComponent) component).setMaxPartitionFetchBytes((java.lang.Integer) value); return true;
             case "maxPollIntervalMs": getOrCreateConfiguration((KafkaComponent) component).setMaxPollIntervalMs((java.lang.Integer) value); return true;
             case "maxPollRecords": getOrCreateConfiguration((KafkaComponent) component).setMaxPollRecords((java.lang.Integer) value); return true;
@@ -118,6 +118,48 @@ public interface FileEndpointBuilderFactory {
             doSetProperty("fileName", fileName);
             return this;
         }
+        /**
+         * Number of threads to process the polled files of each poll in
+         * parallel. The polling thread processes files as well, and the next
+         * poll starts when all the files of the previous poll have been
+         * processed. The files are then not processed in the order they were
+         * polled or sorted. Read locks, in-progress tracking and the commit
+         * (move or delete) or rollback of each file are done per file, the same
+         * as when processing one file at a time.
+         * 
+         * The option is a: <code>int</code> type.
+         * 
+         * Default: 1
+         * Group: consumer
+         * 
+         * @param concurrentConsumers the value to set
+         * @return the dsl builder
+         */
+        default FileEndpointConsumerBuilder concurrentConsumers(int concurrentConsumers) {
+            doSetProperty("concurrentConsumers", concurrentConsumers);
+            return this;
+        }
+        /**
+         * Number of threads to process the polled files of each poll in
+         * parallel. The polling thread processes files as well, and the next
+         * poll starts when all the files of the previous poll have been
+         * processed. The files are then not processed in the order they were
+         * polled or sorted. Read locks, in-progress tracking and the commit
+         * (move or delete) or rollback of each file are done per file, the same
+         * as when processing one file at a time.
+         * 
+         * The option will be converted to a <code>int</code> type.
+         * 
+         * Default: 1
+         * Group: consumer
+         * 
+         * @param concurrentConsumers the value to set
+         * @return the dsl builder
+         */
+        default FileEndpointConsumerBuilder concurrentConsumers(String concurrentConsumers) {
+            doSetProperty("concurrentConsumers", concurrentConsumers);
+            return this;
+        }
         /**
          * If true, the file will be deleted after it is processed successfully.
          * 
@@ -2055,6 +2097,50 @@ public interface FileEndpointBuilderFactory {
             doSetProperty("directoryMustExist", directoryMustExist);
             return this;
         }
+        /**
+         * Whether to list the directories by streaming their entries (NIO
+         * DirectoryStream), instead of loading all the entries of a directory
+         * into memory at once. The attributes of each entry are read only once,
+         * and the listing stops as soon as maxMessagesPerPoll files have been
+         * found (when eagerMaxMessagesPerPoll is enabled). This reduces the
+         * time and memory needed to poll directories with a very large number
+         * of files. This option is not in use when preSort is enabled, as
+         * sorting requires all the entries of the directory.
+         * 
+         * The option is a: <code>boolean</code> type.
+         * 
+         * Default: false
+         * Group: consumer (advanced)
+         * 
+         * @param directoryStream the value to set
+         * @return the dsl builder
+         */
+        default AdvancedFileEndpointConsumerBuilder directoryStream(boolean directoryStream) {
+            doSetProperty("directoryStream", directoryStream);
+            return this;
+        }
+        /**
+         * Whether to list the directories by streaming their entries (NIO
+         * DirectoryStream), instead of loading all the entries of a directory
+         * into memory at once. The attributes of each entry are read only once,
+         * and the listing stops as soon as maxMessagesPerPoll files have been
+         * found (when eagerMaxMessagesPerPoll is enabled). This reduces the
+         * time and memory needed to poll directories with a very large number
+         * of files. This option is not in use when preSort is enabled, as
+         * sorting requires all the entries of the directory.
+         * 
+         * The option will be converted to a <code>boolean</code> type.
+         * 
+         * Default: false
+         * Group: consumer (advanced)
+         * 
+         * @param directoryStream the value to set
+         * @return the dsl builder
+         */
+        default AdvancedFileEndpointConsumerBuilder directoryStream(String directoryStream) {
+            doSetProperty("directoryStream", directoryStream);
+            return this;
+        }
         /**
          * To let the consumer use a custom ExceptionHandler. Notice if the
          * option bridgeErrorHandler is enabled then this option is not in use.
@@ -3215,6 +3301,48 @@ public interface FileEndpointBuilderFactory {
             doSetProperty("forceWrites", forceWrites);
             return this;
         }
+        /**
+         * Whether to sync the written file to disk (fsync) before the exchange
+         * continues routing. The sync is done asynchronously on a background
+         * thread, so the route thread is not blocked waiting for the disk.
+         * Syncs requested while another sync is in progress are grouped
+         * together, and a file written several times is only synced once. The
+         * directory of the file is also synced, so a new or renamed file is not
+         * lost (except on Windows, where directories cannot be synced).
+         * 
+         * The option is a: <code>boolean</code> type.
+         * 
+         * Default: false
+         * Group: producer (advanced)
+         * 
+         * @param fsync the value to set
+         * @return the dsl builder
+         */
+        default AdvancedFileEndpointProducerBuilder fsync(boolean fsync) {
+            doSetProperty("fsync", fsync);
+            return this;
+        }
+        /**
+         * Whether to sync the written file to disk (fsync) before the exchange
+         * continues routing. The sync is done asynchronously on a background
+         * thread, so the route thread is not blocked waiting for the disk.
+         * Syncs requested while another sync is in progress are grouped
+         * together, and a file written several times is only synced once. The
+         * directory of the file is also synced, so a new or renamed file is not
+         * lost (except on Windows, where directories cannot be synced).
+         * 
+         * The option will be converted to a <code>boolean</code> type.
+         * 
+         * Default: false
+         * Group: producer (advanced)
+         * 
+         * @param fsync the value to set
+         * @return the dsl builder
+         */
+        default AdvancedFileEndpointProducerBuilder fsync(String fsync) {
+            doSetProperty("fsync", fsync);
+            return this;
+        }
         /**
          * Will keep the last modified timestamp from the source file (if any).
          * Will use the FileConstants.FILE_LAST_MODIFIED header to located the
@@ -958,6 +958,52 @@ public interface KafkaEndpointBuilderFactory {
             doSetProperty("keyDeserializer", keyDeserializer);
             return this;
         }
+        /**
+         * The number of threads each consumer uses to process the polled
+         * records concurrently. Records with the same key are always processed
+         * in order by the same thread, while records with different keys are
+         * processed in parallel, which allows to scale processing beyond the
+         * number of partitions. Offsets are only committed up to the last
+         * record of each partition for which all previous records have been
+         * processed. The default value 1 processes the records of each
+         * partition sequentially. This option cannot be used together with
+         * batching or allowManualCommit.
+         * 
+         * The option is a: <code>int</code> type.
+         * 
+         * Default: 1
+         * Group: consumer
+         * 
+         * @param keyOrderedConcurrency the value to set
+         * @return the dsl builder
+         */
+        default KafkaEndpointConsumerBuilder keyOrderedConcurrency(int keyOrderedConcurrency) {
+            doSetProperty("keyOrderedConcurrency", keyOrderedConcurrency);
+            return this;
+        }
+        /**
+         * The number of threads each consumer uses to process the polled
+         * records concurrently. Records with the same key are always processed
+         * in order by the same thread, while records with different keys are
+         * processed in parallel, which allows to scale processing beyond the
+         * number of partitions. Offsets are only committed up to the last
+         * record of each partition for which all previous records have been
+         * processed. The default value 1 processes the records of each
+         * partition sequentially. This option cannot be used together with
+         * batching or allowManualCommit.
+         * 
+         * The option will be converted to a <code>int</code> type.
+         * 
+         * Default: 1
+         * Group: consumer
+         * 
+         * @param keyOrderedConcurrency the value to set
+         * @return the dsl builder
+         */
+        default KafkaEndpointConsumerBuilder keyOrderedConcurrency(String keyOrderedConcurrency) {
+            doSetProperty("keyOrderedConcurrency", keyOrderedConcurrency);
+            return this;
+        }
         /**
          * The maximum amount of data per-partition the server will return. The
          * maximum total memory used for a request will be #partitions
@@ -309,6 +309,46 @@ public interface SedaEndpointBuilderFactory {
             doSetProperty("multipleConsumers", multipleConsumers);
             return this;
         }
+        /**
+         * The maximum number of messages a consumer thread takes from the queue
+         * each time it polls. The first message is polled (waiting up to the
+         * poll timeout), and then any further messages that are already on the
+         * queue are drained at once, which reduces the contention on the queue
+         * under high load. The messages are then processed one by one by the
+         * consumer thread.
+         * 
+         * The option is a: <code>int</code> type.
+         * 
+         * Default: 1
+         * Group: consumer (advanced)
+         * 
+         * @param pollBatchSize the value to set
+         * @return the dsl builder
+         */
+        default AdvancedSedaEndpointConsumerBuilder pollBatchSize(int pollBatchSize) {
+            doSetProperty("pollBatchSize", pollBatchSize);
+            return this;
+        }
+        /**
+         * The maximum number of messages a consumer thread takes from the queue
+         * each time it polls. The first message is polled (waiting up to the
+         * poll timeout), and then any further messages that are already on the
+         * queue are drained at once, which reduces the contention on the queue
+         * under high load. The messages are then processed one by one by the
+         * consumer thread.
+         * 
+         * The option will be converted to a <code>int</code> type.
+         * 
+         * Default: 1
+         * Group: consumer (advanced)
+         * 
+         * @param pollBatchSize the value to set
+         * @return the dsl builder
+         */
+        default AdvancedSedaEndpointConsumerBuilder pollBatchSize(String pollBatchSize) {
+            doSetProperty("pollBatchSize", pollBatchSize);
+            return this;
+        }
         /**
          * The timeout (in milliseconds) used when polling. When a timeout
          * occurs, the consumer can check whether it is allowed to continue
@@ -218,6 +218,7 @@ import org.apache.camel.model.language.XPathExpression;
 import org.apache.camel.model.language.XQueryExpression;
 import org.apache.camel.model.loadbalancer.CustomLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.FailoverLoadBalancerDefinition;
+import org.apache.camel.model.loadbalancer.LatencyAwareLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.RandomLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.RoundRobinLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.StickyLoadBalancerDefinition;
@@ -363,6 +364,7 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     @YamlProperty(name = "forceCompletionOnStop", type = "boolean", description = "Indicates to complete all current aggregated exchanges when the context is stopped", displayName = "Force Completion On Stop"),
                     @YamlProperty(name = "id", type = "string", description = "Sets the id of this node", displayName = "Id"),
                     @YamlProperty(name = "ignoreInvalidCorrelationKeys", type = "boolean", description = "If a correlation key cannot be successfully evaluated it will be ignored by logging a DEBUG and then just ignore the incoming Exchange.", displayName = "Ignore Invalid Correlation Keys"),
+                    @YamlProperty(name = "lockStripes", type = "number", defaultValue = "1", description = "Number of locks the correlation keys are spread over (lock striping). By default a single lock is used, which means only one exchange is aggregated at a time. Setting a higher number allows exchanges with different correlation keys to be aggregated in parallel, while exchanges with the same correlation key are still aggregated one at a time. The AggregationStrategy must be thread-safe when using this. This option cannot be used together with optimisticLocking, completionFromBatchConsumer or completionOnNewCorrelationGroup.", displayName = "Lock Stripes"),
                     @YamlProperty(name = "optimisticLockRetryPolicy", type = "object:org.apache.camel.model.OptimisticLockRetryPolicyDefinition", description = "Allows to configure retry settings when using optimistic locking.", displayName = "Optimistic Lock Retry Policy"),
                     @YamlProperty(name = "optimisticLocking", type = "boolean", description = "Turns on using optimistic locking, which requires the aggregationRepository being used, is supporting this by implementing org.apache.camel.spi.OptimisticLockingAggregationRepository .", displayName = "Optimistic Locking"),
                     @YamlProperty(name = "parallelProcessing", type = "boolean", description = "When aggregated are completed they are being send out of the aggregator. This option indicates whether or not Camel should use a thread pool with multiple threads for concurrency. If no custom thread pool has been specified then Camel creates a default pool with 10 concurrent threads.", displayName = "Parallel Processing"),
@@ -505,6 +507,11 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     target.setIgnoreInvalidCorrelationKeys(val);
                     break;
                 }
+                case "lockStripes": {
+                    String val = asText(node);
+                    target.setLockStripes(val);
+                    break;
+                }
                 case "optimisticLockRetryPolicy": {
                     org.apache.camel.model.OptimisticLockRetryPolicyDefinition val = asType(node, org.apache.camel.model.OptimisticLockRetryPolicyDefinition.class);
                     target.setOptimisticLockRetryPolicyDefinition(val);
@@ -2111,7 +2118,8 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     @YamlProperty(name = "filter", type = "string", description = "Specify a filter to control what data gets merged data back from the claim check repository. The following syntax is supported: body - to aggregate the message body attachments - to aggregate all the message attachments headers - to aggregate all the message headers header:pattern - to aggregate all the message headers that matches the pattern. The following pattern rules are applied in this order: exact match, returns true wildcard match (pattern ends with a and the name starts with the pattern), returns true regular expression match, returns true otherwise returns false You can specify multiple rules separated by comma. For example, the following includes the message body and all headers starting with foo: body,header:foo. The syntax supports the following prefixes which can be used to specify include,exclude, or remove - to include (which is the default mode) - - to exclude (exclude takes precedence over include) -- - to remove (remove takes precedence) For example to exclude a header name foo, and remove all headers starting with bar, -header:foo,--headers:bar Note you cannot have both include and exclude header:pattern at the same time.", displayName = "Filter"),
                     @YamlProperty(name = "id", type = "string", description = "Sets the id of this node", displayName = "Id"),
                     @YamlProperty(name = "key", type = "string", description = "To use a specific key for claim check id (for dynamic keys use simple language syntax as the key).", displayName = "Key"),
-                    @YamlProperty(name = "operation", type = "enum:Get,GetAndRemove,Set,Push,Pop", description = "The claim check operation to use. The following operations are supported: Get - Gets (does not remove) the claim check by the given key. GetAndRemove - Gets and removes the claim check by the given key. Set - Sets a new (will override if key already exists) claim check with the given key. Push - Sets a new claim check on the stack (does not use key). Pop - Gets the latest claim check from the stack (does not use key).", displayName = "Operation")
+                    @YamlProperty(name = "operation", type = "enum:Get,GetAndRemove,Set,Push,Pop", description = "The claim check operation to use. The following operations are supported: Get - Gets (does not remove) the claim check by the given key. GetAndRemove - Gets and removes the claim check by the given key. Set - Sets a new (will override if key already exists) claim check with the given key. Push - Sets a new claim check on the stack (does not use key). Pop - Gets the latest claim check from the stack (does not use key).", displayName = "Operation"),
+                    @YamlProperty(name = "spool", type = "boolean", description = "Whether to move large message bodies out of the heap while they are stored in the claim check repository. The message body is moved to off-heap memory or spooled to disk using stream caching, and the stream caching off-heap or spool options must be enabled. Only bodies that are larger than the stream caching spool threshold are moved. The stored body is given back as a stream cache which is only read (materialized) when needed.", displayName = "Spool")
             }
     )
     public static class ClaimCheckDefinitionDeserializer extends YamlDeserializerBase<ClaimCheckDefinition> {
@@ -2159,6 +2167,11 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     target.setOperation(val);
                     break;
                 }
+                case "spool": {
+                    String val = asText(node);
+                    target.setSpool(val);
+                    break;
+                }
                 case "id": {
                     String val = asText(node);
                     target.setId(val);
@@ -9343,6 +9356,57 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
         }
     }
 
+    @YamlType(
+            nodes = "latencyAwareLoadBalancer",
+            types = org.apache.camel.model.loadbalancer.LatencyAwareLoadBalancerDefinition.class,
+            order = org.apache.camel.dsl.yaml.common.YamlDeserializerResolver.ORDER_LOWEST - 1,
+            displayName = "Latency Aware Load Balancer",
+            description = "The destination endpoints are selected based on the number of in-flight exchanges and the response time of each endpoint.",
+            deprecated = false,
+            properties = {
+                    @YamlProperty(name = "decayWindow", type = "string", defaultValue = "10000", description = "The time window (in millis) over which the average response time of an endpoint decays. A smaller window reacts faster to changes in the response time, and a larger window smooths out spikes.", displayName = "Decay Window"),
+                    @YamlProperty(name = "id", type = "string", description = "The id of this node", displayName = "Id"),
+                    @YamlProperty(name = "strategy", type = "enum:leastOutstanding,peakEwma,powerOfTwoChoices", defaultValue = "powerOfTwoChoices", description = "The strategy used to select the endpoint. leastOutstanding selects the endpoint with the fewest in-flight exchanges. peakEwma selects the endpoint with the lowest cost, which is the peak exponentially weighted moving average (EWMA) of the response time multiplied by the number of in-flight exchanges. powerOfTwoChoices picks two endpoints at random and selects the one with the lowest cost. The default value is powerOfTwoChoices.", displayName = "Strategy")
+            }
+    )
+    public static class LatencyAwareLoadBalancerDefinitionDeserializer extends YamlDeserializerBase<LatencyAwareLoadBalancerDefinition> {
+        public LatencyAwareLoadBalancerDefinitionDeserializer() {
+            super(LatencyAwareLoadBalancerDefinition.class);
+        }
+
+        @Override
+        protected LatencyAwareLoadBalancerDefinition newInstance() {
+            return new LatencyAwareLoadBalancerDefinition();
+        }
+
+        @Override
+        protected boolean setProperty(LatencyAwareLoadBalancerDefinition target, String propertyKey,
+                String propertyName, Node node) {
+            propertyKey = org.apache.camel.util.StringHelper.dashToCamelCase(propertyKey);
+            switch(propertyKey) {
+                case "decayWindow": {
+                    String val = asText(node);
+                    target.setDecayWindow(val);
+                    break;
+                }
+                case "id": {
+                    String val = asText(node);
+                    target.setId(val);
+                    break;
+                }
+                case "strategy": {
+                    String val = asText(node);
+                    target.setStrategy(val);
+                    break;
+                }
+                default: {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
     @YamlType(
             nodes = "loadBalance",
             types = org.apache.camel.model.LoadBalanceDefinition.class,
@@ -9356,6 +9420,7 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     @YamlProperty(name = "disabled", type = "boolean", description = "Disables this EIP from the route.", displayName = "Disabled"),
                     @YamlProperty(name = "failoverLoadBalancer", type = "object:org.apache.camel.model.loadbalancer.FailoverLoadBalancerDefinition", oneOf = "loadBalancerType"),
                     @YamlProperty(name = "id", type = "string", description = "Sets the id of this node", displayName = "Id"),
+                    @YamlProperty(name = "latencyAwareLoadBalancer", type = "object:org.apache.camel.model.loadbalancer.LatencyAwareLoadBalancerDefinition", oneOf = "loadBalancerType"),
                     @YamlProperty(name = "randomLoadBalancer", type = "object:org.apache.camel.model.loadbalancer.RandomLoadBalancerDefinition", oneOf = "loadBalancerType"),
                     @YamlProperty(name = "roundRobinLoadBalancer", type = "object:org.apache.camel.model.loadbalancer.RoundRobinLoadBalancerDefinition", oneOf = "loadBalancerType"),
                     @YamlProperty(name = "steps", type = "array:org.apache.camel.model.ProcessorDefinition"),
@@ -9399,6 +9464,11 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     target.setLoadBalancerType(val);
                     break;
                 }
+                case "latencyAwareLoadBalancer": {
+                    org.apache.camel.model.loadbalancer.LatencyAwareLoadBalancerDefinition val = asType(node, org.apache.camel.model.loadbalancer.LatencyAwareLoadBalancerDefinition.class);
+                    target.setLoadBalancerType(val);
+                    break;
+                }
                 case "randomLoadBalancer": {
                     org.apache.camel.model.loadbalancer.RandomLoadBalancerDefinition val = asType(node, org.apache.camel.model.loadbalancer.RandomLoadBalancerDefinition.class);
                     target.setLoadBalancerType(val);
@@ -17419,6 +17489,7 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     @YamlProperty(name = "onPrepare", type = "string", description = "Uses the Processor when preparing the org.apache.camel.Exchange to be sent. This can be used to deep-clone messages that should be sent, or any custom logic needed before the exchange is sent.", displayName = "On Prepare"),
                     @YamlProperty(name = "parallelAggregate", type = "boolean", deprecated = true, description = "If enabled then the aggregate method on AggregationStrategy can be called concurrently. Notice that this would require the implementation of AggregationStrategy to be implemented as thread-safe. By default this is false meaning that Camel synchronizes the call to the aggregate method. Though in some use-cases this can be used to archive higher performance when the AggregationStrategy is implemented as thread-safe.", displayName = "Parallel Aggregate"),
                     @YamlProperty(name = "parallelProcessing", type = "boolean", description = "If enabled then processing each split messages occurs concurrently. Note the caller thread will still wait until all messages has been fully processed, before it continues. It's only processing the sub messages from the splitter which happens concurrently. When parallel processing is enabled, then the Camel routing engin will continue processing using last used thread from the parallel thread pool. However, if you want to use the original thread that called the splitter, then make sure to enable the synchronous option as well. In parallel processing mode, you may want to also synchronous = true to force this EIP to process the sub-tasks using the upper bounds of the thread-pool. If using synchronous = false then Camel will allow its reactive routing engine to use as many threads as possible, which may be available due to sub-tasks using other thread-pools such as CompletableFuture.runAsync or others.", displayName = "Parallel Processing"),
+                    @YamlProperty(name = "reorderWindow", type = "number", description = "When using parallel processing, then limits the number of split messages which can be in-flight, or completed and waiting to be aggregated in order (a reordering window). When the window is full, then the splitter does not split any further messages until the first message in the window has been aggregated. The split messages are always aggregated in the same order as they were split, also in streaming mode. This allows splitting big messages in parallel and in streaming mode, while keeping the order and using a constant amount of memory. By default there is no limit.", displayName = "Reorder Window"),
                     @YamlProperty(name = "shareUnitOfWork", type = "boolean", description = "Shares the org.apache.camel.spi.UnitOfWork with the parent and each of the sub messages. Splitter will by default not share unit of work between the parent exchange and each split exchange. This means each split exchange has its own individual unit of work.", displayName = "Share Unit Of Work"),
                     @YamlProperty(name = "steps", type = "array:org.apache.camel.model.ProcessorDefinition"),
                     @YamlProperty(name = "stopOnException", type = "boolean", description = "Will now stop further processing if an exception or failure occurred during processing of an org.apache.camel.Exchange and the caused exception will be thrown. Will also stop if processing the exchange failed (has a fault message) or an exception was thrown and handled by the error handler (such as using onException). In all situations the splitter will stop further processing. This is the same behavior as in pipeline, which is used by the routing engine. The default behavior is to not stop but continue processing till the end", displayName = "Stop On Exception"),
@@ -17507,6 +17578,11 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     target.setStreaming(val);
                     break;
                 }
+                case "reorderWindow": {
+                    String val = asText(node);
+                    target.setReorderWindow(val);
+                    break;
+                }
                 case "synchronous": {
                     String val = asText(node);
                     target.setSynchronous(val);
@@ -18485,9 +18561,11 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     @YamlProperty(name = "executorService", type = "string", description = "To use a custom thread pool (ScheduledExecutorService) by the throttler.", displayName = "Executor Service"),
                     @YamlProperty(name = "expression", type = "object:org.apache.camel.model.language.ExpressionDefinition", description = "Expression to configure the maximum number of messages to throttle per request", displayName = "Expression", oneOf = "expression"),
                     @YamlProperty(name = "id", type = "string", description = "Sets the id of this node", displayName = "Id"),
-                    @YamlProperty(name = "mode", type = "enum:TotalRequests,ConcurrentRequests", defaultValue = "TotalRequests", description = "Sets the throttling mode to one of the available modes enumerated in ThrottlingMode", displayName = "Mode"),
+                    @YamlProperty(name = "leaseSize", type = "number", defaultValue = "10", description = "The number of tokens each node acquires from the token bucket repository at a time, when using distributed requests mode. The tokens are spent locally without accessing the repository. A larger lease accesses the repository less often, but the tokens may be unevenly spread between the nodes.", displayName = "Lease Size"),
+                    @YamlProperty(name = "mode", type = "enum:TotalRequests,ConcurrentRequests,DistributedRequests", defaultValue = "TotalRequests", description = "Sets the throttling mode to one of the available modes enumerated in ThrottlingMode", displayName = "Mode"),
                     @YamlProperty(name = "rejectExecution", type = "boolean", description = "Whether or not throttler throws the ThrottlerRejectedExecutionException when the exchange exceeds the request limit Is by default false", displayName = "Reject Execution"),
-                    @YamlProperty(name = "timePeriodMillis", type = "string", defaultValue = "1000", description = "Sets the time period during which the maximum request count is valid for", displayName = "Time Period Millis")
+                    @YamlProperty(name = "timePeriodMillis", type = "string", defaultValue = "1000", description = "Sets the time period during which the maximum request count is valid for", displayName = "Time Period Millis"),
+                    @YamlProperty(name = "tokenBucketRepository", type = "string", description = "Sets the reference id of the shared token bucket repository to use when using distributed requests mode. The repository is shared by all the nodes in a cluster, so the maximum number of requests is enforced across the cluster, and not per node.", displayName = "Token Bucket Repository")
             }
     )
     public static class ThrottleDefinitionDeserializer extends YamlDeserializerBase<ThrottleDefinition> {
@@ -18535,6 +18613,11 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     target.setExpression(val);
                     break;
                 }
+                case "leaseSize": {
+                    String val = asText(node);
+                    target.setLeaseSize(val);
+                    break;
+                }
                 case "mode": {
                     String val = asText(node);
                     target.setMode(val);
@@ -18550,6 +18633,11 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     target.setTimePeriodMillis(val);
                     break;
                 }
+                case "tokenBucketRepository": {
+                    String val = asText(node);
+                    target.setTokenBucketRepository(val);
+                    break;
+                }
                 case "id": {
                     String val = asText(node);
                     target.setId(val);
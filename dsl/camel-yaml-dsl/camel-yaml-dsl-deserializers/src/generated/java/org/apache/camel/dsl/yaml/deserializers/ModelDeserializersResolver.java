@@ -214,6 +214,8 @@ public final class ModelDeserializersResolver implements YamlDeserializerResolve
             case "org.apache.camel.model.tokenizer.LangChain4jWordTokenizerDefinition": return new ModelDeserializers.LangChain4jWordTokenizerDefinitionDeserializer();
             case "language": return new ModelDeserializers.LanguageExpressionDeserializer();
             case "org.apache.camel.model.language.LanguageExpression": return new ModelDeserializers.LanguageExpressionDeserializer();
+            case "latencyAwareLoadBalancer": return new ModelDeserializers.LatencyAwareLoadBalancerDefinitionDeserializer();
+            case "org.apache.camel.model.loadbalancer.LatencyAwareLoadBalancerDefinition": return new ModelDeserializers.LatencyAwareLoadBalancerDefinitionDeserializer();
             case "loadBalance": return new ModelDeserializers.LoadBalanceDefinitionDeserializer();
             case "org.apache.camel.model.LoadBalanceDefinition": return new ModelDeserializers.LoadBalanceDefinitionDeserializer();
             case "loadTransformer": return new ModelDeserializers.LoadTransformerDefinitionDeserializer();
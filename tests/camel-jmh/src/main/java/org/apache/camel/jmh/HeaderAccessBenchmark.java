@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.engine.IndexedHeadersMapFactory;
+import org.apache.camel.support.DefaultExchange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks reading, writing and copying message headers using the configured
+ * {@link org.apache.camel.spi.HeadersMapFactory}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeaderAccessBenchmark {
+
+    @Param({ "5", "40" })
+    int headers;
+
+    @Param({ "default", "indexed" })
+    String headersMapFactory;
+
+    private CamelContext context;
+    private Exchange exchange;
+    private String[] names;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        names = new String[headers];
+        for (int i = 0; i < headers; i++) {
+            names[i] = "MyHeader" + i;
+        }
+
+        context = new DefaultCamelContext();
+        if ("indexed".equals(headersMapFactory)) {
+            IndexedHeadersMapFactory factory = new IndexedHeadersMapFactory();
+            // only well-known header names are indexed
+            factory.addHeaderNames(names);
+            context.getCamelContextExtension().setHeadersMapFactory(factory);
+        }
+        context.start();
+
+        exchange = new DefaultExchange(context);
+        Message msg = exchange.getMessage();
+        for (int i = 0; i < headers; i++) {
+            msg.setHeader(names[i], i);
+        }
+        msg.setHeader(Exchange.CONTENT_TYPE, "text/plain");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public Object getHeader() {
+        return exchange.getMessage().getHeader(names[headers / 2]);
+    }
+
+    @Benchmark
+    public Object getHeaderCaseInsensitive() {
+        return exchange.getMessage().getHeader("content-type");
+    }
+
+    @Benchmark
+    public Object setHeader() {
+        return exchange.getMessage().getHeaders().put("Foo", "Bar");
+    }
+
+    @Benchmark
+    public Object copyExchange() {
+        return exchange.copy();
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.component.seda.ArrayBlockingQueueFactory;
+import org.apache.camel.component.seda.BlockingQueueFactory;
+import org.apache.camel.component.seda.LinkedBlockingQueueFactory;
+import org.apache.camel.component.seda.RingBufferBlockingQueueFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the SEDA queue implementations with 1, 4 and 16 producers handing off messages to 4 consumer threads,
+ * which poll one message at a time (batch 1), or drain up to 16 messages per poll (as the SEDA consumer does with the
+ * pollBatchSize option). The lock based queues contend on the queue lock, whereas the ring buffer queue only uses a
+ * compare-and-set per message.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SedaQueueBenchmark {
+
+    private static final int MESSAGES = 100000;
+    private static final int CONSUMERS = 4;
+    private static final int CAPACITY = 1024;
+
+    @Param({ "linked", "array", "ringbuffer" })
+    String queue;
+
+    @Param({ "1", "4", "16" })
+    int producers;
+
+    @Param({ "1", "16" })
+    int batch;
+
+    private BlockingQueue<Object> blockingQueue;
+    private ExecutorService producerExecutor;
+    private ExecutorService consumerExecutor;
+    private final AtomicLong received = new AtomicLong();
+    private volatile boolean running;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BlockingQueueFactory<Object> factory = switch (queue) {
+            case "array" -> new ArrayBlockingQueueFactory<>();
+            case "ringbuffer" -> new RingBufferBlockingQueueFactory<>();
+            default -> new LinkedBlockingQueueFactory<>();
+        };
+        blockingQueue = factory.create(CAPACITY);
+        producerExecutor = Executors.newFixedThreadPool(producers);
+        consumerExecutor = Executors.newFixedThreadPool(CONSUMERS);
+        running = true;
+        for (int i = 0; i < CONSUMERS; i++) {
+            consumerExecutor.execute(this::consume);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        running = false;
+        producerExecutor.shutdownNow();
+        consumerExecutor.shutdownNow();
+    }
+
+    private void consume() {
+        List<Object> drained = new ArrayList<>(batch);
+        try {
+            while (running) {
+                Object message = blockingQueue.poll(100, TimeUnit.MILLISECONDS);
+                if (message != null) {
+                    long count = 1;
+                    if (batch > 1) {
+                        count += blockingQueue.drainTo(drained, batch - 1);
+                        drained.clear();
+                    }
+                    received.addAndGet(count);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public long handOff() throws Exception {
+        long target = received.get() + MESSAGES;
+        int perProducer = MESSAGES / producers;
+        List<Future<?>> futures = new ArrayList<>(producers);
+        for (int p = 0; p < producers; p++) {
+            int count = p == 0 ? MESSAGES - perProducer * (producers - 1) : perProducer;
+            futures.add(producerExecutor.submit(() -> {
+                Object message = new Object();
+                for (int i = 0; i < count; i++) {
+                    blockingQueue.put(message);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        while (received.get() < target) {
+            Thread.onSpinWait();
+        }
+        return target;
+    }
+}
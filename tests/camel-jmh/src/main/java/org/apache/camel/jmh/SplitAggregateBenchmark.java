@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.AggregationStrategy;
+import org.apache.camel.CamelContext;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.AggregationStrategies;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the splitter with an aggregation strategy that groups the split bodies back together.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SplitAggregateBenchmark {
+
+    @Param({ "10", "1000" })
+    int size;
+
+    @Param({ "false", "true" })
+    boolean streaming;
+
+    private CamelContext context;
+    private ProducerTemplate template;
+    private List<String> body;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        body = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            body.add("line" + i);
+        }
+
+        context = new DefaultCamelContext();
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                AggregationStrategy strategy = AggregationStrategies.groupedBody();
+                if (streaming) {
+                    from("direct:start")
+                            .split(body(), strategy).streaming()
+                                .transform(simple("${body}-${exchangeProperty.CamelSplitIndex}"))
+                            .end()
+                            .to("mock:result?retainFirst=0&retainLast=0");
+                } else {
+                    from("direct:start")
+                            .split(body(), strategy)
+                                .transform(simple("${body}-${exchangeProperty.CamelSplitIndex}"))
+                            .end()
+                            .to("mock:result?retainFirst=0&retainLast=0");
+                }
+            }
+        });
+        context.start();
+        template = context.createProducerTemplate();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public Object splitAggregate() {
+        return template.requestBody("direct:start", body);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.jmh;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the memory allocated when splitting a message with many headers and exchange properties into 100k
+ * sub-exchanges, which only read the headers and properties, with and without lazy copy of the exchanges. Run with the
+ * <tt>gc</tt> profiler to see the allocation rate per operation (<tt>gc.alloc.rate.norm</tt>).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SplitAllocationBenchmark {
+
+    @Param({ "100000" })
+    int size;
+
+    @Param({ "20" })
+    int headers;
+
+    @Param({ "false", "true" })
+    boolean lazyCopy;
+
+    private CamelContext context;
+    private ProducerTemplate template;
+    private List<String> body;
+    private Map<String, Object> headerMap;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        body = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            body.add("line" + i);
+        }
+        headerMap = new HashMap<>();
+        for (int i = 0; i < headers; i++) {
+            headerMap.put("MyHeader" + i, "value" + i);
+        }
+
+        context = new DefaultCamelContext();
+        context.getCamelContextExtension().setExchangeLazyCopy(lazyCopy);
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:start")
+                        .setProperty("myProperty", constant("foo"))
+                        .setVariable("myVariable", constant("bar"))
+                        .split(body())
+                            .filter(simple("${header.MyHeader0} == 'value0' && ${exchangeProperty.myProperty} == 'foo'"))
+                                .to("mock:result?retainFirst=0&retainLast=0");
+            }
+        });
+        context.start();
+        template = context.createProducerTemplate();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public Object split() {
+        return template.requestBodyAndHeaders("direct:start", body, headerMap);
+    }
+}
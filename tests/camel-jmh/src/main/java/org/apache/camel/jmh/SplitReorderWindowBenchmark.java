@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.AggregationStrategies;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the splitter in parallel and streaming mode, aggregating the replies in order, with and without a reorder
+ * window. Without a window all the split messages are in-flight at the same time, whereas the window bounds the number
+ * of split messages pending aggregation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SplitReorderWindowBenchmark {
+
+    @Param({ "1000", "10000" })
+    int size;
+
+    @Param({ "0", "16", "256" })
+    int reorderWindow;
+
+    private CamelContext context;
+    private ProducerTemplate template;
+    private String body;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            sb.append("line").append(i).append('\n');
+        }
+        body = sb.toString();
+
+        context = new DefaultCamelContext();
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                if (reorderWindow > 0) {
+                    from("direct:start")
+                            .split(body().tokenize("\n"), AggregationStrategies.string("\n"))
+                                .streaming().parallelProcessing().reorderWindow(reorderWindow)
+                                .transform(simple("${body}-${exchangeProperty.CamelSplitIndex}"))
+                            .end()
+                            .to("mock:result?retainFirst=0&retainLast=0");
+                } else {
+                    // ordered aggregation without a window requires non-streaming mode
+                    from("direct:start")
+                            .split(body().tokenize("\n"), AggregationStrategies.string("\n"))
+                                .parallelProcessing()
+                                .transform(simple("${body}-${exchangeProperty.CamelSplitIndex}"))
+                            .end()
+                            .to("mock:result?retainFirst=0&retainLast=0");
+                }
+            }
+        });
+        context.start();
+        template = context.createProducerTemplate();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public Object splitReorderWindow() {
+        return template.requestBody("direct:start", body);
+    }
+}
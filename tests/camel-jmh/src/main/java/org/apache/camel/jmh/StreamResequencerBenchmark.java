@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.jmh;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.processor.resequencer.LongSequenceResequencerEngine;
+import org.apache.camel.processor.resequencer.ResequencerEngine;
+import org.apache.camel.processor.resequencer.SequenceElementComparator;
+import org.apache.camel.processor.resequencer.SequenceSender;
+import org.apache.camel.processor.resequencer.StreamResequencerEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks the {@link ResequencerEngine} (used by the stream resequencer with a custom comparator) versus the
+ * {@link LongSequenceResequencerEngine} (used with the default comparator), resequencing a stream of long sequence
+ * numbers which are shuffled within windows of the given size (such as messages from several partitions merged
+ * together).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamResequencerBenchmark {
+
+    private static final int MESSAGES = 10000;
+
+    @Param({ "engine", "long" })
+    String impl;
+
+    @Param({ "16", "256" })
+    int outOfOrder;
+
+    private StreamResequencerEngine<Long> engine;
+    private long[] input;
+    private long offset;
+    private Blackhole blackhole;
+
+    @Setup(Level.Trial)
+    public void setup(Blackhole blackhole) {
+        this.blackhole = blackhole;
+        if ("long".equals(impl)) {
+            engine = new LongSequenceResequencerEngine<>(Long::longValue, 1000);
+        } else {
+            engine = new ResequencerEngine<>(new LongComparator());
+        }
+        engine.setTimeout(60000);
+        engine.setSequenceSender(new SequenceSender<>() {
+            @Override
+            public void sendElement(Long o) {
+                StreamResequencerBenchmark.this.blackhole.consume(o);
+            }
+        });
+        engine.start();
+
+        // shuffle the sequence numbers within windows
+        Random random = new Random(42);
+        List<Long> list = new ArrayList<>(MESSAGES);
+        input = new long[MESSAGES];
+        for (int i = 0; i < MESSAGES; i += outOfOrder) {
+            list.clear();
+            for (int j = i; j < Math.min(i + outOfOrder, MESSAGES); j++) {
+                list.add((long) j);
+            }
+            Collections.shuffle(list, random);
+            for (int j = 0; j < list.size(); j++) {
+                input[i + j] = list.get(j);
+            }
+        }
+
+        // the first element is delivered after the timeout, so let it time out
+        engine.setTimeout(0);
+        engine.insert(-1L);
+        try {
+            while (engine.size() > 0) {
+                engine.deliver();
+                Thread.yield();
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        engine.setTimeout(60000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        engine.stop();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public void resequence() throws Exception {
+        for (int i = 0; i < MESSAGES; i++) {
+            engine.insert(offset + input[i]);
+            engine.deliver();
+        }
+        offset += MESSAGES;
+    }
+
+    private static final class LongComparator implements SequenceElementComparator<Long> {
+
+        @Override
+        public boolean predecessor(Long o1, Long o2) {
+            return o1 == o2 - 1;
+        }
+
+        @Override
+        public boolean successor(Long o1, Long o2) {
+            return o2 == o1 - 1;
+        }
+
+        @Override
+        public int compare(Long o1, Long o2) {
+            return o1.compareTo(o2);
+        }
+
+        @Override
+        public boolean isValid(Long o) {
+            return o != null;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.jmh;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.TimeoutMap;
+import org.apache.camel.support.DefaultTimeoutMap;
+import org.apache.camel.support.TimingWheelTimeoutMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the {@link DefaultTimeoutMap} versus the {@link TimingWheelTimeoutMap} holding many entries with long
+ * timeouts (such as pending request/reply correlations), where entries are continuously added and removed, and the
+ * purge task runs. The default map scans all the entries on every purge, whereas the timing wheel only visits the
+ * bucket of the current tick.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimeoutMapBenchmark {
+
+    @Param({ "default", "wheel" })
+    String impl;
+
+    @Param({ "10000", "100000" })
+    int entries;
+
+    private ScheduledExecutorService executor;
+    private TimeoutMap<String, String> map;
+    private Runnable purge;
+    private int counter;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        executor = Executors.newSingleThreadScheduledExecutor();
+        if ("wheel".equals(impl)) {
+            PurgeableTimingWheelTimeoutMap wheel = new PurgeableTimingWheelTimeoutMap(executor);
+            purge = wheel::doPurge;
+            map = wheel;
+        } else {
+            PurgeableDefaultTimeoutMap def = new PurgeableDefaultTimeoutMap(executor);
+            purge = def::doPurge;
+            map = def;
+        }
+        // do not start the map as the benchmark runs the purge task
+        for (int i = 0; i < entries; i++) {
+            map.put("key-" + i, "value-" + i, 60000 + i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public String putRemove() {
+        String key = "new-" + (counter++ & 1023);
+        map.put(key, key, 30000);
+        return map.remove(key);
+    }
+
+    @Benchmark
+    public void purge() {
+        purge.run();
+    }
+
+    private static final class PurgeableDefaultTimeoutMap extends DefaultTimeoutMap<String, String> {
+
+        PurgeableDefaultTimeoutMap(ScheduledExecutorService executor) {
+            super(executor, 100);
+        }
+
+        void doPurge() {
+            purge();
+        }
+    }
+
+    private static final class PurgeableTimingWheelTimeoutMap extends TimingWheelTimeoutMap<String, String> {
+
+        PurgeableTimingWheelTimeoutMap(ScheduledExecutorService executor) {
+            super(executor, 100);
+        }
+
+        void doPurge() {
+            purge();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.jmh;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.TypeConverter;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.TypeConverterCallSite;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks type conversions resolved by the type converter registry on each call, compared to using a
+ * {@link TypeConverterCallSite} which remembers the converter for the last seen source type.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TypeConverterBenchmark {
+
+    private CamelContext context;
+    private TypeConverter typeConverter;
+    private final TypeConverterCallSite integerCallSite = new TypeConverterCallSite();
+    private final TypeConverterCallSite streamCallSite = new TypeConverterCallSite();
+    private final byte[] data = "Hello World".getBytes(StandardCharsets.UTF_8);
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new DefaultCamelContext();
+        context.start();
+        typeConverter = context.getTypeConverter();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public Integer registryStringToInteger() {
+        return typeConverter.convertTo(Integer.class, "12345");
+    }
+
+    @Benchmark
+    public Integer callSiteStringToInteger() {
+        return integerCallSite.convertTo(context, Integer.class, null, "12345");
+    }
+
+    @Benchmark
+    public InputStream registryBytesToInputStream() {
+        return typeConverter.convertTo(InputStream.class, data);
+    }
+
+    @Benchmark
+    public InputStream callSiteBytesToInputStream() {
+        return streamCallSite.convertTo(context, InputStream.class, null, data);
+    }
+}